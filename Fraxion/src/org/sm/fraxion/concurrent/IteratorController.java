@@ -1,6 +1,6 @@
 // ---------------------------------------
 // Filename      : IteratorController.java
-// Last modified : 20/04/2016
+// Last modified : 22/11/2016
 // Author        : Sven Maerivoet
 // Target        : Java VM (1.8)
 // ---------------------------------------
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.concurrent;
 
+import java.awt.image.*;
 import java.util.*;
 import javax.swing.*;
 import org.sm.fraxion.fractals.*;
@@ -39,7 +40,7 @@ import org.sm.smtools.math.*;
  * <B>Note that this class cannot be subclassed!</B>
  *
  * @author  Sven Maerivoet
- * @version 20/04/2016
+ * @version 22/11/2016
  */
 public final class IteratorController
 {
@@ -53,6 +54,18 @@ public final class IteratorController
 	 */
 	public static final int kDefaultNrOfBlocksToUse = 50;
 
+	// the distance between the calculated points in the first pass of a progressive rendering
+	private static final int kInitialProgressiveRenderingStride = 4;
+
+	// the number of sub-samples per dimension taken in each pixel on an edge when anti-aliasing
+	private static final int kAntiAliasingSubGridSize = 3;
+
+	// the number of batches in which an orbit density is accumulated (each of which takes one sample per pixel)
+	private static final int kNrOfOrbitDensityBatches = 16;
+
+	// the number of tasks per batch of an orbit density (fixed, so that the samples don't depend on the number of threads)
+	private static final int kNrOfOrbitDensityTasksPerBatch = 64;
+
 	// internal datastructures
 	private boolean fIsBusy;
 	private AFractalIterator fFractalIterator;
@@ -66,6 +79,15 @@ public final class IteratorController
 	private int fNrOfBlocksToUse;
 	private int fNrOfThreadsToUse;
 	private boolean fEstimatePDF;
+	private boolean fProgressiveRenderingEnabled;
+	private boolean fIsRefining;
+	private boolean fAntiAliasingEnabled;
+	private boolean fRaiseMaxNrOfIterationsWhileUnresolved;
+	private boolean fReducedPrecisionEnabled;
+	private boolean fOrbitStateKeepingEnabled;
+	private OrbitDensity.EMode fOrbitDensityMode;
+	private OrbitDensity fOrbitDensity;
+	private OrbitDensityTaskExecutor fOrbitDensityTaskExecutor;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -85,6 +107,7 @@ public final class IteratorController
 		fFractalIterator.setScreenBounds(AFractalIterator.kInitialScreenBounds.width,AFractalIterator.kInitialScreenBounds.height);
 
 		fNrOfBlocksToUse = kDefaultNrOfBlocksToUse;
+		fOrbitDensityMode = OrbitDensity.EMode.kNone;
 
 		fColoringParameters = new ColoringParameters();
 	}
@@ -209,6 +232,175 @@ public final class IteratorController
 		fEstimatePDF = estimatePDF;
 	}
 
+	/**
+	 * Specifies whether or not the fractal should be rendered progressively.
+	 * <P>
+	 * With progressive rendering, every 4th point in both directions is calculated first, after which every 2nd point and
+	 * finally all points are calculated. Each pass reuses the points that were calculated before, and is shown immediately
+	 * by filling the missing points with their nearest calculated neighbour. The final result is identical to that of a
+	 * single pass. Progressive rendering is not used in combination with rectangle subdivision.
+	 *
+	 * @param progressiveRenderingEnabled  a <CODE>boolean</CODE> specifying whether or not the fractal should be rendered progressively
+	 */
+	public void setProgressiveRenderingEnabled(boolean progressiveRenderingEnabled)
+	{
+		fProgressiveRenderingEnabled = progressiveRenderingEnabled;
+	}
+
+	/**
+	 * Returns whether or not the fractal is rendered progressively.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is rendered progressively
+	 */
+	public boolean getProgressiveRenderingEnabled()
+	{
+		return fProgressiveRenderingEnabled;
+	}
+
+	/**
+	 * Specifies whether or not the fractal should be anti-aliased.
+	 * <P>
+	 * With anti-aliasing, an extra pass follows the calculation of the fractal. It only revisits the points that differ
+	 * strongly from one of their neighbours (i.e., in being part of the interior, in their number of iterations, or in the
+	 * root they converge to), and replaces each of them by a jittered 3x3 grid of sub-samples. The colours of these
+	 * sub-samples are averaged when the fractal is drawn.
+	 *
+	 * @param antiAliasingEnabled  a <CODE>boolean</CODE> specifying whether or not the fractal should be anti-aliased
+	 */
+	public void setAntiAliasingEnabled(boolean antiAliasingEnabled)
+	{
+		fAntiAliasingEnabled = antiAliasingEnabled;
+	}
+
+	/**
+	 * Returns whether or not the fractal is anti-aliased.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is anti-aliased
+	 */
+	public boolean getAntiAliasingEnabled()
+	{
+		return fAntiAliasingEnabled;
+	}
+
+	/**
+	 * Specifies whether or not the fractal result buffer should store its real-valued columns with reduced (single)
+	 * precision.
+	 * <P>
+	 * The number of iterations and the root index are always stored exactly.
+	 *
+	 * @param reducedPrecisionEnabled  a <CODE>boolean</CODE> specifying whether or not the real-valued columns should be stored with single precision
+	 */
+	public void setReducedPrecisionEnabled(boolean reducedPrecisionEnabled)
+	{
+		fReducedPrecisionEnabled = reducedPrecisionEnabled;
+	}
+
+	/**
+	 * Returns whether or not the fractal result buffer stores its real-valued columns with reduced (single) precision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 */
+	public boolean getReducedPrecisionEnabled()
+	{
+		return fReducedPrecisionEnabled;
+	}
+
+	/**
+	 * Specifies whether or not the states of orbits that reach the maximum number of iterations should be kept, so that
+	 * they can be continued when the maximum number of iterations is raised.
+	 *
+	 * @param orbitStateKeepingEnabled  a <CODE>boolean</CODE> specifying whether or not orbit states should be kept
+	 * @see   IteratorController#recalcResumingIterations()
+	 */
+	public void setOrbitStateKeepingEnabled(boolean orbitStateKeepingEnabled)
+	{
+		fOrbitStateKeepingEnabled = orbitStateKeepingEnabled;
+	}
+
+	/**
+	 * Returns whether or not the states of orbits that reach the maximum number of iterations are kept.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not orbit states are kept
+	 */
+	public boolean getOrbitStateKeepingEnabled()
+	{
+		return fOrbitStateKeepingEnabled;
+	}
+
+	/**
+	 * Returns the columns of the fractal result buffer that are needed by the current colouring methods and fractal.
+	 *
+	 * @return a mask of the required <CODE>IterationBuffer</CODE> columns
+	 */
+	public int getRequiredColumns()
+	{
+		return (fColoringParameters.getRequiredColumns() | fFractalIterator.getRequiredColumns());
+	}
+
+	/**
+	 * Specifies whether or not the maximum number of iterations should be raised while the boundary of the fractal is
+	 * unresolved.
+	 * <P>
+	 * After each calculation, the escape statistics of the result are used to estimate the fraction of the points that
+	 * lie on the boundary but are rendered as interior (see {@link AFractalIterator#autoDetermineMaxNrOfIterations(IterationBuffer,boolean)}).
+	 * As long as this fraction is measurable, the maximum number of iterations is doubled, and the points that reached
+	 * it are iterated further.
+	 *
+	 * @param raiseMaxNrOfIterationsWhileUnresolved  a <CODE>boolean</CODE> specifying whether or not the maximum number of iterations should be raised while the boundary is unresolved
+	 */
+	public void setRaiseMaxNrOfIterationsWhileUnresolved(boolean raiseMaxNrOfIterationsWhileUnresolved)
+	{
+		fRaiseMaxNrOfIterationsWhileUnresolved = raiseMaxNrOfIterationsWhileUnresolved;
+	}
+
+	/**
+	 * Returns whether or not the maximum number of iterations is raised while the boundary of the fractal is unresolved.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the maximum number of iterations is raised while the boundary is unresolved
+	 */
+	public boolean getRaiseMaxNrOfIterationsWhileUnresolved()
+	{
+		return fRaiseMaxNrOfIterationsWhileUnresolved;
+	}
+
+	/**
+	 * Specifies whether the escape times or the density of the orbits of the fractal should be rendered.
+	 * <P>
+	 * An orbit density is accumulated in a number of batches of random samples, each of which is shown immediately. It is
+	 * only rendered for fractals that support it; the escape times are rendered for all other fractals.
+	 *
+	 * @param orbitDensityMode  the orbit density mode, or {@link OrbitDensity.EMode#kNone} for rendering the escape times
+	 */
+	public void setOrbitDensityMode(OrbitDensity.EMode orbitDensityMode)
+	{
+		// an orbit density that is still being accumulated in another mode is abandoned
+		fOrbitDensityMode = orbitDensityMode;
+		fOrbitDensity = null;
+	}
+
+	/**
+	 * Returns the orbit density mode.
+	 *
+	 * @return the orbit density mode
+	 */
+	public OrbitDensity.EMode getOrbitDensityMode()
+	{
+		return fOrbitDensityMode;
+	}
+
+	/**
+	 * Returns an image of the last rendered orbit density.
+	 *
+	 * @return an image of the last rendered orbit density, or <CODE>null</CODE> if the escape times were rendered
+	 */
+	public BufferedImage getOrbitDensityImage()
+	{
+		if (fOrbitDensity == null) {
+			return null;
+		}
+		return fOrbitDensity.getImage();
+	}
+
 	/**
 	 * Triggers a multithreaded recalculation of the current fractal.
 	 */
@@ -219,54 +411,102 @@ public final class IteratorController
 			return;
 		}
 
+		if (((fOrbitDensityTaskExecutor != null) && fOrbitDensityTaskExecutor.isBusy()) || fIsRefining) {
+			return;
+		}
+
+		if ((fOrbitDensityMode != OrbitDensity.EMode.kNone) && fFractalIterator.supportsOrbitDensity()) {
+			fOrbitDensity = new OrbitDensity(fOrbitDensityMode,fFractalIterator);
+			calculateOrbitDensityBatch(0,null);
+			return;
+		}
+		fOrbitDensity = null;
+
 //		if ((fIteratorTaskExecutor == null) || ((fIteratorTaskExecutor != null) && (!fIteratorTaskExecutor.isBusy()))) {
-		if ((fIteratorTaskExecutor == null) || (!fIteratorTaskExecutor.isBusy())) {
-			int canvasWidth = fFractalIterator.getScreenWidth();
-			int canvasHeight = fFractalIterator.getScreenHeight();
-
-			// divide the screen in regions
-			int nrOfRowBlocks = fNrOfBlocksToUse;
-			int nrOfColumnBlocks = fNrOfBlocksToUse;
-
-			fIteratorTaskExecutor = new IteratorTaskExecutor(
-				fParentFrame,
-				fProgressUpdateGlassPane,
-				fFractalIterator,
-				fFractalPanel,
-				fStatusBarCalculationTimeLabel,
-				fEstimatePDF,
-				fResources);
-
-			if (fNrOfThreadsToUse == 0) {
-				fNrOfThreadsToUse = fIteratorTaskExecutor.getNrOfThreadsToUse();
+		if (((fIteratorTaskExecutor == null) || (!fIteratorTaskExecutor.isBusy())) && !fIsRefining) {
+			// only calculate the advanced colouring channels that the current colouring methods need
+			fFractalIterator.setAdvancedColoringChannels(fColoringParameters.getRequiredChannels());
+			fFractalIterator.setKnownInteriorSkippingEnabled(!fColoringParameters.requiresInteriorOrbits());
+			fFractalIterator.setOnlyIntegralResultsRequired(fColoringParameters.requiresOnlyIntegralResults());
+			fFractalIterator.setOrbitStateKeepingEnabled(fOrbitStateKeepingEnabled);
+
+			if (fProgressiveRenderingEnabled && !fFractalIterator.usesRectangleSubdivision()) {
+				calculatePass(kInitialProgressiveRenderingStride,null,false,false);
 			}
 			else {
-				fIteratorTaskExecutor.setNrOfThreadsToUse(fNrOfThreadsToUse);
+				calculatePass(1,null,false,false);
 			}
+		}
+	}
 
-			// randomise blocks for a more generic spread across the screen when executing the tasks
-			ArrayList<TaskBlock> blocks = new ArrayList<TaskBlock>();
-			for (int rowBlock = 0; rowBlock < nrOfRowBlocks; ++rowBlock) {
-				for (int columnBlock = 0; columnBlock < nrOfColumnBlocks; ++columnBlock) {
-					blocks.add(new TaskBlock(rowBlock,columnBlock));
-				}
-			}
-			// the shuffling helps to estimate the remaining time more correctly
-			Collections.shuffle(blocks);
-
-			final double kBlockWidth = (double) canvasWidth / (double) nrOfColumnBlocks;
-			final double kBlockHeight = (double) canvasHeight / (double) nrOfRowBlocks;
-
-			for (int block = 0; block < blocks.size(); ++block) {
-				TaskBlock taskBlock = blocks.get(block);
-				int rowBlock = taskBlock.getRowBlock();
-				int columnBlock = taskBlock.getColumnBlock();
-				ScreenLocation s1 = new ScreenLocation((int) (rowBlock * kBlockWidth),(int) (columnBlock * kBlockHeight));
-				ScreenLocation s2 = new ScreenLocation((int) (((rowBlock + 1) * kBlockWidth) - 1),(int) (((columnBlock + 1) * kBlockHeight) - 1));
-				fIteratorTaskExecutor.addTask(new IteratorTask(s1,s2));
-			}
+	/**
+	 * Triggers a multithreaded recalculation of the current fractal after its maximum number of iterations was raised.
+	 * <P>
+	 * The points that escaped keep their previous results, and only the points that reached the previous maximum number
+	 * of iterations are iterated further, continuing from the orbit states that were kept in their results (points
+	 * without an orbit state are iterated anew). A complete recalculation is triggered instead when the previous result
+	 * can't be continued, e.g., when the maximum number of iterations was lowered, or when the fractal doesn't support
+	 * resumable iterations, uses a fixed number of iterations, advanced colouring, or rectangle subdivision.
+	 * <P>
+	 * Note that all other parameters of the fractal should be unchanged since the previous calculation.
+	 */
+	public void recalcResumingIterations()
+	{
+		if (fFractalPanel == null) {
+			// early bail-out if the application is not yet fully initialised
+			return;
+		}
+
+		if (isBusy()) {
+			return;
+		}
 
-			fIteratorTaskExecutor.execute();
+		IterationBuffer previousResultBuffer = fIteratorTaskExecutor.getFractalResultBuffer();
+		fFractalIterator.setAdvancedColoringChannels(fColoringParameters.getRequiredChannels());
+		fFractalIterator.setKnownInteriorSkippingEnabled(!fColoringParameters.requiresInteriorOrbits());
+		fFractalIterator.setOnlyIntegralResultsRequired(fColoringParameters.requiresOnlyIntegralResults());
+		fFractalIterator.setOrbitStateKeepingEnabled(fOrbitStateKeepingEnabled);
+		if ((previousResultBuffer == null) ||
+				(previousResultBuffer.fWidth != fFractalIterator.getScreenWidth()) ||
+				(previousResultBuffer.fHeight != fFractalIterator.getScreenHeight()) ||
+				(previousResultBuffer.fMaxNrOfIterations == 0) ||
+				(previousResultBuffer.fMaxNrOfIterations >= fFractalIterator.getMaxNrOfIterations()) ||
+				(previousResultBuffer.fAdvancedColoringChannels != 0) ||
+				((getRequiredColumns() & ~previousResultBuffer.getColumns()) != 0) ||
+				(fFractalIterator.getCalculatedAdvancedColoringChannels() != 0) ||
+				!fFractalIterator.supportsResumableIterations() ||
+				fFractalIterator.getUseFixedNrOfIterations() ||
+				fFractalIterator.usesRectangleSubdivision() ||
+				((fOrbitDensityMode != OrbitDensity.EMode.kNone) && fFractalIterator.supportsOrbitDensity())) {
+			recalc();
+			return;
+		}
+
+		fOrbitDensity = null;
+		calculatePass(1,fIteratorTaskExecutor,false,true);
+	}
+
+	/**
+	 * Raises the maximum number of iterations and continues the current fractal if a measurable fraction of its boundary
+	 * is still unresolved (see {@link IteratorController#setRaiseMaxNrOfIterationsWhileUnresolved(boolean)}).
+	 */
+	public void raiseMaxNrOfIterationsIfUnresolved()
+	{
+		if (!fRaiseMaxNrOfIterationsWhileUnresolved || fFractalIterator.getUseFixedNrOfIterations() || isBusy()) {
+			return;
+		}
+
+		// only the result of the current maximum number of iterations is considered
+		IterationBuffer fractalResultBuffer = fIteratorTaskExecutor.getFractalResultBuffer();
+		if ((fractalResultBuffer == null) || (fractalResultBuffer.fMaxNrOfIterations != fFractalIterator.getMaxNrOfIterations())) {
+			return;
+		}
+
+		int maxNrOfIterations = fFractalIterator.autoDetermineMaxNrOfIterations(fractalResultBuffer,true);
+		if (maxNrOfIterations > fFractalIterator.getMaxNrOfIterations()) {
+			fFractalPanel.calibrateColorRange(maxNrOfIterations);
+			fFractalIterator.setMaxNrOfIterations(maxNrOfIterations);
+			recalcResumingIterations();
 		}
 	}
 
@@ -307,7 +547,7 @@ public final class IteratorController
 	 */
 	public boolean isBusy()
 	{
-		return (fIteratorTaskExecutor.isBusy() || fIsBusy);
+		return (fIteratorTaskExecutor.isBusy() || ((fOrbitDensityTaskExecutor != null) && fOrbitDensityTaskExecutor.isBusy()) || fIsBusy || fIsRefining);
 	}
 
 	/**
@@ -320,6 +560,180 @@ public final class IteratorController
 		fIsBusy = isBusy;
 	}
 
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Starts a multithreaded calculation of (a pass of) the current fractal.
+	 *
+	 * @param stride            the distance between the points that are calculated in this pass (1 for all points)
+	 * @param previousPass      the executor of the previous pass, or <CODE>null</CODE> for the first pass
+	 * @param antiAliasingPass  a <CODE>boolean</CODE> indicating whether or not this pass anti-aliases the result of the previous pass
+	 * @param resumePass        a <CODE>boolean</CODE> indicating whether or not this pass continues the result of the previous calculation
+	 */
+	private void calculatePass(final int stride, IteratorTaskExecutor previousPass, boolean antiAliasingPass, boolean resumePass)
+	{
+		int canvasWidth = fFractalIterator.getScreenWidth();
+		int canvasHeight = fFractalIterator.getScreenHeight();
+
+		// divide the screen in regions
+		int nrOfRowBlocks = fNrOfBlocksToUse;
+		int nrOfColumnBlocks = fNrOfBlocksToUse;
+
+		fIteratorTaskExecutor = new IteratorTaskExecutor(
+			fParentFrame,
+			fProgressUpdateGlassPane,
+			fFractalIterator,
+			fFractalPanel,
+			fStatusBarCalculationTimeLabel,
+			fEstimatePDF,
+			fResources);
+
+		if (fNrOfThreadsToUse == 0) {
+			fNrOfThreadsToUse = fIteratorTaskExecutor.getNrOfThreadsToUse();
+		}
+		else {
+			fIteratorTaskExecutor.setNrOfThreadsToUse(fNrOfThreadsToUse);
+		}
+
+		// only store the columns that are needed (the passes that refine a result take over its columns)
+		if ((previousPass != null) && !resumePass) {
+			IterationBuffer previousResultBuffer = previousPass.getFractalResultBuffer();
+			fIteratorTaskExecutor.setColumns(previousResultBuffer.getColumns(),previousResultBuffer.usesReducedPrecision());
+		}
+		else {
+			fIteratorTaskExecutor.setColumns(getRequiredColumns(),fReducedPrecisionEnabled);
+		}
+
+		// chain the next pass (before the tasks are added, as they are prepared for this pass)
+		final IteratorTaskExecutor thisPass = fIteratorTaskExecutor;
+		Runnable nextPass = null;
+		if (stride > 1) {
+			nextPass = new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					calculatePass(stride / 2,thisPass,false,false);
+				}
+			};
+		}
+		else if (fAntiAliasingEnabled && !antiAliasingPass) {
+			nextPass = new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					calculatePass(1,thisPass,true,false);
+				}
+			};
+		}
+		fIsRefining = (nextPass != null);
+
+		if (antiAliasingPass) {
+			fIteratorTaskExecutor.setAntiAliasingPass(previousPass,kAntiAliasingSubGridSize);
+		}
+		else if (resumePass) {
+			fIteratorTaskExecutor.setResumePass(previousPass,nextPass);
+		}
+		else if (fIsRefining || (previousPass != null)) {
+			fIteratorTaskExecutor.setRefinementPass(stride,previousPass,nextPass);
+		}
+
+		// check the escape statistics after the last pass
+		if (nextPass == null) {
+			fIteratorTaskExecutor.setCompletionAction(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					raiseMaxNrOfIterationsIfUnresolved();
+				}
+			});
+		}
+
+		// randomise blocks for a more generic spread across the screen when executing the tasks
+		ArrayList<TaskBlock> blocks = new ArrayList<TaskBlock>();
+		for (int rowBlock = 0; rowBlock < nrOfRowBlocks; ++rowBlock) {
+			for (int columnBlock = 0; columnBlock < nrOfColumnBlocks; ++columnBlock) {
+				blocks.add(new TaskBlock(rowBlock,columnBlock));
+			}
+		}
+		// the shuffling helps to estimate the remaining time more correctly
+		Collections.shuffle(blocks);
+
+		final double kBlockWidth = (double) canvasWidth / (double) nrOfColumnBlocks;
+		final double kBlockHeight = (double) canvasHeight / (double) nrOfRowBlocks;
+
+		for (int block = 0; block < blocks.size(); ++block) {
+			TaskBlock taskBlock = blocks.get(block);
+			int rowBlock = taskBlock.getRowBlock();
+			int columnBlock = taskBlock.getColumnBlock();
+			ScreenLocation s1 = new ScreenLocation((int) (rowBlock * kBlockWidth),(int) (columnBlock * kBlockHeight));
+			ScreenLocation s2 = new ScreenLocation((int) (((rowBlock + 1) * kBlockWidth) - 1),(int) (((columnBlock + 1) * kBlockHeight) - 1));
+			fIteratorTaskExecutor.addTask(new IteratorTask(s1,s2));
+		}
+
+		fIteratorTaskExecutor.execute();
+	}
+
+	/**
+	 * Starts a multithreaded accumulation of a batch of samples into the current orbit density.
+	 *
+	 * @param batch          the index of the batch
+	 * @param previousBatch  the executor of the previous batch, or <CODE>null</CODE> for the first batch
+	 */
+	private void calculateOrbitDensityBatch(final int batch, OrbitDensityTaskExecutor previousBatch)
+	{
+		final OrbitDensity orbitDensity = fOrbitDensity;
+
+		// chain the next batch, unless the orbit density was abandoned in the meantime
+		Runnable nextBatch = null;
+		if (batch < (kNrOfOrbitDensityBatches - 1)) {
+			nextBatch = new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					if (fOrbitDensity == orbitDensity) {
+						calculateOrbitDensityBatch(batch + 1,fOrbitDensityTaskExecutor);
+					}
+					else {
+						fIsRefining = false;
+						recalc();
+					}
+				}
+			};
+		}
+		fIsRefining = (nextBatch != null);
+
+		fOrbitDensityTaskExecutor = new OrbitDensityTaskExecutor(
+			fProgressUpdateGlassPane,
+			orbitDensity,
+			fFractalPanel,
+			fStatusBarCalculationTimeLabel,
+			previousBatch,
+			nextBatch);
+
+		if (fNrOfThreadsToUse == 0) {
+			fNrOfThreadsToUse = fOrbitDensityTaskExecutor.getNrOfThreadsToUse();
+		}
+		else {
+			fOrbitDensityTaskExecutor.setNrOfThreadsToUse(fNrOfThreadsToUse);
+		}
+
+		// spread one sample per pixel over the tasks
+		int nrOfSamples = fFractalIterator.getScreenWidth() * fFractalIterator.getScreenHeight();
+		for (int task = 0; task < kNrOfOrbitDensityTasksPerBatch; ++task) {
+			int nrOfTaskSamples = ((nrOfSamples * (task + 1)) / kNrOfOrbitDensityTasksPerBatch) - ((nrOfSamples * task) / kNrOfOrbitDensityTasksPerBatch);
+			long sequenceNr = ((long) batch * kNrOfOrbitDensityTasksPerBatch) + task;
+			fOrbitDensityTaskExecutor.addTask(new OrbitDensityTask(fFractalIterator,orbitDensity,sequenceNr,nrOfTaskSamples));
+		}
+
+		fOrbitDensityTaskExecutor.execute();
+	}
+
 	/********************
 	 * INTERNAL CLASSES *
 	 ********************/
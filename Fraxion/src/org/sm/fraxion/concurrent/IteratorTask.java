@@ -1,7 +1,7 @@
 // ---------------------------------
 // Filename      : IteratorTask.java
 // Author        : Sven Maerivoet
-// Last modified : 14/01/2015
+// Last modified : 21/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------
 
@@ -23,7 +23,9 @@
 
 package org.sm.fraxion.concurrent;
 
+import java.util.*;
 import org.sm.fraxion.fractals.*;
+import org.sm.fraxion.fractals.convergent.*;
 import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.application.concurrent.*;
 import org.sm.smtools.math.complex.*;
@@ -34,15 +36,30 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that this class cannot be subclassed!</B>
  *
  * @author  Sven Maerivoet
- * @version 14/01/2015
+ * @version 21/11/2016
  */
 public final class IteratorTask extends ATask
 {
+	// the size below which a rectangle is no longer subdivided but iterated completely
+	private static final int kMinSubdivisionSize = 4;
+
+	// the difference in the number of iterations above which neighbouring points are considered to lie on an edge
+	private static final double kAntiAliasingEdgeThreshold = 1.0;
+
 	// internal datastructures
 	private ScreenLocation fS1;
 	private ScreenLocation fS2;
 	private AFractalIterator fFractalIterator;
 	private IterationBuffer fFractalResultBuffer;
+	private AFractalIterator.EFractalType fFractalType;
+	private ComplexNumber fDualParameter;
+	private double fRootToleranceSqr;
+	private int fStride;
+	private IterationBuffer fPreviousResultBuffer;
+	private int fAntiAliasingSubGridSize;
+	private boolean fResumePass;
+	private IterationResult fPointResult;
+	private IterationResult fNeighbourResult;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -50,15 +67,18 @@ public final class IteratorTask extends ATask
 
 	/**
 	 * Constructs an <CODE>IteratorTask</CODE> object.
+	 * <P>
+	 * Note that its result buffer is only allocated when the columns to store are installed.
 	 *
 	 * @param s1  the upper-left screen location
 	 * @param s2  the lower-right screen location
+	 * @see       IteratorTask#installColumns(int,boolean)
 	 */
 	public IteratorTask(ScreenLocation s1, ScreenLocation s2)
   {
 		fS1 = s1;
 		fS2 = s2;
-		fFractalResultBuffer = new IterationBuffer(fS2.fX - fS1.fX + 1,fS2.fY - fS1.fY + 1);
+		fStride = 1;
 	}
 
 	/******************
@@ -75,6 +95,63 @@ public final class IteratorTask extends ATask
 		fFractalIterator = fractalIterator;
 	}
 
+	/**
+	 * Allocates the result buffer of this task with the specified columns.
+	 *
+	 * @param columns           a mask of the <CODE>IterationBuffer</CODE> columns to store
+	 * @param reducedPrecision  a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 */
+	public void installColumns(int columns, boolean reducedPrecision)
+	{
+		fFractalResultBuffer = new IterationBuffer(fS2.fX - fS1.fX + 1,fS2.fY - fS1.fY + 1,columns,reducedPrecision);
+	}
+
+	/**
+	 * Sets up this task as part of a pass of a progressive rendering.
+	 * <P>
+	 * Only the points of which both screen coordinates are a multiple of the stride are calculated; the other points
+	 * in the result are left empty. Points that were already calculated in the previous pass (which used twice the
+	 * stride) are taken over from its result.
+	 *
+	 * @param stride                the distance between the points that are calculated
+	 * @param previousResultBuffer  the (full-screen) result of the previous pass, or <CODE>null</CODE> for the first pass
+	 */
+	public void installRefinementPass(int stride, IterationBuffer previousResultBuffer)
+	{
+		fStride = stride;
+		fPreviousResultBuffer = previousResultBuffer;
+	}
+
+	/**
+	 * Sets up this task as part of the anti-aliasing pass that follows the calculation of a fractal.
+	 * <P>
+	 * All points are taken over from the previous result. Each point that differs strongly from one of its neighbours
+	 * additionally receives a grid of sub-samples, taken at a random position within each cell of the grid.
+	 *
+	 * @param previousResultBuffer  the (full-screen) result of the calculation of the fractal
+	 * @param subGridSize           the number of sub-samples per dimension
+	 */
+	public void installAntiAliasingPass(IterationBuffer previousResultBuffer, int subGridSize)
+	{
+		fPreviousResultBuffer = previousResultBuffer;
+		fAntiAliasingSubGridSize = subGridSize;
+	}
+
+	/**
+	 * Sets up this task as part of a pass that continues the previous result after the maximum number of iterations was
+	 * raised.
+	 * <P>
+	 * Points that escaped are taken over from the previous result. Points that reached the previous maximum number of
+	 * iterations are continued from their orbit state, or are iterated anew if they have none.
+	 *
+	 * @param previousResultBuffer  the (full-screen) result with the previous maximum number of iterations
+	 */
+	public void installResumePass(IterationBuffer previousResultBuffer)
+	{
+		fPreviousResultBuffer = previousResultBuffer;
+		fResumePass = true;
+	}
+
 	/**
 	 * Returns the upper-left screen location.
 	 *
@@ -115,18 +192,75 @@ public final class IteratorTask extends ATask
 	@Override
 	protected void executeTask()
 	{
-		AFractalIterator.EFractalType fractalType = fFractalIterator.getFractalType();
-		ComplexNumber dualParameter = fFractalIterator.getDualParameter();
+		fFractalType = fFractalIterator.getFractalType();
+		fDualParameter = fFractalIterator.getDualParameter();
 
-		for (int x = 0; x < fFractalResultBuffer.fWidth; ++x) {
-			for (int y = 0; y < fFractalResultBuffer.fHeight; ++y) {
-				int index = x + (y * fFractalResultBuffer.fWidth);
+		// points that converge within twice the root tolerance of each other are assumed to converge to the same root
+		fRootToleranceSqr = 0.0;
+		if (fFractalIterator instanceof AConvergentFractalIterator) {
+			double rootTolerance = 2.0 * ((AConvergentFractalIterator) fFractalIterator).getRootTolerance();
+			fRootToleranceSqr = rootTolerance * rootTolerance;
+		}
 
-				if (fractalType == AFractalIterator.EFractalType.kMainFractal) {
-					fFractalResultBuffer.fBuffer[index] = fFractalIterator.iterateMainFractal(new ScreenLocation(x + fS1.fX,y + fS1.fY),false);
+		if (fAntiAliasingSubGridSize > 0) {
+			antiAlias();
+			return;
+		}
+
+		if (fResumePass) {
+			resume();
+			return;
+		}
+
+		if ((fStride == 1) && (fPreviousResultBuffer == null) && fFractalIterator.usesRectangleSubdivision()) {
+			subdivide(0,0,fFractalResultBuffer.fWidth - 1,fFractalResultBuffer.fHeight - 1);
+			return;
+		}
+
+		// symmetric counterparts are only skipped when all points are calculated in a single pass
+		boolean usesSymmetry = (fStride == 1) && (fPreviousResultBuffer == null) && fFractalIterator.usesSymmetry();
+
+		// iterate the fractal row by row, so that the iterator can process the orbits of each complete row as one batch
+		for (int y = 0; y < fFractalResultBuffer.fHeight; ++y) {
+			int screenY = y + fS1.fY;
+			if ((screenY % fStride) != 0) {
+				continue;
+			}
+
+			boolean rowWasCalculated = (fPreviousResultBuffer != null) && ((screenY % (2 * fStride)) == 0);
+			if ((fStride == 1) && !rowWasCalculated) {
+				if (usesSymmetry) {
+					// only iterate the runs of points that are not copied from their symmetric counterparts afterwards
+					int x = 0;
+					while (x < fFractalResultBuffer.fWidth) {
+						int runStart = x;
+						while ((x < fFractalResultBuffer.fWidth) && !fFractalIterator.isSymmetricCopy(x + fS1.fX,screenY)) {
+							++x;
+						}
+						if (x > runStart) {
+							iterateRow(runStart,y,x - runStart);
+						}
+						++x;
+					}
 				}
 				else {
-					fFractalResultBuffer.fBuffer[index] = fFractalIterator.iterateDualFractal(new ScreenLocation(x + fS1.fX,y + fS1.fY),dualParameter,false);
+					iterateRow(0,y,fFractalResultBuffer.fWidth);
+				}
+			}
+			else {
+				for (int x = 0; x < fFractalResultBuffer.fWidth; ++x) {
+					int screenX = x + fS1.fX;
+					if ((screenX % fStride) != 0) {
+						continue;
+					}
+
+					if (rowWasCalculated && ((screenX % (2 * fStride)) == 0)) {
+						// reuse the point from the previous pass
+						fFractalResultBuffer.copy(x + (y * fFractalResultBuffer.fWidth),fPreviousResultBuffer,screenX + (screenY * fPreviousResultBuffer.fWidth));
+					}
+					else {
+						iterate(x,y);
+					}
 				}
 			}
 		}
@@ -139,4 +273,276 @@ public final class IteratorTask extends ATask
 	protected void finishTask()
 	{
 	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Calculates a rectangle of the block by means of the Mariani-Silver algorithm.
+	 * <P>
+	 * The border of the rectangle is iterated first. If all border points have the same integral number of iterations
+	 * and the same root, then the inside of the rectangle is filled with the result of its upper-left corner. Otherwise,
+	 * the rectangle is split in two along its longest side and both halves are calculated recursively (the points on
+	 * their shared border are only iterated once).
+	 *
+	 * @param x1  the left side of the rectangle (relative to the block)
+	 * @param y1  the top side of the rectangle (relative to the block)
+	 * @param x2  the right side of the rectangle (relative to the block)
+	 * @param y2  the bottom side of the rectangle (relative to the block)
+	 */
+	private void subdivide(int x1, int y1, int x2, int y2)
+	{
+		// small rectangles are iterated completely
+		if (((x2 - x1) < kMinSubdivisionSize) || ((y2 - y1) < kMinSubdivisionSize)) {
+			for (int y = y1; y <= y2; ++y) {
+				for (int x = x1; x <= x2; ++x) {
+					iterate(x,y);
+				}
+			}
+			return;
+		}
+
+		// iterate the border and check whether or not it is uniform
+		IterationResult corner = iterate(x1,y1);
+		boolean uniform = true;
+		for (int x = x1; x <= x2; ++x) {
+			uniform &= haveSameIntegralResult(corner,iterate(x,y1));
+			uniform &= haveSameIntegralResult(corner,iterate(x,y2));
+		}
+		for (int y = y1 + 1; y < y2; ++y) {
+			uniform &= haveSameIntegralResult(corner,iterate(x1,y));
+			uniform &= haveSameIntegralResult(corner,iterate(x2,y));
+		}
+
+		if (uniform) {
+			// fill the inside without iterating it
+			for (int y = y1 + 1; y < y2; ++y) {
+				for (int x = x1 + 1; x < x2; ++x) {
+					fFractalResultBuffer.set(x + (y * fFractalResultBuffer.fWidth),corner);
+				}
+			}
+		}
+		else if ((x2 - x1) >= (y2 - y1)) {
+			int xMiddle = (x1 + x2) / 2;
+			subdivide(x1,y1,xMiddle,y2);
+			subdivide(xMiddle,y1,x2,y2);
+		}
+		else {
+			int yMiddle = (y1 + y2) / 2;
+			subdivide(x1,y1,x2,yMiddle);
+			subdivide(x1,yMiddle,x2,y2);
+		}
+	}
+
+	/**
+	 * Takes over the previous result of the block and adds sub-samples to all points that lie on an edge.
+	 */
+	private void antiAlias()
+	{
+		fPointResult = new IterationResult();
+		fNeighbourResult = new IterationResult();
+
+		for (int y = 0; y < fFractalResultBuffer.fHeight; ++y) {
+			for (int x = 0; x < fFractalResultBuffer.fWidth; ++x) {
+				int screenX = x + fS1.fX;
+				int screenY = y + fS1.fY;
+				int index = x + (y * fFractalResultBuffer.fWidth);
+				fFractalResultBuffer.copy(index,fPreviousResultBuffer,screenX + (screenY * fPreviousResultBuffer.fWidth));
+
+				if (liesOnEdge(screenX,screenY)) {
+					if (fFractalResultBuffer.fSubSamples == null) {
+						fFractalResultBuffer.fSubSamples = new IterationResult[fFractalResultBuffer.getNrOfPoints()][];
+					}
+					fFractalResultBuffer.fSubSamples[index] = subSample(screenX,screenY);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes over the points of the previous result of the block that escaped, and continues those that reached the
+	 * previous maximum number of iterations (the sub-samples of the previous result are dropped).
+	 */
+	private void resume()
+	{
+		boolean usesSymmetry = fFractalIterator.usesSymmetry();
+
+		for (int y = 0; y < fFractalResultBuffer.fHeight; ++y) {
+			for (int x = 0; x < fFractalResultBuffer.fWidth; ++x) {
+				int screenX = x + fS1.fX;
+				int screenY = y + fS1.fY;
+				if (usesSymmetry && fFractalIterator.isSymmetricCopy(screenX,screenY)) {
+					continue;
+				}
+
+				int index = x + (y * fFractalResultBuffer.fWidth);
+				int previousIndex = screenX + (screenY * fPreviousResultBuffer.fWidth);
+				if (fPreviousResultBuffer.isCalculated(previousIndex) && !fPreviousResultBuffer.liesInInterior(previousIndex)) {
+					fFractalResultBuffer.copy(index,fPreviousResultBuffer,previousIndex);
+				}
+				else if (fPreviousResultBuffer.isCalculated(previousIndex)) {
+					fFractalResultBuffer.set(index,fFractalIterator.resumeIteration(fPreviousResultBuffer.get(previousIndex)));
+				}
+
+				// points without an orbit state are iterated anew
+				iterate(x,y);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether or not a point of the previous result differs strongly from one of its four neighbours.
+	 *
+	 * @param screenX  the horizontal screen position of the point
+	 * @param screenY  the vertical screen position of the point
+	 * @return         a <CODE>boolean</CODE> indicating whether or not the point lies on an edge
+	 */
+	private boolean liesOnEdge(int screenX, int screenY)
+	{
+		int width = fPreviousResultBuffer.fWidth;
+		int height = fPreviousResultBuffer.fHeight;
+		IterationResult iterationResult = fPreviousResultBuffer.get(screenX + (screenY * width),fPointResult);
+
+		return (((screenX > 0) && differStrongly(iterationResult,fPreviousResultBuffer.get((screenX - 1) + (screenY * width),fNeighbourResult))) ||
+						((screenX < (width - 1)) && differStrongly(iterationResult,fPreviousResultBuffer.get((screenX + 1) + (screenY * width),fNeighbourResult))) ||
+						((screenY > 0) && differStrongly(iterationResult,fPreviousResultBuffer.get(screenX + ((screenY - 1) * width),fNeighbourResult))) ||
+						((screenY < (height - 1)) && differStrongly(iterationResult,fPreviousResultBuffer.get(screenX + ((screenY + 1) * width),fNeighbourResult))));
+	}
+
+	/**
+	 * Iterates a jittered grid of sub-samples within a single point.
+	 * <P>
+	 * The jitter is seeded with the screen location, so that recalculating the same fractal yields the same sub-samples.
+	 *
+	 * @param screenX  the horizontal screen position of the point
+	 * @param screenY  the vertical screen position of the point
+	 * @return         the iteration results of the sub-samples
+	 */
+	private IterationResult[] subSample(int screenX, int screenY)
+	{
+		Random random = new Random((((long) screenY) << 32) | screenX);
+		double cellSize = 1.0 / (double) fAntiAliasingSubGridSize;
+		IterationResult[] subSamples = new IterationResult[fAntiAliasingSubGridSize * fAntiAliasingSubGridSize];
+
+		for (int row = 0; row < fAntiAliasingSubGridSize; ++row) {
+			for (int column = 0; column < fAntiAliasingSubGridSize; ++column) {
+				// the grid covers the unit square that is centred around the point
+				double x = (double) screenX - 0.5 + (((double) column + random.nextDouble()) * cellSize);
+				double y = (double) screenY - 0.5 + (((double) row + random.nextDouble()) * cellSize);
+				if (fFractalType == AFractalIterator.EFractalType.kMainFractal) {
+					subSamples[column + (row * fAntiAliasingSubGridSize)] = fFractalIterator.iterateMainFractalSubPixel(x,y);
+				}
+				else {
+					subSamples[column + (row * fAntiAliasingSubGridSize)] = fFractalIterator.iterateDualFractalSubPixel(x,y,fDualParameter);
+				}
+			}
+		}
+
+		return subSamples;
+	}
+
+	/**
+	 * Iterates a horizontal run of points of the block as one batch.
+	 *
+	 * @param x       the horizontal position of the first point (relative to the block)
+	 * @param y       the vertical position of the points (relative to the block)
+	 * @param length  the number of points in the run
+	 */
+	private void iterateRow(int x, int y, int length)
+	{
+		int index = x + (y * fFractalResultBuffer.fWidth);
+		ScreenLocation s = new ScreenLocation(x + fS1.fX,y + fS1.fY);
+		IterationResult[] rowResults = new IterationResult[length];
+
+		if (fFractalType == AFractalIterator.EFractalType.kMainFractal) {
+			fFractalIterator.iterateMainFractalRow(s,length,rowResults,0);
+		}
+		else {
+			fFractalIterator.iterateDualFractalRow(s,length,fDualParameter,rowResults,0);
+		}
+
+		for (int i = 0; i < length; ++i) {
+			fFractalResultBuffer.set(index + i,rowResults[i]);
+		}
+	}
+
+	/**
+	 * Iterates a single point of the block, unless it was already iterated before.
+	 *
+	 * @param x  the horizontal position of the point (relative to the block)
+	 * @param y  the vertical position of the point (relative to the block)
+	 * @return   the iteration result of the point
+	 */
+	private IterationResult iterate(int x, int y)
+	{
+		int index = x + (y * fFractalResultBuffer.fWidth);
+		if (fFractalResultBuffer.isCalculated(index)) {
+			return fFractalResultBuffer.get(index);
+		}
+
+		IterationResult iterationResult = null;
+		ScreenLocation s = new ScreenLocation(x + fS1.fX,y + fS1.fY);
+		if (fFractalType == AFractalIterator.EFractalType.kMainFractal) {
+			iterationResult = fFractalIterator.iterateMainFractal(s,false);
+		}
+		else {
+			iterationResult = fFractalIterator.iterateDualFractal(s,fDualParameter,false);
+		}
+		fFractalResultBuffer.set(index,iterationResult);
+		return iterationResult;
+	}
+
+	/**
+	 * Returns whether or not two iteration results have the same integral number of iterations and the same root.
+	 *
+	 * @param first   the first iteration result
+	 * @param second  the second iteration result
+	 * @return        a <CODE>boolean</CODE> indicating whether or not both iteration results have the same integral number of iterations and the same root
+	 */
+	private boolean haveSameIntegralResult(IterationResult first, IterationResult second)
+	{
+		if ((first.fNrOfIterations != second.fNrOfIterations) || (first.fRootIndex != second.fRootIndex)) {
+			return false;
+		}
+
+		if (first.fRootIndex == 0.0) {
+			return true;
+		}
+
+		double deltaX = first.fRealComponent - second.fRealComponent;
+		double deltaY = first.fImaginaryComponent - second.fImaginaryComponent;
+		return (((deltaX * deltaX) + (deltaY * deltaY)) <= fRootToleranceSqr);
+	}
+
+	/**
+	 * Returns whether or not two iteration results differ strongly, i.e., when only one of them lies in the interior, when
+	 * their numbers of iterations differ by more than one, or when they converge to different roots.
+	 *
+	 * @param first   the first iteration result
+	 * @param second  the second iteration result
+	 * @return        a <CODE>boolean</CODE> indicating whether or not both iteration results differ strongly
+	 */
+	private boolean differStrongly(IterationResult first, IterationResult second)
+	{
+		if (first.liesInInterior() != second.liesInInterior()) {
+			return true;
+		}
+
+		if (!first.liesInInterior() && (Math.abs(first.fNrOfIterations - second.fNrOfIterations) > kAntiAliasingEdgeThreshold)) {
+			return true;
+		}
+
+		if (first.fRootIndex != second.fRootIndex) {
+			return true;
+		}
+
+		if (first.fRootIndex == 0.0) {
+			return false;
+		}
+
+		double deltaX = first.fRealComponent - second.fRealComponent;
+		double deltaY = first.fImaginaryComponent - second.fImaginaryComponent;
+		return (((deltaX * deltaX) + (deltaY * deltaY)) > fRootToleranceSqr);
+	}
 }
@@ -1,7 +1,7 @@
 // -----------------------------------------
 // Filename      : IteratorTaskExecutor.java
 // Author        : Sven Maerivoet
-// Last modified : 17/05/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.concurrent;
 
+import java.util.*;
 import javax.swing.*;
 import org.sm.fraxion.fractals.*;
 import org.sm.fraxion.fractals.convergent.*;
@@ -42,7 +43,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this class cannot be subclassed!</B>
  *
  * @author  Sven Maerivoet
- * @version 17/05/2016
+ * @version 22/11/2016
  */
 public class IteratorTaskExecutor extends TaskExecutor
 {
@@ -64,6 +65,14 @@ public class IteratorTaskExecutor extends TaskExecutor
 	private EmpiricalDistribution fIterationsEmpiricalDistribution;
 	private FunctionLookupTable fIterationsPDF;
 	private JARResources fResources;
+	private int fStride;
+	private IterationBuffer fPreviousResultBuffer;
+	private Runnable fNextPass;
+	private int fAntiAliasingSubGridSize;
+	private boolean fResumePass;
+	private Runnable fCompletionAction;
+	private int fColumns;
+	private boolean fReducedPrecision;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -89,6 +98,8 @@ public class IteratorTaskExecutor extends TaskExecutor
 		fStatusBarCalculationTimeLabel = statusBarCalculationTimeLabel;
 		fEstimatePDF = estimatePDF;
 		fResources = resources;
+		fStride = 1;
+		fColumns = IterationBuffer.kAllColumns;
 	}
 
 	/******************
@@ -125,6 +136,90 @@ public class IteratorTaskExecutor extends TaskExecutor
 		return fIterationsPDF;
 	}
 
+	/**
+	 * Sets up this executor as a pass of a progressive rendering.
+	 * <P>
+	 * Only the points on a grid with the specified stride are calculated, reusing those that were already calculated by
+	 * the previous pass (which used twice the stride). If the stride is larger than 1, then the missing points are filled
+	 * with their nearest calculated neighbour, the intermediate result is shown, and the next pass is started.
+	 * <P>
+	 * Note that this method should be called before any tasks are added.
+	 *
+	 * @param stride        the distance between the points that are calculated in this pass
+	 * @param previousPass  the executor of the previous pass, or <CODE>null</CODE> for the first pass
+	 * @param nextPass      the action that starts the next pass, or <CODE>null</CODE> for the last pass
+	 */
+	public void setRefinementPass(int stride, IteratorTaskExecutor previousPass, Runnable nextPass)
+	{
+		fStride = stride;
+		fNextPass = nextPass;
+		if (previousPass != null) {
+			fPreviousResultBuffer = previousPass.fFractalResultBuffer;
+			fChrono = previousPass.fChrono;
+		}
+	}
+
+	/**
+	 * Sets up this executor as the anti-aliasing pass that follows the calculation of a fractal.
+	 * <P>
+	 * The points of the previous result that lie on an edge are replaced by a jittered grid of sub-samples; all other
+	 * points are taken over.
+	 * <P>
+	 * Note that this method should be called before any tasks are added.
+	 *
+	 * @param previousPass  the executor of the pass that calculated the fractal
+	 * @param subGridSize   the number of sub-samples per dimension
+	 */
+	public void setAntiAliasingPass(IteratorTaskExecutor previousPass, int subGridSize)
+	{
+		fAntiAliasingSubGridSize = subGridSize;
+		fPreviousResultBuffer = previousPass.fFractalResultBuffer;
+		fChrono = previousPass.fChrono;
+	}
+
+	/**
+	 * Sets up this executor as a pass that continues the result of a previous calculation after the maximum number of
+	 * iterations was raised.
+	 * <P>
+	 * Only the points that reached the previous maximum number of iterations are iterated further; all other points
+	 * are taken over. The calculation is timed anew.
+	 * <P>
+	 * Note that this method should be called before any tasks are added.
+	 *
+	 * @param previousPass  the executor of the previous calculation
+	 * @param nextPass      the action that starts the next pass, or <CODE>null</CODE> for the last pass
+	 */
+	public void setResumePass(IteratorTaskExecutor previousPass, Runnable nextPass)
+	{
+		fResumePass = true;
+		fPreviousResultBuffer = previousPass.fFractalResultBuffer;
+		fNextPass = nextPass;
+	}
+
+	/**
+	 * Sets the columns that are stored in the fractal result buffer (all columns in full precision by default).
+	 * <P>
+	 * Note that this method should be called before any tasks are added.
+	 *
+	 * @param columns           a mask of the <CODE>IterationBuffer</CODE> columns to store
+	 * @param reducedPrecision  a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 */
+	public void setColumns(int columns, boolean reducedPrecision)
+	{
+		fColumns = columns;
+		fReducedPrecision = reducedPrecision;
+	}
+
+	/**
+	 * Sets the action that is started after the last pass of the calculation is finished.
+	 *
+	 * @param completionAction  the action that is started after the calculation, or <CODE>null</CODE> for no action
+	 */
+	public void setCompletionAction(Runnable completionAction)
+	{
+		fCompletionAction = completionAction;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -138,6 +233,16 @@ public class IteratorTaskExecutor extends TaskExecutor
 	public void prepareTask(ATask task)
 	{
 		((IteratorTask) task).installFractalIterator(fFractalIterator);
+		((IteratorTask) task).installColumns(fColumns,fReducedPrecision);
+		if (fAntiAliasingSubGridSize > 0) {
+			((IteratorTask) task).installAntiAliasingPass(fPreviousResultBuffer,fAntiAliasingSubGridSize);
+		}
+		else if (fResumePass) {
+			((IteratorTask) task).installResumePass(fPreviousResultBuffer);
+		}
+		else {
+			((IteratorTask) task).installRefinementPass(fStride,fPreviousResultBuffer);
+		}
 	}
 
 	/**
@@ -153,6 +258,14 @@ public class IteratorTaskExecutor extends TaskExecutor
 			fStatusBarCalculationTimeLabel.setText(I18NL10N.translate("text.StatusBar.CalculationTimePending"));
 		}
 
+		// subsequent passes continue the statistics and timing of the first pass
+		if ((fPreviousResultBuffer != null) && !fResumePass) {
+			return;
+		}
+
+		// keep track of the iterations that are saved by periodicity checking
+		fFractalIterator.resetNrOfSavedIterations();
+
 		// time the calculation
 		fChrono = new Chrono();
 		fChrono.start();
@@ -168,7 +281,11 @@ public class IteratorTaskExecutor extends TaskExecutor
 		// assemble partial iteration results into the fractal result buffer
 		int width = fFractalIterator.getScreenWidth();
 		int height = fFractalIterator.getScreenHeight();
-		fFractalResultBuffer = new IterationBuffer(width,height);
+		fFractalResultBuffer = new IterationBuffer(width,height,fColumns,fReducedPrecision);
+		fFractalResultBuffer.fAdvancedColoringChannels = fFractalIterator.getCalculatedAdvancedColoringChannels();
+		fFractalResultBuffer.fKnownInteriorSkipped = fFractalIterator.getKnownInteriorSkippingEnabled();
+		fFractalResultBuffer.fRectanglesFilled = fFractalIterator.usesRectangleSubdivision();
+		fFractalResultBuffer.fMaxNrOfIterations = fFractalIterator.getMaxNrOfIterations();
 
 		for (ATask aTask : getTasks()) {
 			IteratorTask task = (IteratorTask) aTask;
@@ -180,53 +297,108 @@ public class IteratorTaskExecutor extends TaskExecutor
 				for (int y = s1.fY; y <= s2.fY; ++y) {
 					int index = x + (y * width);
 					int lookupIndex = (x - s1.fX) + ((y - s1.fY) * partialResult.fWidth);
-					fFractalResultBuffer.fBuffer[index] = partialResult.fBuffer[lookupIndex];
+					fFractalResultBuffer.copy(index,partialResult,lookupIndex);
+					if (partialResult.fSubSamples != null) {
+						if (fFractalResultBuffer.fSubSamples == null) {
+							fFractalResultBuffer.fSubSamples = new IterationResult[width * height][];
+						}
+						fFractalResultBuffer.fSubSamples[index] = partialResult.fSubSamples[lookupIndex];
+					}
 				}
 			}
 		}
 
-		// autodetect roots of convergent fractals
+		// copy the points that were skipped because of the fractal's symmetries
+		if ((((fStride == 1) && (fPreviousResultBuffer == null)) || fResumePass) && !fFractalIterator.usesRectangleSubdivision() && fFractalIterator.usesSymmetry()) {
+			fFractalIterator.completeSymmetricCopies(fFractalResultBuffer);
+		}
+
+		// show the intermediate result and start the next pass
+		if (fNextPass != null) {
+			if (fStride > 1) {
+				for (int y = 0; y < height; ++y) {
+					for (int x = 0; x < width; ++x) {
+						int index = x + (y * width);
+						if (!fFractalResultBuffer.isCalculated(index)) {
+							// the nearest calculated neighbour lies on the grid, which is never filled
+							fFractalResultBuffer.copy(index,fFractalResultBuffer,(x - (x % fStride)) + ((y - (y % fStride)) * width));
+						}
+					}
+				}
+			}
+
+			fFractalPanel.recolor();
+			SwingUtilities.invokeLater(fNextPass);
+			return;
+		}
+
+		// autodetect roots of convergent fractals (the roots that are known up front were assigned during the iterations)
 		if (fFractalIterator instanceof AConvergentFractalIterator) {
-			if (((AConvergentFractalIterator) fFractalIterator).getAutomaticRootDetectionEnabled()) {
+			if (((AConvergentFractalIterator) fFractalIterator).hasKnownRoots()) {
+				double maxObservedExponentialIterationCount = 0.0;
+				IterationResult scratchResult = new IterationResult();
+				for (int index = 0; index < fFractalResultBuffer.getNrOfPoints(); ++index) {
+					IterationResult iterationResult = fFractalResultBuffer.get(index,scratchResult);
+					if ((iterationResult != null) && !iterationResult.liesInInterior() && (iterationResult.fExponentialIterationCount > maxObservedExponentialIterationCount)) {
+						maxObservedExponentialIterationCount = iterationResult.fExponentialIterationCount;
+					}
+				}
+				((AConvergentFractalIterator) fFractalIterator).setMaxObservedExponentialIterationCount(maxObservedExponentialIterationCount);
+			}
+			else if (((AConvergentFractalIterator) fFractalIterator).getAutomaticRootDetectionEnabled()) {
 
 			ComplexNumber[] roots = new ComplexNumber[kMaxNrOfRoots];
 			int nrOfRoots = 0;
 			double maxObservedExponentialIterationCount = 0.0;
 			double rootTolerance = ((AConvergentFractalIterator) fFractalIterator).getRootTolerance();
 
-			for (int index = 0; index < fFractalResultBuffer.fBuffer.length; ++index) {
-				IterationResult iterationResult = fFractalResultBuffer.fBuffer[index];
-
-				// did we converge on a root?
-				if ((iterationResult != null) && (iterationResult.fRootIndex > 0)) {
-					ComplexNumber z = new ComplexNumber(iterationResult.fRealComponent,iterationResult.fImaginaryComponent);
-
-					// try to find root
-					boolean rootFound = false;
-					for (int rootIndex = 0; rootIndex < nrOfRoots; ++rootIndex) {
-						ComplexNumber candidateRoot = roots[rootIndex];
-						if (z.subtract(candidateRoot).modulus() < rootTolerance) {
-							iterationResult.fRootIndex = rootIndex;
-							if (iterationResult.fExponentialIterationCount > maxObservedExponentialIterationCount) {
-								maxObservedExponentialIterationCount = iterationResult.fExponentialIterationCount;
+			IterationResult scratchResult = new IterationResult();
+			for (int index = 0; index < fFractalResultBuffer.getNrOfPoints(); ++index) {
+				// the sub-samples of an anti-aliased point are coloured as well
+				IterationResult pointResult = fFractalResultBuffer.get(index,scratchResult);
+				IterationResult[] iterationResults = {pointResult};
+				if ((fFractalResultBuffer.fSubSamples != null) && (fFractalResultBuffer.fSubSamples[index] != null)) {
+					iterationResults = Arrays.copyOf(fFractalResultBuffer.fSubSamples[index],fFractalResultBuffer.fSubSamples[index].length + 1);
+					iterationResults[iterationResults.length - 1] = pointResult;
+				}
+
+				for (IterationResult iterationResult : iterationResults) {
+					// did we converge on a root?
+					if ((iterationResult != null) && (iterationResult.fRootIndex > 0)) {
+						ComplexNumber z = new ComplexNumber(iterationResult.fRealComponent,iterationResult.fImaginaryComponent);
+
+						// try to find root
+						boolean rootFound = false;
+						for (int rootIndex = 0; rootIndex < nrOfRoots; ++rootIndex) {
+							ComplexNumber candidateRoot = roots[rootIndex];
+							if (z.subtract(candidateRoot).modulus() < rootTolerance) {
+								iterationResult.fRootIndex = rootIndex;
+								if (iterationResult.fExponentialIterationCount > maxObservedExponentialIterationCount) {
+									maxObservedExponentialIterationCount = iterationResult.fExponentialIterationCount;
+								}
+								rootFound = true;
 							}
-							rootFound = true;
 						}
-					}
 
-					// store root if we haven't encountered it
-					if ((!rootFound) && (nrOfRoots < kMaxNrOfRoots)  && (iterationResult.fRootIndex > 0) && (!iterationResult.liesInInterior())) {
-						roots[nrOfRoots] = z;
-						iterationResult.fRootIndex = nrOfRoots;
-						++nrOfRoots;
-					}
-				} // if ((iterationResult != null) && (iterationResult.fRootIndex > 0))
+						// store root if we haven't encountered it
+						if ((!rootFound) && (nrOfRoots < kMaxNrOfRoots)  && (iterationResult.fRootIndex > 0) && (!iterationResult.liesInInterior())) {
+							roots[nrOfRoots] = z;
+							iterationResult.fRootIndex = nrOfRoots;
+							++nrOfRoots;
+						}
+					} // if ((iterationResult != null) && (iterationResult.fRootIndex > 0))
+				} // for iterationResult
+
+				// store the detected root of the point itself
+				if (pointResult != null) {
+					fFractalResultBuffer.setRootIndex(index,pointResult.fRootIndex);
+				}
 
 				fProgressUpdateGlassPane.signalProgressUpdate();
 			} // for index
 
 			((AConvergentFractalIterator) fFractalIterator).setMaxObservedExponentialIterationCount(maxObservedExponentialIterationCount);
-			} // if (((AConvergentFractalIterator) fFractalIterator).getAutomaticRootDetectionEnabled())
+			} // else if (((AConvergentFractalIterator) fFractalIterator).getAutomaticRootDetectionEnabled())
 		} // if (fFractalIterator instanceof AConvergentFractalIterator)
 
 		if (fEstimatePDF) {
@@ -235,9 +407,9 @@ public class IteratorTaskExecutor extends TaskExecutor
 			double[] fIterationsRawPDFData = new double[width * height];
 
 			for (int index = 0; index < fIterationsRawPDFData.length; ++index) {
-				if (fFractalResultBuffer.fBuffer[index] != null) {
-					if (fFractalResultBuffer.fBuffer[index].fNrOfIterations < IterationResult.kInfinity) {
-						fIterationsRawPDFData[index] = fFractalResultBuffer.fBuffer[index].fNrOfIterations;
+				if (fFractalResultBuffer.isCalculated(index)) {
+					if (!fFractalResultBuffer.liesInInterior(index)) {
+						fIterationsRawPDFData[index] = fFractalResultBuffer.getNrOfIterations(index);
 					}
 					else {
 						fIterationsRawPDFData[index] = maxNrOfIterations;
@@ -271,6 +443,13 @@ public class IteratorTaskExecutor extends TaskExecutor
 					(new TimeStamp(fChrono.getElapsedTimeInMilliseconds())).getHMSString(),
 					String.valueOf(nrOfProcessors)));
 		}
+		long nrOfSavedIterations = fFractalIterator.getNrOfSavedIterations();
+		if (nrOfSavedIterations > 0) {
+			fStatusBarCalculationTimeLabel.setText(
+				I18NL10N.translate("text.StatusBar.SavedIterations",
+					fStatusBarCalculationTimeLabel.getText(),
+					String.valueOf(nrOfSavedIterations)));
+		}
 
 		// play a "calculation-finished" sound
 		if (MP3Player.systemSoundsEnabled()) {
@@ -287,5 +466,9 @@ public class IteratorTaskExecutor extends TaskExecutor
 				// ignore
 			}
 		}
+
+		if (fCompletionAction != null) {
+			SwingUtilities.invokeLater(fCompletionAction);
+		}
 	}
 }
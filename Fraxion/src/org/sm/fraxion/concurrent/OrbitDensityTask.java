@@ -0,0 +1,111 @@
+// -------------------------------------
+// Filename      : OrbitDensityTask.java
+// Author        : Sven Maerivoet
+// Last modified : 18/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.concurrent;
+
+import java.util.*;
+import org.sm.fraxion.fractals.*;
+import org.sm.fraxion.fractals.util.*;
+import org.sm.smtools.application.concurrent.*;
+
+/**
+ * The <CODE>OrbitDensityTask</CODE> class provides a threaded task for accumulating a batch of random samples into an orbit density.
+ * <P>
+ * The task counts into a histogram of its own (see {@link OrbitDensity#acquireHistogram()}), and its samples are
+ * seeded with its sequence number, so that recalculating the same orbit density yields the same samples, regardless
+ * of the number of threads that is used.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 18/11/2016
+ */
+public final class OrbitDensityTask extends ATask
+{
+	// internal datastructures
+	private AFractalIterator fFractalIterator;
+	private OrbitDensity fOrbitDensity;
+	private long fSequenceNr;
+	private int fNrOfSamples;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs an <CODE>OrbitDensityTask</CODE> object.
+	 *
+	 * @param fractalIterator  the fractal iterator with which the orbits are iterated
+	 * @param orbitDensity     the orbit density to accumulate into
+	 * @param sequenceNr       the sequence number of the task (which seeds its samples)
+	 * @param nrOfSamples      the number of samples to take
+	 */
+	public OrbitDensityTask(AFractalIterator fractalIterator, OrbitDensity orbitDensity, long sequenceNr, int nrOfSamples)
+	{
+		fFractalIterator = fractalIterator;
+		fOrbitDensity = orbitDensity;
+		fSequenceNr = sequenceNr;
+		fNrOfSamples = nrOfSamples;
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the number of samples that this task takes.
+	 *
+	 * @return the number of samples that this task takes
+	 */
+	public int getNrOfSamples()
+	{
+		return fNrOfSamples;
+	}
+
+	/*********************
+	 * PROTECTED METHODS *
+	 *********************/
+
+	/**
+	 * Accumulates the samples in its own thread.
+	 */
+	@Override
+	protected void executeTask()
+	{
+		float[][] histogram = fOrbitDensity.acquireHistogram();
+		try {
+			fOrbitDensity.accumulate(fFractalIterator,new Random(fSequenceNr),fNrOfSamples,histogram);
+		}
+		finally {
+			fOrbitDensity.releaseHistogram(histogram);
+		}
+	}
+
+	/**
+	 * This method is empty.
+	 */
+	@Override
+	protected void finishTask()
+	{
+	}
+}
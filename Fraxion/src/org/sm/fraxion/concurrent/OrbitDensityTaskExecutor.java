@@ -0,0 +1,136 @@
+// ---------------------------------------------
+// Filename      : OrbitDensityTaskExecutor.java
+// Author        : Sven Maerivoet
+// Last modified : 18/11/2016
+// Target        : Java VM (1.8)
+// ---------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.concurrent;
+
+import javax.swing.*;
+import org.sm.fraxion.fractals.util.*;
+import org.sm.fraxion.gui.*;
+import org.sm.smtools.application.concurrent.*;
+import org.sm.smtools.application.util.*;
+import org.sm.smtools.util.*;
+
+/**
+ * The <CODE>OrbitDensityTaskExecutor</CODE> class provides a facility for organising a batch of orbit density tasks.
+ * <P>
+ * After each batch, the histograms of the threads are merged into the orbit density, the intermediate result is shown,
+ * and the next batch is started.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 18/11/2016
+ */
+public final class OrbitDensityTaskExecutor extends TaskExecutor
+{
+	// internal datastructures
+	private OrbitDensity fOrbitDensity;
+	private FractalPanel fFractalPanel;
+	private JLabel fStatusBarCalculationTimeLabel;
+	private Chrono fChrono;
+	private Runnable fNextBatch;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs an <CODE>OrbitDensityTaskExecutor</CODE> object.
+	 *
+	 * @param progressUpdateGlassPane        a reference to the progress update glass pane
+	 * @param orbitDensity                   the orbit density to accumulate into
+	 * @param fractalPanel                   a reference to the fractal panel
+	 * @param statusBarCalculationTimeLabel  a reference to the status bar's calculation time label
+	 * @param previousBatch                  the executor of the previous batch, or <CODE>null</CODE> for the first batch
+	 * @param nextBatch                      the action that starts the next batch, or <CODE>null</CODE> for the last batch
+	 */
+	public OrbitDensityTaskExecutor(JProgressUpdateGlassPane progressUpdateGlassPane, OrbitDensity orbitDensity, FractalPanel fractalPanel, JLabel statusBarCalculationTimeLabel, OrbitDensityTaskExecutor previousBatch, Runnable nextBatch)
+	{
+		super(progressUpdateGlassPane);
+		fOrbitDensity = orbitDensity;
+		fFractalPanel = fractalPanel;
+		fStatusBarCalculationTimeLabel = statusBarCalculationTimeLabel;
+		fNextBatch = nextBatch;
+		if (previousBatch != null) {
+			fChrono = previousBatch.fChrono;
+		}
+	}
+
+	/*********************
+	 * PROTECTED METHODS *
+	 *********************/
+
+	/**
+	 * Performs custom initialisation before tasks are executed.
+	 */
+	@Override
+	protected void initialise()
+	{
+		fStatusBarCalculationTimeLabel.setText(I18NL10N.translate("text.StatusBar.CalculationTimePending"));
+
+		// subsequent batches continue the timing of the first batch
+		if (fChrono == null) {
+			fChrono = new Chrono();
+			fChrono.start();
+		}
+	}
+
+	/**
+	 * Merges the histograms of the threads into the orbit density, shows it, and starts the next batch.
+	 */
+	@Override
+	protected void finishTasks()
+	{
+		long nrOfSamples = 0;
+		for (ATask aTask : getTasks()) {
+			nrOfSamples += ((OrbitDensityTask) aTask).getNrOfSamples();
+		}
+		fOrbitDensity.merge(nrOfSamples);
+
+		// render the orbit density to screen
+		fFractalPanel.finaliseFractalImage();
+
+		if (fNextBatch != null) {
+			SwingUtilities.invokeLater(fNextBatch);
+			return;
+		}
+
+		// update status bar
+		int nrOfProcessors = getNrOfThreadsToUse();
+		if (nrOfProcessors == 1) {
+			fStatusBarCalculationTimeLabel.setText(
+				I18NL10N.translate("text.StatusBar.CalculationTimeSingular",
+					(new TimeStamp(fChrono.getElapsedTimeInMilliseconds())).getHMSString()));
+		}
+		else {
+			fStatusBarCalculationTimeLabel.setText(
+				I18NL10N.translate("text.StatusBar.CalculationTimePlural",
+					(new TimeStamp(fChrono.getElapsedTimeInMilliseconds())).getHMSString(),
+					String.valueOf(nrOfProcessors)));
+		}
+		fStatusBarCalculationTimeLabel.setText(
+			I18NL10N.translate("text.StatusBar.OrbitDensitySamples",
+				fStatusBarCalculationTimeLabel.getText(),
+				String.valueOf(fOrbitDensity.getNrOfSamples())));
+	}
+}
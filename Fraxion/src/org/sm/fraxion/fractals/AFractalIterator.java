@@ -1,7 +1,7 @@
 // -------------------------------------
 // Filename      : AFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 30/10/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------
 
@@ -25,6 +25,8 @@ package org.sm.fraxion.fractals;
 
 import java.awt.*;
 import java.io.*;
+import java.math.*;
+import java.util.concurrent.atomic.*;
 import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.exceptions.*;
 import org.sm.smtools.math.*;
@@ -40,7 +42,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this is an abstract class.</B>
  * 
  * @author  Sven Maerivoet
- * @version 30/10/2016
+ * @version 22/11/2016
  */
 public abstract class AFractalIterator
 {
@@ -49,6 +51,11 @@ public abstract class AFractalIterator
 	 */
 	public static enum EFractalType {kMainFractal, kDualFractal};
 
+	/**
+	 * The numerical precision that is required to iterate the current view.
+	 */
+	public static enum EPrecisionTier {kDouble, kDoubleDouble, kArbitrary};
+
 	/**
 	 * The initial fractal screen bounds.
 	 */
@@ -57,10 +64,54 @@ public abstract class AFractalIterator
 	// initialisation constants
 	private static final int kDefaultMaxNrOfIterations = 100;
 
+	// the bounds and the tolerated fraction of unresolved boundary points for an adaptive maximum number of iterations
+	private static final int kMinAdaptiveMaxNrOfIterations = 100;
+	private static final int kMaxAdaptiveMaxNrOfIterations = 1000000;
+	private static final double kAdaptiveUnresolvedFraction = 0.001;
+
+	// the relative pixel resolutions below which double-double, respectively arbitrary precision is required
+	private static final double kDoubleDoublePrecisionThreshold = 1E-13;
+	private static final double kArbitraryPrecisionThreshold = 1E-28;
+
+	// the default settings for periodicity checking
+	private static final double kDefaultPeriodicityTolerance = 1E-10;
+	private static final int kDefaultPeriodicityCheckInterval = 16;
+
+	// the tag that precedes the version of the parameter format (files without it use the original format with double-precision bounds)
+	private static final String kParameterFormatVersionTag = "ParameterFormatVersion";
+
+	/**
+	 * The original parameter format, which has no version tag.
+	 */
+	protected static final int kOriginalParameterFormatVersion = 1;
+
+	/**
+	 * The current parameter format, which stores the complex bounds in arbitrary precision and the periodicity checking settings.
+	 */
+	protected static final int kParameterFormatVersion = 2;
+
+	// the maximum distance (in pixels) between a symmetry axis and the pixel grid for the symmetry to be exploited
+	private static final double kSymmetryAlignmentTolerance = 1E-3;
+
+	// the transformations that map a point onto its symmetric counterpart
+	private static final int kNoSymmetry = 0;
+	private static final int kConjugateSymmetry = 1;
+	private static final int kPointSymmetry = 2;
+
 	// internal datastructures
 	protected EFractalType fFractalType;
 	protected int fMaxNrOfIterations;
 	protected boolean fUseFixedNrOfIterations;
+	protected boolean fPeriodicityCheckingEnabled;
+	protected double fPeriodicityTolerance;
+	protected double fPeriodicityToleranceSqr;
+	protected int fPeriodicityCheckInterval;
+	protected boolean fKnownInteriorSkippingEnabled;
+	protected boolean fOrbitStateKeepingEnabled;
+	protected boolean fRectangleSubdivisionEnabled;
+	protected boolean fOnlyIntegralResultsRequired;
+	protected boolean fSymmetryEnabled;
+	protected boolean fFastMathEnabled;
 	protected double fEscapeRadius;
 	protected double fEscapeRadiusSqr;
 	protected ComplexNumber fDualParameter;
@@ -73,11 +124,14 @@ public abstract class AFractalIterator
 	protected double fP2Y;
 	protected ComplexNumber fP1;
 	protected ComplexNumber fP2;
+	protected HighPrecisionComplexNumber fHighPrecisionP1;
+	protected HighPrecisionComplexNumber fHighPrecisionP2;
 	protected double fComplexWidth;
 	protected double fComplexHeight;
 	protected boolean fInvertYAxis;
 	protected ComplexNumber fZ0;
 	protected boolean fCalculateAdvancedColoring;
+	protected int fAdvancedColoringChannels;
 	protected double fInteriorStripingDensity;
 	protected double fExteriorStripingDensity;
 	protected double fInteriorGaussianIntegersTrapFactor;
@@ -105,6 +159,10 @@ public abstract class AFractalIterator
 	protected int[] fNrOfBifurcationPoints;
 	protected double fMinBifurcationValue;
 	protected double fMaxBifurcationValue;
+	protected int fLoadedParameterFormatVersion;
+
+	// the number of iterations that were saved by periodicity checking (shared by all threads)
+	private AtomicLong fNrOfSavedIterations;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -118,12 +176,24 @@ public abstract class AFractalIterator
 		setFractalType(EFractalType.kMainFractal);
 		setMaxNrOfIterations(kDefaultMaxNrOfIterations);
 		setUseFixedNrOfIterations(false);
+		setPeriodicityCheckingEnabled(false);
+		setPeriodicityTolerance(kDefaultPeriodicityTolerance);
+		setPeriodicityCheckInterval(kDefaultPeriodicityCheckInterval);
+		setKnownInteriorSkippingEnabled(true);
+		setOrbitStateKeepingEnabled(false);
+		setRectangleSubdivisionEnabled(false);
+		setOnlyIntegralResultsRequired(false);
+		setSymmetryEnabled(true);
+		setFastMathEnabled(false);
+		fNrOfSavedIterations = new AtomicLong();
+		fLoadedParameterFormatVersion = kParameterFormatVersion;
 		setEscapeRadius(getDefaultEscapeRadius());
 		setDualParameter(getDefaultDualParameter());
 		setInvertYAxis(false);
 		setComplexBounds(getDefaultP1(),getDefaultP2());
 		resetMainFractalOrbitStartingPoint();
 		setCalculateAdvancedColoring(false);
+		setAdvancedColoringChannels(ColoringParameters.kAllChannels);
 		setInteriorStripingDensity(4.0);
 		setExteriorStripingDensity(4.0);
 		setInteriorGaussianIntegersTrapFactor(1.0);
@@ -208,7 +278,7 @@ public abstract class AFractalIterator
 	public final int autoDetermineMaxNrOfIterations()
 	{
 		// determine maximum number of iterations
-		double zoomLevel = Math.log10(getCurrentZoomLevel());
+		double zoomLevel = Math.log10(getCurrentZoomFactor());
 		int maxNrOfIterations = 0;
 		if (zoomLevel <= 1.0) {
 			maxNrOfIterations = 100;
@@ -232,6 +302,37 @@ public abstract class AFractalIterator
 		return maxNrOfIterations;
 	}
 
+	/**
+	 * Auto determines the maximum number of iterations to use from the escape statistics of a rendered fractal (see
+	 * {@link EscapeStatistics}).
+	 * <P>
+	 * If more than 0.1% of the rendered points lie on an unresolved boundary, the maximum is doubled. Otherwise, it is
+	 * lowered to twice the escape count below which 99.9% of the escaping points lie, unless it may only grow. The
+	 * maximum stays between 100 and 1000000 iterations (or is kept when the statistics are unknown).
+	 *
+	 * @param fractalResultBuffer  the (full-screen) result of the current or previous render
+	 * @param onlyGrow             a <CODE>boolean</CODE> indicating whether or not the maximum may only be raised
+	 * @return                     the maximum number of iterations to use
+	 */
+	public final int autoDetermineMaxNrOfIterations(IterationBuffer fractalResultBuffer, boolean onlyGrow)
+	{
+		EscapeStatistics escapeStatistics = new EscapeStatistics(fractalResultBuffer);
+		int maxNrOfIterations = escapeStatistics.getMaxNrOfIterations();
+		if ((maxNrOfIterations == 0) || (escapeStatistics.getNrOfPoints() == 0)) {
+			return fMaxNrOfIterations;
+		}
+
+		if (escapeStatistics.getUnresolvedFraction() > kAdaptiveUnresolvedFraction) {
+			return Math.max(maxNrOfIterations,Math.min(2 * maxNrOfIterations,kMaxAdaptiveMaxNrOfIterations));
+		}
+		else if (onlyGrow) {
+			return maxNrOfIterations;
+		}
+
+		int lowerMaxNrOfIterations = (int) Math.ceil(2.0 * escapeStatistics.getEscapeCountQuantile(1.0 - kAdaptiveUnresolvedFraction));
+		return Math.min(maxNrOfIterations,Math.max(lowerMaxNrOfIterations,kMinAdaptiveMaxNrOfIterations));
+	}
+
 	/**
 	 * Sets whether or not a fixed number of iterations should be used
 	 * (thereby disabling checking of the escape radius).
@@ -254,6 +355,351 @@ public abstract class AFractalIterator
 		return fUseFixedNrOfIterations;
 	}
 
+	/**
+	 * Sets whether or not orbits should be checked for periodicity, so that points that are proven to lie in the
+	 * interior can stop iterating early.
+	 * <P>
+	 * Periodicity checking is only applied when the escape-time algorithm is used without a fixed number of iterations,
+	 * and when neither orbits nor advanced colouring results are required. Interior points that stop early are marked as
+	 * lying in the interior exactly as before, but their other interior results (e.g., the average distance) are based on
+	 * the iterations that were actually performed.
+	 *
+	 * @param periodicityCheckingEnabled  a <CODE>boolean</CODE> indicating whether or not orbits should be checked for periodicity
+	 */
+	public final void setPeriodicityCheckingEnabled(boolean periodicityCheckingEnabled)
+	{
+		fPeriodicityCheckingEnabled = periodicityCheckingEnabled;
+	}
+
+	/**
+	 * Returns whether or not orbits are checked for periodicity.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not orbits are checked for periodicity
+	 */
+	public final boolean getPeriodicityCheckingEnabled()
+	{
+		return fPeriodicityCheckingEnabled;
+	}
+
+	/**
+	 * Sets the tolerance used for periodicity checking.
+	 * <P>
+	 * An orbit is considered to be periodic when it returns within this distance of a previously saved point.
+	 *
+	 * @param periodicityTolerance  the tolerance used for periodicity checking
+	 */
+	public final void setPeriodicityTolerance(double periodicityTolerance)
+	{
+		fPeriodicityTolerance = periodicityTolerance;
+		fPeriodicityToleranceSqr = fPeriodicityTolerance * fPeriodicityTolerance;
+	}
+
+	/**
+	 * Returns the tolerance used for periodicity checking.
+	 *
+	 * @return the tolerance used for periodicity checking
+	 */
+	public final double getPeriodicityTolerance()
+	{
+		return fPeriodicityTolerance;
+	}
+
+	/**
+	 * Sets the initial number of iterations after which the saved point of an orbit is refreshed during periodicity
+	 * checking.
+	 * <P>
+	 * Following Brent's cycle detection algorithm, this interval doubles each time the saved point is refreshed, so
+	 * that cycles of any period are eventually detected.
+	 *
+	 * @param periodicityCheckInterval  the initial number of iterations after which the saved point is refreshed
+	 */
+	public final void setPeriodicityCheckInterval(int periodicityCheckInterval)
+	{
+		fPeriodicityCheckInterval = Math.max(1,periodicityCheckInterval);
+	}
+
+	/**
+	 * Returns the initial number of iterations after which the saved point of an orbit is refreshed during periodicity
+	 * checking.
+	 *
+	 * @return the initial number of iterations after which the saved point is refreshed
+	 */
+	public final int getPeriodicityCheckInterval()
+	{
+		return fPeriodicityCheckInterval;
+	}
+
+	/**
+	 * Sets whether or not orbits that are known analytically to lie in the interior (e.g., the main cardioid of the
+	 * Mandelbrot set) are skipped without iterating them.
+	 * <P>
+	 * A skipped orbit only yields its number of iterations; its other interior results (e.g., the modulus or the average
+	 * distance) are zero. Skipping should therefore be disabled when the interior colouring method needs these results.
+	 *
+	 * @param knownInteriorSkippingEnabled  a <CODE>boolean</CODE> indicating whether or not the known interior should be skipped
+	 * @see   ColoringParameters#requiresInteriorOrbits()
+	 */
+	public final void setKnownInteriorSkippingEnabled(boolean knownInteriorSkippingEnabled)
+	{
+		fKnownInteriorSkippingEnabled = knownInteriorSkippingEnabled;
+	}
+
+	/**
+	 * Returns whether or not orbits that are known analytically to lie in the interior are skipped without iterating them.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the known interior is skipped
+	 */
+	public final boolean getKnownInteriorSkippingEnabled()
+	{
+		return fKnownInteriorSkippingEnabled;
+	}
+
+	/**
+	 * Sets whether or not the state of an orbit that reaches the maximum number of iterations is kept, so that the orbit
+	 * can be continued when the maximum number of iterations is raised.
+	 * <P>
+	 * Each kept orbit state occupies about 100 bytes, so in images with a large interior this easily outweighs the
+	 * iteration buffer itself. Without orbit states, the points that reached the maximum number of iterations are
+	 * iterated anew when it is raised.
+	 *
+	 * @param orbitStateKeepingEnabled  a <CODE>boolean</CODE> indicating whether or not orbit states should be kept
+	 * @see   AFractalIterator#supportsResumableIterations()
+	 */
+	public final void setOrbitStateKeepingEnabled(boolean orbitStateKeepingEnabled)
+	{
+		fOrbitStateKeepingEnabled = orbitStateKeepingEnabled;
+	}
+
+	/**
+	 * Returns whether or not the state of an orbit that reaches the maximum number of iterations is kept.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not orbit states are kept
+	 */
+	public final boolean getOrbitStateKeepingEnabled()
+	{
+		return fOrbitStateKeepingEnabled;
+	}
+
+	/**
+	 * Sets whether or not the fractal should be calculated by means of rectangle subdivision (i.e., the Mariani-Silver
+	 * algorithm).
+	 * <P>
+	 * With rectangle subdivision, the border of a rectangle is iterated first; if all border points share the same
+	 * integral number of iterations (and the same root), then the inside of the rectangle is filled with the result of
+	 * the border without iterating it. Otherwise, the rectangle is split in two and both halves are treated likewise.
+	 * Because the inside is guessed, small features that do not touch the border can be missed.
+	 * <P>
+	 * Rectangle subdivision is only applied when the fractal supports it, when no advanced colouring results are required,
+	 * and when only the integral results of the points are required (as the inside would otherwise show the smooth
+	 * results of a single border point).
+	 *
+	 * @param rectangleSubdivisionEnabled  a <CODE>boolean</CODE> indicating whether or not rectangle subdivision should be used
+	 * @see                                AFractalIterator#supportsRectangleSubdivision()
+	 */
+	public final void setRectangleSubdivisionEnabled(boolean rectangleSubdivisionEnabled)
+	{
+		fRectangleSubdivisionEnabled = rectangleSubdivisionEnabled;
+	}
+
+	/**
+	 * Returns whether or not rectangle subdivision is enabled.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not rectangle subdivision is enabled
+	 */
+	public final boolean getRectangleSubdivisionEnabled()
+	{
+		return fRectangleSubdivisionEnabled;
+	}
+
+	/**
+	 * Sets whether or not only the integral results of the points (i.e., their number of iterations and their root) are
+	 * required, in which case rectangle subdivision can fill the inside of uniform rectangles.
+	 *
+	 * @param onlyIntegralResultsRequired  a <CODE>boolean</CODE> indicating whether or not only the integral results are required
+	 * @see   ColoringParameters#requiresOnlyIntegralResults()
+	 */
+	public final void setOnlyIntegralResultsRequired(boolean onlyIntegralResultsRequired)
+	{
+		fOnlyIntegralResultsRequired = onlyIntegralResultsRequired;
+	}
+
+	/**
+	 * Returns whether or not only the integral results of the points are required.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not only the integral results are required
+	 */
+	public final boolean getOnlyIntegralResultsRequired()
+	{
+		return fOnlyIntegralResultsRequired;
+	}
+
+	/**
+	 * Returns whether or not the fractal is currently calculated by means of rectangle subdivision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is currently calculated by means of rectangle subdivision
+	 */
+	public final boolean usesRectangleSubdivision()
+	{
+		return (fRectangleSubdivisionEnabled && fOnlyIntegralResultsRequired && supportsRectangleSubdivision() && (getCalculatedAdvancedColoringChannels() == 0));
+	}
+
+	/**
+	 * Sets whether or not the symmetries of the fractal should be exploited.
+	 * <P>
+	 * When the complex bounds straddle a symmetry axis of the fractal, only the unique part of the overlapping region
+	 * is iterated; the results of the other points are copied from their mirrored counterparts (with their final values
+	 * mirrored accordingly). A symmetry is only exploited when its axis lies on the pixel grid (e.g., for centred views),
+	 * when the fractal declares it, and when no advanced colouring results are required.
+	 *
+	 * @param symmetryEnabled  a <CODE>boolean</CODE> indicating whether or not the symmetries of the fractal should be exploited
+	 * @see                    AFractalIterator#hasConjugateSymmetry()
+	 * @see                    AFractalIterator#hasPointSymmetry()
+	 */
+	public final void setSymmetryEnabled(boolean symmetryEnabled)
+	{
+		fSymmetryEnabled = symmetryEnabled;
+	}
+
+	/**
+	 * Returns whether or not exploiting the symmetries of the fractal is enabled.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not exploiting the symmetries of the fractal is enabled
+	 */
+	public final boolean getSymmetryEnabled()
+	{
+		return fSymmetryEnabled;
+	}
+
+	/**
+	 * Returns whether or not the fractal is currently calculated by exploiting its symmetries.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is currently calculated by exploiting its symmetries
+	 */
+	public final boolean usesSymmetry()
+	{
+		return (fSymmetryEnabled && (getCalculatedAdvancedColoringChannels() == 0) && !usesCentreOffsets() && (usesConjugateSymmetry() || usesPointSymmetry()));
+	}
+
+	/**
+	 * Sets whether or not the transcendental functions in the fractal function should be evaluated by means of fast-math
+	 * approximations.
+	 * <P>
+	 * The fast-math approximations fuse the complex sine, cosine, and exponential into range-reduced polynomials in
+	 * primitive arithmetic, with a bounded relative error, and saturate their exponential growth so that orbits that
+	 * clearly escape stop before producing infinite or undefined values. Fast math is only applied when the fractal
+	 * supports it; the results without fast math are unaffected.
+	 *
+	 * @param fastMathEnabled  a <CODE>boolean</CODE> indicating whether or not fast math should be used
+	 * @see                    AFractalIterator#supportsFastMath()
+	 * @see                    AFractalIterator#getFastMathErrorBound()
+	 */
+	public final void setFastMathEnabled(boolean fastMathEnabled)
+	{
+		fFastMathEnabled = fastMathEnabled;
+	}
+
+	/**
+	 * Returns whether or not fast math is enabled.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not fast math is enabled
+	 */
+	public final boolean getFastMathEnabled()
+	{
+		return fFastMathEnabled;
+	}
+
+	/**
+	 * Returns whether or not the fractal is currently calculated by means of fast math.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is currently calculated by means of fast math
+	 */
+	public final boolean usesFastMath()
+	{
+		return (fFastMathEnabled && supportsFastMath());
+	}
+
+	/**
+	 * Returns the upper bound on the relative error that fast math introduces in each evaluation of the transcendental
+	 * functions in the fractal function (zero when the fractal isn't calculated by means of fast math).
+	 *
+	 * @return the upper bound on the relative error that fast math introduces in each function evaluation
+	 */
+	public final double getFastMathErrorBound()
+	{
+		return (usesFastMath() ? MutableComplexNumber.kFastMathErrorBound : 0.0);
+	}
+
+	/**
+	 * Returns whether or not the result of a point is copied from its symmetric counterpart instead of being iterated.
+	 *
+	 * @param x  the horizontal screen position of the point
+	 * @param y  the vertical screen position of the point
+	 * @return   a <CODE>boolean</CODE> indicating whether or not the result of the point is copied from its symmetric counterpart
+	 * @see      AFractalIterator#usesSymmetry()
+	 */
+	public final boolean isSymmetricCopy(int x, int y)
+	{
+		return (getSymmetryTransformation(x,y) != kNoSymmetry);
+	}
+
+	/**
+	 * Fills in the results of all points that are copied from their symmetric counterparts.
+	 *
+	 * @param fractalResultBuffer  the (full-screen) buffer containing the iterated points
+	 * @see                        AFractalIterator#isSymmetricCopy(int,int)
+	 */
+	public final void completeSymmetricCopies(IterationBuffer fractalResultBuffer)
+	{
+		int rowSum = (int) Math.rint(getMirroredRowSum());
+		int columnSum = (int) Math.rint(getMirroredColumnSum());
+		IterationResult iterationResult = new IterationResult();
+
+		for (int y = 0; y < fractalResultBuffer.fHeight; ++y) {
+			for (int x = 0; x < fractalResultBuffer.fWidth; ++x) {
+				int transformation = getSymmetryTransformation(x,y);
+				if (transformation == kNoSymmetry) {
+					continue;
+				}
+
+				int sourceX = x;
+				int sourceY = y;
+				if (transformation == kConjugateSymmetry) {
+					sourceY = rowSum - y;
+				}
+				else if (transformation == kPointSymmetry) {
+					sourceX = columnSum - x;
+					sourceY = rowSum - y;
+				}
+				else {
+					sourceX = columnSum - x;
+				}
+
+				IterationResult source = fractalResultBuffer.get(sourceX + (sourceY * fractalResultBuffer.fWidth),iterationResult);
+				if (source != null) {
+					fractalResultBuffer.set(x + (y * fractalResultBuffer.fWidth),mirrorIterationResult(source,transformation));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resets the number of iterations that were saved by periodicity checking (e.g., before a new render starts).
+	 */
+	public final void resetNrOfSavedIterations()
+	{
+		fNrOfSavedIterations.set(0L);
+	}
+
+	/**
+	 * Returns the number of iterations that were saved by periodicity checking since the last reset.
+	 *
+	 * @return the number of iterations that were saved by periodicity checking
+	 */
+	public final long getNrOfSavedIterations()
+	{
+		return fNrOfSavedIterations.get();
+	}
+
 	/**
 	 * Sets the escape radius to use in the escape-time algorithm.
 	 *
@@ -376,14 +822,31 @@ public abstract class AFractalIterator
 	 */
 	public final void setComplexBounds(ComplexNumber p1, ComplexNumber p2)
 	{
-		fP1X = p1.realComponent();
-		fP1Y = p1.imaginaryComponent();
-		fP2X = p2.realComponent();
-		fP2Y = p2.imaginaryComponent();
-		fP1 = new ComplexNumber(p1);
-		fP2 = new ComplexNumber(p2);
-		fComplexWidth = fP2X - fP1X;
-		fComplexHeight = fP2Y - fP1Y;
+		setComplexBounds(new HighPrecisionComplexNumber(p1),new HighPrecisionComplexNumber(p2));
+	}
+
+	/**
+	 * Sets the bounds for this fractal in the complex plane, retaining their full precision.
+	 * <P>
+	 * The width and height of the complex plane are derived from the exact difference between both corners, so that
+	 * they remain accurate even when the corners themselves cannot be distinguished in double precision.
+	 *
+	 * @param p1  the upper-left corner
+	 * @param p2  the lower-right corner
+	 */
+	public final void setComplexBounds(HighPrecisionComplexNumber p1, HighPrecisionComplexNumber p2)
+	{
+		fHighPrecisionP1 = p1;
+		fHighPrecisionP2 = p2;
+		fP1 = p1.toComplexNumber();
+		fP2 = p2.toComplexNumber();
+		fP1X = fP1.realComponent();
+		fP1Y = fP1.imaginaryComponent();
+		fP2X = fP2.realComponent();
+		fP2Y = fP2.imaginaryComponent();
+		HighPrecisionComplexNumber size = p2.subtract(p1);
+		fComplexWidth = size.realComponent().doubleValue();
+		fComplexHeight = size.imaginaryComponent().doubleValue();
 	}
 
 	/**
@@ -406,6 +869,64 @@ public abstract class AFractalIterator
 		return fP2;
 	}
 
+	/**
+	 * Returns the upper-left corner in the complex plane with its full precision.
+	 * 
+	 * @return the upper-left corner in the complex plane with its full precision
+	 */
+	public final HighPrecisionComplexNumber getHighPrecisionP1()
+	{
+		return fHighPrecisionP1;
+	}
+
+	/**
+	 * Returns the lower-right corner in the complex plane with its full precision.
+	 * 
+	 * @return the lower-right corner in the complex plane with its full precision
+	 */
+	public final HighPrecisionComplexNumber getHighPrecisionP2()
+	{
+		return fHighPrecisionP2;
+	}
+
+	/**
+	 * Returns the centre of the complex plane with its full precision.
+	 * 
+	 * @return the centre of the complex plane with its full precision
+	 */
+	public final HighPrecisionComplexNumber getHighPrecisionCentre()
+	{
+		return fHighPrecisionP1.midpoint(fHighPrecisionP2);
+	}
+
+	/**
+	 * Returns the precision that is required to distinguish neighbouring pixels in the current view.
+	 * <P>
+	 * The tier is selected based on the size of a pixel, relative to the magnitude of the coordinates in the view.
+	 * 
+	 * @return the precision that is required to distinguish neighbouring pixels in the current view
+	 */
+	public final EPrecisionTier getPrecisionTier()
+	{
+		if ((fScreenWidth <= 0) || (fScreenHeight <= 0)) {
+			return EPrecisionTier.kDouble;
+		}
+
+		double pixelSize = Math.min(Math.abs(fComplexWidth) / fScreenWidth,Math.abs(fComplexHeight) / fScreenHeight);
+		double magnitude = Math.max(1.0,Math.max(Math.max(Math.abs(fP1X),Math.abs(fP2X)),Math.max(Math.abs(fP1Y),Math.abs(fP2Y))));
+		double relativePixelSize = pixelSize / magnitude;
+
+		if (relativePixelSize >= kDoubleDoublePrecisionThreshold) {
+			return EPrecisionTier.kDouble;
+		}
+		else if (relativePixelSize >= kArbitraryPrecisionThreshold) {
+			return EPrecisionTier.kDoubleDouble;
+		}
+		else {
+			return EPrecisionTier.kArbitrary;
+		}
+	}
+
 	/**
 	 * Sets the starting point for orbit calculations of the main fractal.
 	 * 
@@ -454,6 +975,39 @@ public abstract class AFractalIterator
 		return fCalculateAdvancedColoring;
 	}
 
+	/**
+	 * Sets the advanced colouring channels that should be calculated (when advanced colouring is calculated); the
+	 * statistics of the other channels are left undefined.
+	 *
+	 * @param advancedColoringChannels  a mask of <CODE>ColoringParameters</CODE> channels
+	 * @see   ColoringParameters#getRequiredChannels()
+	 */
+	public final void setAdvancedColoringChannels(int advancedColoringChannels)
+	{
+		fAdvancedColoringChannels = advancedColoringChannels;
+	}
+
+	/**
+	 * Returns the advanced colouring channels that should be calculated (when advanced colouring is calculated).
+	 *
+	 * @return a mask of <CODE>ColoringParameters</CODE> channels
+	 */
+	public final int getAdvancedColoringChannels()
+	{
+		return fAdvancedColoringChannels;
+	}
+
+	/**
+	 * Returns the advanced colouring channels that are effectively calculated, i.e., none if advanced colouring is not
+	 * calculated.
+	 *
+	 * @return a mask of <CODE>ColoringParameters</CODE> channels
+	 */
+	public final int getCalculatedAdvancedColoringChannels()
+	{
+		return (fCalculateAdvancedColoring ? fAdvancedColoringChannels : 0);
+	}
+
 	/**
 	 * Sets the interior striping density.
 	 *
@@ -1018,20 +1572,147 @@ public abstract class AFractalIterator
 	}
 
 	/**
-	 * Returns the current zoom level.
-	 * 
-	 * @return the current zoom level
-	 */
-	public final long getCurrentZoomLevel()
-	{
-		double defaultDeltaX = Math.abs(getDefaultP2().realComponent() - getDefaultP1().realComponent());
-		double currentDeltaX = Math.abs(getP2().realComponent() - getP1().realComponent());
-		double defaultDeltaY = Math.abs(getDefaultP2().imaginaryComponent() - getDefaultP1().imaginaryComponent());
-		double currentDeltaY = Math.abs(getP2().imaginaryComponent() - getP1().imaginaryComponent());
-		double zoomLevelX = Math.round(defaultDeltaX / currentDeltaX);
-		double zoomLevelY = Math.round(defaultDeltaY / currentDeltaY);
+	 * Helper method for converting a screen location to an offset relative to the centre of the complex bounds.
+	 * <P>
+	 * Contrary to {@link AFractalIterator#convertScreenLocationToComplexNumber(ScreenLocation,int,int)}, the offset
+	 * retains its full relative precision at deep zoom levels.
+	 *
+	 * @param s             the screen location
+	 * @param screenWidth   the screen width of the fractal
+	 * @param screenHeight  the screen height of the fractal
+	 * @return              the offset in the complex plane of the specified screen location relative to the centre of the complex bounds
+	 */
+	public final ComplexNumber convertScreenLocationToComplexOffset(ScreenLocation s, int screenWidth, int screenHeight)
+	{
+		double y = ((((double) (screenHeight - s.fY) / (double) screenHeight) - 0.5) * fComplexHeight);
+		if (fInvertYAxis) {
+			y = ((((double) s.fY / (double) screenHeight) - 0.5) * fComplexHeight);
+		}
+		return (new ComplexNumber((((double) s.fX / (double) screenWidth) - 0.5) * fComplexWidth,y));
+	}
 
-		return (long) Math.max(zoomLevelX,zoomLevelY);
+	/**
+	 * Helper method for converting a screen location to a complex number, retaining the full precision of the complex bounds.
+	 *
+	 * @param s  the screen location
+	 * @return   the complex number corresponding to the specified screen location
+	 */
+	public final HighPrecisionComplexNumber convertScreenLocationToHighPrecisionComplexNumber(ScreenLocation s)
+	{
+		return convertScreenLocationToHighPrecisionComplexNumber(s,fScreenWidth,fScreenHeight);
+	}
+
+	/**
+	 * Helper method for converting a screen location to a complex number, retaining the full precision of the complex bounds.
+	 * <P>
+	 * The result is rounded to a fraction of the size of a pixel.
+	 *
+	 * @param s             the screen location
+	 * @param screenWidth   the screen width of the fractal
+	 * @param screenHeight  the screen height of the fractal
+	 * @return              the complex number corresponding to the specified screen location
+	 */
+	public final HighPrecisionComplexNumber convertScreenLocationToHighPrecisionComplexNumber(ScreenLocation s, int screenWidth, int screenHeight)
+	{
+		double pixelSize = Math.min(Math.abs(fComplexWidth) / screenWidth,Math.abs(fComplexHeight) / screenHeight);
+		return getHighPrecisionCentre().add(convertScreenLocationToComplexOffset(s,screenWidth,screenHeight)).round(pixelSize);
+	}
+
+	/**
+	 * Returns the current zoom level.
+	 * 
+	 * @return the current zoom level
+	 */
+	public final long getCurrentZoomLevel()
+	{
+		return Math.round(getCurrentZoomFactor());
+	}
+
+	/**
+	 * Returns whether or not this fractal can be iterated in the precision tiers beyond double precision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports high-precision iterations
+	 */
+	public boolean supportsHighPrecision()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns whether or not the inside of a rectangle can be guessed from its border for this fractal (e.g., not when
+	 * noise is added to the orbits).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports rectangle subdivision
+	 */
+	public boolean supportsRectangleSubdivision()
+	{
+		return true;
+	}
+
+	/**
+	 * Returns whether or not the fractal function of this fractal has fast-math approximations of its transcendental
+	 * functions.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports fast math
+	 */
+	public boolean supportsFastMath()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns whether or not the orbits of this fractal can be accumulated into an orbit density (e.g., a Buddhabrot).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports orbit densities
+	 */
+	public boolean supportsOrbitDensity()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns whether or not the orbits of this fractal that reached the maximum number of iterations can be continued
+	 * when that maximum is raised (see {@link AFractalIterator#resumeIteration(IterationResult)}).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports resumable iterations
+	 */
+	public boolean supportsResumableIterations()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns the columns of the iteration buffer that are needed after the iterations of this fractal, irrespective of
+	 * the colouring methods (e.g., for the automatic detection of roots).
+	 *
+	 * @return a mask of the required <CODE>IterationBuffer</CODE> columns (0 if none are required)
+	 */
+	public int getRequiredColumns()
+	{
+		return 0;
+	}
+
+	/**
+	 * Returns whether or not the fractal function commutes with complex conjugation, i.e., whether or not
+	 * <I>f(conj(z),conj(c)) = conj(f(z,c))</I>. The main fractal is then mirrored across the real axis when the orbits
+	 * start at a real point, and the dual fractal when its complex parameter <I>c</I> is real.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal function commutes with complex conjugation
+	 */
+	public boolean hasConjugateSymmetry()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns whether or not the fractal function is even in <I>z</I>, i.e., whether or not <I>f(-z,c) = f(z,c)</I>.
+	 * The dual fractal is then point-symmetric about the origin.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal function is even in <I>z</I>
+	 */
+	public boolean hasPointSymmetry()
+	{
+		return false;
 	}
 
 	/**
@@ -1042,19 +1723,44 @@ public abstract class AFractalIterator
 	 */
 	public final void plainTextLoadParameters(TextFileParser tfp) throws FileParseException
 	{
-		setFractalType(EFractalType.valueOf(tfp.getNextString()));
+		String value = tfp.getNextString();
+		fLoadedParameterFormatVersion = kOriginalParameterFormatVersion;
+		if (value.equalsIgnoreCase(kParameterFormatVersionTag)) {
+			fLoadedParameterFormatVersion = tfp.getNextInteger();
+			if ((fLoadedParameterFormatVersion < kOriginalParameterFormatVersion) || (fLoadedParameterFormatVersion > kParameterFormatVersion)) {
+				throw (new FileParseException(String.valueOf(fLoadedParameterFormatVersion),tfp.getLastReadLineNr()));
+			}
+			value = tfp.getNextString();
+		}
+
+		setFractalType(EFractalType.valueOf(value));
 		setMaxNrOfIterations(tfp.getNextInteger());
 		setUseFixedNrOfIterations(tfp.getNextBoolean());
 		setEscapeRadius(tfp.getNextDouble());
 		setDualParameter(new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()));
 		setInvertYAxis(tfp.getNextBoolean());
 		setScreenBounds(tfp.getNextInteger(),tfp.getNextInteger());
-		setComplexBounds(new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()),new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()));
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setComplexBounds(new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()),new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()));
+		}
+		else {
+			setComplexBounds(new HighPrecisionComplexNumber(getNextBigDecimal(tfp),getNextBigDecimal(tfp)),new HighPrecisionComplexNumber(getNextBigDecimal(tfp),getNextBigDecimal(tfp)));
+		}
 		setMainFractalOrbitStartingPoint(new ComplexNumber(tfp.getNextDouble(),tfp.getNextDouble()));
 		setInteriorStripingDensity(tfp.getNextDouble());
 		setExteriorStripingDensity(tfp.getNextDouble());
 		setInteriorGaussianIntegersTrapFactor(tfp.getNextDouble());
 		setExteriorGaussianIntegersTrapFactor(tfp.getNextDouble());
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setPeriodicityCheckingEnabled(false);
+			setPeriodicityTolerance(kDefaultPeriodicityTolerance);
+			setPeriodicityCheckInterval(kDefaultPeriodicityCheckInterval);
+		}
+		else {
+			setPeriodicityCheckingEnabled(tfp.getNextBoolean());
+			setPeriodicityTolerance(tfp.getNextDouble());
+			setPeriodicityCheckInterval(tfp.getNextInteger());
+		}
 		plainTextLoadCustomParameters(tfp);
 	}
 
@@ -1066,19 +1772,46 @@ public abstract class AFractalIterator
 	 */
 	public final void streamLoadParameters(DataInputStream dataInputStream) throws IOException
 	{
-		setFractalType(EFractalType.valueOf(dataInputStream.readUTF()));
+		String value = dataInputStream.readUTF();
+		fLoadedParameterFormatVersion = kOriginalParameterFormatVersion;
+		if (value.equalsIgnoreCase(kParameterFormatVersionTag)) {
+			fLoadedParameterFormatVersion = dataInputStream.readInt();
+			if ((fLoadedParameterFormatVersion < kOriginalParameterFormatVersion) || (fLoadedParameterFormatVersion > kParameterFormatVersion)) {
+				throw (new IOException("Unsupported parameter format version " + fLoadedParameterFormatVersion));
+			}
+			value = dataInputStream.readUTF();
+		}
+
+		setFractalType(EFractalType.valueOf(value));
 		setMaxNrOfIterations(dataInputStream.readInt());
 		setUseFixedNrOfIterations(dataInputStream.readBoolean());
 		setEscapeRadius(dataInputStream.readDouble());
 		setDualParameter(new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()));
 		setInvertYAxis(dataInputStream.readBoolean());
 		setScreenBounds(dataInputStream.readInt(),dataInputStream.readInt());
-		setComplexBounds(new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()),new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()));
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setComplexBounds(new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()),new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()));
+		}
+		else {
+			setComplexBounds(
+				new HighPrecisionComplexNumber(readBigDecimal(dataInputStream),readBigDecimal(dataInputStream)),
+				new HighPrecisionComplexNumber(readBigDecimal(dataInputStream),readBigDecimal(dataInputStream)));
+		}
 		setMainFractalOrbitStartingPoint(new ComplexNumber(dataInputStream.readDouble(),dataInputStream.readDouble()));
 		setInteriorStripingDensity(dataInputStream.readDouble());
 		setExteriorStripingDensity(dataInputStream.readDouble());
 		setInteriorGaussianIntegersTrapFactor(dataInputStream.readDouble());
 		setExteriorGaussianIntegersTrapFactor(dataInputStream.readDouble());
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setPeriodicityCheckingEnabled(false);
+			setPeriodicityTolerance(kDefaultPeriodicityTolerance);
+			setPeriodicityCheckInterval(kDefaultPeriodicityCheckInterval);
+		}
+		else {
+			setPeriodicityCheckingEnabled(dataInputStream.readBoolean());
+			setPeriodicityTolerance(dataInputStream.readDouble());
+			setPeriodicityCheckInterval(dataInputStream.readInt());
+		}
 		streamLoadCustomParameters(dataInputStream);
 	}
 
@@ -1093,6 +1826,12 @@ public abstract class AFractalIterator
 		tfw.writeString(getFamilyName());
 		tfw.writeLn();
 
+		tfw.writeString(kParameterFormatVersionTag);
+		tfw.writeLn();
+
+		tfw.writeInteger(kParameterFormatVersion);
+		tfw.writeLn();
+
 		tfw.writeString(fFractalType.toString());
 		tfw.writeLn();
 
@@ -1120,16 +1859,16 @@ public abstract class AFractalIterator
 		tfw.writeInteger(fScreenHeight);
 		tfw.writeLn();
 
-		tfw.writeDouble(fP1X);
+		tfw.writeString(fHighPrecisionP1.realComponent().toString());
 		tfw.writeLn();
 
-		tfw.writeDouble(fP1Y);
+		tfw.writeString(fHighPrecisionP1.imaginaryComponent().toString());
 		tfw.writeLn();
 
-		tfw.writeDouble(fP2X);
+		tfw.writeString(fHighPrecisionP2.realComponent().toString());
 		tfw.writeLn();
 
-		tfw.writeDouble(fP2Y);
+		tfw.writeString(fHighPrecisionP2.imaginaryComponent().toString());
 		tfw.writeLn();
 
 		tfw.writeDouble(fZ0.realComponent());
@@ -1150,6 +1889,15 @@ public abstract class AFractalIterator
 		tfw.writeDouble(fExteriorGaussianIntegersTrapFactor);
 		tfw.writeLn();
 
+		tfw.writeBoolean(fPeriodicityCheckingEnabled);
+		tfw.writeLn();
+
+		tfw.writeDouble(fPeriodicityTolerance);
+		tfw.writeLn();
+
+		tfw.writeInteger(fPeriodicityCheckInterval);
+		tfw.writeLn();
+
 		plainTextSaveCustomParameters(tfw);
 	}
 
@@ -1162,6 +1910,8 @@ public abstract class AFractalIterator
 	public final void streamSaveParameters(DataOutputStream dataOutputStream) throws IOException
 	{
 		dataOutputStream.writeUTF(getFamilyName());
+		dataOutputStream.writeUTF(kParameterFormatVersionTag);
+		dataOutputStream.writeInt(kParameterFormatVersion);
 		dataOutputStream.writeUTF(fFractalType.toString());
 		dataOutputStream.writeInt(fMaxNrOfIterations);
 		dataOutputStream.writeBoolean(fUseFixedNrOfIterations);
@@ -1171,16 +1921,19 @@ public abstract class AFractalIterator
 		dataOutputStream.writeBoolean(fInvertYAxis);
 		dataOutputStream.writeInt(fScreenWidth);
 		dataOutputStream.writeInt(fScreenHeight);
-		dataOutputStream.writeDouble(fP1X);
-		dataOutputStream.writeDouble(fP1Y);
-		dataOutputStream.writeDouble(fP2X);
-		dataOutputStream.writeDouble(fP2Y);
+		dataOutputStream.writeUTF(fHighPrecisionP1.realComponent().toString());
+		dataOutputStream.writeUTF(fHighPrecisionP1.imaginaryComponent().toString());
+		dataOutputStream.writeUTF(fHighPrecisionP2.realComponent().toString());
+		dataOutputStream.writeUTF(fHighPrecisionP2.imaginaryComponent().toString());
 		dataOutputStream.writeDouble(fZ0.realComponent());
 		dataOutputStream.writeDouble(fZ0.imaginaryComponent());
 		dataOutputStream.writeDouble(fInteriorStripingDensity);
 		dataOutputStream.writeDouble(fExteriorStripingDensity);
 		dataOutputStream.writeDouble(fInteriorGaussianIntegersTrapFactor);
 		dataOutputStream.writeDouble(fExteriorGaussianIntegersTrapFactor);
+		dataOutputStream.writeBoolean(fPeriodicityCheckingEnabled);
+		dataOutputStream.writeDouble(fPeriodicityTolerance);
+		dataOutputStream.writeInt(fPeriodicityCheckInterval);
 
 		streamSaveCustomParameters(dataOutputStream);
 	}
@@ -1206,6 +1959,9 @@ public abstract class AFractalIterator
 	 */
 	public final IterationResult iterateMainFractal(ScreenLocation s, boolean saveOrbit)
 	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kMainFractal,getMainFractalOrbitStartingPoint(),convertScreenLocationToComplexOffset(s,fScreenWidth,fScreenHeight),saveOrbit);
+		}
 		return iterate(getMainFractalOrbitStartingPoint(),convertScreenLocationToComplexNumber(s),saveOrbit);
 	}
 
@@ -1220,6 +1976,9 @@ public abstract class AFractalIterator
 	 */
 	public final IterationResult iterateMainFractal(ScreenLocation s, boolean saveOrbit, int screenWidth, int screenHeight)
 	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kMainFractal,getMainFractalOrbitStartingPoint(),convertScreenLocationToComplexOffset(s,screenWidth,screenHeight),saveOrbit);
+		}
 		return iterate(getMainFractalOrbitStartingPoint(),convertScreenLocationToComplexNumber(s,screenWidth,screenHeight),saveOrbit);
 	}
 
@@ -1234,6 +1993,9 @@ public abstract class AFractalIterator
 	 */
 	public final IterationResult iterateDualFractal(ScreenLocation s, ComplexNumber c, boolean saveOrbit)
 	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kDualFractal,c,convertScreenLocationToComplexOffset(s,fScreenWidth,fScreenHeight),saveOrbit);
+		}
 		return iterate(convertScreenLocationToComplexNumber(s),c,saveOrbit);
 	}
 
@@ -1250,9 +2012,110 @@ public abstract class AFractalIterator
 	 */
 	public final IterationResult iterateDualFractal(ScreenLocation s, ComplexNumber c, boolean saveOrbit, int screenWidth, int screenHeight)
 	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kDualFractal,c,convertScreenLocationToComplexOffset(s,screenWidth,screenHeight),saveOrbit);
+		}
 		return iterate(convertScreenLocationToComplexNumber(s,screenWidth,screenHeight),c,saveOrbit);
 	}
 
+	/**
+	 * Checks whether or not the complex parameters <I>c</I> of a horizontal run of screen locations lie in the main
+	 * fractal set (in parameter space, i.e the c-plane).
+	 * <P>
+	 * The results are identical to calling {@link AFractalIterator#iterateMainFractal(ScreenLocation,boolean)} for each
+	 * screen location separately, but the orbits are handed over as one batch so that they can be iterated together.
+	 *
+	 * @param s        the screen location of the first complex parameter <I>c</I> in the run
+	 * @param length   the number of screen locations in the run
+	 * @param results  the array that receives the iteration results
+	 * @param offset   the position in the array of the first iteration result
+	 */
+	public final void iterateMainFractalRow(ScreenLocation s, int length, IterationResult[] results, int offset)
+	{
+		if (usesCentreOffsets()) {
+			for (int i = 0; i < length; ++i) {
+				results[offset + i] = iterateMainFractal(new ScreenLocation(s.fX + i,s.fY),false);
+			}
+			return;
+		}
+
+		ComplexNumber[] z = new ComplexNumber[length];
+		ComplexNumber[] c = new ComplexNumber[length];
+		for (int i = 0; i < length; ++i) {
+			z[i] = getMainFractalOrbitStartingPoint();
+			c[i] = convertScreenLocationToComplexNumber(new ScreenLocation(s.fX + i,s.fY));
+		}
+		iterate(z,c,length,results,offset);
+	}
+
+	/**
+	 * Checks whether or not the complex variable starting points <I>z</I> of a horizontal run of screen locations lie
+	 * in a specified dual fractal set with complex parameter <I>c</I> (in dynamical/variable space, i.e the z-plane).
+	 * <P>
+	 * The results are identical to calling {@link AFractalIterator#iterateDualFractal(ScreenLocation,ComplexNumber,boolean)}
+	 * for each screen location separately, but the orbits are handed over as one batch so that they can be iterated together.
+	 *
+	 * @param s        the screen location of the first variable complex starting point <I>z</I> in the run
+	 * @param length   the number of screen locations in the run
+	 * @param c        the complex parameter <I>c</I>
+	 * @param results  the array that receives the iteration results
+	 * @param offset   the position in the array of the first iteration result
+	 */
+	public final void iterateDualFractalRow(ScreenLocation s, int length, ComplexNumber c, IterationResult[] results, int offset)
+	{
+		if (usesCentreOffsets()) {
+			for (int i = 0; i < length; ++i) {
+				results[offset + i] = iterateDualFractal(new ScreenLocation(s.fX + i,s.fY),c,false);
+			}
+			return;
+		}
+
+		ComplexNumber[] z = new ComplexNumber[length];
+		ComplexNumber[] cs = new ComplexNumber[length];
+		for (int i = 0; i < length; ++i) {
+			z[i] = convertScreenLocationToComplexNumber(new ScreenLocation(s.fX + i,s.fY));
+			cs[i] = c;
+		}
+		iterate(z,cs,length,results,offset);
+	}
+
+	/**
+	 * Checks whether or not a complex parameter <I>c</I> at a fractional screen position lies in the main fractal set
+	 * (in parameter space, i.e the c-plane).
+	 * <P>
+	 * This allows a single pixel to be sampled at several sub-pixel positions (e.g., for anti-aliasing).
+	 *
+	 * @param x  the horizontal (fractional) screen position of the complex parameter <I>c</I>
+	 * @param y  the vertical (fractional) screen position of the complex parameter <I>c</I>
+	 * @return   the iteration result with the forward orbit of 0+0i due to the specified complex parameter <I>c</I>
+	 */
+	public final IterationResult iterateMainFractalSubPixel(double x, double y)
+	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kMainFractal,getMainFractalOrbitStartingPoint(),convertSubPixelPositionToComplexOffset(x,y),false);
+		}
+		return iterate(getMainFractalOrbitStartingPoint(),convertSubPixelPositionToComplexNumber(x,y),false);
+	}
+
+	/**
+	 * Checks whether or not a complex variable starting point <I>z</I> at a fractional screen position lies in a specified
+	 * dual fractal set with complex parameter <I>c</I> (in dynamical/variable space, i.e the z-plane).
+	 * <P>
+	 * This allows a single pixel to be sampled at several sub-pixel positions (e.g., for anti-aliasing).
+	 *
+	 * @param x  the horizontal (fractional) screen position of the variable complex starting point <I>z</I>
+	 * @param y  the vertical (fractional) screen position of the variable complex starting point <I>z</I>
+	 * @param c  the complex parameter <I>c</I>
+	 * @return   the iteration result associated with the forward orbit of the complex variable starting point due to the specified complex number
+	 */
+	public final IterationResult iterateDualFractalSubPixel(double x, double y, ComplexNumber c)
+	{
+		if (usesCentreOffsets()) {
+			return iterateCentreOffset(EFractalType.kDualFractal,c,convertSubPixelPositionToComplexOffset(x,y),false);
+		}
+		return iterate(convertSubPixelPositionToComplexNumber(x,y),c,false);
+	}
+
 	/**
 	 * Iterates all points in the bifurcation diagram.
 	 *
@@ -1262,6 +2125,47 @@ public abstract class AFractalIterator
 	{
 	}
 
+	/**
+	 * Iterates the orbit of a single point for the accumulation of an orbit density, and stores all its points
+	 * <I>z</I>(1), <I>z</I>(2), ... in the specified array as consecutive pairs of real and imaginary components.
+	 * <P>
+	 * Orbits that are known to remain bounded may be skipped altogether (reporting no points) if only escaping orbits are
+	 * needed. The default implementation stores no points.
+	 *
+	 * @param zX                  the real component of the starting point <I>z</I>
+	 * @param zY                  the imaginary component of the starting point <I>z</I>
+	 * @param cX                  the real component of the complex parameter <I>c</I>
+	 * @param cY                  the imaginary component of the complex parameter <I>c</I>
+	 * @param onlyEscapingOrbits  a <CODE>boolean</CODE> indicating whether or not only the points of escaping orbits are needed
+	 * @param orbit               the array that receives the points of the orbit (of length twice the maximum number of iterations)
+	 * @return                    the number of stored points if the orbit escaped, or minus that number if it remained bounded
+	 */
+	public int iterateOrbitDensityOrbit(double zX, double zY, double cX, double cY, boolean onlyEscapingOrbits, double[] orbit)
+	{
+		return 0;
+	}
+
+	/**
+	 * Continues the iteration of a point up to the current maximum number of iterations, starting from the orbit state
+	 * that was kept in its result when it reached a lower maximum.
+	 *
+	 * @param iterationResult  the iteration result of the point with the lower maximum number of iterations
+	 * @return                 the iteration result of the point with the current maximum number of iterations, or <CODE>null</CODE> if it can't be continued
+	 */
+	public final IterationResult resumeIteration(IterationResult iterationResult)
+	{
+		OrbitState orbitState = iterationResult.fOrbitState;
+		if ((orbitState == null) || (orbitState.fNrOfIterations > fMaxNrOfIterations)) {
+			return null;
+		}
+		else if (orbitState.fNrOfIterations == fMaxNrOfIterations) {
+			return iterationResult;
+		}
+		else {
+			return iterate(orbitState);
+		}
+	}
+
 	/**
 	 * Returns the default upper-left corner in the complex plane.
 	 * 
@@ -1313,6 +2217,173 @@ public abstract class AFractalIterator
 	 */
 	protected abstract IterationResult iterate(ComplexNumber z, ComplexNumber c, boolean saveOrbit);
 
+	/**
+	 * Helper method for iterating a batch of independent orbits (without saving them).
+	 * <P>
+	 * The default implementation iterates the orbits one after the other, which is what all escape-time families do
+	 * (their orbits diverge after different numbers of iterations). Subclasses whose orbits all take the same number of
+	 * iterations can override this method in order to iterate them in lock-step (e.g., the Markus-Lyapunov fractals,
+	 * which share the root sequence).
+	 *
+	 * @param z        the complex variables <I>z</I>
+	 * @param c        the complex parameters <I>c</I>
+	 * @param length   the number of orbits in the batch
+	 * @param results  the array that receives the iteration results
+	 * @param offset   the position in the array of the first iteration result
+	 */
+	protected void iterate(ComplexNumber[] z, ComplexNumber[] c, int length, IterationResult[] results, int offset)
+	{
+		for (int i = 0; i < length; ++i) {
+			results[offset + i] = iterate(z[i],c[i],false);
+		}
+	}
+
+	/**
+	 * Helper method for continuing an iteration with the escape-time algorithm from the state of its orbit.
+	 * <P>
+	 * The default behaviour can't continue any orbit.
+	 *
+	 * @param orbitState  the state of the orbit when it reached a lower maximum number of iterations
+	 * @return            the iteration result associated with the continued orbit, or <CODE>null</CODE> if it can't be continued
+	 */
+	protected IterationResult iterate(OrbitState orbitState)
+	{
+		return null;
+	}
+
+	/**
+	 * Returns whether or not the fractal is iterated by means of offsets relative to the centre of the complex bounds
+	 * (e.g., for perturbations relative to a reference orbit, or for iterations beyond double precision).
+	 * <P>
+	 * The default behaviour iterates each point directly, with all calculations in double precision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is iterated by means of centre offsets
+	 */
+	protected boolean usesCentreOffsets()
+	{
+		return false;
+	}
+
+	/**
+	 * Helper method for an iteration with the escape-time algorithm, expressed as an offset relative to the centre of
+	 * the complex bounds (e.g., for perturbation or for high-precision iterations).
+	 * <P>
+	 * The default behaviour falls back to a direct iteration of the point that corresponds to the specified offset.
+	 *
+	 * @param fractalType  the type of the fractal (main or dual)
+	 * @param fixedPoint   the fixed complex number of the orbit (i.e., the starting point <I>z</I> for a main fractal or the complex parameter <I>c</I> for a dual fractal)
+	 * @param offset       the offset of the varying complex number relative to the centre of the complex bounds
+	 * @param saveOrbit    a <CODE>boolean</CODE> indicating whether or not the orbit should be saved
+	 * @return             the iteration result associated with the forward orbit
+	 */
+	protected IterationResult iterateCentreOffset(EFractalType fractalType, ComplexNumber fixedPoint, ComplexNumber offset, boolean saveOrbit)
+	{
+		ComplexNumber c = getHighPrecisionCentre().add(offset).toComplexNumber();
+		if (fractalType == EFractalType.kMainFractal) {
+			return iterate(fixedPoint,c,saveOrbit);
+		}
+		else {
+			return iterate(c,fixedPoint,saveOrbit);
+		}
+	}
+
+	/**
+	 * Returns whether or not periodicity checking applies to the current iteration.
+	 *
+	 * @param saveOrbit  a <CODE>boolean</CODE> indicating whether or not the orbit is saved
+	 * @return           a <CODE>boolean</CODE> indicating whether or not periodicity checking applies
+	 */
+	protected final boolean checkPeriodicity(boolean saveOrbit)
+	{
+		return (fPeriodicityCheckingEnabled && !fUseFixedNrOfIterations && (getCalculatedAdvancedColoringChannels() == 0) && !saveOrbit);
+	}
+
+	/**
+	 * Returns whether or not the statistics of the specified advanced colouring channel should be calculated.
+	 *
+	 * @param channel  a <CODE>ColoringParameters</CODE> channel
+	 * @return         a <CODE>boolean</CODE> indicating whether or not the channel should be calculated
+	 */
+	protected final boolean calculateAdvancedColoringChannel(int channel)
+	{
+		return ((getCalculatedAdvancedColoringChannels() & channel) != 0);
+	}
+
+	/**
+	 * Registers the number of iterations that were saved because an orbit was proven to lie in the interior.
+	 *
+	 * @param nrOfSavedIterations  the number of iterations that were saved
+	 */
+	protected final void registerSavedIterations(long nrOfSavedIterations)
+	{
+		fNrOfSavedIterations.addAndGet(nrOfSavedIterations);
+	}
+
+	/**
+	 * Returns whether or not an orbit that is known to lie in the interior may be skipped altogether for the current iteration.
+	 *
+	 * @param saveOrbit  a <CODE>boolean</CODE> indicating whether or not the orbit is saved
+	 * @return           a <CODE>boolean</CODE> indicating whether or not the known interior may be skipped
+	 */
+	protected final boolean checkKnownInterior(boolean saveOrbit)
+	{
+		return (fKnownInteriorSkippingEnabled && !fUseFixedNrOfIterations && (getCalculatedAdvancedColoringChannels() == 0) && !saveOrbit);
+	}
+
+	/**
+	 * Returns whether or not the state of an orbit that reaches the maximum number of iterations should be kept for the
+	 * current iteration (the running sums of the advanced colouring channels are not kept).
+	 *
+	 * @param saveOrbit  a <CODE>boolean</CODE> indicating whether or not the orbit is saved
+	 * @return           a <CODE>boolean</CODE> indicating whether or not the orbit state should be kept
+	 */
+	protected final boolean keepOrbitState(boolean saveOrbit)
+	{
+		return (fOrbitStateKeepingEnabled && supportsResumableIterations() && !fUseFixedNrOfIterations && (getCalculatedAdvancedColoringChannels() == 0) && !saveOrbit);
+	}
+
+	/**
+	 * Returns whether or not the orbit of the specified point is known analytically to remain bounded (e.g., the main
+	 * cardioid of the Mandelbrot set). The default implementation knows of no such regions.
+	 *
+	 * @param zX  the real component of the starting point <I>z</I>
+	 * @param zY  the imaginary component of the starting point <I>z</I>
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the orbit is known to remain bounded
+	 */
+	protected boolean liesInKnownInterior(double zX, double zY, double cX, double cY)
+	{
+		return false;
+	}
+
+	/**
+	 * Returns the iteration result of an orbit that is known to lie in the interior, without iterating it.
+	 *
+	 * @return the iteration result of an orbit that is known to lie in the interior
+	 */
+	protected final IterationResult getKnownInteriorIterationResult()
+	{
+		registerSavedIterations(fMaxNrOfIterations);
+
+		IterationResult iterationResult = new IterationResult();
+		iterationResult.fNrOfIterations = IterationResult.kInfinity;
+		iterationResult.fNormalisedIterationCount = IterationResult.kInfinity;
+		return iterationResult;
+	}
+
+	/**
+	 * Returns the index of the root on which the conjugate of an orbit converges, given the index of the root on which
+	 * the orbit itself converges. The default implementation assigns the same root index.
+	 *
+	 * @param rootIndex  the root index of the orbit
+	 * @return           the root index of the conjugate orbit
+	 */
+	protected double getConjugateRootIndex(double rootIndex)
+	{
+		return rootIndex;
+	}
+
 	/**
 	 * Loads custom fractal parameters from a plain-text file.
 	 * 
@@ -1352,4 +2423,253 @@ public abstract class AFractalIterator
 	protected void streamSaveCustomParameters(DataOutputStream dataOutputStream) throws IOException
 	{
 	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Returns whether or not the conjugate symmetry of the fractal can currently be exploited.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the conjugate symmetry of the fractal can currently be exploited
+	 */
+	private boolean usesConjugateSymmetry()
+	{
+		if (!hasConjugateSymmetry()) {
+			return false;
+		}
+
+		if (fFractalType == EFractalType.kMainFractal) {
+			if (fZ0.imaginaryComponent() != 0.0) {
+				return false;
+			}
+		}
+		else if (fDualParameter.imaginaryComponent() != 0.0) {
+			return false;
+		}
+
+		return liesOnPixelGrid(getMirroredRowSum());
+	}
+
+	/**
+	 * Returns whether or not the point symmetry of the fractal can currently be exploited.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the point symmetry of the fractal can currently be exploited
+	 */
+	private boolean usesPointSymmetry()
+	{
+		return ((fFractalType == EFractalType.kDualFractal) && hasPointSymmetry() && liesOnPixelGrid(getMirroredRowSum()) && liesOnPixelGrid(getMirroredColumnSum()));
+	}
+
+	/**
+	 * Returns the sum of the vertical screen positions of two points that are mirrored across the real axis.
+	 *
+	 * @return the sum of the vertical screen positions of two points that are mirrored across the real axis
+	 */
+	private double getMirroredRowSum()
+	{
+		if (fInvertYAxis) {
+			return (-2.0 * fP1Y * ((double) fScreenHeight / fComplexHeight));
+		}
+		return (2.0 * (double) fScreenHeight * (1.0 + (fP1Y / fComplexHeight)));
+	}
+
+	/**
+	 * Returns the sum of the horizontal screen positions of two points that are mirrored across the imaginary axis.
+	 *
+	 * @return the sum of the horizontal screen positions of two points that are mirrored across the imaginary axis
+	 */
+	private double getMirroredColumnSum()
+	{
+		return (-2.0 * fP1X * ((double) fScreenWidth / fComplexWidth));
+	}
+
+	/**
+	 * Returns whether or not a sum of mirrored screen positions is (nearly) integral, so that mirrored points coincide
+	 * with the pixel grid.
+	 *
+	 * @param mirroredSum  the sum of the screen positions of two mirrored points
+	 * @return             a <CODE>boolean</CODE> indicating whether or not mirrored points coincide with the pixel grid
+	 */
+	private boolean liesOnPixelGrid(double mirroredSum)
+	{
+		return (Math.abs(mirroredSum - Math.rint(mirroredSum)) <= kSymmetryAlignmentTolerance);
+	}
+
+	/**
+	 * Determines the transformation that maps a point onto the symmetric counterpart from which its result is copied.
+	 * <P>
+	 * Of all on-screen counterparts of a point (including the point itself), the one that comes first in the buffer is
+	 * iterated; all others are copied from it.
+	 *
+	 * @param x  the horizontal screen position of the point
+	 * @param y  the vertical screen position of the point
+	 * @return   the transformation that maps the point onto its source, or <CODE>kNoSymmetry</CODE> when the point is iterated itself
+	 */
+	private int getSymmetryTransformation(int x, int y)
+	{
+		if (!usesSymmetry()) {
+			return kNoSymmetry;
+		}
+
+		boolean conjugate = usesConjugateSymmetry();
+		boolean point = usesPointSymmetry();
+		int rowSum = (int) Math.rint(getMirroredRowSum());
+		int columnSum = (int) Math.rint(getMirroredColumnSum());
+
+		int transformation = kNoSymmetry;
+		int sourceIndex = x + (y * fScreenWidth);
+		if (conjugate) {
+			int index = getScreenIndex(x,rowSum - y);
+			if ((index >= 0) && (index < sourceIndex)) {
+				transformation = kConjugateSymmetry;
+				sourceIndex = index;
+			}
+		}
+		if (point) {
+			int index = getScreenIndex(columnSum - x,rowSum - y);
+			if ((index >= 0) && (index < sourceIndex)) {
+				transformation = kPointSymmetry;
+				sourceIndex = index;
+			}
+		}
+		if (conjugate && point) {
+			int index = getScreenIndex(columnSum - x,y);
+			if ((index >= 0) && (index < sourceIndex)) {
+				transformation = kConjugateSymmetry | kPointSymmetry;
+				sourceIndex = index;
+			}
+		}
+
+		return transformation;
+	}
+
+	/**
+	 * Returns the position of a screen location in a full-screen buffer.
+	 *
+	 * @param x  the horizontal screen position
+	 * @param y  the vertical screen position
+	 * @return   the position in the buffer, or -1 if the screen location lies off-screen
+	 */
+	private int getScreenIndex(int x, int y)
+	{
+		if ((x < 0) || (x >= fScreenWidth) || (y < 0) || (y >= fScreenHeight)) {
+			return -1;
+		}
+		return (x + (y * fScreenWidth));
+	}
+
+	/**
+	 * Mirrors the iteration result of a point onto its symmetric counterpart.
+	 * <P>
+	 * Under conjugate symmetry, the final value is conjugated (and so is the root it converged on). Under point symmetry, the orbits of both points coincide
+	 * from the first iteration onwards, so only the final value of an orbit that escaped immediately is negated.
+	 *
+	 * @param source          the iteration result to mirror
+	 * @param transformation  the transformation that maps the point onto its counterpart
+	 * @return                the mirrored iteration result
+	 */
+	private IterationResult mirrorIterationResult(IterationResult source, int transformation)
+	{
+		IterationResult iterationResult = new IterationResult(source);
+
+		if ((transformation & kConjugateSymmetry) != 0) {
+			iterationResult.fImaginaryComponent = -iterationResult.fImaginaryComponent;
+			iterationResult.fAngle = -iterationResult.fAngle;
+			if (!iterationResult.liesInInterior()) {
+				iterationResult.fRootIndex = getConjugateRootIndex(iterationResult.fRootIndex);
+			}
+		}
+
+		if (((transformation & kPointSymmetry) != 0) && (iterationResult.fNrOfIterations == 0.0)) {
+			iterationResult.fRealComponent = -iterationResult.fRealComponent;
+			iterationResult.fImaginaryComponent = -iterationResult.fImaginaryComponent;
+			iterationResult.fAngle = Math.atan2(iterationResult.fImaginaryComponent,iterationResult.fRealComponent);
+		}
+
+		return iterationResult;
+	}
+
+	/**
+	 * Helper method for converting a fractional screen position to a complex number.
+	 *
+	 * @param x  the horizontal (fractional) screen position
+	 * @param y  the vertical (fractional) screen position
+	 * @return   the complex number corresponding to the specified screen position
+	 */
+	private ComplexNumber convertSubPixelPositionToComplexNumber(double x, double y)
+	{
+		double cY = fP1Y + ((((double) fScreenHeight - y) / (double) fScreenHeight) * fComplexHeight);
+		if (fInvertYAxis) {
+			cY = fP1Y + ((y / (double) fScreenHeight) * fComplexHeight);
+		}
+		return (new ComplexNumber(fP1X + ((x / (double) fScreenWidth) * fComplexWidth),cY));
+	}
+
+	/**
+	 * Helper method for converting a fractional screen position to an offset relative to the centre of the complex bounds.
+	 *
+	 * @param x  the horizontal (fractional) screen position
+	 * @param y  the vertical (fractional) screen position
+	 * @return   the offset in the complex plane of the specified screen position relative to the centre of the complex bounds
+	 */
+	private ComplexNumber convertSubPixelPositionToComplexOffset(double x, double y)
+	{
+		double cY = (((((double) fScreenHeight - y) / (double) fScreenHeight) - 0.5) * fComplexHeight);
+		if (fInvertYAxis) {
+			cY = (((y / (double) fScreenHeight) - 0.5) * fComplexHeight);
+		}
+		return (new ComplexNumber(((x / (double) fScreenWidth) - 0.5) * fComplexWidth,cY));
+	}
+
+	/**
+	 * Returns the current zoom factor relative to the default bounds.
+	 * 
+	 * @return the current zoom factor relative to the default bounds
+	 */
+	private double getCurrentZoomFactor()
+	{
+		double defaultDeltaX = Math.abs(getDefaultP2().realComponent() - getDefaultP1().realComponent());
+		double defaultDeltaY = Math.abs(getDefaultP2().imaginaryComponent() - getDefaultP1().imaginaryComponent());
+		double zoomLevelX = defaultDeltaX / Math.abs(fComplexWidth);
+		double zoomLevelY = defaultDeltaY / Math.abs(fComplexHeight);
+
+		return Math.max(zoomLevelX,zoomLevelY);
+	}
+
+	/**
+	 * Reads an arbitrary-precision number from a plain-text file.
+	 * 
+	 * @param  tfp                 a reference to the file parser
+	 * @return                     the arbitrary-precision number
+	 * @throws FileParseException  in case a parse error occurs
+	 */
+	private static BigDecimal getNextBigDecimal(TextFileParser tfp) throws FileParseException
+	{
+		String value = tfp.getNextString();
+		try {
+			return (new BigDecimal(value.trim()));
+		}
+		catch (NumberFormatException exc) {
+			throw (new FileParseException(value,tfp.getLastReadLineNr()));
+		}
+	}
+
+	/**
+	 * Reads an arbitrary-precision number from a stream.
+	 * 
+	 * @param  dataInputStream  a data inputstream
+	 * @return                  the arbitrary-precision number
+	 * @throws IOException      in case a parse error occurs
+	 */
+	private static BigDecimal readBigDecimal(DataInputStream dataInputStream) throws IOException
+	{
+		String value = dataInputStream.readUTF();
+		try {
+			return (new BigDecimal(value));
+		}
+		catch (NumberFormatException exc) {
+			throw (new IOException(exc));
+		}
+	}
 }
@@ -1,7 +1,7 @@
 // -----------------------------------------------
 // Filename      : AConvergentFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 20/04/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------
 
@@ -37,7 +37,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this is an abstract class.</B>
  * 
  * @author  Sven Maerivoet
- * @version 20/04/2016
+ * @version 22/11/2016
  */
 public abstract class AConvergentFractalIterator extends AFractalIterator
 {
@@ -57,6 +57,9 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 	// fixed exponential smoothing crispness
 	private static final double kFixedExponentialSmoothingCrispness = 10.0;
 
+	// the maximum number of Durand-Kerner iterations for finding the roots of a polynomial
+	private static final int kMaxNrOfPolynomialSolverIterations = 500;
+
 	/**
 	 * The power of the fractal iterator.
 	 */
@@ -68,6 +71,7 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 	private ComplexNumber fAlpha;
 	private double fMaxObservedExponentialIterationCount;
 	private boolean fAutomaticRootDetectionEnabled;
+	private ComplexNumber[] fKnownRoots;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -93,12 +97,15 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 
 	/**
 	 * Sets the power for this fractal.
+	 * <P>
+	 * The roots of the fractal function are recalculated right away (if they are known for this power).
 	 * 
 	 * @param power  the power for this fractal
 	 */
 	public final void setPower(ComplexNumber power)
 	{
 		fPower = power;
+		fKnownRoots = calculateKnownRoots();
 	}
 
 	/**
@@ -259,6 +266,46 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 		return fAutomaticRootDetectionEnabled;
 	}
 
+	/**
+	 * Returns whether or not the roots of the fractal function are known up front.
+	 * <P>
+	 * If so, the iterations stop as soon as <I>z</I> lies within the root tolerance of one of these roots, and the
+	 * index of that root is assigned to the iteration result directly (so there is no need for automatic root detection
+	 * afterwards).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the roots of the fractal function are known up front
+	 * @see    AConvergentFractalIterator#getKnownRoots()
+	 */
+	public final boolean hasKnownRoots()
+	{
+		return (fKnownRoots != null);
+	}
+
+	/**
+	 * Returns the roots of the fractal function that are known up front.
+	 * <P>
+	 * The index of a root in this array is the root index that is assigned to the points converging on it; points that
+	 * converge elsewhere are assigned the number of known roots as their root index.
+	 *
+	 * @return the roots of the fractal function that are known up front (<CODE>null</CODE> if they are unknown)
+	 */
+	public final ComplexNumber[] getKnownRoots()
+	{
+		return fKnownRoots;
+	}
+
+	/**
+	 * Returns the columns that are needed for the automatic detection of the roots and for the smooth colouring of the
+	 * roots.
+	 *
+	 * @return a mask of the required <CODE>IterationBuffer</CODE> columns
+	 */
+	@Override
+	public int getRequiredColumns()
+	{
+		return (IterationBuffer.kRealComponentColumn | IterationBuffer.kImaginaryComponentColumn | IterationBuffer.kRootIndexColumn | IterationBuffer.kExponentialIterationCountColumn);
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -284,6 +331,120 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 		return new ComplexNumber(1.0);
 	}
 
+	/**
+	 * Calculates the roots of the fractal function, analytically or numerically; this method is called whenever the
+	 * power changes.
+	 * <P>
+	 * The roots are unknown by default.
+	 *
+	 * @return the roots of the fractal function (<CODE>null</CODE> if they are unknown)
+	 */
+	protected ComplexNumber[] calculateKnownRoots()
+	{
+		return null;
+	}
+
+	/**
+	 * Returns the index of the known root that is the conjugate of the specified known root (points that converge
+	 * elsewhere keep their root index).
+	 *
+	 * @param rootIndex  the root index of the orbit
+	 * @return           the root index of the conjugate orbit
+	 */
+	@Override
+	protected double getConjugateRootIndex(double rootIndex)
+	{
+		ComplexNumber[] knownRoots = fKnownRoots;
+		int index = (int) rootIndex;
+		if ((knownRoots == null) || (index < 0) || (index >= knownRoots.length)) {
+			return rootIndex;
+		}
+
+		double conjugateX = knownRoots[index].realComponent();
+		double conjugateY = -knownRoots[index].imaginaryComponent();
+		int conjugateIndex = index;
+		double minDistanceSqr = Double.MAX_VALUE;
+		for (int candidateIndex = 0; candidateIndex < knownRoots.length; ++candidateIndex) {
+			double deltaX = conjugateX - knownRoots[candidateIndex].realComponent();
+			double deltaY = conjugateY - knownRoots[candidateIndex].imaginaryComponent();
+			double distanceSqr = (deltaX * deltaX) + (deltaY * deltaY);
+			if (distanceSqr < minDistanceSqr) {
+				minDistanceSqr = distanceSqr;
+				conjugateIndex = candidateIndex;
+			}
+		}
+		return conjugateIndex;
+	}
+
+	/**
+	 * Finds all the roots of a polynomial with the Durand-Kerner method.
+	 *
+	 * @param coefficients  the coefficients of the polynomial, starting with the constant term (the leading coefficient must be non-zero)
+	 * @return              the roots of the polynomial
+	 */
+	protected static ComplexNumber[] findPolynomialRoots(double[] coefficients)
+	{
+		int degree = coefficients.length - 1;
+		double leadingCoefficient = coefficients[degree];
+
+		// start from points on a spiral, which are neither real nor roots of unity
+		ComplexNumber[] roots = new ComplexNumber[degree];
+		ComplexNumber seed = new ComplexNumber(0.4,0.9);
+		roots[0] = ComplexNumber.kOne;
+		for (int rootIndex = 1; rootIndex < degree; ++rootIndex) {
+			roots[rootIndex] = roots[rootIndex - 1].multiply(seed);
+		}
+
+		for (int iteration = 0; iteration < kMaxNrOfPolynomialSolverIterations; ++iteration) {
+			double maxCorrection = 0.0;
+			for (int rootIndex = 0; rootIndex < degree; ++rootIndex) {
+				ComplexNumber z = roots[rootIndex];
+
+				// evaluate the monic polynomial with Horner's scheme
+				ComplexNumber numerator = ComplexNumber.kOne;
+				for (int coefficientIndex = degree - 1; coefficientIndex >= 0; --coefficientIndex) {
+					numerator = numerator.multiply(z).add(new ComplexNumber(coefficients[coefficientIndex] / leadingCoefficient));
+				}
+
+				ComplexNumber denominator = ComplexNumber.kOne;
+				for (int otherRootIndex = 0; otherRootIndex < degree; ++otherRootIndex) {
+					if (otherRootIndex != rootIndex) {
+						denominator = denominator.multiply(z.subtract(roots[otherRootIndex]));
+					}
+				}
+
+				ComplexNumber correction = numerator.divide(denominator);
+				roots[rootIndex] = z.subtract(correction);
+				maxCorrection = Math.max(maxCorrection,correction.modulus());
+			}
+
+			if (maxCorrection < 1E-15) {
+				break;
+			}
+		}
+
+		return roots;
+	}
+
+	/**
+	 * Finds the solutions of <I>z^power = 1</I> for a positive real power, with <I>z^power</I> taken along the principal
+	 * branch, i.e., the points <I>e^(2 pi i k / power)</I> whose argument lies in the interval (-pi, pi].
+	 *
+	 * @param power  the positive real power
+	 * @return       the solutions of <I>z^power = 1</I>
+	 */
+	protected static ComplexNumber[] findPrincipalRootsOfUnity(double power)
+	{
+		int minK = (int) Math.floor(-power / 2.0) + 1;
+		int maxK = (int) Math.floor(power / 2.0);
+		ComplexNumber[] roots = new ComplexNumber[maxK - minK + 1];
+		for (int k = minK; k <= maxK; ++k) {
+			double angle = (2.0 * Math.PI * k) / power;
+			roots[k - minK] = new ComplexNumber(Math.cos(angle),Math.sin(angle));
+		}
+		return roots;
+	}
+
 	/**
 	 * Initialises the first iteration.
 	 * <P>
@@ -301,22 +462,71 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 	/**
 	 * Evaluates the orbit of the specified complex variable <I>z</I>.
 	 * <P>
-	 * By default, this method calculates a complex numerical derivate for an arbitrary function, and then performs relaxed Newton-Raphson root finding.
+	 * This method redirects to the primitive Newton-Raphson step below.
 	 *
 	 * @param z  the complex variable <I>z</I>
 	 * @param c  the complex parameter <I>c</I>
 	 * @return   the evaluated complex variable <I>z</I>
 	 */
-	protected ComplexNumber evaluateOrbit(ComplexNumber z, ComplexNumber c)
+	protected final ComplexNumber evaluateOrbit(ComplexNumber z, ComplexNumber c)
 	{
-		ComplexNumber zEval = evaluateFractalFunction(z,c);
+		MutableComplexNumber zNext = new MutableComplexNumber();
+		evaluateOrbit(z.realComponent(),z.imaginaryComponent(),c.realComponent(),c.imaginaryComponent(),zNext,new DualComplexNumber(),new DualComplexNumber());
+		return zNext.toComplexNumber();
+	}
 
-		// calculate complex numerical derivative
-		ComplexNumber h = new ComplexNumber(fDerivativeDelta,fDerivativeDelta);
-		ComplexNumber dz = (evaluateFractalFunction(z.add(h),c).subtract(zEval)).divide(h);
+	/**
+	 * Evaluates the orbit of the specified complex variable <I>z</I>, without creating new objects.
+	 * <P>
+	 * By default, this method evaluates the fractal function together with its derivative in one go, and then performs
+	 * relaxed Newton-Raphson root finding.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the evaluated complex variable <I>z</I>
+	 * @param f        a register that receives the fractal function and its derivative
+	 * @param scratch  a register for intermediate results (which is never the same as <CODE>f</CODE>)
+	 */
+	protected void evaluateOrbit(double zX, double zY, double cX, double cY, MutableComplexNumber result, DualComplexNumber f, DualComplexNumber scratch)
+	{
+		evaluateFractalFunction(zX,zY,cX,cY,f,scratch);
 
 		// perform relaxed Newton-Raphson root finding iteration
-		return z.subtract(fAlpha.multiply(evaluateFractalFunction(z,c).divide(dz)));
+		result.set(f.realComponent(),f.imaginaryComponent()).divide(f.derivativeRealComponent(),f.derivativeImaginaryComponent());
+		double alphaX = fAlpha.realComponent();
+		double alphaY = fAlpha.imaginaryComponent();
+		double stepX = (alphaX * result.realComponent()) - (alphaY * result.imaginaryComponent());
+		double stepY = (alphaY * result.realComponent()) + (alphaX * result.imaginaryComponent());
+		result.set(zX - stepX,zY - stepY);
+	}
+
+	/**
+	 * Evaluates the fractal function and its derivative for a specified complex point, without creating new objects.
+	 * <P>
+	 * Subclasses typically evaluate the same function as the <CODE>ComplexNumber</CODE> based one, after introducing
+	 * <I>z</I> with {@link DualComplexNumber#setVariable(double,double)}; this yields the exact derivative at the cost of
+	 * a single evaluation. The default behaviour falls back to a complex numerical derivative based on the
+	 * <CODE>ComplexNumber</CODE> based function, which requires two evaluations.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results (which is never the same as <CODE>result</CODE>)
+	 */
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		ComplexNumber c = new ComplexNumber(cX,cY);
+		ComplexNumber zEval = evaluateFractalFunction(new ComplexNumber(zX,zY),c);
+
+		// calculate complex numerical derivative
+		ComplexNumber zShiftedEval = evaluateFractalFunction(new ComplexNumber(zX + fDerivativeDelta,zY + fDerivativeDelta),c);
+		MutableComplexNumber dz = new MutableComplexNumber();
+		dz.set(zShiftedEval.realComponent() - zEval.realComponent(),zShiftedEval.imaginaryComponent() - zEval.imaginaryComponent()).divide(fDerivativeDelta,fDerivativeDelta);
+		result.set(zEval.realComponent(),zEval.imaginaryComponent(),dz.realComponent(),dz.imaginaryComponent());
 	}
 
 	/**
@@ -346,8 +556,23 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 		ComplexNumber zPrevious = z;
 		ComplexNumber zPreviousPrevious = zPrevious;
 
-		double[] curvatures = new double[fMaxNrOfIterations];
-		double[] stripingAngles = new double[fMaxNrOfIterations];
+		// running sums for the curvature and the striping (the sums preceding the last iteration are used for smoothing)
+		double curvatureSum = 0.0;
+		double previousCurvatureSum = 0.0;
+		double interiorStripingSum = 0.0;
+		double previousInteriorStripingSum = 0.0;
+		double exteriorStripingSum = 0.0;
+		double previousExteriorStripingSum = 0.0;
+
+		// the advanced colouring channels that are required
+		boolean calculateCurvature = calculateAdvancedColoringChannel(ColoringParameters.kCurvatureChannel);
+		boolean calculateStriping = calculateAdvancedColoringChannel(ColoringParameters.kStripingChannel);
+		boolean calculateGaussianIntegers = calculateAdvancedColoringChannel(ColoringParameters.kGaussianIntegersChannel);
+		boolean calculateExteriorDistance = calculateAdvancedColoringChannel(ColoringParameters.kExteriorDistanceChannel);
+		boolean calculateOrbitTrapDisk = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapDiskChannel);
+		boolean calculateOrbitTrapCrossStalks = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapCrossStalksChannel);
+		boolean calculateOrbitTrapSine = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapSineChannel);
+		boolean calculateOrbitTrapTangens = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapTangensChannel);
 
 		double minimumInteriorGaussianIntegersDistance = Double.MAX_VALUE;
 		double minimumExteriorGaussianIntegersDistance = Double.MAX_VALUE;
@@ -374,35 +599,60 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 		// initialise derivative for exterior distance estimation
 		ComplexNumber dz = new ComplexNumber();
 
+		// allocate the registers for the Newton-Raphson steps
+		double cX = c.realComponent();
+		double cY = c.imaginaryComponent();
+		MutableComplexNumber zNextRegister = new MutableComplexNumber();
+		DualComplexNumber f = new DualComplexNumber();
+		DualComplexNumber scratch = new DualComplexNumber();
+
+		ComplexNumber[] knownRoots = fKnownRoots;
+		double rootToleranceSqr = fRootTolerance * fRootTolerance;
+		int rootIndex = 0;
+
 		boolean convergedOnRoot = false;
 		double rootDistance = 0.0;
 		while ((iterationResult.fNrOfIterations < fMaxNrOfIterations) && (!convergedOnRoot)) {
 
+			// iterate fractal function
+			evaluateOrbit(z.realComponent(),z.imaginaryComponent(),cX,cY,zNextRegister,f,scratch);
+			ComplexNumber zNext = zNextRegister.toComplexNumber();
+
 			// calculate derivative for exterior distance estimation
-			if (fCalculateAdvancedColoring) {
-				ComplexNumber h = new ComplexNumber(fDerivativeDelta,fDerivativeDelta);
-				ComplexNumber zEval = evaluateOrbit(z,c);
-				dz = (evaluateOrbit(z.add(h),c).subtract(zEval)).divide(h);
+			if (calculateExteriorDistance) {
+				evaluateOrbit(z.realComponent() + fDerivativeDelta,z.imaginaryComponent() + fDerivativeDelta,cX,cY,zNextRegister,f,scratch);
+				dz = new ComplexNumber(zNextRegister.realComponent() - zNext.realComponent(),zNextRegister.imaginaryComponent() - zNext.imaginaryComponent()).divide(new ComplexNumber(fDerivativeDelta,fDerivativeDelta));
 			}
-
-			// iterate fractal function
-			ComplexNumber zNext = evaluateOrbit(z,c);
 			zPreviousPrevious = zPrevious;
 			zPrevious = z;
 			z = zNext;
 			modulusSqr = z.modulusSquared();
 
-			if (fCalculateAdvancedColoring) {
-				curvatures[(int) iterationResult.fNrOfIterations] = Math.abs(z.subtract(zPrevious).divide(zPrevious.subtract(zPreviousPrevious)).argument());
-				stripingAngles[(int) iterationResult.fNrOfIterations] = z.argument();
+			// have we converged sufficiently close to a known root?
+			if (knownRoots != null) {
+				double zX = z.realComponent();
+				double zY = z.imaginaryComponent();
+				for (rootIndex = 0; rootIndex < knownRoots.length; ++rootIndex) {
+					double deltaX = zX - knownRoots[rootIndex].realComponent();
+					double deltaY = zY - knownRoots[rootIndex].imaginaryComponent();
+					double rootDistanceSqr = (deltaX * deltaX) + (deltaY * deltaY);
+					if (rootDistanceSqr < rootToleranceSqr) {
+						rootDistance = Math.sqrt(rootDistanceSqr);
+						convergedOnRoot = true;
+						break;
+					}
+				}
 			}
 
 			// have we converged sufficiently close to a root?
-			rootDistance = z.subtract(zPrevious).modulus();
-			if ((rootDistance < fRootTolerance)  && (z.modulus() < fEscapeRadius)) {
-      	convergedOnRoot = true;
-      }
-      else {
+			if (!convergedOnRoot) {
+				rootDistance = z.subtract(zPrevious).modulus();
+				if ((rootDistance < fRootTolerance)  && (z.modulus() < fEscapeRadius)) {
+					convergedOnRoot = true;
+				}
+			}
+
+			if (!convergedOnRoot) {
   			// calculate default results and continue the root finding process
 		    ++iterationResult.fNrOfIterations;
       	iterationResult.fExponentialIterationCount += Math.exp(-z.modulus() / kFixedExponentialSmoothingCrispness / z.subtract(zPrevious).modulus());
@@ -411,60 +661,84 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 				iterationResult.fLyapunovExponent += Math.log(modulus);
 
 				if (fCalculateAdvancedColoring) {
-					// calculate Gaussian distances
+					// accumulate curvatures and stripings (the step that converges on the root is not taken into account)
+					if (calculateCurvature) {
+						previousCurvatureSum = curvatureSum;
+						curvatureSum += Math.abs(z.subtract(zPrevious).divide(zPrevious.subtract(zPreviousPrevious)).argument());
+					}
+					if (calculateStriping) {
+						double stripingAngle = z.argument();
+						previousInteriorStripingSum = interiorStripingSum;
+						previousExteriorStripingSum = exteriorStripingSum;
+						interiorStripingSum += (0.5 * Math.sin(fInteriorStripingDensity * stripingAngle) + 0.5);
+						exteriorStripingSum += (0.5 * Math.sin(fExteriorStripingDensity * stripingAngle) + 0.5);
+					}
+
 					double zX = z.realComponent();
 					double zY = z.imaginaryComponent();
-					double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-					double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-					double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
-					if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
-						minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
-					}
-					averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
 
-					double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-					double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-					double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
-					if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
-						minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					// calculate Gaussian distances
+					if (calculateGaussianIntegers) {
+						double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+						double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+						double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
+						if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
+							minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
+						}
+						averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
+
+						double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+						double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+						double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
+						if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
+							minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+						}
+						averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 					}
-					averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 
 					// calculate orbit trap distances
-					double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
-					if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
-						minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
-					}
-					double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
-					if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
-						minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+					if (calculateOrbitTrapDisk) {
+						double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
+						if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
+							minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
+						}
+						double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
+						if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
+							minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+						}
 					}
 
-					double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
-					if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
-						minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
-					}
-					double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
-					if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
-						minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+					if (calculateOrbitTrapCrossStalks) {
+						double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
+						if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
+							minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
+						}
+						double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
+						if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
+							minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+						}
 					}
 
-					double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
-					if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
-						minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
-					}
-					double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
-					if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
-						minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+					if (calculateOrbitTrapSine) {
+						double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
+						if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
+							minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
+						}
+						double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
+						if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
+							minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+						}
 					}
 
-					double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
-					if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
-						minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
-					}
-					double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
-					if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
-						minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+					if (calculateOrbitTrapTangens) {
+						double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
+						if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
+							minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
+						}
+						double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
+						if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
+							minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+						}
 					}
 				} // if (fCalculateAdvancedColoring)
 
@@ -487,30 +761,22 @@ public abstract class AConvergentFractalIterator extends AFractalIterator
 			iterationResult.fModulus = z.modulus();
 			iterationResult.fAngle = z.argument();
 			iterationResult.fLyapunovExponent /= iterationResult.fNrOfIterations;
-			iterationResult.fRootIndex = 1;
+			iterationResult.fRootIndex = (knownRoots != null) ? rootIndex : 1;
 
 			// estimate curvature, striping, Gaussian distance, exterior distance, and orbit trap distances
 			double prevCurvature = 0.0;
 			double prevStriping = 0.0;
 			if (fCalculateAdvancedColoring) {
-				iterationResult.fCurvature = 0.0;
-				iterationResult.fStriping = 0.0;
-				for (int i = 0; i < iterationResult.fNrOfIterations; ++i) {
-					iterationResult.fCurvature += curvatures[i];
-					double striping = 0.0;
-					if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
-						striping = (0.5 * Math.sin(fInteriorStripingDensity * stripingAngles[i]) + 0.5);
-						iterationResult.fStriping += striping;
-					}
-					else {
-						striping = (0.5 * Math.sin(fExteriorStripingDensity * stripingAngles[i]) + 0.5);
-						iterationResult.fStriping += striping;
-					}
-					if (i < (iterationResult.fNrOfIterations - 1)) {
-						prevCurvature += curvatures[i];
-						prevStriping += striping;
-					}
-				} // for (int i = 0; i < iterationResult.fNrOfIterations; ++i)
+				iterationResult.fCurvature = curvatureSum;
+				prevCurvature = previousCurvatureSum;
+				if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
+					iterationResult.fStriping = interiorStripingSum;
+					prevStriping = previousInteriorStripingSum;
+				}
+				else {
+					iterationResult.fStriping = exteriorStripingSum;
+					prevStriping = previousExteriorStripingSum;
+				}
 
 				if (iterationResult.fNrOfIterations > 0) {
 					iterationResult.fCurvature /= iterationResult.fNrOfIterations;
@@ -1,7 +1,7 @@
 // -----------------------------------------------------------------
 // Filename      : NewtonRaphsonFixedPolynomial3FractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 12/10/2014
+// Last modified : 17/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------------------------
 
@@ -23,16 +23,20 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NewtonRaphsonFixedPolynomial1FractalIterator</CODE> class provides an implementation of the Newton / Raphson fixed polynomial 3 fractal.
  * 
  * @author  Sven Maerivoet
- * @version 12/10/2014
+ * @version 17/11/2016
  */
 public class NewtonRaphsonFixedPolynomial3FractalIterator extends AConvergentFractalIterator
 {
+	// the roots of the polynomial
+	private static final ComplexNumber[] kRoots = findPolynomialRoots(new double[] {2.0,-2.0,0.0,1.0});
+
 	/******************
 	 * PUBLIC METHODS *
 	 ******************/
@@ -48,10 +52,33 @@ public class NewtonRaphsonFixedPolynomial3FractalIterator extends AConvergentFra
 		return "Newton / Raphson fixed polynomial 3";
 	}
 
+	/**
+	 * The Newton-Raphson step of a polynomial with real coefficients commutes with complex conjugation, as long as the
+	 * relaxation parameter is real as well.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the relaxation parameter is real
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return (getAlpha().imaginaryComponent() == 0.0);
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
 
+	/**
+	 * Returns the roots of <I>z^3 - 2z + 2</I>, which are found numerically once.
+	 *
+	 * @return the roots of the Newton / Raphson fixed polynomial 3 function
+	 */
+	@Override
+	protected ComplexNumber[] calculateKnownRoots()
+	{
+		return kRoots;
+	}
+
 	/**
 	 * Evaluates the Newton / Raphson fixed polynomial 3 function for a specified complex point.
 	 *
@@ -64,4 +91,21 @@ public class NewtonRaphsonFixedPolynomial3FractalIterator extends AConvergentFra
 	{
 		return z.cube().subtract(z.multiply(ComplexNumber.kTwo)).add(ComplexNumber.kTwo);
 	}
+
+	/**
+	 * Evaluates the Newton / Raphson fixed polynomial 3 function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.setVariable(zX,zY).multiply(2.0,0.0);
+		result.setVariable(zX,zY).cube().subtract(scratch).add(2.0,0.0);
+	}
 }
@@ -1,7 +1,7 @@
 // -----------------------------------------------------------------
 // Filename      : NewtonRaphsonFixedPolynomial4FractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 12/10/2014
+// Last modified : 17/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------------------------
 
@@ -23,16 +23,21 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NewtonRaphsonFixedPolynomial1FractalIterator</CODE> class provides an implementation of the Newton / Raphson fixed polynomial 4 fractal.
  * 
  * @author  Sven Maerivoet
- * @version 12/10/2014
+ * @version 17/11/2016
  */
 public class NewtonRaphsonFixedPolynomial4FractalIterator extends AConvergentFractalIterator
 {
+	// the roots of the polynomial
+	private static final ComplexNumber[] kRoots = {
+		new ComplexNumber(-3.0),new ComplexNumber(-2.0),new ComplexNumber(-1.0),new ComplexNumber(0.0),new ComplexNumber(1.0),new ComplexNumber(2.0),new ComplexNumber(3.0)};
+
 	/******************
 	 * PUBLIC METHODS *
 	 ******************/
@@ -48,10 +53,33 @@ public class NewtonRaphsonFixedPolynomial4FractalIterator extends AConvergentFra
 		return "Newton / Raphson fixed polynomial 4";
 	}
 
+	/**
+	 * The Newton-Raphson step of a polynomial with real coefficients commutes with complex conjugation, as long as the
+	 * relaxation parameter is real as well.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the relaxation parameter is real
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return (getAlpha().imaginaryComponent() == 0.0);
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
 
+	/**
+	 * Returns the roots of <I>(z - 3)(z - 2)(z - 1)z(z + 1)(z + 2)(z + 3)</I>.
+	 *
+	 * @return the roots of the Newton / Raphson fixed polynomial 4 function
+	 */
+	@Override
+	protected ComplexNumber[] calculateKnownRoots()
+	{
+		return kRoots;
+	}
+
 	/**
 	 * Evaluates the Newton / Raphson fixed polynomial 4 function for a specified complex point.
 	 *
@@ -71,4 +99,26 @@ public class NewtonRaphsonFixedPolynomial4FractalIterator extends AConvergentFra
 			z.add(ComplexNumber.kTwo)).multiply(
 			z.add(ComplexNumber.kThree)));
 	}
+
+	/**
+	 * Evaluates the Newton / Raphson fixed polynomial 4 function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).subtract(3.0,0.0);
+		result.multiply(scratch.setVariable(zX,zY).subtract(2.0,0.0));
+		result.multiply(scratch.setVariable(zX,zY).subtract(1.0,0.0));
+		result.multiply(scratch.setVariable(zX,zY));
+		result.multiply(scratch.setVariable(zX,zY).add(1.0,0.0));
+		result.multiply(scratch.setVariable(zX,zY).add(2.0,0.0));
+		result.multiply(scratch.setVariable(zX,zY).add(3.0,0.0));
+	}
 }
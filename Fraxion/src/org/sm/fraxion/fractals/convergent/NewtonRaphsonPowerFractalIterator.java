@@ -1,7 +1,7 @@
 // ------------------------------------------------------
 // Filename      : NewtonRaphsonPowerFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 12/10/2014
+// Last modified : 17/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NewtonRaphsonPowerFractalIterator</CODE> class provides an implementation of the Newton / Raphson power fractal.
  * 
  * @author  Sven Maerivoet
- * @version 12/10/2014
+ * @version 17/11/2016
  */
 public class NewtonRaphsonPowerFractalIterator extends AConvergentFractalIterator
 {
@@ -63,6 +64,21 @@ public class NewtonRaphsonPowerFractalIterator extends AConvergentFractalIterato
 		return (new ComplexNumber(3.0));
 	}
 
+	/**
+	 * Returns the roots of <I>z^power - 1</I> for positive real powers, i.e., the principal roots of unity.
+	 *
+	 * @return the roots of the Newton / Raphson power function
+	 */
+	@Override
+	protected ComplexNumber[] calculateKnownRoots()
+	{
+		if ((fPower.imaginaryComponent() != 0.0) || (fPower.realComponent() <= 0.0)) {
+			return null;
+		}
+
+		return findPrincipalRootsOfUnity(fPower.realComponent());
+	}
+
 	/**
 	 * Evaluates the Newton / Raphson power function for a specified complex point.
 	 *
@@ -75,4 +91,20 @@ public class NewtonRaphsonPowerFractalIterator extends AConvergentFractalIterato
 	{
 		return z.pow(fPower).subtract(ComplexNumber.kOne);
 	}
+
+	/**
+	 * Evaluates the Newton / Raphson power function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(fPower).subtract(1.0,0.0);
+	}
 }
@@ -1,7 +1,7 @@
 // ----------------------------------------------------------------
 // Filename      : NewtonRaphsonPowerPolynomialFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 12/10/2014
+// Last modified : 17/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NewtonRaphsonPowerPolynomialFractalIterator</CODE> class provides an implementation of the Newton / Raphson power (polynomial) fractal.
  * 
  * @author  Sven Maerivoet
- * @version 12/10/2014
+ * @version 17/11/2016
  */
 public class NewtonRaphsonPowerPolynomialFractalIterator extends AConvergentFractalIterator
 {
@@ -63,6 +64,27 @@ public class NewtonRaphsonPowerPolynomialFractalIterator extends AConvergentFrac
 		return (new ComplexNumber(5.0));
 	}
 
+	/**
+	 * Returns the roots of <I>z^power - z</I> for real powers larger than 1, i.e., zero and the principal roots of unity
+	 * of <I>z^(power - 1)</I>.
+	 *
+	 * @return the roots of the Newton / Raphson power (polynomial) function
+	 */
+	@Override
+	protected ComplexNumber[] calculateKnownRoots()
+	{
+		if ((fPower.imaginaryComponent() != 0.0) || (fPower.realComponent() <= 1.0)) {
+			return null;
+		}
+
+		// z^power - z = z(z^(power - 1) - 1)
+		ComplexNumber[] rootsOfUnity = findPrincipalRootsOfUnity(fPower.realComponent() - 1.0);
+		ComplexNumber[] roots = new ComplexNumber[rootsOfUnity.length + 1];
+		roots[0] = ComplexNumber.kZero;
+		System.arraycopy(rootsOfUnity,0,roots,1,rootsOfUnity.length);
+		return roots;
+	}
+
 	/**
 	 * Evaluates the Newton / Raphson power (polynomial) function for a specified complex point.
 	 *
@@ -75,4 +97,21 @@ public class NewtonRaphsonPowerPolynomialFractalIterator extends AConvergentFrac
 	{
 		return z.pow(fPower).subtract(z);
 	}
+
+	/**
+	 * Evaluates the Newton / Raphson power (polynomial) function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.setVariable(zX,zY);
+		result.setVariable(zX,zY).pow(fPower).subtract(scratch);
+	}
 }
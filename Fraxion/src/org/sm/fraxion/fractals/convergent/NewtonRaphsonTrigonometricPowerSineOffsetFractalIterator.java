@@ -1,7 +1,7 @@
 // -----------------------------------------------------------------------------
 // Filename      : NewtonRaphsonTrigonometricPowerSineOffsetFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 02/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NewtonRaphsonTrigonometricPowerSineOffsetFractalIterator</CODE> class provides an implementation of the Newton / Raphson trigonometric power (sine offset) fractal.
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 02/11/2016
  */
 public class NewtonRaphsonTrigonometricPowerSineOffsetFractalIterator extends AConvergentFractalIterator
 {
@@ -75,4 +76,20 @@ public class NewtonRaphsonTrigonometricPowerSineOffsetFractalIterator extends AC
 	{
 		return z.sin().pow(fPower).subtract(ComplexNumber.kOne);
 	}
+
+	/**
+	 * Evaluates the Newton / Raphson trigonometric power (sine offset) function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).sin().pow(fPower).subtract(1.0,0.0);
+	}
 }
@@ -1,7 +1,7 @@
 // ----------------------------------------
 // Filename      : NovaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 03/11/2014
+// Last modified : 02/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.convergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>NovaFractalIterator</CODE> class provides an implementation of the classic Nova fractal.
  * 
  * @author  Sven Maerivoet
- * @version 03/11/2014
+ * @version 02/11/2016
  */
 public class NovaFractalIterator extends AConvergentFractalIterator
 {
@@ -104,33 +105,53 @@ public class NovaFractalIterator extends AConvergentFractalIterator
 	}
 
 	/**
-	 * Evaluates the orbit of the specified complex variable <I>z</I>.
+	 * Evaluates the orbit of the specified complex variable <I>z</I>, without creating new objects.
 	 * <P>
-	 * This method performs relaxed Newton-Raphson root finding by using a fixed fractal function and derivative.
+	 * This method performs relaxed Newton-Raphson root finding by using a fixed fractal function and derivative, after
+	 * which the complex parameter <I>c</I> is added.
 	 *
-	 * @param z  the complex variable <I>z</I>
-	 * @param c  the complex parameter <I>c</I>
-	 * @return   the evaluated complex variable <I>z</I>
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the evaluated complex variable <I>z</I>
+	 * @param f        a register that receives the fractal function and its derivative
+	 * @param scratch  a register for intermediate results
 	 */
 	@Override
-	protected ComplexNumber evaluateOrbit(ComplexNumber z, ComplexNumber c)
+	protected void evaluateOrbit(double zX, double zY, double cX, double cY, MutableComplexNumber result, DualComplexNumber f, DualComplexNumber scratch)
 	{
-		// perform relaxed Newton-Raphson root finding iteration
-		return z.subtract(
-						getAlpha().multiply(z.cube().subtract(ComplexNumber.kOne)).divide(
-						ComplexNumber.kThree.multiply(z.sqr()))).add(c);
+		super.evaluateOrbit(zX,zY,cX,cY,result,f,scratch);
+		result.add(cX,cY);
 	}
 
 	/**
-	 * Unused because we use a fixed fractal function and derivative.
+	 * Evaluates the fixed fractal function <I>z</I>^3 - 1 and its derivative for a specified complex point, without
+	 * creating new objects.
 	 *
-	 * @param z  -
-	 * @param c  -
-	 * @return   -
+	 * @param zX       the real component of the complex variable <I>z</I>
+	 * @param zY       the imaginary component of the complex variable <I>z</I>
+	 * @param cX       the real component of the complex parameter <I>c</I>
+	 * @param cY       the imaginary component of the complex parameter <I>c</I>
+	 * @param result   the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch  a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).cube().subtract(1.0,0.0);
+	}
+
+	/**
+	 * Evaluates the fixed fractal function <I>z</I>^3 - 1 for a specified complex point.
+	 *
+	 * @param z  the complex variable <I>z</I>
+	 * @param c  the complex parameter <I>c</I>
+	 * @return   the function evaluated with the given parameters
 	 */
 	@Override
 	protected ComplexNumber evaluateFractalFunction(ComplexNumber z, ComplexNumber c)
 	{
-		return null;
+		return z.cube().subtract(ComplexNumber.kOne);
 	}
 }
@@ -1,7 +1,7 @@
 // ----------------------------------------------
 // Filename      : ADivergentFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 31/10/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------------
 
@@ -36,10 +36,23 @@ import org.sm.smtools.math.statistics.*;
  * <B>Note that this is an abstract class.</B>
  * 
  * @author  Sven Maerivoet
- * @version 31/10/2016
+ * @version 22/11/2016
  */
 public abstract class ADivergentFractalIterator extends AFractalIterator
 {
+	// the step of the finite-difference derivative
+	private static final double kDerivativeDelta = 1E-7;
+
+	// internal datastructures
+	private final ThreadLocal<MutableComplexNumber[]> fDerivativeRegisters = new ThreadLocal<MutableComplexNumber[]>()
+	{
+		@Override
+		protected MutableComplexNumber[] initialValue()
+		{
+			return (new MutableComplexNumber[] {new MutableComplexNumber(),new MutableComplexNumber(),new MutableComplexNumber()});
+		}
+	};
+
 	/******************
 	 * PUBLIC METHODS *
 	 ******************/
@@ -105,6 +118,74 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 		fNrOfBifurcationPoints = nrOfBifurcationPoints;
 	}
 
+	/**
+	 * Returns whether or not the orbits of this fractal can be accumulated into an orbit density; this is not the case
+	 * for rotated images and the Spider fractal function, as their orbits don't start from the plotted point.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports orbit densities
+	 */
+	@Override
+	public boolean supportsOrbitDensity()
+	{
+		return (!rotateImage() && !renderSpider());
+	}
+
+	/**
+	 * Returns <CODE>true</CODE> because the orbits of this fractal only depend on their last two points and on the
+	 * complex parameter <I>c</I>.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsResumableIterations()
+	{
+		return true;
+	}
+
+	/**
+	 * Iterates the orbit of a single point for the accumulation of an orbit density by means of the primitive kernel.
+	 *
+	 * @param zX                  the real component of the starting point <I>z</I>
+	 * @param zY                  the imaginary component of the starting point <I>z</I>
+	 * @param cX                  the real component of the complex parameter <I>c</I>
+	 * @param cY                  the imaginary component of the complex parameter <I>c</I>
+	 * @param onlyEscapingOrbits  a <CODE>boolean</CODE> indicating whether or not only the points of escaping orbits are needed
+	 * @param orbit               the array that receives the points of the orbit (of length twice the maximum number of iterations)
+	 * @return                    the number of stored points if the orbit escaped, or minus that number if it remained bounded
+	 */
+	@Override
+	public final int iterateOrbitDensityOrbit(double zX, double zY, double cX, double cY, boolean onlyEscapingOrbits, double[] orbit)
+	{
+		if (onlyEscapingOrbits && liesInKnownInterior(zX,zY,cX,cY)) {
+			return 0;
+		}
+
+		MutableComplexNumber zNext = new MutableComplexNumber();
+		MutableComplexNumber scratch = new MutableComplexNumber();
+		double zPreviousX = zX;
+		double zPreviousY = zY;
+
+		int nrOfIterations = 0;
+		while (nrOfIterations < fMaxNrOfIterations) {
+			evaluateFractalFunction(zX,zY,zPreviousX,zPreviousY,cX,cY,zNext,scratch);
+			zPreviousX = zX;
+			zPreviousY = zY;
+			zX = zNext.realComponent();
+			zY = zNext.imaginaryComponent();
+
+			orbit[2 * nrOfIterations] = zX;
+			orbit[(2 * nrOfIterations) + 1] = zY;
+			++nrOfIterations;
+
+			// note that a NaN modulus also counts as escaped
+			if (!(((zX * zX) + (zY * zY)) <= fEscapeRadiusSqr)) {
+				return nrOfIterations;
+			}
+		}
+
+		return -nrOfIterations;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -148,6 +229,60 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 		return evaluateFractalFunction(z,c);
 	}
 
+	/**
+	 * Evaluates the fractal function for a specified complex point, without creating new objects.
+	 * <P>
+	 * This primitive kernel is used by the escape-time algorithm. The default behaviour falls back to the
+	 * <CODE>ComplexNumber</CODE> based function; subclasses that override this method should evaluate exactly the same
+	 * function, and subclasses that override the <CODE>ComplexNumber</CODE> based function of a parent that provides a
+	 * primitive kernel, should override this method as well.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results (which is never the same as <CODE>result</CODE>)
+	 */
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		ComplexNumber zNext = evaluateFractalFunction(new ComplexNumber(zX,zY),new ComplexNumber(zPreviousX,zPreviousY),new ComplexNumber(cX,cY));
+		result.set(zNext.realComponent(),zNext.imaginaryComponent());
+	}
+
+	/**
+	 * Evaluates the fractal function and its derivative with respect to <I>z</I> for a specified complex point, without
+	 * creating new objects.
+	 * <P>
+	 * This primitive kernel is used by the escape-time algorithm when advanced colouring is enabled. Subclasses typically
+	 * evaluate the same function as in the primitive kernel above, after introducing <I>z</I> with
+	 * {@link DualComplexNumber#setVariable(double,double)}; every divergent family of Fraxion does so. The default behaviour
+	 * falls back to a finite difference based on the primitive kernel, which requires two evaluations (its registers are
+	 * kept per thread, so that it doesn't create new objects either).
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results (which is never the same as <CODE>result</CODE>)
+	 */
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		MutableComplexNumber[] registers = fDerivativeRegisters.get();
+		MutableComplexNumber zNext = registers[0];
+		MutableComplexNumber zShifted = registers[1];
+		MutableComplexNumber register = registers[2];
+		evaluateFractalFunction(zX,zY,zPreviousX,zPreviousY,cX,cY,zNext,register);
+		evaluateFractalFunction(zX + kDerivativeDelta,zY + kDerivativeDelta,zPreviousX,zPreviousY,cX,cY,zShifted,register);
+		zShifted.subtract(zNext).divide(kDerivativeDelta,kDerivativeDelta);
+		result.set(zNext.realComponent(),zNext.imaginaryComponent(),zShifted.realComponent(),zShifted.imaginaryComponent());
+	}
+
 	/**
 	 * Helper method for a general iteration with the escape-time algorithm.
 	 *
@@ -159,11 +294,55 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 	@Override
 	protected IterationResult iterate(ComplexNumber z, ComplexNumber c, boolean saveOrbit)
 	{
+		double zX = z.realComponent();
+		double zY = z.imaginaryComponent();
+		double cX = c.realComponent();
+		double cY = c.imaginaryComponent();
+
 		if (rotateImage()) {
 			// rotate image 90 degrees clockwise
-			z = new ComplexNumber(-z.imaginaryComponent(),z.realComponent());
+			double rotatedX = -zY;
+			zY = zX;
+			zX = rotatedX;
+		}
+
+		if (checkKnownInterior(saveOrbit) && !renderSpider() && liesInKnownInterior(zX,zY,cX,cY)) {
+			return getKnownInteriorIterationResult();
 		}
 
+		return iterate(zX,zY,cX,cY,null,saveOrbit);
+	}
+
+	/**
+	 * Helper method for continuing an iteration with the escape-time algorithm from the state of its orbit.
+	 *
+	 * @param orbitState  the state of the orbit when it reached a lower maximum number of iterations
+	 * @return            the iteration result associated with the continued orbit
+	 */
+	@Override
+	protected IterationResult iterate(OrbitState orbitState)
+	{
+		return iterate(orbitState.fZX,orbitState.fZY,orbitState.fCX,orbitState.fCY,orbitState,false);
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Helper method for a general iteration with the escape-time algorithm, either from the starting point or from the
+	 * state of an orbit that reached a lower maximum number of iterations.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I>
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param orbitState  the state of the orbit to continue, or <CODE>null</CODE> to start from the starting point
+	 * @param saveOrbit   a <CODE>boolean</CODE> indicating whether or not the orbit should be saved
+	 * @return            the iteration result associated with the forward orbit
+	 */
+	private IterationResult iterate(double zX, double zY, double cX, double cY, OrbitState orbitState, boolean saveOrbit)
+	{
 		IterationResult iterationResult = new IterationResult();
 
 		if (saveOrbit) {
@@ -175,16 +354,57 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 			}
 		}
 
-		double modulusSqr = z.modulusSquared();
-		ComplexNumber zPrevious = z;
-		ComplexNumber zPreviousPrevious = zPrevious;
+		double modulusSqr = (zX * zX) + (zY * zY);
+		double zPreviousX = zX;
+		double zPreviousY = zY;
+		double zPreviousPreviousX = zPreviousX;
+		double zPreviousPreviousY = zPreviousY;
+
+		boolean renderSpider = renderSpider();
+		if (orbitState != null) {
+			// continue the orbit where it was stopped
+			zPreviousX = orbitState.fZPreviousX;
+			zPreviousY = orbitState.fZPreviousY;
+			zPreviousPreviousX = zPreviousX;
+			zPreviousPreviousY = zPreviousY;
+			iterationResult.fNrOfIterations = orbitState.fNrOfIterations;
+			iterationResult.fExponentialIterationCount = orbitState.fExponentialIterationCount;
+			iterationResult.fModulus = Math.sqrt(modulusSqr);
+			iterationResult.fAverageDistance = orbitState.fAverageDistance;
+			iterationResult.fLyapunovExponent = orbitState.fLyapunovExponentSum;
+		}
+		else if (renderSpider) {
+			zX = cX;
+			zY = cY;
+		}
 
-		if (renderSpider()) {
-			z = c;
+		// the registers for the primitive kernels
+		MutableComplexNumber zNext = new MutableComplexNumber();
+		MutableComplexNumber scratch = new MutableComplexNumber();
+		DualComplexNumber zNextDual = null;
+		DualComplexNumber scratchDual = null;
+		if (fCalculateAdvancedColoring) {
+			zNextDual = new DualComplexNumber();
+			scratchDual = new DualComplexNumber();
 		}
 
-		double[] curvatures = new double[fMaxNrOfIterations];
-		double[] stripingAngles = new double[fMaxNrOfIterations];
+		// running sums for the curvature and the striping (the sums preceding the last iteration are used for smoothing)
+		double curvatureSum = 0.0;
+		double previousCurvatureSum = 0.0;
+		double interiorStripingSum = 0.0;
+		double previousInteriorStripingSum = 0.0;
+		double exteriorStripingSum = 0.0;
+		double previousExteriorStripingSum = 0.0;
+
+		// the advanced colouring channels that are required
+		boolean calculateCurvature = calculateAdvancedColoringChannel(ColoringParameters.kCurvatureChannel);
+		boolean calculateStriping = calculateAdvancedColoringChannel(ColoringParameters.kStripingChannel);
+		boolean calculateGaussianIntegers = calculateAdvancedColoringChannel(ColoringParameters.kGaussianIntegersChannel);
+		boolean calculateExteriorDistance = calculateAdvancedColoringChannel(ColoringParameters.kExteriorDistanceChannel);
+		boolean calculateOrbitTrapDisk = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapDiskChannel);
+		boolean calculateOrbitTrapCrossStalks = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapCrossStalksChannel);
+		boolean calculateOrbitTrapSine = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapSineChannel);
+		boolean calculateOrbitTrapTangens = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapTangensChannel);
 
 		double minimumInteriorGaussianIntegersDistance = Double.MAX_VALUE;
 		double minimumExteriorGaussianIntegersDistance = Double.MAX_VALUE;
@@ -209,33 +429,60 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 		double minExteriorOrbitTrapTangensDistance = Double.MAX_VALUE;
 
 		// initialise derivative for exterior distance estimation
-		ComplexNumber dz = new ComplexNumber();
+		double dzX = 0.0;
+		double dzY = 0.0;
+
+		// initialise Brent's cycle detection (the saved point consists of both z and its predecessor)
+		boolean checkPeriodicity = checkPeriodicity(saveOrbit) && !renderSpider;
+		boolean periodicityDetected = false;
+		double zSavedX = zX;
+		double zSavedY = zY;
+		double zPreviousSavedX = zPreviousX;
+		double zPreviousSavedY = zPreviousY;
+		int periodicityWindow = fPeriodicityCheckInterval;
+		int periodicityCounter = 0;
 
 		while ((!fUseFixedNrOfIterations && (modulusSqr <= fEscapeRadiusSqr) && (iterationResult.fNrOfIterations < fMaxNrOfIterations)) ||
 					(fUseFixedNrOfIterations && (iterationResult.fNrOfIterations < fMaxNrOfIterations))) {
 
-			// calculate derivative for exterior distance estimation
-			if (fCalculateAdvancedColoring) {
-				final double kDerivativeDelta = 1E-7;
-				ComplexNumber h = new ComplexNumber(kDerivativeDelta,kDerivativeDelta);
-				ComplexNumber zEval = evaluateFractalFunction(z,zPrevious,c);
-				dz = (evaluateFractalFunction(z.add(h),zPrevious,c).subtract(zEval)).divide(h);
+			// iterate fractal function (together with its derivative for exterior distance estimation)
+			if (calculateExteriorDistance) {
+				evaluateFractalFunction(zX,zY,zPreviousX,zPreviousY,cX,cY,zNextDual,scratchDual);
+				zNext.set(zNextDual.realComponent(),zNextDual.imaginaryComponent());
+				dzX = zNextDual.derivativeRealComponent();
+				dzY = zNextDual.derivativeImaginaryComponent();
+			}
+			else {
+				evaluateFractalFunction(zX,zY,zPreviousX,zPreviousY,cX,cY,zNext,scratch);
 			}
 
-			// iterate fractal function
-			ComplexNumber zNext = evaluateFractalFunction(z,zPrevious,c);
-			zPreviousPrevious = zPrevious;
-			zPrevious = z;
-			z = zNext;
-			modulusSqr = z.modulusSquared();
-
-			if (renderSpider()) {
-				c = c.divide(ComplexNumber.kTwo).add(z);
+			zPreviousPreviousX = zPreviousX;
+			zPreviousPreviousY = zPreviousY;
+			zPreviousX = zX;
+			zPreviousY = zY;
+			zX = zNext.realComponent();
+			zY = zNext.imaginaryComponent();
+			modulusSqr = (zX * zX) + (zY * zY);
+
+			if (renderSpider) {
+				scratch.set(cX,cY).divide(2.0,0.0);
+				cX = scratch.realComponent() + zX;
+				cY = scratch.imaginaryComponent() + zY;
 			}
 
 			if (fCalculateAdvancedColoring) {
-				curvatures[(int) iterationResult.fNrOfIterations] = Math.abs(z.subtract(zPrevious).divide(zPrevious.subtract(zPreviousPrevious)).argument());
-				stripingAngles[(int) iterationResult.fNrOfIterations] = z.argument();
+				if (calculateCurvature) {
+					scratch.set(zX - zPreviousX,zY - zPreviousY).divide(zPreviousX - zPreviousPreviousX,zPreviousY - zPreviousPreviousY);
+					previousCurvatureSum = curvatureSum;
+					curvatureSum += Math.abs(scratch.argument());
+				}
+				if (calculateStriping) {
+					double stripingAngle = Math.atan2(zY,zX);
+					previousInteriorStripingSum = interiorStripingSum;
+					previousExteriorStripingSum = exteriorStripingSum;
+					interiorStripingSum += (0.5 * Math.sin(fInteriorStripingDensity * stripingAngle) + 0.5);
+					exteriorStripingSum += (0.5 * Math.sin(fExteriorStripingDensity * stripingAngle) + 0.5);
+				}
 			}
 
 			// calculate default results
@@ -248,97 +495,131 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 
 			if (fCalculateAdvancedColoring) {
 				// calculate Gaussian distances
-				double zX = z.realComponent();
-				double zY = z.imaginaryComponent();
-				double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
-				if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
-					minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
-				}
-				averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
+				if (calculateGaussianIntegers) {
+					double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
+					if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
+						minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
+					}
+					averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
 
-				double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
-				if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
-					minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
+					if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
+						minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					}
+					averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 				}
-				averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 
 				// calculate orbit trap distances
-				double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
-				if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
-					minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
-				}
-				double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
-				if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
-					minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+				if (calculateOrbitTrapDisk) {
+					double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
+					if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
+						minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
+					}
+					double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
+					if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
+						minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+					}
 				}
 
-				double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
-				if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
-					minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
-				}
-				double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
-				if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
-					minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+				if (calculateOrbitTrapCrossStalks) {
+					double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
+					if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
+						minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
+					}
+					double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
+					if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
+						minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+					}
 				}
 
-				double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
-				if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
-					minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
-				}
-				double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
-				if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
-					minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+				if (calculateOrbitTrapSine) {
+					double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
+					if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
+						minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
+					}
+					double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
+					if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
+						minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+					}
 				}
 
-				double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
-				if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
-					minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
-				}
-				double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
-				if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
-					minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+				if (calculateOrbitTrapTangens) {
+					double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
+					if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
+						minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
+					}
+					double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
+					if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
+						minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+					}
 				}
 			} // if (fCalculateAdvancedColoring)
 
 			if (saveOrbit) {
 				int iterationArrayPos = (int) iterationResult.fNrOfIterations - 1;
-				iterationResult.fComplexOrbit[iterationArrayPos] = z;
-				iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(z);
+				ComplexNumber orbitPoint = new ComplexNumber(zX,zY);
+				iterationResult.fComplexOrbit[iterationArrayPos] = orbitPoint;
+				iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(orbitPoint);
 			}
+
+			if (checkPeriodicity && (modulusSqr <= fEscapeRadiusSqr)) {
+				// has the orbit returned to the saved point?
+				double savedDeltaX = zX - zSavedX;
+				double savedDeltaY = zY - zSavedY;
+				double savedDeltaPreviousX = zPreviousX - zPreviousSavedX;
+				double savedDeltaPreviousY = zPreviousY - zPreviousSavedY;
+				if ((((savedDeltaX * savedDeltaX) + (savedDeltaY * savedDeltaY)) < fPeriodicityToleranceSqr) &&
+						(((savedDeltaPreviousX * savedDeltaPreviousX) + (savedDeltaPreviousY * savedDeltaPreviousY)) < fPeriodicityToleranceSqr)) {
+					periodicityDetected = true;
+					break;
+				}
+
+				// refresh the saved point and double the window
+				++periodicityCounter;
+				if (periodicityCounter == periodicityWindow) {
+					zSavedX = zX;
+					zSavedY = zY;
+					zPreviousSavedX = zPreviousX;
+					zPreviousSavedY = zPreviousY;
+					periodicityCounter = 0;
+					periodicityWindow *= 2;
+				}
+			} // if (checkPeriodicity)
 		} // while ()
 
+		if (periodicityDetected) {
+			registerSavedIterations(fMaxNrOfIterations - (long) iterationResult.fNrOfIterations);
+		}
+		else if ((iterationResult.fNrOfIterations == fMaxNrOfIterations) && keepOrbitState(saveOrbit)) {
+			// keep the state of the orbit, so that it can be continued when the maximum number of iterations is raised
+			iterationResult.fOrbitState = new OrbitState(fMaxNrOfIterations,zX,zY,zPreviousX,zPreviousY,cX,cY,
+				iterationResult.fExponentialIterationCount,iterationResult.fAverageDistance,iterationResult.fLyapunovExponent);
+		}
+
 		// determine the final values and angle
-		iterationResult.fRealComponent = z.realComponent();
-		iterationResult.fImaginaryComponent = z.imaginaryComponent();
-		iterationResult.fAngle = z.argument();
+		iterationResult.fRealComponent = zX;
+		iterationResult.fImaginaryComponent = zY;
+		iterationResult.fAngle = Math.atan2(zY,zX);
 		iterationResult.fLyapunovExponent /= iterationResult.fNrOfIterations;
 
 		// estimate curvature, striping, Gaussian distance, exterior distance, and orbit trap distances
 		double prevCurvature = 0.0;
 		double prevStriping = 0.0;
 		if (fCalculateAdvancedColoring) {
-			iterationResult.fCurvature = 0.0;
-			iterationResult.fStriping = 0.0;
-			for (int i = 0; i < iterationResult.fNrOfIterations; ++i) {
-				iterationResult.fCurvature += curvatures[i];
-				double striping = 0.0;
-				if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
-					striping = (0.5 * Math.sin(fInteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				else {
-					striping = (0.5 * Math.sin(fExteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				if (i < (iterationResult.fNrOfIterations - 1)) {
-					prevCurvature += curvatures[i];
-					prevStriping += striping;
-				}
-			} // for (int i = 0; i < iterationResult.fNrOfIterations; ++i)
+			iterationResult.fCurvature = curvatureSum;
+			prevCurvature = previousCurvatureSum;
+			if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
+				iterationResult.fStriping = interiorStripingSum;
+				prevStriping = previousInteriorStripingSum;
+			}
+			else {
+				iterationResult.fStriping = exteriorStripingSum;
+				prevStriping = previousExteriorStripingSum;
+			}
 
 			if (iterationResult.fNrOfIterations > 0) {
 				iterationResult.fCurvature /= iterationResult.fNrOfIterations;
@@ -360,7 +641,7 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 			}
 
 			// calculate final estimated exterior distances
-			double dzModulusSqr = dz.modulusSquared();
+			double dzModulusSqr = (dzX * dzX) + (dzY * dzY);
 			if ((dzModulusSqr != 0.0) && (modulusSqr > 0.0)) {
 				iterationResult.fExteriorDistance = Math.sqrt(modulusSqr / dzModulusSqr) * 0.5 * (Math.log(modulusSqr) / Math.log(2.0));
 			}
@@ -381,7 +662,7 @@ public abstract class ADivergentFractalIterator extends AFractalIterator
 		} // if (fCalculateAdvancedColoring)
 
 		// adjust for an assumed infinite number of iterations
-		if (!fUseFixedNrOfIterations && (iterationResult.fNrOfIterations == fMaxNrOfIterations)) {
+		if (periodicityDetected || (!fUseFixedNrOfIterations && (iterationResult.fNrOfIterations == fMaxNrOfIterations))) {
 			iterationResult.fNrOfIterations = IterationResult.kInfinity;
 			iterationResult.fNormalisedIterationCount = IterationResult.kInfinity;
 			// leave the other results untouched as they are used for interior colouring
@@ -1,7 +1,7 @@
 // ------------------------------------------
 // Filename      : APowerFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 03/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------
 
@@ -24,6 +24,7 @@
 package org.sm.fraxion.fractals.divergent;
 
 import java.io.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.exceptions.*;
 import org.sm.smtools.math.complex.*;
 import org.sm.smtools.util.*;
@@ -32,12 +33,13 @@ import org.sm.smtools.util.*;
  * The <CODE>APowerFractalIterator</CODE> class provides the base class for power fractals.
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 03/11/2016
  */
 public abstract class APowerFractalIterator extends MandelbrotJuliaFractalIterator
 {
 	// internal datastructures
 	protected ComplexNumber fPower;
+	protected SpecialisedPower fSpecialisedPower;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -68,12 +70,17 @@ public abstract class APowerFractalIterator extends MandelbrotJuliaFractalIterat
 
 	/**
 	 * Sets the power for this fractal.
+	 * <P>
+	 * The power is specialised right away, so that the primitive kernels can raise to it by means of the cheapest route
+	 * (i.e., exponentiation by squaring for small integer powers, the polar form for real powers, and the general
+	 * exp/log route for complex powers).
 	 * 
 	 * @param power  the power for this fractal
 	 */
 	public final void setPower(ComplexNumber power)
 	{
 		fPower = power;
+		fSpecialisedPower = new SpecialisedPower(power);
 	}
 
 	/**
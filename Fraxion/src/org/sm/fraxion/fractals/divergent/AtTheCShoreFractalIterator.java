@@ -1,7 +1,7 @@
 // -----------------------------------------------
 // Filename      : AtTheCShoreFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 08/04/2016
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>AtTheCShoreFractalIterator</CODE> class provides an implementation of the at the C-Shore fractal.
  * 
  * @author  Sven Maerivoet
- * @version 08/04/2016
+ * @version 01/11/2016
  */
 public class AtTheCShoreFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -75,4 +76,40 @@ public class AtTheCShoreFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		return ComplexNumber.kOne.add(ComplexNumber.kI).multiply(z).subtract(ComplexNumber.kOne).sqrt();
 	}
+
+	/**
+	 * Evaluates the at the C-Shore function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(1.0,1.0).multiply(zX,zY).subtract(1.0,0.0).sqrt();
+	}
+
+	/**
+	 * Evaluates the at the C-Shore function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).multiply(1.0,1.0).subtract(1.0,0.0).sqrt();
+	}
 }
@@ -1,7 +1,7 @@
 // ------------------------------------------------
 // Filename      : BarnsleyTreeFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 03/11/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * This fractal is well suited for Julia sets around <I>c</I> = 0.6 + 1.1i.
  * 
  * @author  Sven Maerivoet
- * @version 03/11/2014
+ * @version 01/11/2016
  */
 public class BarnsleyTreeFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -94,4 +95,52 @@ public class BarnsleyTreeFractalIterator extends MandelbrotJuliaFractalIterator
 		// Barnsley tree (with an interesting Julia around c = 0.6 + 1.1i)
 		return c.multiply(z.subtract(new ComplexNumber(sign)));
 	}
+
+	/**
+	 * Evaluates the Barnsley tree function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		double sign = +1.0;
+		if (zX < 0.0) {
+			sign = -1.0;
+		}
+
+		// Barnsley tree (with an interesting Julia around c = 0.6 + 1.1i)
+		result.set(zX - sign,zY - 0.0).multiply(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Barnsley tree function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		double sign = +1.0;
+		if (zX < 0.0) {
+			sign = -1.0;
+		}
+
+		// Barnsley tree (with an interesting Julia around c = 0.6 + 1.1i)
+		result.setVariable(zX,zY).subtract(sign,0.0).multiply(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------
 // Filename      : Beauty2FractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 28/12/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that class cannot be subclassed.</B>
  * 
  * @author  Sven Maerivoet
- * @version 28/12/2014
+ * @version 01/11/2016
  */
 public final class Beauty2FractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -70,4 +71,44 @@ public final class Beauty2FractalIterator extends MandelbrotJuliaFractalIterator
 			z.sqr().sqr().divide(new ComplexNumber(4.0))).add(
 			c);
 	}
+
+	/**
+	 * Evaluates the Beauty 2 function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		// see also http://en.wikibooks.org/wiki/Pictures_of_Julia_and_Mandelbrot_Sets/Favourite_formulas
+		scratch.set(zX,zY).sqr().sqr().divide(4.0,0.0);
+		result.set(zX,zY).sqr().divide(2.0,0.0).add(scratch).add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Beauty 2 function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		// see also http://en.wikibooks.org/wiki/Pictures_of_Julia_and_Mandelbrot_Sets/Favourite_formulas
+		scratch.setVariable(zX,zY).sqr().sqr().divide(4.0,0.0);
+		result.setVariable(zX,zY).sqr().divide(2.0,0.0).add(scratch).add(cX,cY);
+	}
 }
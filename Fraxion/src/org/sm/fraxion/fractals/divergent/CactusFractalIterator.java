@@ -1,7 +1,7 @@
 // ------------------------------------------
 // Filename      : CactusFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 28/12/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that class cannot be subclassed.</B>
  * 
  * @author  Sven Maerivoet
- * @version 28/12/2014
+ * @version 01/11/2016
  */
 public final class CactusFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -66,4 +67,42 @@ public final class CactusFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		return z.cube().add(z.multiply(c.subtract(ComplexNumber.kOne))).subtract(c);
 	}
+
+	/**
+	 * Evaluates the Cactus function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		scratch.set(cX - 1.0,cY - 0.0).multiply(zX,zY);
+		result.set(zX,zY).cube().add(scratch).subtract(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Cactus function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.setVariable(zX,zY).multiply(cX - 1.0,cY - 0.0);
+		result.setVariable(zX,zY).cube().add(scratch).subtract(cX,cY);
+	}
 }
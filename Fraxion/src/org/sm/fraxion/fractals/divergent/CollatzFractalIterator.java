@@ -1,7 +1,7 @@
 // -------------------------------------------
 // Filename      : CollatzFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>CollatzFractalIterator</CODE> class provides an implementation of the Collatz fractal.
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 15/11/2016
  */
 public class CollatzFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -81,6 +82,17 @@ public class CollatzFractalIterator extends MandelbrotJuliaFractalIterator
 		return 100.0;
 	}
 
+	/**
+	 * Returns <CODE>true</CODE> because the complex cosine in the fractal function has fast-math approximations.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsFastMath()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -107,4 +119,60 @@ public class CollatzFractalIterator extends MandelbrotJuliaFractalIterator
 				)
 			);
 	}
+
+	/**
+	 * Evaluates the Collatz function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		if ((zX == 0.0) && (zY == 0.0)) {
+			zX = cX;
+			zY = cY;
+		}
+
+		result.set(zX,zY).multiply(Math.PI,0.0).cos(usesFastMath());
+		scratch.set(zX,zY).multiply(2.0,0.0).add(1.0,0.0).multiply(result);
+		result.set(zX,zY).multiply(4.0,0.0).add(1.0,0.0).subtract(scratch).multiply(0.25,0.0);
+	}
+
+	/**
+	 * Evaluates the Collatz function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		if ((zX == 0.0) && (zY == 0.0)) {
+			result.set(cX,cY);
+		}
+		else {
+			result.setVariable(zX,zY);
+		}
+		double variableX = result.realComponent();
+		double variableY = result.imaginaryComponent();
+		double variableDerivativeX = result.derivativeRealComponent();
+		double variableDerivativeY = result.derivativeImaginaryComponent();
+
+		result.multiply(Math.PI,0.0).cos();
+		scratch.set(variableX,variableY,variableDerivativeX,variableDerivativeY).multiply(2.0,0.0).add(1.0,0.0).multiply(result);
+		result.set(variableX,variableY,variableDerivativeX,variableDerivativeY).multiply(4.0,0.0).add(1.0,0.0).subtract(scratch).multiply(0.25,0.0);
+	}
 }
@@ -0,0 +1,360 @@
+// -------------------------------------------------
+// Filename      : CustomFormulaFractalIterator.java
+// Author        : Sven Maerivoet
+// Last modified : 16/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.divergent;
+
+import java.io.*;
+import org.sm.fraxion.fractals.util.*;
+import org.sm.smtools.exceptions.*;
+import org.sm.smtools.math.complex.*;
+import org.sm.smtools.util.*;
+
+/**
+ * The <CODE>CustomFormulaFractalIterator</CODE> class provides an implementation of fractals with a user-specified formula.
+ * <P>
+ * The formula is written in the variables <I>z</I>, <I>zPrevious</I>, <I>c</I>, and <I>power</I> (see {@link ComplexFormula}),
+ * and is compiled into a primitive kernel once, when it is set. Each thread evaluates the kernel on its own registers.
+ *
+ * @author  Sven Maerivoet
+ * @version 16/11/2016
+ */
+public class CustomFormulaFractalIterator extends APowerFractalIterator
+{
+	// internal datastructures
+	private ComplexFormula fFormula;
+	private final ThreadLocal<FormulaRegisters> fFormulaRegisters = new ThreadLocal<FormulaRegisters>()
+	{
+		@Override
+		protected FormulaRegisters initialValue()
+		{
+			return new FormulaRegisters();
+		}
+	};
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Creates a <CODE>CustomFormulaFractalIterator</CODE> object and initialises it with the default formula.
+	 */
+	public CustomFormulaFractalIterator()
+	{
+		try {
+			setFormula(getDefaultFormula());
+		}
+		catch (FormulaParseException exc) {
+			// ignore
+		}
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the family name of this fractal.
+	 *
+	 * @return the family name of this fractal
+	 */
+	@Override
+	public String getFamilyName()
+	{
+		return "CustomFormula";
+	}
+
+	/**
+	 * Sets the formula for this fractal; the current formula is kept if the specified one can't be parsed.
+	 *
+	 * @param formula                 the expression of the formula for this fractal
+	 * @throws FormulaParseException  in case the formula can't be parsed
+	 */
+	public void setFormula(String formula) throws FormulaParseException
+	{
+		fFormula = new ComplexFormula(formula);
+	}
+
+	/**
+	 * Returns the formula for this fractal.
+	 *
+	 * @return the expression of the formula for this fractal
+	 */
+	public String getFormula()
+	{
+		return fFormula.getExpression();
+	}
+
+	/**
+	 * Returns whether or not the formula contains functions that have fast-math approximations.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the formula contains functions that have fast-math approximations
+	 */
+	@Override
+	public boolean supportsFastMath()
+	{
+		return fFormula.hasFastMathApproximations();
+	}
+
+	/**
+	 * The custom formula commutes with complex conjugation if it only contains real constants, integer powers, and
+	 * no branch cuts.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the formula commutes with complex conjugation
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return fFormula.commutesWithConjugation(fSpecialisedPower);
+	}
+
+	/**
+	 * Returns <CODE>false</CODE> because the custom formula isn't known to be even in <I>z</I>.
+	 *
+	 * @return <CODE>false</CODE>
+	 */
+	@Override
+	public boolean hasPointSymmetry()
+	{
+		return false;
+	}
+
+	/*********************
+	 * PROTECTED METHODS *
+	 *********************/
+
+	/**
+	 * Returns the power and the formula in the custom filename part.
+	 *
+	 * @return the power and the formula in the custom filename part
+	 */
+	public String getCustomFilenamePart()
+	{
+		return (super.getCustomFilenamePart() + "_formula=" + getFormula().replaceAll("[^A-Za-z0-9.+-]","_"));
+	}
+
+	/**
+	 * Returns the default power of 2.0.
+	 *
+	 * @return the default power of 2.0
+	 */
+	@Override
+	protected ComplexNumber getDefaultPower()
+	{
+		return (new ComplexNumber(2.0));
+	}
+
+	/**
+	 * Returns the default formula.
+	 *
+	 * @return the default formula
+	 */
+	protected String getDefaultFormula()
+	{
+		return "z^power + c";
+	}
+
+	/**
+	 * Evaluates the custom formula for a specified complex point (with <I>zPrevious</I> being zero).
+	 *
+	 * @param z  the complex variable <I>z</I>
+	 * @param c  the complex parameter <I>c</I>
+	 * @return   the function evaluated with the given parameters
+	 */
+	@Override
+	protected ComplexNumber evaluateFractalFunction(ComplexNumber z, ComplexNumber c)
+	{
+		return evaluateFractalFunction(z,ComplexNumber.kZero,c);
+	}
+
+	/**
+	 * Evaluates the custom formula for a specified complex point.
+	 *
+	 * @param z          the complex variable <I>z</I> at <I>n</I>
+	 * @param zPrevious  the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param c          the complex parameter <I>c</I>
+	 * @return           the function evaluated with the given parameters
+	 */
+	@Override
+	protected ComplexNumber evaluateFractalFunction(ComplexNumber z, ComplexNumber zPrevious, ComplexNumber c)
+	{
+		MutableComplexNumber result = new MutableComplexNumber();
+		evaluateFractalFunction(z.realComponent(),z.imaginaryComponent(),zPrevious.realComponent(),zPrevious.imaginaryComponent(),c.realComponent(),c.imaginaryComponent(),result,null);
+		return (new ComplexNumber(result.realComponent(),result.imaginaryComponent()));
+	}
+
+	/**
+	 * Evaluates the custom formula for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		ComplexFormula formula = fFormula;
+		formula.evaluate(zX,zY,zPreviousX,zPreviousY,cX,cY,fSpecialisedPower,usesFastMath(),fFormulaRegisters.get().getRegisters(formula),result);
+	}
+
+	/**
+	 * Evaluates the custom formula and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		ComplexFormula formula = fFormula;
+		formula.evaluate(zX,zY,zPreviousX,zPreviousY,cX,cY,fSpecialisedPower,fFormulaRegisters.get().getDualRegisters(formula),result);
+	}
+
+	/**
+	 * Loads custom fractal parameters from a plain-text file.
+	 *
+	 * @param  tfp                 a reference to the file parser
+	 * @throws FileParseException  in case a read error occurs
+	 */
+	@Override
+	protected void plainTextLoadCustomParameters(TextFileParser tfp) throws FileParseException
+	{
+		super.plainTextLoadCustomParameters(tfp);
+		String formula = tfp.getNextString();
+		try {
+			setFormula(formula);
+		}
+		catch (FormulaParseException exc) {
+			throw (new FileParseException(formula,tfp.getLastReadLineNr()));
+		}
+	}
+
+	/**
+	 * Loads custom fractal parameters from a file as a stream.
+	 *
+	 * @param  dataInputStream  a data inputstream
+	 * @throws IOException      in case a parse error occurs
+	 */
+	@Override
+	protected void streamLoadCustomParameters(DataInputStream dataInputStream) throws IOException
+	{
+		super.streamLoadCustomParameters(dataInputStream);
+		String formula = dataInputStream.readUTF();
+		try {
+			setFormula(formula);
+		}
+		catch (FormulaParseException exc) {
+			throw (new IOException(exc.getMessage()));
+		}
+	}
+
+	/**
+	 * Saves custom fractal parameters to a plain-text file.
+	 *
+	 * @param  tfw                 a reference to the file writer
+	 * @throws FileWriteException  in case a write error occurs
+	 */
+	@Override
+	protected void plainTextSaveCustomParameters(TextFileWriter tfw) throws FileWriteException
+	{
+		super.plainTextSaveCustomParameters(tfw);
+		tfw.writeString(getFormula());
+		tfw.writeLn();
+	}
+
+	/**
+	 * Saves custom fractal parameters to a file as a stream.
+	 *
+	 * @param  dataOutputStream  a data outputstream
+	 * @throws IOException       in case a write error occurs
+	 */
+	@Override
+	protected void streamSaveCustomParameters(DataOutputStream dataOutputStream) throws IOException
+	{
+		super.streamSaveCustomParameters(dataOutputStream);
+		dataOutputStream.writeUTF(getFormula());
+	}
+
+	/********************
+	 * INTERNAL CLASSES *
+	 ********************/
+
+	/**
+	 * The registers of a thread, which are recreated whenever the formula changes.
+	 *
+	 * @author  Sven Maerivoet
+	 * @version 16/11/2016
+	 */
+	private static final class FormulaRegisters
+	{
+		// internal datastructures
+		private ComplexFormula fFormula;
+		private MutableComplexNumber[] fRegisters;
+		private ComplexFormula fDualFormula;
+		private DualComplexNumber[] fDualRegisters;
+
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Returns the registers for evaluating the specified formula.
+		 *
+		 * @param formula  the formula to evaluate
+		 * @return         the registers for evaluating the specified formula
+		 */
+		public MutableComplexNumber[] getRegisters(ComplexFormula formula)
+		{
+			if (fFormula != formula) {
+				fFormula = formula;
+				fRegisters = formula.createRegisters();
+			}
+			return fRegisters;
+		}
+
+		/**
+		 * Returns the registers for evaluating the specified formula together with its derivative.
+		 *
+		 * @param formula  the formula to evaluate
+		 * @return         the registers for evaluating the specified formula together with its derivative
+		 */
+		public DualComplexNumber[] getDualRegisters(ComplexFormula formula)
+		{
+			if (fDualFormula != formula) {
+				fDualFormula = formula;
+				fDualRegisters = formula.createDualRegisters();
+			}
+			return fDualRegisters;
+		}
+	}
+}
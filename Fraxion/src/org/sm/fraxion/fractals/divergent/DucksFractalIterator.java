@@ -1,7 +1,7 @@
 // -----------------------------------------
 // Filename      : DucksFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 04/06/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * This fractal is specifically designed for Julia sets coloured using the total average distance with the Bone colourmap.
  * 
  * @author  Sven Maerivoet
- * @version 04/06/2014
+ * @version 01/11/2016
  */
 public class DucksFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -119,4 +120,49 @@ public class DucksFractalIterator extends MandelbrotJuliaFractalIterator
 
 		return (z.add(c)).ln();
 	}
+
+	/**
+	 * Evaluates the Ducky function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		if (zY < 0.0) {
+			zY = -zY;
+		}
+
+		result.set(zX,zY).add(cX,cY).ln();
+	}
+
+	/**
+	 * Evaluates the Ducky function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY);
+		if (zY < 0.0) {
+			result.conjugate();
+		}
+
+		result.add(cX,cY).ln();
+	}
 }
@@ -1,7 +1,7 @@
 // --------------------------------------------------
 // Filename      : FastMandelbrotJuliaFractalIterator
 // Author        : Sven Maerivoet
-// Last modified : 29/10/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // --------------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import java.math.*;
 import java.util.*;
 import org.sm.fraxion.fractals.*;
 import org.sm.fraxion.fractals.util.*;
@@ -33,13 +34,33 @@ import org.sm.smtools.math.statistics.*;
 /**
  * The <CODE>FastMandelbrotJuliaFractalIterator</CODE> class provides a fast implementation of the default Mandelbrot/Julia fractal.
  * <P>
+ * For deep zooms, the fractal can be iterated by means of perturbations: a single reference orbit is calculated in high
+ * precision at the centre of the complex bounds, after which each point is iterated in double precision as an offset
+ * relative to this reference orbit. Glitches are detected and handled by rebasing the offset onto the start of the
+ * reference orbit, and the first iterations are skipped by means of a series approximation whenever possible.
+ * <P>
+ * Without perturbations, deep zooms are iterated directly in the precision that is required by the current zoom level,
+ * i.e., in double-double precision or, beyond that, in arbitrary precision.
+ * <P>
  * <B>Note that this class cannot be subclassed!</B>
  * 
  * @author  Sven Maerivoet
- * @version 29/10/2016
+ * @version 22/11/2016
  */
 public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 {
+	// perturbation constants
+	private static final int kMinNrOfReferencePrecisionDigits = 20;
+	private static final int kNrOfExtraReferencePrecisionDigits = 16;
+	private static final double kSeriesApproximationTolerance = 1E-12;
+
+	// the number of significant digits that can be represented in double-double precision
+	private static final int kNrOfDoubleDoublePrecisionDigits = 32;
+
+	// internal datastructures
+	private boolean fUsePerturbation;
+	private volatile ReferenceOrbit fReferenceOrbit;
+
 	/******************
 	 * PUBLIC METHODS *
 	 ******************/
@@ -101,6 +122,37 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		return 100.0;
 	}
 
+	/**
+	 * Sets whether or not the fractal should be iterated by means of perturbations relative to a high-precision reference orbit.
+	 *
+	 * @param usePerturbation  a <CODE>boolean</CODE> indicating whether or not the fractal should be iterated by means of perturbations
+	 */
+	public final void setUsePerturbation(boolean usePerturbation)
+	{
+		fUsePerturbation = usePerturbation;
+	}
+
+	/**
+	 * Returns whether or not the fractal is iterated by means of perturbations relative to a high-precision reference orbit.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is iterated by means of perturbations
+	 */
+	public final boolean getUsePerturbation()
+	{
+		return fUsePerturbation;
+	}
+
+	/**
+	 * Returns whether or not this fractal can be iterated in the precision tiers beyond double precision.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsHighPrecision()
+	{
+		return true;
+	}
+
 	/**
 	 * Iterates all points in the bifurcation diagram.
 	 *
@@ -171,6 +223,113 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		fNrOfBifurcationPoints = nrOfBifurcationPoints;
 	}
 
+	/**
+	 * Returns <CODE>true</CODE> because the orbits of the Mandelbrot / Julia fractal can be accumulated into an orbit density.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsOrbitDensity()
+	{
+		return true;
+	}
+
+	/**
+	 * Returns whether or not the orbits that reached the maximum number of iterations can be continued; this is only
+	 * the case when they are iterated directly in double precision (i.e., without perturbations or higher precision).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this fractal supports resumable iterations
+	 */
+	@Override
+	public boolean supportsResumableIterations()
+	{
+		return !usesCentreOffsets();
+	}
+
+	/**
+	 * Iterates the orbit of a single point for the accumulation of an orbit density, with an explicit fractal function.
+	 *
+	 * @param zX                  the real component of the starting point <I>z</I>
+	 * @param zY                  the imaginary component of the starting point <I>z</I>
+	 * @param cX                  the real component of the complex parameter <I>c</I>
+	 * @param cY                  the imaginary component of the complex parameter <I>c</I>
+	 * @param onlyEscapingOrbits  a <CODE>boolean</CODE> indicating whether or not only the points of escaping orbits are needed
+	 * @param orbit               the array that receives the points of the orbit (of length twice the maximum number of iterations)
+	 * @return                    the number of stored points if the orbit escaped, or minus that number if it remained bounded
+	 */
+	@Override
+	public int iterateOrbitDensityOrbit(double zX, double zY, double cX, double cY, boolean onlyEscapingOrbits, double[] orbit)
+	{
+		if (onlyEscapingOrbits && liesInKnownInterior(zX,zY,cX,cY)) {
+			return 0;
+		}
+
+		int nrOfIterations = 0;
+		while (nrOfIterations < fMaxNrOfIterations) {
+			// explicitly iterate fractal function
+			double zXNext = (zX * zX) - (zY * zY) + cX;
+			double zYNext = (2.0 * zX * zY) + cY;
+			zX = zXNext;
+			zY = zYNext;
+
+			orbit[2 * nrOfIterations] = zX;
+			orbit[(2 * nrOfIterations) + 1] = zY;
+			++nrOfIterations;
+
+			if (((zX * zX) + (zY * zY)) > fEscapeRadiusSqr) {
+				return nrOfIterations;
+			}
+		}
+
+		return -nrOfIterations;
+	}
+
+	/**
+	 * Returns whether or not a complex parameter lies in the main cardioid or in the period-2 bulb of the Mandelbrot set.
+	 * <P>
+	 * Both tests are closed-form: the cardioid is tested as <I>q(q + (x - 1/4)) <= y^2/4</I> with
+	 * <I>q = (x - 1/4)^2 + y^2</I>, and the bulb as the disk <I>(x + 1)^2 + y^2 <= 1/16</I>.
+	 *
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the complex parameter lies in the main cardioid or in the period-2 bulb
+	 */
+	public static boolean liesInMainCardioidOrPeriod2Bulb(double cX, double cY)
+	{
+		double cYSqr = cY * cY;
+
+		double shiftedX = cX - 0.25;
+		double q = (shiftedX * shiftedX) + cYSqr;
+		if ((q * (q + shiftedX)) <= (0.25 * cYSqr)) {
+			return true;
+		}
+
+		double bulbX = cX + 1.0;
+		return (((bulbX * bulbX) + cYSqr) <= 0.0625);
+	}
+
+	/**
+	 * The Mandelbrot / Julia function commutes with complex conjugation.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return true;
+	}
+
+	/**
+	 * The Mandelbrot / Julia function is even in <I>z</I>.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean hasPointSymmetry()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -213,6 +372,141 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 	 */
 	@Override
 	protected IterationResult iterate(ComplexNumber z, ComplexNumber c, boolean saveOrbit)
+	{
+		if (checkKnownInterior(saveOrbit) && liesInKnownInterior(z.realComponent(),z.imaginaryComponent(),c.realComponent(),c.imaginaryComponent())) {
+			return getKnownInteriorIterationResult();
+		}
+
+		return iterate(z.realComponent(),z.imaginaryComponent(),c.realComponent(),c.imaginaryComponent(),null,null,null,null,saveOrbit);
+	}
+
+	/**
+	 * Helper method for continuing an iteration with the escape-time algorithm from the state of its orbit.
+	 *
+	 * @param orbitState  the state of the orbit when it reached a lower maximum number of iterations
+	 * @return            the iteration result associated with the continued orbit
+	 */
+	@Override
+	protected IterationResult iterate(OrbitState orbitState)
+	{
+		return iterate(orbitState.fZX,orbitState.fZY,orbitState.fCX,orbitState.fCY,null,null,null,orbitState,false);
+	}
+
+	/**
+	 * Returns whether or not the orbit of the specified point is known analytically to remain bounded, i.e., whether or
+	 * not the critical orbit starts in the main cardioid or the period-2 bulb of the Mandelbrot set.
+	 *
+	 * @param zX  the real component of the starting point <I>z</I>
+	 * @param zY  the imaginary component of the starting point <I>z</I>
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the orbit is known to remain bounded
+	 */
+	@Override
+	protected boolean liesInKnownInterior(double zX, double zY, double cX, double cY)
+	{
+		return ((zX == 0.0) && (zY == 0.0) && liesInMainCardioidOrPeriod2Bulb(cX,cY));
+	}
+
+	/**
+	 * Returns whether or not the fractal is iterated by means of offsets relative to the centre of the complex bounds,
+	 * i.e., when perturbations are used or when the current zoom level requires more than double precision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the fractal is iterated by means of centre offsets
+	 */
+	@Override
+	protected boolean usesCentreOffsets()
+	{
+		return (fUsePerturbation || (getPrecisionTier() != EPrecisionTier.kDouble));
+	}
+
+	/**
+	 * Helper method for an iteration with the escape-time algorithm, expressed as an offset relative to the centre of
+	 * the complex bounds.
+	 * <P>
+	 * The orbit is either a perturbation of a reference orbit that starts in the centre of the complex bounds, or it is
+	 * iterated directly in the precision that is required by the current zoom level.
+	 *
+	 * @param fractalType  the type of the fractal (main or dual)
+	 * @param fixedPoint   the fixed complex number of the orbit (i.e., the starting point <I>z</I> for a main fractal or the complex parameter <I>c</I> for a dual fractal)
+	 * @param offset       the offset of the varying complex number relative to the centre of the complex bounds
+	 * @param saveOrbit    a <CODE>boolean</CODE> indicating whether or not the orbit should be saved
+	 * @return             the iteration result associated with the forward orbit
+	 */
+	@Override
+	protected IterationResult iterateCentreOffset(EFractalType fractalType, ComplexNumber fixedPoint, ComplexNumber offset, boolean saveOrbit)
+	{
+		if (fUsePerturbation) {
+			ReferenceOrbit referenceOrbit = getReferenceOrbit(fractalType,fixedPoint);
+			return iterate(0.0,0.0,0.0,0.0,referenceOrbit,offset,null,null,saveOrbit);
+		}
+
+		// iterate directly in the required precision
+		HighPrecisionComplexNumber fixed = new HighPrecisionComplexNumber(new BigDecimal(fixedPoint.realComponent()),new BigDecimal(fixedPoint.imaginaryComponent()));
+		HighPrecisionComplexNumber varying = getHighPrecisionCentre().add(offset);
+		HighPrecisionComplexNumber z = ((fractalType == EFractalType.kMainFractal) ? fixed : varying);
+		HighPrecisionComplexNumber c = ((fractalType == EFractalType.kMainFractal) ? varying : fixed);
+
+		HighPrecisionOrbit highPrecisionOrbit = null;
+		if (getPrecisionTier() == EPrecisionTier.kDoubleDouble) {
+			highPrecisionOrbit = new DoubleDoubleOrbit(z,c);
+		}
+		else {
+			double pixelSize = Math.min(Math.abs(fComplexWidth) / fScreenWidth,Math.abs(fComplexHeight) / fScreenHeight);
+			highPrecisionOrbit = new ArbitraryPrecisionOrbit(z,c,new MathContext(varying.getRequiredPrecision(pixelSize) + kNrOfExtraReferencePrecisionDigits));
+		}
+
+		return iterate(highPrecisionOrbit.getRealComponent(),highPrecisionOrbit.getImaginaryComponent(),0.0,0.0,null,null,highPrecisionOrbit,null,saveOrbit);
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Returns the reference orbit for the current complex bounds, calculating it first if necessary.
+	 * <P>
+	 * The reference orbit is shared between all threads that iterate the same fractal.
+	 *
+	 * @param fractalType  the type of the fractal (main or dual)
+	 * @param fixedPoint   the fixed complex number of the orbit
+	 * @return             the reference orbit for the current complex bounds
+	 */
+	private ReferenceOrbit getReferenceOrbit(EFractalType fractalType, ComplexNumber fixedPoint)
+	{
+		ReferenceOrbit referenceOrbit = fReferenceOrbit;
+		if ((referenceOrbit != null) && referenceOrbit.matches(fractalType,fixedPoint)) {
+			return referenceOrbit;
+		}
+
+		synchronized (this) {
+			referenceOrbit = fReferenceOrbit;
+			if ((referenceOrbit == null) || !referenceOrbit.matches(fractalType,fixedPoint)) {
+				referenceOrbit = new ReferenceOrbit(fractalType,fixedPoint);
+				fReferenceOrbit = referenceOrbit;
+			}
+		}
+
+		return referenceOrbit;
+	}
+
+	/**
+	 * Helper method for a general iteration with the escape-time algorithm, either directly, by means of perturbations,
+	 * or in high precision. A direct iteration can also continue the state of an orbit that reached a lower maximum
+	 * number of iterations.
+	 *
+	 * @param zX                  the real component of the complex variable <I>z</I> (ignored when a reference orbit is specified)
+	 * @param zY                  the imaginary component of the complex variable <I>z</I> (ignored when a reference orbit is specified)
+	 * @param cX                  the real component of the complex parameter <I>c</I> (ignored when a reference or high-precision orbit is specified)
+	 * @param cY                  the imaginary component of the complex parameter <I>c</I> (ignored when a reference or high-precision orbit is specified)
+	 * @param referenceOrbit      the reference orbit to perturb, or <CODE>null</CODE> for a direct iteration
+	 * @param offset              the offset relative to the start of the reference orbit (only used when a reference orbit is specified)
+	 * @param highPrecisionOrbit  the orbit to iterate in high precision, or <CODE>null</CODE> for an iteration in double precision
+	 * @param orbitState          the state of the orbit to continue, or <CODE>null</CODE> to start from <I>z</I> (only used for a direct iteration)
+	 * @param saveOrbit           a <CODE>boolean</CODE> indicating whether or not the orbit should be saved
+	 * @return                    the iteration result associated with the forward orbit
+	 */
+	private IterationResult iterate(double zX, double zY, double cX, double cY, ReferenceOrbit referenceOrbit, ComplexNumber offset, HighPrecisionOrbit highPrecisionOrbit, OrbitState orbitState, boolean saveOrbit)
 	{
 		IterationResult iterationResult = new IterationResult();
 
@@ -225,10 +519,57 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 			}
 		}
 
-		double zX = z.realComponent();
-		double zY = z.imaginaryComponent();
-		double cX = c.realComponent();
-		double cY = c.imaginaryComponent();
+		// setup the perturbation: the orbit is given by z = Z(m) + delta, with Z(m) the reference orbit
+		int referenceIteration = 0;
+		double deltaX = 0.0;
+		double deltaY = 0.0;
+		double deltaCX = 0.0;
+		double deltaCY = 0.0;
+		if (referenceOrbit != null) {
+			if (referenceOrbit.fFractalType == EFractalType.kMainFractal) {
+				deltaCX = offset.realComponent();
+				deltaCY = offset.imaginaryComponent();
+			}
+			else {
+				deltaX = offset.realComponent();
+				deltaY = offset.imaginaryComponent();
+			}
+
+			// skip the first iterations by means of a series approximation (only when the intermediate iterations are not needed)
+			if ((getCalculatedAdvancedColoringChannels() == 0) && !saveOrbit && (referenceOrbit.fNrOfSkippedIterations > 0)) {
+				double uX = offset.realComponent();
+				double uY = offset.imaginaryComponent();
+				double u2X = (uX * uX) - (uY * uY);
+				double u2Y = 2.0 * uX * uY;
+				double u3X = (u2X * uX) - (u2Y * uY);
+				double u3Y = (u2X * uY) + (u2Y * uX);
+				deltaX = (referenceOrbit.fSeriesAX * uX) - (referenceOrbit.fSeriesAY * uY)
+					+ (referenceOrbit.fSeriesBX * u2X) - (referenceOrbit.fSeriesBY * u2Y)
+					+ (referenceOrbit.fSeriesCX * u3X) - (referenceOrbit.fSeriesCY * u3Y);
+				deltaY = (referenceOrbit.fSeriesAX * uY) + (referenceOrbit.fSeriesAY * uX)
+					+ (referenceOrbit.fSeriesBX * u2Y) + (referenceOrbit.fSeriesBY * u2X)
+					+ (referenceOrbit.fSeriesCX * u3Y) + (referenceOrbit.fSeriesCY * u3X);
+
+				// the skipped iterations follow the reference orbit closely
+				referenceIteration = referenceOrbit.fNrOfSkippedIterations;
+				iterationResult.fNrOfIterations = referenceOrbit.fNrOfSkippedIterations;
+				iterationResult.fExponentialIterationCount = referenceOrbit.fSkippedExponentialIterationCount;
+				iterationResult.fAverageDistance = referenceOrbit.fSkippedModulusSum / referenceOrbit.fNrOfSkippedIterations;
+				iterationResult.fLyapunovExponent = referenceOrbit.fSkippedLyapunovExponent;
+			}
+
+			zX = referenceOrbit.fZX[referenceIteration] + deltaX;
+			zY = referenceOrbit.fZY[referenceIteration] + deltaY;
+		} // if (referenceOrbit != null)
+
+		if (orbitState != null) {
+			// continue the orbit where it was stopped
+			iterationResult.fNrOfIterations = orbitState.fNrOfIterations;
+			iterationResult.fExponentialIterationCount = orbitState.fExponentialIterationCount;
+			iterationResult.fModulus = Math.sqrt((zX * zX) + (zY * zY));
+			iterationResult.fAverageDistance = orbitState.fAverageDistance;
+			iterationResult.fLyapunovExponent = orbitState.fLyapunovExponentSum;
+		}
 
 		double modulusSqr = (zX * zX) + (zY * zY);
 		double zXPrevious = zX;
@@ -236,8 +577,23 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		double zXPreviousPrevious = zXPrevious;
 		double zYPreviousPrevious = zYPrevious;
 
-		double[] curvatures = new double[fMaxNrOfIterations];
-		double[] stripingAngles = new double[fMaxNrOfIterations];
+		// running sums for the curvature and the striping (the sums preceding the last iteration are used for smoothing)
+		double curvatureSum = 0.0;
+		double previousCurvatureSum = 0.0;
+		double interiorStripingSum = 0.0;
+		double previousInteriorStripingSum = 0.0;
+		double exteriorStripingSum = 0.0;
+		double previousExteriorStripingSum = 0.0;
+
+		// the advanced colouring channels that are required
+		boolean calculateCurvature = calculateAdvancedColoringChannel(ColoringParameters.kCurvatureChannel);
+		boolean calculateStriping = calculateAdvancedColoringChannel(ColoringParameters.kStripingChannel);
+		boolean calculateGaussianIntegers = calculateAdvancedColoringChannel(ColoringParameters.kGaussianIntegersChannel);
+		boolean calculateExteriorDistance = calculateAdvancedColoringChannel(ColoringParameters.kExteriorDistanceChannel);
+		boolean calculateOrbitTrapDisk = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapDiskChannel);
+		boolean calculateOrbitTrapCrossStalks = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapCrossStalksChannel);
+		boolean calculateOrbitTrapSine = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapSineChannel);
+		boolean calculateOrbitTrapTangens = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapTangensChannel);
 
 		double minimumInteriorGaussianIntegersDistance = Double.MAX_VALUE;
 		double minimumExteriorGaussianIntegersDistance = Double.MAX_VALUE;
@@ -265,18 +621,57 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		double dzX = 0.0;
 		double dzY = 0.0;
 
+		// initialise Brent's cycle detection and the attracting-cycle test (only in plain double precision)
+		boolean checkPeriodicity = checkPeriodicity(saveOrbit) && (referenceOrbit == null) && (highPrecisionOrbit == null);
+		boolean periodicityDetected = false;
+		double zSavedX = zX;
+		double zSavedY = zY;
+		int periodicityWindow = fPeriodicityCheckInterval;
+		int periodicityCounter = 0;
+		double derivativeX = 1.0;
+		double derivativeY = 0.0;
+
 		while ((iterationResult.fNrOfIterations < fMaxNrOfIterations) && (modulusSqr <= fEscapeRadiusSqr)) {
 
 			// calculate derivative for exterior distance estimation
-			if (fCalculateAdvancedColoring) {
+			if (calculateExteriorDistance) {
 				double temp = 2.0 * ((zX * dzX) - (zY * dzY)) + 1.0;
 				dzY = 2.0 * ((zX * dzY) + (zY * dzX));
 				dzX = temp;
 			}
 
-			// explicitly iterate fractal function
-			double zXNext = (zX * zX) - (zY * zY) + cX;
-			double zYNext = (2.0 * zX * zY) + cY;
+			double zXNext = 0.0;
+			double zYNext = 0.0;
+			if (highPrecisionOrbit != null) {
+				// iterate fractal function in high precision
+				highPrecisionOrbit.iterate();
+				zXNext = highPrecisionOrbit.getRealComponent();
+				zYNext = highPrecisionOrbit.getImaginaryComponent();
+			}
+			else if (referenceOrbit == null) {
+				// explicitly iterate fractal function
+				zXNext = (zX * zX) - (zY * zY) + cX;
+				zYNext = (2.0 * zX * zY) + cY;
+			}
+			else {
+				// iterate the perturbation: delta(n + 1) = (2 Z(n) + delta(n)) delta(n) + delta(c)
+				double tX = (2.0 * referenceOrbit.fZX[referenceIteration]) + deltaX;
+				double tY = (2.0 * referenceOrbit.fZY[referenceIteration]) + deltaY;
+				double deltaXNext = (tX * deltaX) - (tY * deltaY) + deltaCX;
+				deltaY = (tX * deltaY) + (tY * deltaX) + deltaCY;
+				deltaX = deltaXNext;
+				++referenceIteration;
+				zXNext = referenceOrbit.fZX[referenceIteration] + deltaX;
+				zYNext = referenceOrbit.fZY[referenceIteration] + deltaY;
+
+				// detect glitches (the orbit comes closer to 0 than the offset) and rebase onto the start of the reference orbit
+				if ((((zXNext * zXNext) + (zYNext * zYNext)) < ((deltaX * deltaX) + (deltaY * deltaY))) ||
+						(referenceIteration == referenceOrbit.fLength)) {
+					deltaX = zXNext - referenceOrbit.fZX[0];
+					deltaY = zYNext - referenceOrbit.fZY[0];
+					referenceIteration = 0;
+				}
+			} // if (referenceOrbit == null)
 			zXPreviousPrevious = zXPrevious;
 			zYPreviousPrevious = zYPrevious;
 			zXPrevious = zX;
@@ -287,17 +682,26 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 
 			if (fCalculateAdvancedColoring) {
 				// calculate curvatures and stripings
-				double ztX = zX - zXPrevious;
-				double ztY = zY - zYPrevious;
-				double zt2X = zXPrevious - zXPreviousPrevious;
-				double zt2Y = zYPrevious - zYPreviousPrevious;
-				double ztModulusSqr = (zt2X * zt2X) + (zt2Y * zt2Y);
-				if (ztModulusSqr != 0.0) {
-					double zXRes = ((ztX * zt2X) + (ztY * zt2Y)) / ztModulusSqr;
-					double zYRes = ((ztY * zt2X) - (ztX * zt2Y)) / ztModulusSqr;
-					curvatures[(int) iterationResult.fNrOfIterations] = Math.abs(Math.atan2(zYRes,zXRes));
+				if (calculateCurvature) {
+					double ztX = zX - zXPrevious;
+					double ztY = zY - zYPrevious;
+					double zt2X = zXPrevious - zXPreviousPrevious;
+					double zt2Y = zYPrevious - zYPreviousPrevious;
+					double ztModulusSqr = (zt2X * zt2X) + (zt2Y * zt2Y);
+					previousCurvatureSum = curvatureSum;
+					if (ztModulusSqr != 0.0) {
+						double zXRes = ((ztX * zt2X) + (ztY * zt2Y)) / ztModulusSqr;
+						double zYRes = ((ztY * zt2X) - (ztX * zt2Y)) / ztModulusSqr;
+						curvatureSum += Math.abs(Math.atan2(zYRes,zXRes));
+					}
+				}
+				if (calculateStriping) {
+					double stripingAngle = Math.atan2(zY,zX);
+					previousInteriorStripingSum = interiorStripingSum;
+					previousExteriorStripingSum = exteriorStripingSum;
+					interiorStripingSum += (0.5 * Math.sin(fInteriorStripingDensity * stripingAngle) + 0.5);
+					exteriorStripingSum += (0.5 * Math.sin(fExteriorStripingDensity * stripingAngle) + 0.5);
 				}
-				stripingAngles[(int) iterationResult.fNrOfIterations] = Math.atan2(zY,zX);
 			}
 
 			// calculate default results
@@ -310,57 +714,67 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 
 			if (fCalculateAdvancedColoring) {
 				// calculate Gaussian distances
-				double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
-				if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
-					minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
-				}
-				averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
+				if (calculateGaussianIntegers) {
+					double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
+					if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
+						minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
+					}
+					averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
 
-				double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
-				if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
-					minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
+					if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
+						minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					}
+					averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 				}
-				averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 
 				// calculate orbit trap distances
-				double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
-				if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
-					minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
-				}
-				double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
-				if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
-					minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+				if (calculateOrbitTrapDisk) {
+					double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
+					if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
+						minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
+					}
+					double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
+					if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
+						minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+					}
 				}
 
-				double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
-				if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
-					minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
-				}
-				double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
-				if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
-					minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+				if (calculateOrbitTrapCrossStalks) {
+					double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
+					if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
+						minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
+					}
+					double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
+					if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
+						minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+					}
 				}
 
-				double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
-				if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
-					minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
-				}
-				double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
-				if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
-					minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+				if (calculateOrbitTrapSine) {
+					double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
+					if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
+						minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
+					}
+					double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
+					if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
+						minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+					}
 				}
 
-				double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
-				if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
-					minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
-				}
-				double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
-				if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
-					minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+				if (calculateOrbitTrapTangens) {
+					double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
+					if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
+						minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
+					}
+					double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
+					if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
+						minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+					}
 				}
 			} // if (fCalculateAdvancedColoring)
 
@@ -370,8 +784,47 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 				iterationResult.fComplexOrbit[iterationArrayPos] = zIter;
 				iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(zIter);
 			}
+
+			if (checkPeriodicity && (modulusSqr <= fEscapeRadiusSqr)) {
+				// has the orbit returned to the saved point?
+				double savedDeltaX = zX - zSavedX;
+				double savedDeltaY = zY - zSavedY;
+				if (((savedDeltaX * savedDeltaX) + (savedDeltaY * savedDeltaY)) < fPeriodicityToleranceSqr) {
+					periodicityDetected = true;
+					break;
+				}
+
+				// refresh the saved point and double the window
+				++periodicityCounter;
+				if (periodicityCounter == periodicityWindow) {
+					zSavedX = zX;
+					zSavedY = zY;
+					periodicityCounter = 0;
+					periodicityWindow *= 2;
+				}
+
+				// has the orbit contracted onto an attracting cycle? (the derivative with respect to the first iterate vanishes)
+				if (iterationResult.fNrOfIterations > 1) {
+					double temp = 2.0 * ((zXPrevious * derivativeX) - (zYPrevious * derivativeY));
+					derivativeY = 2.0 * ((zXPrevious * derivativeY) + (zYPrevious * derivativeX));
+					derivativeX = temp;
+					if (((derivativeX * derivativeX) + (derivativeY * derivativeY)) < fPeriodicityToleranceSqr) {
+						periodicityDetected = true;
+						break;
+					}
+				}
+			} // if (checkPeriodicity)
 		} // while ()
 
+		if (periodicityDetected) {
+			registerSavedIterations(fMaxNrOfIterations - (long) iterationResult.fNrOfIterations);
+		}
+		else if ((iterationResult.fNrOfIterations == fMaxNrOfIterations) && (referenceOrbit == null) && (highPrecisionOrbit == null) && keepOrbitState(saveOrbit)) {
+			// keep the state of the orbit, so that it can be continued when the maximum number of iterations is raised
+			iterationResult.fOrbitState = new OrbitState(fMaxNrOfIterations,zX,zY,zXPrevious,zYPrevious,cX,cY,
+				iterationResult.fExponentialIterationCount,iterationResult.fAverageDistance,iterationResult.fLyapunovExponent);
+		}
+
 		// determine the final values and angle
 		iterationResult.fRealComponent = zX;
 		iterationResult.fImaginaryComponent = zY;
@@ -382,24 +835,16 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		double prevCurvature = 0.0;
 		double prevStriping = 0.0;
 		if (fCalculateAdvancedColoring) {
-			iterationResult.fCurvature = 0.0;
-			iterationResult.fStriping = 0.0;
-			for (int i = 0; i < iterationResult.fNrOfIterations; ++i) {
-				iterationResult.fCurvature += curvatures[i];
-				double striping = 0.0;
-				if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
-					striping = (0.5 * Math.sin(fInteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				else {
-					striping = (0.5 * Math.sin(fExteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				if (i < (iterationResult.fNrOfIterations - 1)) {
-					prevCurvature += curvatures[i];
-					prevStriping += striping;
-				}
-			} // for (int i = 0; i < iterationResult.fNrOfIterations; ++i)
+			iterationResult.fCurvature = curvatureSum;
+			prevCurvature = previousCurvatureSum;
+			if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
+				iterationResult.fStriping = interiorStripingSum;
+				prevStriping = previousInteriorStripingSum;
+			}
+			else {
+				iterationResult.fStriping = exteriorStripingSum;
+				prevStriping = previousExteriorStripingSum;
+			}
 
 			if (iterationResult.fNrOfIterations > 0) {
 				iterationResult.fCurvature /= iterationResult.fNrOfIterations;
@@ -442,7 +887,7 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 		} // if (fCalculateAdvancedColoring)
 
 		// adjust for an assumed infinite number of iterations
-		if ((!fUseFixedNrOfIterations && (iterationResult.fNrOfIterations == fMaxNrOfIterations)) ||
+		if (periodicityDetected || (!fUseFixedNrOfIterations && (iterationResult.fNrOfIterations == fMaxNrOfIterations)) ||
 				(fUseFixedNrOfIterations && (modulusSqr <= fEscapeRadiusSqr))) {
 			iterationResult.fNrOfIterations = IterationResult.kInfinity;
 			iterationResult.fNormalisedIterationCount = IterationResult.kInfinity;
@@ -461,4 +906,381 @@ public final class FastMandelbrotJuliaFractalIterator extends AFractalIterator
 
 		return iterationResult;
 	}
+
+	/********************
+	 * INTERNAL CLASSES *
+	 ********************/
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 29/10/2016
+	 */
+	private final class ReferenceOrbit
+	{
+		// internal datastructures
+		private EFractalType fFractalType;
+		private ComplexNumber fFixedPoint;
+		private HighPrecisionComplexNumber fRefP1;
+		private HighPrecisionComplexNumber fRefP2;
+		private double fRefComplexWidth;
+		private double fRefComplexHeight;
+		private int fRefMaxNrOfIterations;
+		private double fRefEscapeRadius;
+		private double[] fZX;
+		private double[] fZY;
+		private int fLength;
+		private int fNrOfSkippedIterations;
+		private double fSeriesAX;
+		private double fSeriesAY;
+		private double fSeriesBX;
+		private double fSeriesBY;
+		private double fSeriesCX;
+		private double fSeriesCY;
+		private double fSkippedExponentialIterationCount;
+		private double fSkippedModulusSum;
+		private double fSkippedLyapunovExponent;
+
+		/****************
+		 * CONSTRUCTORS *
+		 ****************/
+
+		/**
+		 * Creates a <CODE>ReferenceOrbit</CODE> object and calculates the high-precision orbit starting in the centre of the current complex bounds.
+		 *
+		 * @param fractalType  the type of the fractal (main or dual)
+		 * @param fixedPoint   the fixed complex number of the orbit
+		 */
+		public ReferenceOrbit(EFractalType fractalType, ComplexNumber fixedPoint)
+		{
+			fFractalType = fractalType;
+			fFixedPoint = new ComplexNumber(fixedPoint);
+			fRefP1 = fHighPrecisionP1;
+			fRefP2 = fHighPrecisionP2;
+			fRefComplexWidth = fComplexWidth;
+			fRefComplexHeight = fComplexHeight;
+			fRefMaxNrOfIterations = fMaxNrOfIterations;
+			fRefEscapeRadius = fEscapeRadius;
+
+			calculateOrbit();
+			calculateSeriesApproximation();
+		}
+
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Returns whether or not this reference orbit is valid for the current settings of the fractal iterator.
+		 *
+		 * @param fractalType  the type of the fractal (main or dual)
+		 * @param fixedPoint   the fixed complex number of the orbit
+		 * @return             a <CODE>boolean</CODE> indicating whether or not this reference orbit is still valid
+		 */
+		public boolean matches(EFractalType fractalType, ComplexNumber fixedPoint)
+		{
+			return ((fFractalType == fractalType) && fFixedPoint.equals(fixedPoint) &&
+				fRefP1.equals(fHighPrecisionP1) && fRefP2.equals(fHighPrecisionP2) &&
+				(fRefMaxNrOfIterations == fMaxNrOfIterations) && (fRefEscapeRadius == fEscapeRadius));
+		}
+
+		/*******************
+		 * PRIVATE METHODS *
+		 *******************/
+
+		/**
+		 * Calculates the reference orbit in high precision until it escapes or the maximum number of iterations is reached.
+		 */
+		private void calculateOrbit()
+		{
+			// the required precision grows with the zoom level
+			double span = Math.max(Math.abs(fRefComplexWidth),Math.abs(fRefComplexHeight));
+			int nrOfPrecisionDigits = kMinNrOfReferencePrecisionDigits;
+			if (span > 0.0) {
+				nrOfPrecisionDigits = Math.max(nrOfPrecisionDigits,(int) Math.ceil(-Math.log10(span)) + kNrOfExtraReferencePrecisionDigits);
+			}
+
+			HighPrecisionComplexNumber centre = fRefP1.midpoint(fRefP2);
+			HighPrecisionComplexNumber fixed = new HighPrecisionComplexNumber(new BigDecimal(fFixedPoint.realComponent()),new BigDecimal(fFixedPoint.imaginaryComponent()));
+			HighPrecisionComplexNumber z = ((fFractalType == EFractalType.kMainFractal) ? fixed : centre);
+			HighPrecisionComplexNumber c = ((fFractalType == EFractalType.kMainFractal) ? centre : fixed);
+
+			// use double-double precision whenever it suffices, as it is much faster than arbitrary precision
+			HighPrecisionOrbit orbit = null;
+			if (nrOfPrecisionDigits <= kNrOfDoubleDoublePrecisionDigits) {
+				orbit = new DoubleDoubleOrbit(z,c);
+			}
+			else {
+				orbit = new ArbitraryPrecisionOrbit(z,c,new MathContext(nrOfPrecisionDigits));
+			}
+
+			// the orbit always contains at least the starting point and its first iterate
+			int maxLength = Math.max(fRefMaxNrOfIterations,1);
+			fZX = new double[maxLength + 1];
+			fZY = new double[maxLength + 1];
+			fZX[0] = orbit.getRealComponent();
+			fZY[0] = orbit.getImaginaryComponent();
+			fLength = 0;
+			boolean escaped = false;
+			while ((fLength < maxLength) && !escaped) {
+				orbit.iterate();
+				++fLength;
+				fZX[fLength] = orbit.getRealComponent();
+				fZY[fLength] = orbit.getImaginaryComponent();
+				escaped = (((fZX[fLength] * fZX[fLength]) + (fZY[fLength] * fZY[fLength])) > (fRefEscapeRadius * fRefEscapeRadius));
+			}
+		}
+
+		/**
+		 * Determines how many iterations can be skipped by means of a third-order series approximation of the offsets,
+		 * valid for all points within the current complex bounds.
+		 */
+		private void calculateSeriesApproximation()
+		{
+			// the largest offset occurs in the corners of the complex bounds
+			double maxOffset = 0.5 * Math.sqrt(MathTools.sqr(fRefComplexWidth) + MathTools.sqr(fRefComplexHeight));
+
+			// delta(n) = A(n) u + B(n) u^2 + C(n) u^3, with u the offset of either c (main fractal) or z (dual fractal)
+			double aX = ((fFractalType == EFractalType.kMainFractal) ? 0.0 : 1.0);
+			double aY = 0.0;
+			double bX = 0.0;
+			double bY = 0.0;
+			double cX = 0.0;
+			double cY = 0.0;
+			double aIncrement = ((fFractalType == EFractalType.kMainFractal) ? 1.0 : 0.0);
+
+			fNrOfSkippedIterations = 0;
+			double exponentialIterationCount = 0.0;
+			double modulusSum = 0.0;
+			double lyapunovExponent = 0.0;
+			for (int n = 0; n < (fLength - 1); ++n) {
+				double twoZX = 2.0 * fZX[n];
+				double twoZY = 2.0 * fZY[n];
+
+				// C(n + 1) = 2 Z(n) C(n) + 2 A(n) B(n)
+				double cXNext = (twoZX * cX) - (twoZY * cY) + (2.0 * ((aX * bX) - (aY * bY)));
+				double cYNext = (twoZX * cY) + (twoZY * cX) + (2.0 * ((aX * bY) + (aY * bX)));
+				// B(n + 1) = 2 Z(n) B(n) + A(n)^2
+				double bXNext = (twoZX * bX) - (twoZY * bY) + ((aX * aX) - (aY * aY));
+				double bYNext = (twoZX * bY) + (twoZY * bX) + (2.0 * aX * aY);
+				// A(n + 1) = 2 Z(n) A(n) + 1 (main fractal) or 2 Z(n) A(n) (dual fractal)
+				double aXNext = (twoZX * aX) - (twoZY * aY) + aIncrement;
+				double aYNext = (twoZX * aY) + (twoZY * aX);
+
+				double aModulus = Math.sqrt((aXNext * aXNext) + (aYNext * aYNext));
+				double bModulus = Math.sqrt((bXNext * bXNext) + (bYNext * bYNext));
+				double cModulus = Math.sqrt((cXNext * cXNext) + (cYNext * cYNext));
+				if (Double.isInfinite(aModulus) || Double.isInfinite(bModulus) || Double.isInfinite(cModulus) ||
+						Double.isNaN(aModulus) || Double.isNaN(bModulus) || Double.isNaN(cModulus)) {
+					break;
+				}
+
+				// the truncation error should remain negligible relative to the first-order term
+				if ((cModulus * maxOffset * maxOffset) > (kSeriesApproximationTolerance * aModulus)) {
+					break;
+				}
+
+				// no point within the complex bounds may have escaped yet
+				double zModulus = Math.sqrt((fZX[n + 1] * fZX[n + 1]) + (fZY[n + 1] * fZY[n + 1]));
+				double maxDelta = (aModulus * maxOffset) + (bModulus * maxOffset * maxOffset) + (cModulus * maxOffset * maxOffset * maxOffset);
+				if ((zModulus + maxDelta) > fRefEscapeRadius) {
+					break;
+				}
+
+				aX = aXNext;
+				aY = aYNext;
+				bX = bXNext;
+				bY = bYNext;
+				cX = cXNext;
+				cY = cYNext;
+				fNrOfSkippedIterations = n + 1;
+				exponentialIterationCount += Math.exp(-zModulus);
+				modulusSum += zModulus;
+				lyapunovExponent += Math.log(zModulus);
+			} // for (int n = 0; n < (fLength - 1); ++n)
+
+			fSeriesAX = aX;
+			fSeriesAY = aY;
+			fSeriesBX = bX;
+			fSeriesBY = bY;
+			fSeriesCX = cX;
+			fSeriesCY = cY;
+			fSkippedExponentialIterationCount = exponentialIterationCount;
+			fSkippedModulusSum = modulusSum;
+			fSkippedLyapunovExponent = lyapunovExponent;
+		}
+	}
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 29/10/2016
+	 */
+	private abstract class HighPrecisionOrbit
+	{
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Advances the orbit by one iteration of the Mandelbrot / Julia function.
+		 */
+		public abstract void iterate();
+
+		/**
+		 * Returns the real component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the real component of the current point in the orbit
+		 */
+		public abstract double getRealComponent();
+
+		/**
+		 * Returns the imaginary component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the imaginary component of the current point in the orbit
+		 */
+		public abstract double getImaginaryComponent();
+	}
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 29/10/2016
+	 */
+	private final class DoubleDoubleOrbit extends HighPrecisionOrbit
+	{
+		// internal datastructures
+		private DoubleDouble fZX;
+		private DoubleDouble fZY;
+		private DoubleDouble fCX;
+		private DoubleDouble fCY;
+		private DoubleDouble fZXSqr;
+		private DoubleDouble fZYSqr;
+
+		/****************
+		 * CONSTRUCTORS *
+		 ****************/
+
+		/**
+		 * Creates a <CODE>DoubleDoubleOrbit</CODE> object.
+		 *
+		 * @param z  the starting point <I>z</I> of the orbit
+		 * @param c  the complex parameter <I>c</I>
+		 */
+		public DoubleDoubleOrbit(HighPrecisionComplexNumber z, HighPrecisionComplexNumber c)
+		{
+			fZX = new DoubleDouble(z.realComponent());
+			fZY = new DoubleDouble(z.imaginaryComponent());
+			fCX = new DoubleDouble(c.realComponent());
+			fCY = new DoubleDouble(c.imaginaryComponent());
+			fZXSqr = new DoubleDouble();
+			fZYSqr = new DoubleDouble();
+		}
+
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Advances the orbit by one iteration of the Mandelbrot / Julia function.
+		 */
+		@Override
+		public void iterate()
+		{
+			fZXSqr.set(fZX).sqr();
+			fZYSqr.set(fZY).sqr();
+			fZY.multiply(fZX).multiply(2.0).add(fCY);
+			fZX.set(fZXSqr).subtract(fZYSqr).add(fCX);
+		}
+
+		/**
+		 * Returns the real component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the real component of the current point in the orbit
+		 */
+		@Override
+		public double getRealComponent()
+		{
+			return fZX.doubleValue();
+		}
+
+		/**
+		 * Returns the imaginary component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the imaginary component of the current point in the orbit
+		 */
+		@Override
+		public double getImaginaryComponent()
+		{
+			return fZY.doubleValue();
+		}
+	}
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 29/10/2016
+	 */
+	private final class ArbitraryPrecisionOrbit extends HighPrecisionOrbit
+	{
+		// internal datastructures
+		private BigDecimal fZX;
+		private BigDecimal fZY;
+		private BigDecimal fCX;
+		private BigDecimal fCY;
+		private MathContext fMathContext;
+
+		/****************
+		 * CONSTRUCTORS *
+		 ****************/
+
+		/**
+		 * Creates an <CODE>ArbitraryPrecisionOrbit</CODE> object.
+		 *
+		 * @param z            the starting point <I>z</I> of the orbit
+		 * @param c            the complex parameter <I>c</I>
+		 * @param mathContext  the precision of all calculations
+		 */
+		public ArbitraryPrecisionOrbit(HighPrecisionComplexNumber z, HighPrecisionComplexNumber c, MathContext mathContext)
+		{
+			fZX = z.realComponent();
+			fZY = z.imaginaryComponent();
+			fCX = c.realComponent();
+			fCY = c.imaginaryComponent();
+			fMathContext = mathContext;
+		}
+
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Advances the orbit by one iteration of the Mandelbrot / Julia function.
+		 */
+		@Override
+		public void iterate()
+		{
+			BigDecimal zXNext = fZX.multiply(fZX,fMathContext).subtract(fZY.multiply(fZY,fMathContext),fMathContext).add(fCX,fMathContext);
+			fZY = fZX.multiply(fZY,fMathContext).multiply(BigDecimal.valueOf(2),fMathContext).add(fCY,fMathContext);
+			fZX = zXNext;
+		}
+
+		/**
+		 * Returns the real component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the real component of the current point in the orbit
+		 */
+		@Override
+		public double getRealComponent()
+		{
+			return fZX.doubleValue();
+		}
+
+		/**
+		 * Returns the imaginary component of the current point in the orbit, rounded to double precision.
+		 *
+		 * @return the imaginary component of the current point in the orbit
+		 */
+		@Override
+		public double getImaginaryComponent()
+		{
+			return fZY.doubleValue();
+		}
+	}
 }
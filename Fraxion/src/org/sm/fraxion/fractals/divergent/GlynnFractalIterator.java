@@ -1,7 +1,7 @@
 // -----------------------------------------
 // Filename      : GlynnFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 16/11/2014
+// Last modified : 03/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.exceptions.*;
 import org.sm.smtools.math.complex.*;
 import org.sm.smtools.util.*;
@@ -36,7 +37,7 @@ import org.sm.smtools.util.*;
  * -0.375 + 0i, -0.338 + 0i, 0.22 + 0i for <I>n</I> equal to 1.75.
  * 
  * @author  Sven Maerivoet
- * @version 16/11/2014
+ * @version 03/11/2016
  */
 public class GlynnFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -47,6 +48,7 @@ public class GlynnFractalIterator extends MandelbrotJuliaFractalIterator
 
 	// internal datastructures
 	private ComplexNumber fPower;
+	private SpecialisedPower fSpecialisedPower;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -105,6 +107,7 @@ public class GlynnFractalIterator extends MandelbrotJuliaFractalIterator
 	public void setPower(ComplexNumber power)
 	{
 		fPower = power;
+		fSpecialisedPower = new SpecialisedPower(power);
 	}
 
 	/**
@@ -158,4 +161,40 @@ public class GlynnFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		return z.pow(fPower).add(c);
 	}
+
+	/**
+	 * Evaluates the Glynn function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).pow(fSpecialisedPower).add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Glynn function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(fSpecialisedPower).add(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------------------
 // Filename      : HyperbolicSineJuliaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 24/09/2016
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * An interesting values for the Julia c parameter is 0.065 + 0.122 i
  * 
  * @author  Sven Maerivoet
- * @version 24/09/2016
+ * @version 01/11/2016
  */
 public class HyperbolicSineJuliaFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -92,4 +93,52 @@ public class HyperbolicSineJuliaFractalIterator extends MandelbrotJuliaFractalIt
 
 		return z.sqr().sinh().sqrt().add(c);
 	}
+
+	/**
+	 * Evaluates the at the C-Shore function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		if ((zX == 0.0) && (zY == 0.0)) {
+			zX = cX;
+			zY = cY;
+		}
+
+		result.set(zX,zY).sqr().sinh().sqrt().add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the at the C-Shore function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		if ((zX == 0.0) && (zY == 0.0)) {
+			result.set(cX,cY);
+		}
+		else {
+			result.setVariable(zX,zY);
+		}
+
+		result.sqr().sinh().sqrt().add(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // ---------------------------------------------
 // Filename      : IOfMedusaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 08/04/2016
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>IOfMedusaFractalIterator</CODE> class provides an implementation of the i of Medusa fractal.
  * 
  * @author  Sven Maerivoet
- * @version 08/04/2016
+ * @version 01/11/2016
  */
 public class IOfMedusaFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -78,4 +79,50 @@ public class IOfMedusaFractalIterator extends MandelbrotJuliaFractalIterator
 				new ComplexNumber(7.0).add(ComplexNumber.kI).multiply(z)).divide(
 			z.pow(5.0).multiply(ComplexNumber.kTwo).add(new ComplexNumber(6.0))).ln();
 	}
+
+	/**
+	 * Evaluates the i of Medusa function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		scratch.set(zX,zY).pow(6.0).multiply(1.0,-1.0);
+		result.set(zX,zY).multiply(7.0,1.0);
+		scratch.add(result);
+		result.set(zX,zY).pow(5.0).multiply(2.0,0.0).add(6.0,0.0);
+		scratch.divide(result);
+		result.set(scratch).ln();
+	}
+
+	/**
+	 * Evaluates the i of Medusa function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.setVariable(zX,zY).pow(6.0).multiply(1.0,-1.0);
+		result.setVariable(zX,zY).multiply(7.0,1.0);
+		scratch.add(result);
+		result.setVariable(zX,zY).pow(5.0).multiply(2.0,0.0).add(6.0,0.0);
+		scratch.divide(result);
+		result.set(scratch).ln();
+	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------------
 // Filename      : InverseLambdaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 26/10/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>InverseLambdaFractalIterator</CODE> class provides an implementation of the inverse Lambda fractal.
  * 
  * @author  Sven Maerivoet
- * @version 26/10/2014
+ * @version 01/11/2016
  */
 public class InverseLambdaFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -76,4 +77,45 @@ public class InverseLambdaFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		return c.inverse().multiply(z).multiply(ComplexNumber.kOne.subtract(z));
 	}
+
+	/**
+	 * Evaluates the inverse Lambda function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(cX,cY).inverse().multiply(zX,zY).multiply(1.0 - zX,0.0 - zY);
+	}
+
+	/**
+	 * Evaluates the inverse Lambda function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.setVariable(zX,zY);
+		result.set(cX,cY).inverse().multiply(scratch);
+
+		// 1 - z
+		scratch.negate().add(1.0,0.0);
+		result.multiply(scratch);
+	}
 }
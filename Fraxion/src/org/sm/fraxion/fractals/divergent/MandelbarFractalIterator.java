@@ -1,7 +1,7 @@
 // ---------------------------------------------
 // Filename      : MandelbarFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 10/09/2014
+// Last modified : 05/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that class cannot be subclassed.</B>
  * 
  * @author  Sven Maerivoet
- * @version 10/09/2014
+ * @version 05/11/2016
  */
 public final class MandelbarFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -49,10 +50,43 @@ public final class MandelbarFractalIterator extends MandelbrotJuliaFractalIterat
 		return "Mandelbar";
 	}
 
+	/**
+	 * Returns whether or not a complex parameter lies in the disk of radius 1/4 that is inscribed in the deltoid-shaped
+	 * main component of the Mandelbar set.
+	 * <P>
+	 * The main component itself has no convenient closed-form test, but for <I>|c| <= 1/4</I> the disk <I>|z| <= 1/2</I>
+	 * is mapped onto itself, so that the critical orbit remains bounded.
+	 *
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the complex parameter lies in the inscribed disk
+	 */
+	public static boolean liesInMainComponentDisk(double cX, double cY)
+	{
+		return (((cX * cX) + (cY * cY)) <= 0.0625);
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
 
+	/**
+	 * Returns whether or not the orbit of the specified point is known analytically to remain bounded, i.e., whether or
+	 * not the critical orbit starts in the disk that is inscribed in the main component
+	 * of the Mandelbar set.
+	 *
+	 * @param zX  the real component of the starting point <I>z</I>
+	 * @param zY  the imaginary component of the starting point <I>z</I>
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the orbit is known to remain bounded
+	 */
+	@Override
+	protected boolean liesInKnownInterior(double zX, double zY, double cX, double cY)
+	{
+		return ((zX == 0.0) && (zY == 0.0) && liesInMainComponentDisk(cX,cY));
+	}
+
 	/**
 	 * Evaluates the Mandelbar function for a specified complex point.
 	 *
@@ -65,4 +99,40 @@ public final class MandelbarFractalIterator extends MandelbrotJuliaFractalIterat
 	{
 		return z.sqr().add(c).conjugate();
 	}
+
+	/**
+	 * Evaluates the Mandelbar function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(((zX * zX) - (zY * zY)) + cX,(2.0 * zX * zY) + cY).conjugate();
+	}
+
+	/**
+	 * Evaluates the Mandelbar function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).sqr().add(cX,cY).conjugate();
+	}
 }
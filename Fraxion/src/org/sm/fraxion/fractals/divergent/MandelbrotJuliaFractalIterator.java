@@ -1,7 +1,7 @@
 // ---------------------------------------------------
 // Filename      : MandelbrotJuliaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 26/12/2014
+// Last modified : 10/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MandelbrotJuliaFractalIterator</CODE> class provides an implementation of the default Mandelbrot and Julia fractals.
  * 
  * @author  Sven Maerivoet
- * @version 26/12/2014
+ * @version 10/11/2016
  */
 public class MandelbrotJuliaFractalIterator extends ADivergentFractalIterator
 {
@@ -94,6 +95,28 @@ public class MandelbrotJuliaFractalIterator extends ADivergentFractalIterator
 		return 100.0;
 	}
 
+	/**
+	 * The Mandelbrot / Julia function commutes with complex conjugation.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return true;
+	}
+
+	/**
+	 * The Mandelbrot / Julia function is even in <I>z</I>.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean hasPointSymmetry()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -110,4 +133,40 @@ public class MandelbrotJuliaFractalIterator extends ADivergentFractalIterator
 	{
 		return z.sqr().add(c);
 	}
+
+	/**
+	 * Evaluates the Mandelbrot / Julia function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(((zX * zX) - (zY * zY)) + cX,(2.0 * zX * zY) + cY);
+	}
+
+	/**
+	 * Evaluates the Mandelbrot / Julia function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).sqr().add(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------
 // Filename      : ManowarFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 28/12/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>ManowarFractalIterator</CODE> class provides an implementation of the Man o' War fractal.
  * 
  * @author  Sven Maerivoet
- * @version 28/12/2014
+ * @version 01/11/2016
  */
 public class ManowarFractalIterator extends ADoubleDivergentFractalIterator
 {
@@ -110,4 +111,40 @@ public class ManowarFractalIterator extends ADoubleDivergentFractalIterator
 	{
 		return z.sqr().add(zPrevious).add(c);
 	}
+
+	/**
+	 * Evaluates the Manowar function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(((zX * zX) - (zY * zY)) + zPreviousX,(2.0 * zX * zY) + zPreviousY).add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Manowar function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).sqr().add(zPreviousX,zPreviousY).add(cX,cY);
+	}
 }
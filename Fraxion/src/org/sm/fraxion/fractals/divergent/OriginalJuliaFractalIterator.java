@@ -1,7 +1,7 @@
 // -------------------------------------------------
 // Filename      : OriginalJuliaFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that class cannot be subclassed.</B>
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 01/11/2016
  */
 public final class OriginalJuliaFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -73,4 +74,65 @@ public final class OriginalJuliaFractalIterator extends MandelbrotJuliaFractalIt
 				new ComplexNumber(5.0)))).add(
 			c);
 	}
+
+	/**
+	 * Evaluates the original Julia function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		// z^3 / (z - 1)
+		scratch.set(zX,zY).cube().divide(zX - 1.0,zY - 0.0);
+		result.set(zX,zY).sqr().sqr().add(scratch);
+		double partialSumX = result.realComponent();
+		double partialSumY = result.imaginaryComponent();
+
+		// z^2 / (z^3 + 4z^2 + 5)
+		scratch.set(zX,zY).sqr().multiply(4.0,0.0);
+		result.set(zX,zY).cube().add(scratch).add(5.0,0.0);
+		scratch.set(zX,zY).sqr().divide(result);
+
+		result.set(partialSumX,partialSumY).add(scratch).add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the original Julia function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		// z^3 / (z - 1)
+		result.setVariable(zX,zY).subtract(1.0,0.0);
+		scratch.setVariable(zX,zY).cube().divide(result);
+		result.setVariable(zX,zY).sqr().sqr().add(scratch);
+		double partialSumX = result.realComponent();
+		double partialSumY = result.imaginaryComponent();
+		double partialSumDerivativeX = result.derivativeRealComponent();
+		double partialSumDerivativeY = result.derivativeImaginaryComponent();
+
+		// z^2 / (z^3 + 4z^2 + 5)
+		scratch.setVariable(zX,zY).sqr().multiply(4.0,0.0);
+		result.setVariable(zX,zY).cube().add(scratch).add(5.0,0.0);
+		scratch.setVariable(zX,zY).sqr().divide(result);
+
+		result.set(partialSumX,partialSumY,partialSumDerivativeX,partialSumDerivativeY).add(scratch).add(cX,cY);
+	}
 }
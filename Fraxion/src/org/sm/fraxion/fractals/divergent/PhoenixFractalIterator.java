@@ -1,7 +1,7 @@
 // -------------------------------------------
 // Filename      : PhoenixFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 03/11/2014
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------
 
@@ -23,6 +23,7 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -31,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * The typical Julia set fractal is found at <I>c</I> = 0.5666667 - 0.5i
  * 
  * @author  Sven Maerivoet
- * @version 03/11/2014
+ * @version 01/11/2016
  */
 public class PhoenixFractalIterator extends ADoubleDivergentFractalIterator
 {
@@ -100,4 +101,42 @@ public class PhoenixFractalIterator extends ADoubleDivergentFractalIterator
 	{
 		return z.sqr().add(new ComplexNumber(c.realComponent())).add((new ComplexNumber(c.imaginaryComponent())).multiply(zPrevious));
 	}
+
+	/**
+	 * Evaluates the Phoenix function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		scratch.set(zPreviousX,zPreviousY).multiply(cY,0.0);
+		result.set(zX,zY).sqr().add(cX,0.0).add(scratch);
+	}
+
+	/**
+	 * Evaluates the Phoenix function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.set(zPreviousX,zPreviousY).multiply(cY,0.0);
+		result.setVariable(zX,zY).sqr().add(cX,0.0).add(scratch);
+	}
 }
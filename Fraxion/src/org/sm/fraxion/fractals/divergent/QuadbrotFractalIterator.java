@@ -1,7 +1,7 @@
 // --------------------------------------------
 // Filename      : QuadbrotFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 07/06/2015
+// Last modified : 01/11/2016
 // Target        : Java VM (1.8)
 // --------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>QuadbrotFractalIterator</CODE> class provides an implementation of a Quadbrot fractal (4 connected Mandelbrot sets).
  * 
  * @author  Sven Maerivoet
- * @version 07/06/2015
+ * @version 01/11/2016
  */
 public class QuadbrotFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -69,4 +70,63 @@ public class QuadbrotFractalIterator extends MandelbrotJuliaFractalIterator
 
 		return z.sqr().multiply(kIMin).add(kIPlus);
 	}
+
+	/**
+	 * Evaluates the Quadbrot function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		final double kSqrt2 = Math.sqrt(2.0);
+		scratch.set(1.0,0.0).divide(cX,cY);
+		double oneOverCX = scratch.realComponent();
+		double oneOverCY = scratch.imaginaryComponent();
+
+		// i(c + 1/c) / sqrt(2)
+		scratch.set(cX + oneOverCX,cY + oneOverCY).multiply(0.0,1.0).divide(kSqrt2,0.0);
+
+		// z^2 * i(c - 1/c) / sqrt(2)
+		result.set(cX - oneOverCX,cY - oneOverCY).multiply(0.0,1.0).divide(kSqrt2,0.0).multiply(((zX * zX) - (zY * zY)),(2.0 * zX * zY)).add(scratch);
+	}
+
+	/**
+	 * Evaluates the Quadbrot function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		final double kSqrt2 = Math.sqrt(2.0);
+		scratch.set(1.0,0.0).divide(cX,cY);
+		double oneOverCX = scratch.realComponent();
+		double oneOverCY = scratch.imaginaryComponent();
+
+		// i(c - 1/c) / sqrt(2)
+		scratch.set(cX - oneOverCX,cY - oneOverCY).multiply(0.0,1.0).divide(kSqrt2,0.0);
+		double factorX = scratch.realComponent();
+		double factorY = scratch.imaginaryComponent();
+
+		// i(c + 1/c) / sqrt(2)
+		scratch.set(cX + oneOverCX,cY + oneOverCY).multiply(0.0,1.0).divide(kSqrt2,0.0);
+
+		// z^2 * i(c - 1/c) / sqrt(2)
+		result.setVariable(zX,zY).sqr().multiply(factorX,factorY).add(scratch);
+	}
 }
@@ -1,7 +1,7 @@
 // ----------------------------------------------
 // Filename      : RandelbrotFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------------
 
@@ -24,31 +24,49 @@
 package org.sm.fraxion.fractals.divergent;
 
 import java.io.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.exceptions.*;
 import org.sm.smtools.math.complex.*;
 import org.sm.smtools.util.*;
 
 /**
  * The <CODE>RandelbrotFractalIterator</CODE> class provides an implementation of the Randelbrot fractals.
+ * <P>
+ * The noise that is added to the orbits is derived deterministically from a noise seed, the starting point of the orbit
+ * and the iteration number, so that the same parameters always yield the same image. Each thread uses its own noise
+ * generator, such that the workers do not contend for a shared random number generator.
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 22/11/2016
  */
 public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 {
+	// the golden-ratio increment of the SplitMix64 generator
+	private static final long kGoldenGamma = 0x9E3779B97F4A7C15L;
+
 	// internal datastructures
 	private double fNoiseLevel;
+	private long fNoiseSeed;
+	private final ThreadLocal<NoiseGenerator> fNoiseGenerators = new ThreadLocal<NoiseGenerator>()
+	{
+		@Override
+		protected NoiseGenerator initialValue()
+		{
+			return new NoiseGenerator();
+		}
+	};
 
 	/****************
 	 * CONSTRUCTORS *
 	 ****************/
 
 	/**
-	 * Creates a <CODE>RandelbrotFractalIterator</CODE> object and initialises it with the default noise level.
+	 * Creates a <CODE>RandelbrotFractalIterator</CODE> object and initialises it with the default noise level and seed.
 	 */
 	public RandelbrotFractalIterator()
 	{
 		setNoiseLevel(getDefaultNoiseLevel());
+		setNoiseSeed(getDefaultNoiseSeed());
 	}
 
 	/******************
@@ -86,6 +104,72 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 		return fNoiseLevel;
 	}
 
+	/**
+	 * Sets the seed from which the noise is derived.
+	 * 
+	 * @param noiseSeed the noise seed
+	 */
+	public void setNoiseSeed(long noiseSeed)
+	{
+		fNoiseSeed = noiseSeed;
+	}
+
+	/**
+	 * Returns the seed from which the noise is derived.
+	 * 
+	 * @return the noise seed
+	 */
+	public long getNoiseSeed()
+	{
+		return fNoiseSeed;
+	}
+
+	/**
+	 * Returns <CODE>false</CODE> because the noise that is added to an orbit is derived from its starting point, which
+	 * isn't part of the orbit state.
+	 *
+	 * @return <CODE>false</CODE>
+	 */
+	@Override
+	public boolean supportsResumableIterations()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns <CODE>false</CODE> because the noise that is added to the orbits makes it impossible to guess the inside
+	 * of a rectangle from its border.
+	 *
+	 * @return <CODE>false</CODE>
+	 */
+	@Override
+	public boolean supportsRectangleSubdivision()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns <CODE>false</CODE> because the noise differs between a point and its complex conjugate.
+	 *
+	 * @return <CODE>false</CODE>
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns <CODE>false</CODE> because the noise differs between a point and its opposite.
+	 *
+	 * @return <CODE>false</CODE>
+	 */
+	@Override
+	public boolean hasPointSymmetry()
+	{
+		return false;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -97,7 +181,7 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	 */
 	public String getCustomFilenamePart()
 	{
-		return (super.getCustomFilenamePart() + "_noise=" + String.valueOf(getNoiseLevel()));
+		return (super.getCustomFilenamePart() + "_noise=" + String.valueOf(getNoiseLevel()) + "_seed=" + String.valueOf(getNoiseSeed()));
 	}
 
 	/**
@@ -110,6 +194,34 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 		return 0.05;
 	}
 
+	/**
+	 * Returns the default noise seed.
+	 *
+	 * @return the default noise seed
+	 */
+	protected long getDefaultNoiseSeed()
+	{
+		return 0L;
+	}
+
+	/**
+	 * Helper method for a general iteration with the escape-time algorithm.
+	 * <P>
+	 * The calling thread's noise generator is first positioned at the start of the noise sequence that belongs to the
+	 * orbit's starting point.
+	 *
+	 * @param z          the complex variable <I>z</I>
+	 * @param c          the complex parameter <I>c</I>
+	 * @param saveOrbit  a <CODE>boolean</CODE> indicating whether or not the orbit should be saved
+	 * @return           the iteration result associated with the forward orbit of the complex variable starting point due to the specified complex number
+	 */
+	@Override
+	protected IterationResult iterate(ComplexNumber z, ComplexNumber c, boolean saveOrbit)
+	{
+		fNoiseGenerators.get().reset(fNoiseSeed,z,c);
+		return super.iterate(z,c,saveOrbit);
+	}
+
 	/**
 	 * Evaluates the Randelbrot function for a specified complex point.
 	 *
@@ -120,13 +232,58 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	@Override
 	protected ComplexNumber evaluateFractalFunction(ComplexNumber z, ComplexNumber c)
 	{
+		NoiseGenerator noiseGenerator = fNoiseGenerators.get();
 		ComplexNumber randomNoise = new ComplexNumber(
-			-(fNoiseLevel / 2.0) + (Math.random() * fNoiseLevel),
-			-(fNoiseLevel / 2.0) + (Math.random() * fNoiseLevel));
+			-(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel),
+			-(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel));
 
 		return z.sqr().add(c).add(randomNoise);
 	}
 
+	/**
+	 * Evaluates the Randelbrot function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		NoiseGenerator noiseGenerator = fNoiseGenerators.get();
+		double randomNoiseX = -(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel);
+		double randomNoiseY = -(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel);
+
+		result.set(((zX * zX) - (zY * zY)) + cX,(2.0 * zX * zY) + cY).add(randomNoiseX,randomNoiseY);
+	}
+
+	/**
+	 * Evaluates the Randelbrot function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		NoiseGenerator noiseGenerator = fNoiseGenerators.get();
+		double randomNoiseX = -(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel);
+		double randomNoiseY = -(fNoiseLevel / 2.0) + (noiseGenerator.nextDouble() * fNoiseLevel);
+
+		result.setVariable(zX,zY).sqr().add(cX,cY).add(randomNoiseX,randomNoiseY);
+	}
+
 	/**
 	 * Loads custom fractal parameters from a plain-text file.
 	 * 
@@ -137,6 +294,20 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	protected void plainTextLoadCustomParameters(TextFileParser tfp) throws FileParseException
 	{
 		setNoiseLevel(tfp.getNextDouble());
+
+		// files in the original parameter format don't contain a noise seed
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setNoiseSeed(getDefaultNoiseSeed());
+		}
+		else {
+			String noiseSeed = tfp.getNextString();
+			try {
+				setNoiseSeed(Long.parseLong(noiseSeed.trim()));
+			}
+			catch (NumberFormatException exc) {
+				throw (new FileParseException(noiseSeed,tfp.getLastReadLineNr()));
+			}
+		}
 	}
 
 	/**
@@ -149,6 +320,14 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	protected void streamLoadCustomParameters(DataInputStream dataInputStream) throws IOException
 	{
 		setNoiseLevel(dataInputStream.readDouble());
+
+		// files in the original parameter format don't contain a noise seed
+		if (fLoadedParameterFormatVersion == kOriginalParameterFormatVersion) {
+			setNoiseSeed(getDefaultNoiseSeed());
+		}
+		else {
+			setNoiseSeed(dataInputStream.readLong());
+		}
 	}
 
 	/**
@@ -162,6 +341,8 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		tfw.writeDouble(fNoiseLevel);
 		tfw.writeLn();
+		tfw.writeString(String.valueOf(fNoiseSeed));
+		tfw.writeLn();
 	}
 
 	/**
@@ -173,5 +354,71 @@ public class RandelbrotFractalIterator extends MandelbrotJuliaFractalIterator
 	protected void streamSaveCustomParameters(DataOutputStream dataOutputStream) throws IOException
 	{
 		dataOutputStream.writeDouble(fNoiseLevel);
+		dataOutputStream.writeLong(fNoiseSeed);
+	}
+
+	/********************
+	 * INTERNAL CLASSES *
+	 ********************/
+
+	/**
+	 * A SplitMix64 generator whose state is positioned at the start of the noise sequence of an orbit.
+	 * 
+	 * @author  Sven Maerivoet
+	 * @version 12/11/2016
+	 */
+	private static final class NoiseGenerator
+	{
+		// internal datastructures
+		private long fState;
+
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * Positions the generator at the start of the noise sequence that belongs to the specified seed and starting point.
+		 *
+		 * @param seed  the noise seed
+		 * @param z     the complex variable <I>z</I> at the start of the orbit
+		 * @param c     the complex parameter <I>c</I> of the orbit
+		 */
+		public void reset(long seed, ComplexNumber z, ComplexNumber c)
+		{
+			long state = mix(seed);
+			state = mix(state ^ Double.doubleToLongBits(z.realComponent()));
+			state = mix(state ^ Double.doubleToLongBits(z.imaginaryComponent()));
+			state = mix(state ^ Double.doubleToLongBits(c.realComponent()));
+			state = mix(state ^ Double.doubleToLongBits(c.imaginaryComponent()));
+			fState = state;
+		}
+
+		/**
+		 * Returns the next uniformly distributed number in the interval [0, 1).
+		 *
+		 * @return the next uniformly distributed number in the interval [0, 1)
+		 */
+		public double nextDouble()
+		{
+			fState += kGoldenGamma;
+			return ((mix(fState) >>> 11) * 0x1.0p-53);
+		}
+
+		/*******************
+		 * PRIVATE METHODS *
+		 *******************/
+
+		/**
+		 * The SplitMix64 finaliser.
+		 *
+		 * @param x  the value to scramble
+		 * @return   the scrambled value
+		 */
+		private static long mix(long x)
+		{
+			x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+			x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+			return (x ^ (x >>> 31));
+		}
 	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------------
 // Filename      : TetrationDualFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 08/04/2016
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>TetrationDualFractalIterator</CODE> class provides an implementation of the tetration (dual only) fractal.
  * 
  * @author  Sven Maerivoet
- * @version 08/04/2016
+ * @version 15/11/2016
  */
 public class TetrationDualFractalIterator extends MandelbrotJuliaFractalIterator
 {
@@ -48,6 +49,17 @@ public class TetrationDualFractalIterator extends MandelbrotJuliaFractalIterator
 		return "Tetration (dual only)";
 	}
 
+	/**
+	 * Returns <CODE>true</CODE> because the complex power in the fractal function has fast-math approximations.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsFastMath()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -64,4 +76,40 @@ public class TetrationDualFractalIterator extends MandelbrotJuliaFractalIterator
 	{
 		return z.pow(z);
 	}
+
+	/**
+	 * Evaluates the tetration (dual only) function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).pow(zX,zY,usesFastMath());
+	}
+
+	/**
+	 * Evaluates the tetration (dual only) function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(result);
+	}
 }
@@ -1,7 +1,7 @@
 // ---------------------------------------------------------
 // Filename      : MultiProductExpelbrotFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 10/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------------------
 
@@ -24,6 +24,7 @@
 package org.sm.fraxion.fractals.divergent.multi;
 
 import org.sm.fraxion.fractals.divergent.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
@@ -32,7 +33,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that class cannot be subclassed.</B>
  * 
  * @author  Sven Maerivoet
- * @version 10/10/2014
+ * @version 15/11/2016
  */
 public final class MultiProductExpelbrotFractalIterator extends APowerFractalIterator
 {
@@ -51,6 +52,17 @@ public final class MultiProductExpelbrotFractalIterator extends APowerFractalIte
 		return "MultiProductExpelbrot";
 	}
 
+	/**
+	 * Returns <CODE>true</CODE> because the complex exponential in the fractal function has fast-math approximations.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsFastMath()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -78,4 +90,40 @@ public final class MultiProductExpelbrotFractalIterator extends APowerFractalIte
 	{
 		return c.multiply(z.pow(fPower).exp());
 	}
+
+	/**
+	 * Evaluates the original Multi Product Expelbrot function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).pow(fSpecialisedPower).exp(usesFastMath()).multiply(cX,cY);
+	}
+
+	/**
+	 * Evaluates the original Multi Product Expelbrot function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(fSpecialisedPower).exp().multiply(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // --------------------------------------------
 // Filename      : MultibarFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 10/10/2014
+// Last modified : 05/11/2016
 // Target        : Java VM (1.8)
 // --------------------------------------------
 
@@ -24,13 +24,14 @@
 package org.sm.fraxion.fractals.divergent.multi;
 
 import org.sm.fraxion.fractals.divergent.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MultibarFractalIterator</CODE> class provides an implementation of the Multibar fractals.
  * 
  * @author  Sven Maerivoet
- * @version 10/10/2014
+ * @version 05/11/2016
  */
 public class MultibarFractalIterator extends APowerFractalIterator
 {
@@ -64,6 +65,25 @@ public class MultibarFractalIterator extends APowerFractalIterator
 		return (new ComplexNumber(3.0));
 	}
 
+	/**
+	 * Returns whether or not the orbit of the specified point is known analytically to remain bounded, i.e., whether or
+	 * not the power is 2 and the critical orbit starts in the disk that is inscribed
+	 * in the main component of the Mandelbar set.
+	 *
+	 * @param zX  the real component of the starting point <I>z</I>
+	 * @param zY  the imaginary component of the starting point <I>z</I>
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the orbit is known to remain bounded
+	 */
+	@Override
+	protected boolean liesInKnownInterior(double zX, double zY, double cX, double cY)
+	{
+		return ((zX == 0.0) && (zY == 0.0) &&
+			(fSpecialisedPower.getPowerType() == SpecialisedPower.EPowerType.kInteger) && (fSpecialisedPower.getIntegerPower() == 2) &&
+			MandelbarFractalIterator.liesInMainComponentDisk(cX,cY));
+	}
+
 	/**
 	 * Evaluates the Multibar function for a specified complex point.
 	 *
@@ -76,4 +96,40 @@ public class MultibarFractalIterator extends APowerFractalIterator
 	{
 		return z.pow(fPower).add(c).conjugate();
 	}
+
+	/**
+	 * Evaluates the Multibar function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).pow(fSpecialisedPower).add(cX,cY).conjugate();
+	}
+
+	/**
+	 * Evaluates the Multibar function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(fSpecialisedPower).add(cX,cY).conjugate();
+	}
 }
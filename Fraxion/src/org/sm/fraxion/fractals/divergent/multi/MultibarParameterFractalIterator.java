@@ -1,7 +1,7 @@
 // -----------------------------------------------------
 // Filename      : MultibarParameterFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 10/10/2014
+// Last modified : 03/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------------
 
@@ -24,13 +24,14 @@
 package org.sm.fraxion.fractals.divergent.multi;
 
 import org.sm.fraxion.fractals.divergent.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MultibrotParameterFractalIterator</CODE> class provides an implementation of the Multibar parameter fractals.
  * 
  * @author  Sven Maerivoet
- * @version 10/10/2014
+ * @version 03/11/2016
  */
 public class MultibarParameterFractalIterator extends APowerFractalIterator
 {
@@ -76,4 +77,42 @@ public class MultibarParameterFractalIterator extends APowerFractalIterator
 	{
 		return z.pow(fPower).add(c.pow(fPower)).conjugate();
 	}
+
+	/**
+	 * Evaluates the Multibar parameter function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		scratch.set(cX,cY).pow(fSpecialisedPower);
+		result.set(zX,zY).pow(fSpecialisedPower).add(scratch).conjugate();
+	}
+
+	/**
+	 * Evaluates the Multibar parameter function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		scratch.set(cX,cY).pow(fSpecialisedPower);
+		result.setVariable(zX,zY).pow(fSpecialisedPower).add(scratch).conjugate();
+	}
 }
@@ -1,7 +1,7 @@
 // ---------------------------------------------
 // Filename      : MultibrotFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 10/10/2014
+// Last modified : 10/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------
 
@@ -24,13 +24,14 @@
 package org.sm.fraxion.fractals.divergent.multi;
 
 import org.sm.fraxion.fractals.divergent.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MultibrotFractalIterator</CODE> class provides an implementation of the Multibrot fractals.
  * 
  * @author  Sven Maerivoet
- * @version 10/10/2014
+ * @version 10/11/2016
  */
 public class MultibrotFractalIterator extends APowerFractalIterator
 {
@@ -60,6 +61,28 @@ public class MultibrotFractalIterator extends APowerFractalIterator
 		return "Multibrot";
 	}
 
+	/**
+	 * The Multibrot function commutes with complex conjugation for integer powers.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not an integer power is used
+	 */
+	@Override
+	public boolean hasConjugateSymmetry()
+	{
+		return (fSpecialisedPower.getPowerType() == SpecialisedPower.EPowerType.kInteger);
+	}
+
+	/**
+	 * The Multibrot function is even in <I>z</I> for even integer powers.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not an even integer power is used
+	 */
+	@Override
+	public boolean hasPointSymmetry()
+	{
+		return ((fSpecialisedPower.getPowerType() == SpecialisedPower.EPowerType.kInteger) && ((fSpecialisedPower.getIntegerPower() % 2) == 0));
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -75,6 +98,25 @@ public class MultibrotFractalIterator extends APowerFractalIterator
 		return (new ComplexNumber(3.0));
 	}
 
+	/**
+	 * Returns whether or not the orbit of the specified point is known analytically to remain bounded, i.e., whether or
+	 * not the power is 2 and the critical orbit starts in the main cardioid or the
+	 * period-2 bulb of the Mandelbrot set.
+	 *
+	 * @param zX  the real component of the starting point <I>z</I>
+	 * @param zY  the imaginary component of the starting point <I>z</I>
+	 * @param cX  the real component of the complex parameter <I>c</I>
+	 * @param cY  the imaginary component of the complex parameter <I>c</I>
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the orbit is known to remain bounded
+	 */
+	@Override
+	protected boolean liesInKnownInterior(double zX, double zY, double cX, double cY)
+	{
+		return ((zX == 0.0) && (zY == 0.0) &&
+			(fSpecialisedPower.getPowerType() == SpecialisedPower.EPowerType.kInteger) && (fSpecialisedPower.getIntegerPower() == 2) &&
+			FastMandelbrotJuliaFractalIterator.liesInMainCardioidOrPeriod2Bulb(cX,cY));
+	}
+
 	/**
 	 * Evaluates the Multibrot function for a specified complex point.
 	 *
@@ -87,4 +129,40 @@ public class MultibrotFractalIterator extends APowerFractalIterator
 	{
 		return z.pow(fPower).add(c);
 	}
+
+	/**
+	 * Evaluates the Multibrot function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).pow(fSpecialisedPower).add(cX,cY);
+	}
+
+	/**
+	 * Evaluates the Multibrot function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).pow(fSpecialisedPower).add(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // -------------------------------------------------------
 // Filename      : ATrigonometricPowerFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 02/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------------------
 
@@ -30,7 +30,7 @@ import org.sm.smtools.math.complex.*;
  * The <CODE>ATrigonometricPowerFractalIterator</CODE> class provides the base class for trigonometric power fractals.
  * 
  * @author  Sven Maerivoet
- * @version 02/10/2014
+ * @version 15/11/2016
  */
 public abstract class ATrigonometricPowerFractalIterator extends APowerFractalIterator
 {
@@ -49,6 +49,17 @@ public abstract class ATrigonometricPowerFractalIterator extends APowerFractalIt
 		return 100.0;
 	}
 
+	/**
+	 * Returns <CODE>true</CODE> because the trigonometric functions in the fractal function has fast-math approximations.
+	 *
+	 * @return <CODE>true</CODE>
+	 */
+	@Override
+	public boolean supportsFastMath()
+	{
+		return true;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -1,7 +1,7 @@
 // ------------------------------------------------------------
 // Filename      : TrigonometricPowerCosineFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent.trigonometric;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>TrigonometricPowerCosineFractalIterator</CODE> class provides an implementation of the trigonometric power cosine fractals.
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 15/11/2016
  */
 public class TrigonometricPowerCosineFractalIterator extends ATrigonometricPowerFractalIterator
 {
@@ -64,4 +65,40 @@ public class TrigonometricPowerCosineFractalIterator extends ATrigonometricPower
 	{
 		return z.cos().pow(fPower).multiply(c).multiply(ComplexNumber.kI);
 	}
+
+	/**
+	 * Evaluates the trigonometric power cosine function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		result.set(zX,zY).cos(usesFastMath()).pow(fSpecialisedPower).multiply(cX,cY).multiply(0.0,1.0);
+	}
+
+	/**
+	 * Evaluates the trigonometric power cosine function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		result.setVariable(zX,zY).cos().pow(fSpecialisedPower).multiply(cX,cY).multiply(0.0,1.0);
+	}
 }
@@ -1,7 +1,7 @@
 // ---------------------------------------------------------------
 // Filename      : TrigonometricPowerCotangentFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent.trigonometric;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>TrigonometricPowerCotangentFractalIterator</CODE> class provides an implementation of the trigonometric power cotangent fractals.
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 15/11/2016
  */
 public class TrigonometricPowerCotangentFractalIterator extends ATrigonometricPowerFractalIterator
 {
@@ -80,4 +81,54 @@ public class TrigonometricPowerCotangentFractalIterator extends ATrigonometricPo
 
 		return (z.cot()).pow(fPower).multiply(c);
 	}
+
+	/**
+	 * Evaluates the trigonometric power cotangent function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		// prevent initial conditions for zero cotangens
+		if ((zX == 0.0) && (zY == 0.0)) {
+			zX = cX;
+			zY = cY;
+		}
+
+		result.set(zX,zY).cot(usesFastMath()).pow(fSpecialisedPower).multiply(cX,cY);
+	}
+
+	/**
+	 * Evaluates the trigonometric power cotangent function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		// prevent initial conditions for zero cotangens
+		if ((zX == 0.0) && (zY == 0.0)) {
+			result.set(cX,cY);
+		}
+		else {
+			result.setVariable(zX,zY);
+		}
+
+		result.cot().pow(fSpecialisedPower).multiply(cX,cY);
+	}
 }
@@ -1,7 +1,7 @@
 // ----------------------------------------------------------
 // Filename      : TrigonometricPowerSineFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 25/10/2014
+// Last modified : 15/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.divergent.trigonometric;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>TrigonometricPowerSineFractalIterator</CODE> class provides an implementation of the trigonometric power sine fractals.
  * 
  * @author  Sven Maerivoet
- * @version 25/10/2014
+ * @version 15/11/2016
  */
 public class TrigonometricPowerSineFractalIterator extends ATrigonometricPowerFractalIterator
 {
@@ -69,4 +70,54 @@ public class TrigonometricPowerSineFractalIterator extends ATrigonometricPowerFr
 
 		return z.sin().pow(fPower).multiply(c);
 	}
+
+	/**
+	 * Evaluates the trigonometric power sine function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		// prevent initial conditions for zero sine
+		if ((zX == 0.0) && (zY == 0.0)) {
+			zX = cX;
+			zY = cY;
+		}
+
+		result.set(zX,zY).sin(usesFastMath()).pow(fSpecialisedPower).multiply(cX,cY);
+	}
+
+	/**
+	 * Evaluates the trigonometric power sine function and its derivative for a specified complex point, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I> at <I>n</I>
+	 * @param zPreviousX  the real component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param zPreviousY  the imaginary component of the complex variable <I>z</I> at <I>n</I> - 1
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param result      the register that receives the function and its derivative evaluated with the given parameters
+	 * @param scratch     a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, DualComplexNumber result, DualComplexNumber scratch)
+	{
+		// prevent initial conditions for zero sine
+		if ((zX == 0.0) && (zY == 0.0)) {
+			result.set(cX,cY);
+		}
+		else {
+			result.setVariable(zX,zY);
+		}
+
+		result.sin().pow(fSpecialisedPower).multiply(cX,cY);
+	}
 }
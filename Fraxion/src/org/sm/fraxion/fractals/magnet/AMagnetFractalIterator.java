@@ -1,7 +1,7 @@
 // -------------------------------------------
 // Filename      : AMagnetFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 14/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------------------
 
@@ -37,10 +37,18 @@ import org.sm.smtools.util.*;
  * <B>Note that this is an abstract class.</B>
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 14/11/2016
  */
 public abstract class AMagnetFractalIterator extends AFractalIterator
 {
+	/**
+	 * The maximum number of c-dependent coefficients of a magnet function.
+	 */
+	protected static final int kNrOfCoefficients = 8;
+
+	// the step used for the finite difference of the derivative
+	private static final double kDerivativeDelta = 1E-7;
+
 	// internal datastructures
 	private double fRootTolerance;
 	private double fRootToleranceSquared;
@@ -110,6 +118,41 @@ public abstract class AMagnetFractalIterator extends AFractalIterator
 	 * PROTECTED METHODS *
 	 *********************/
 
+	/**
+	 * Calculates the coefficients of the magnet function that only depend on the complex parameter <I>c</I>; these are
+	 * calculated once per orbit and passed to the primitive kernel.
+	 * <P>
+	 * The default behaviour stores <I>c</I> itself, which is what the default primitive kernel expects.
+	 *
+	 * @param cX            the real component of the complex parameter <I>c</I>
+	 * @param cY            the imaginary component of the complex parameter <I>c</I>
+	 * @param coefficients  the array of length <CODE>kNrOfCoefficients</CODE> that receives the coefficients
+	 */
+	protected void calculateCoefficients(double cX, double cY, double[] coefficients)
+	{
+		coefficients[0] = cX;
+		coefficients[1] = cY;
+	}
+
+	/**
+	 * Evaluates the magnet function for a specified complex point, without creating new objects.
+	 * <P>
+	 * This primitive kernel is used by the iteration algorithm. The default behaviour falls back to the
+	 * <CODE>ComplexNumber</CODE> based function; subclasses that override this method should evaluate exactly the same
+	 * function, with the coefficients from {@link AMagnetFractalIterator#calculateCoefficients(double,double,double[])}.
+	 *
+	 * @param zX            the real component of the complex variable <I>z</I>
+	 * @param zY            the imaginary component of the complex variable <I>z</I>
+	 * @param coefficients  the c-dependent coefficients of the magnet function
+	 * @param result        the register that receives the function evaluated with the given parameters
+	 * @param scratch       a register for intermediate results (which is never the same as <CODE>result</CODE>)
+	 */
+	protected void evaluateFractalFunction(double zX, double zY, double[] coefficients, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		ComplexNumber zNext = evaluateFractalFunction(new ComplexNumber(zX,zY),new ComplexNumber(coefficients[0],coefficients[1]));
+		result.set(zNext.realComponent(),zNext.imaginaryComponent());
+	}
+
 	/**
 	 * Helper method for a general iteration with a combined escape-time and convergence algorithm.
 	 *
@@ -132,13 +175,38 @@ public abstract class AMagnetFractalIterator extends AFractalIterator
 			}
 		}
 
-		double modulusSqr = z.modulusSquared();
-		ComplexNumber zPrevious = z;
-		ComplexNumber zPreviousPrevious = zPrevious;
-		ComplexNumber zOffset = new ComplexNumber(z.realComponent() - 1.0,z.imaginaryComponent());
-
-		double[] curvatures = new double[fMaxNrOfIterations];
-		double[] stripingAngles = new double[fMaxNrOfIterations];
+		double zX = z.realComponent();
+		double zY = z.imaginaryComponent();
+		double modulusSqr = (zX * zX) + (zY * zY);
+		double zPreviousX = zX;
+		double zPreviousY = zY;
+		double zPreviousPreviousX = zPreviousX;
+		double zPreviousPreviousY = zPreviousY;
+
+		// the c-dependent coefficients and the registers for the primitive kernel
+		double[] coefficients = new double[kNrOfCoefficients];
+		calculateCoefficients(c.realComponent(),c.imaginaryComponent(),coefficients);
+		MutableComplexNumber zNext = new MutableComplexNumber();
+		MutableComplexNumber zShifted = new MutableComplexNumber();
+		MutableComplexNumber scratch = new MutableComplexNumber();
+
+		// running sums for the curvature and the striping (the sums preceding the last iteration are used for smoothing)
+		double curvatureSum = 0.0;
+		double previousCurvatureSum = 0.0;
+		double interiorStripingSum = 0.0;
+		double previousInteriorStripingSum = 0.0;
+		double exteriorStripingSum = 0.0;
+		double previousExteriorStripingSum = 0.0;
+
+		// the advanced colouring channels that are required
+		boolean calculateCurvature = calculateAdvancedColoringChannel(ColoringParameters.kCurvatureChannel);
+		boolean calculateStriping = calculateAdvancedColoringChannel(ColoringParameters.kStripingChannel);
+		boolean calculateGaussianIntegers = calculateAdvancedColoringChannel(ColoringParameters.kGaussianIntegersChannel);
+		boolean calculateExteriorDistance = calculateAdvancedColoringChannel(ColoringParameters.kExteriorDistanceChannel);
+		boolean calculateOrbitTrapDisk = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapDiskChannel);
+		boolean calculateOrbitTrapCrossStalks = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapCrossStalksChannel);
+		boolean calculateOrbitTrapSine = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapSineChannel);
+		boolean calculateOrbitTrapTangens = calculateAdvancedColoringChannel(ColoringParameters.kOrbitTrapTangensChannel);
 
 		double minimumInteriorGaussianIntegersDistance = Double.MAX_VALUE;
 		double minimumExteriorGaussianIntegersDistance = Double.MAX_VALUE;
@@ -163,33 +231,49 @@ public abstract class AMagnetFractalIterator extends AFractalIterator
 		double minExteriorOrbitTrapTangensDistance = Double.MAX_VALUE;
 
 		// initialise derivative for exterior distance estimation
-		ComplexNumber dz = new ComplexNumber();
+		double dzX = 0.0;
+		double dzY = 0.0;
 
+		// the orbit converges to the fixed point z = 1
 		while ((modulusSqr < fEscapeRadiusSqr) &&
 					(iterationResult.fNrOfIterations < fMaxNrOfIterations) &&
-					(zOffset.modulusSquared() > fRootToleranceSquared)) {
+					((((zX - 1.0) * (zX - 1.0)) + (zY * zY)) > fRootToleranceSquared)) {
+
+			// iterate fractal function
+			evaluateFractalFunction(zX,zY,coefficients,zNext,scratch);
 
 			// calculate derivative for exterior distance estimation
-			if (fCalculateAdvancedColoring) {
-				final double kDerivativeDelta = 1E-7;
-				ComplexNumber h = new ComplexNumber(kDerivativeDelta,kDerivativeDelta);
-				ComplexNumber zEval = evaluateFractalFunction(z,c);
-				dz = (evaluateFractalFunction(z.add(h),c).subtract(zEval)).divide(h);
+			if (calculateExteriorDistance) {
+				evaluateFractalFunction(zX + kDerivativeDelta,zY + kDerivativeDelta,coefficients,zShifted,scratch);
+				zShifted.subtract(zNext).divide(kDerivativeDelta,kDerivativeDelta);
+				dzX = zShifted.realComponent();
+				dzY = zShifted.imaginaryComponent();
 			}
 
-			// iterate fractal function
-			ComplexNumber zNext = evaluateFractalFunction(z,c);
-			zPreviousPrevious = zPrevious;
-			zPrevious = z;
-			z = zNext;
+			zPreviousPreviousX = zPreviousX;
+			zPreviousPreviousY = zPreviousY;
+			zPreviousX = zX;
+			zPreviousY = zY;
+			zX = zNext.realComponent();
+			zY = zNext.imaginaryComponent();
 
 			if (fCalculateAdvancedColoring) {
-				curvatures[(int) iterationResult.fNrOfIterations] = Math.abs(z.subtract(zPrevious).divide(zPrevious.subtract(zPreviousPrevious)).argument());
-				stripingAngles[(int) iterationResult.fNrOfIterations] = z.argument();
+				if (calculateCurvature) {
+					scratch.set(zX - zPreviousX,zY - zPreviousY).divide(zPreviousX - zPreviousPreviousX,zPreviousY - zPreviousPreviousY);
+					previousCurvatureSum = curvatureSum;
+					curvatureSum += Math.abs(scratch.argument());
+				}
+				if (calculateStriping) {
+					double stripingAngle = Math.atan2(zY,zX);
+					previousInteriorStripingSum = interiorStripingSum;
+					previousExteriorStripingSum = exteriorStripingSum;
+					interiorStripingSum += (0.5 * Math.sin(fInteriorStripingDensity * stripingAngle) + 0.5);
+					exteriorStripingSum += (0.5 * Math.sin(fExteriorStripingDensity * stripingAngle) + 0.5);
+				}
 			}
 
 			// calculate default results
-			modulusSqr = z.modulusSquared();
+			modulusSqr = (zX * zX) + (zY * zY);
 			++iterationResult.fNrOfIterations;
 			double modulus = Math.sqrt(modulusSqr);
 			iterationResult.fExponentialIterationCount += Math.exp(-modulus);
@@ -197,101 +281,100 @@ public abstract class AMagnetFractalIterator extends AFractalIterator
 			iterationResult.fAverageDistance = ((iterationResult.fAverageDistance * (iterationResult.fNrOfIterations - 1)) + modulus) / iterationResult.fNrOfIterations;				
 			iterationResult.fLyapunovExponent += (0.5 * Math.log(modulusSqr));
 
-			zOffset = new ComplexNumber(z.realComponent() - 1.0,z.imaginaryComponent());
-
 			if (fCalculateAdvancedColoring) {
 				// calculate Gaussian distances
-				double zX = z.realComponent();
-				double zY = z.imaginaryComponent();
-				double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
-				double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
-				if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
-					minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
+				if (calculateGaussianIntegers) {
+					double xClosestInteriorGaussian = Math.round(zX * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double yClosestInteriorGaussian = Math.round(zY * fInteriorGaussianIntegersTrapFactor) / fInteriorGaussianIntegersTrapFactor;
+					double interiorGaussianDistance = Math.sqrt(((zX - xClosestInteriorGaussian) * (zX - xClosestInteriorGaussian)) + ((zY - yClosestInteriorGaussian) * (zY - yClosestInteriorGaussian)));
+					if (interiorGaussianDistance < minimumInteriorGaussianIntegersDistance) {
+						minimumInteriorGaussianIntegersDistance = interiorGaussianDistance;
+					}
+					averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
+
+					double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
+					double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
+					if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
+						minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
+					}
+					averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 				}
-				averageInteriorGaussianIntegersDistance = ((averageInteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + interiorGaussianDistance) / iterationResult.fNrOfIterations;
-
-				double xClosestExteriorGaussian = Math.round(zX * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double yClosestExteriorGaussian = Math.round(zY * fExteriorGaussianIntegersTrapFactor) / fExteriorGaussianIntegersTrapFactor;
-				double exteriorGaussianDistance = Math.sqrt(((zX - xClosestExteriorGaussian) * (zX - xClosestExteriorGaussian)) + ((zY - yClosestExteriorGaussian) * (zY - yClosestExteriorGaussian)));
-				if (exteriorGaussianDistance < minimumExteriorGaussianIntegersDistance) {
-					minimumExteriorGaussianIntegersDistance = exteriorGaussianDistance;
-				}
-				averageExteriorGaussianIntegersDistance = ((averageExteriorGaussianIntegersDistance * (iterationResult.fNrOfIterations - 1)) + exteriorGaussianDistance) / iterationResult.fNrOfIterations;
 
 				// calculate orbit trap distances
-				double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
-				if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
-					minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
-				}
-				double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
-				if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
-					minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+				if (calculateOrbitTrapDisk) {
+					double interiorOrbitTrapDiskDistance = Math.abs(((zX - interiorOrbitTrapDiskCentreX) * (zX - interiorOrbitTrapDiskCentreX)) + ((zY - interiorOrbitTrapDiskCentreY) * (zY - interiorOrbitTrapDiskCentreY)) - Math.sqrt(fInteriorOrbitTrapDiskRadius));
+					if (interiorOrbitTrapDiskDistance < minInteriorOrbitTrapDiskDistance) {
+						minInteriorOrbitTrapDiskDistance = interiorOrbitTrapDiskDistance;
+					}
+					double exteriorOrbitTrapDiskDistance = Math.abs(((zX - exteriorOrbitTrapDiskCentreX) * (zX - exteriorOrbitTrapDiskCentreX)) + ((zY - exteriorOrbitTrapDiskCentreY) * (zY - exteriorOrbitTrapDiskCentreY)) - Math.sqrt(fExteriorOrbitTrapDiskRadius));
+					if (exteriorOrbitTrapDiskDistance < minExteriorOrbitTrapDiskDistance) {
+						minExteriorOrbitTrapDiskDistance = exteriorOrbitTrapDiskDistance;
+					}
 				}
 
-				double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
-				if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
-					minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
-				}
-				double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
-				if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
-					minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+				if (calculateOrbitTrapCrossStalks) {
+					double interiorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - interiorOrbitTrapCrossStalksCentreX),Math.abs(zY - interiorOrbitTrapCrossStalksCentreY));
+					if (interiorOrbitTrapCrossStalksDistance < minInteriorOrbitTrapCrossStalksDistance) {
+						minInteriorOrbitTrapCrossStalksDistance = interiorOrbitTrapCrossStalksDistance;
+					}
+					double exteriorOrbitTrapCrossStalksDistance = Math.min(Math.abs(zX - exteriorOrbitTrapCrossStalksCentreX),Math.abs(zY - exteriorOrbitTrapCrossStalksCentreY));
+					if (exteriorOrbitTrapCrossStalksDistance < minExteriorOrbitTrapCrossStalksDistance) {
+						minExteriorOrbitTrapCrossStalksDistance = exteriorOrbitTrapCrossStalksDistance;
+					}
 				}
 
-				double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
-				if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
-					minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
-				}
-				double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
-				if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
-					minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+				if (calculateOrbitTrapSine) {
+					double interiorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fInteriorOrbitTrapSineMultiplicativeFactor) + fInteriorOrbitTrapSineAdditiveFactor)));
+					if (interiorOrbitTrapSineDistance < minInteriorOrbitTrapSineDistance) {
+						minInteriorOrbitTrapSineDistance = interiorOrbitTrapSineDistance;
+					}
+					double exteriorOrbitTrapSineDistance = Math.min(Math.abs(zX - Math.sin((zY * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)),Math.abs(zY - Math.sin((zX * fExteriorOrbitTrapSineMultiplicativeFactor) + fExteriorOrbitTrapSineAdditiveFactor)));
+					if (exteriorOrbitTrapSineDistance < minExteriorOrbitTrapSineDistance) {
+						minExteriorOrbitTrapSineDistance = exteriorOrbitTrapSineDistance;
+					}
 				}
 
-				double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
-				if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
-					minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
-				}
-				double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
-				if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
-					minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+				if (calculateOrbitTrapTangens) {
+					double interiorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fInteriorOrbitTrapTangensMultiplicativeFactor) + fInteriorOrbitTrapTangensAdditiveFactor)));
+					if (interiorOrbitTrapTangensDistance < minInteriorOrbitTrapTangensDistance) {
+						minInteriorOrbitTrapTangensDistance = interiorOrbitTrapTangensDistance;
+					}
+					double exteriorOrbitTrapTangensDistance = Math.min(Math.abs(zX - Math.tan((zY * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)),Math.abs(zY - Math.tan((zX * fExteriorOrbitTrapTangensMultiplicativeFactor) + fExteriorOrbitTrapTangensAdditiveFactor)));
+					if (exteriorOrbitTrapTangensDistance < minExteriorOrbitTrapTangensDistance) {
+						minExteriorOrbitTrapTangensDistance = exteriorOrbitTrapTangensDistance;
+					}
 				}
 			} // if (fCalculateAdvancedColoring)
 
 			if (saveOrbit) {
 				int iterationArrayPos = (int) iterationResult.fNrOfIterations - 1;
-				iterationResult.fComplexOrbit[iterationArrayPos] = z;
-				iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(z);
+				ComplexNumber zOrbit = new ComplexNumber(zX,zY);
+				iterationResult.fComplexOrbit[iterationArrayPos] = zOrbit;
+				iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(zOrbit);
 			}
 		} // while ()
 
 		// determine the final values and angle
-		iterationResult.fRealComponent = z.realComponent();
-		iterationResult.fImaginaryComponent = z.imaginaryComponent();
-		iterationResult.fAngle = z.argument();
+		iterationResult.fRealComponent = zX;
+		iterationResult.fImaginaryComponent = zY;
+		iterationResult.fAngle = Math.atan2(zY,zX);
 		iterationResult.fLyapunovExponent /= iterationResult.fNrOfIterations;
 
 		// estimate curvature, striping, Gaussian distance, exterior distance, and orbit trap distances
 		double prevCurvature = 0.0;
 		double prevStriping = 0.0;
 		if (fCalculateAdvancedColoring) {
-			iterationResult.fCurvature = 0.0;
-			iterationResult.fStriping = 0.0;
-			for (int i = 0; i < iterationResult.fNrOfIterations; ++i) {
-				iterationResult.fCurvature += curvatures[i];
-				double striping = 0.0;
-				if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
-					striping = (0.5 * Math.sin(fInteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				else {
-					striping = (0.5 * Math.sin(fExteriorStripingDensity * stripingAngles[i]) + 0.5);
-					iterationResult.fStriping += striping;
-				}
-				if (i < (iterationResult.fNrOfIterations - 1)) {
-					prevCurvature += curvatures[i];
-					prevStriping += striping;
-				}
-			} // for (int i = 0; i < iterationResult.fNrOfIterations; ++i)
+			iterationResult.fCurvature = curvatureSum;
+			prevCurvature = previousCurvatureSum;
+			if (iterationResult.fNrOfIterations == fMaxNrOfIterations) {
+				iterationResult.fStriping = interiorStripingSum;
+				prevStriping = previousInteriorStripingSum;
+			}
+			else {
+				iterationResult.fStriping = exteriorStripingSum;
+				prevStriping = previousExteriorStripingSum;
+			}
 
 			if (iterationResult.fNrOfIterations > 0) {
 				iterationResult.fCurvature /= iterationResult.fNrOfIterations;
@@ -313,7 +396,7 @@ public abstract class AMagnetFractalIterator extends AFractalIterator
 			}
 
 			// calculate final estimated exterior distances
-			double dzModulusSqr = dz.modulusSquared();
+			double dzModulusSqr = (dzX * dzX) + (dzY * dzY);
 			if ((dzModulusSqr != 0.0) && (modulusSqr > 0.0)) {
 				iterationResult.fExteriorDistance = Math.sqrt(modulusSqr / dzModulusSqr) * 0.5 * (Math.log(modulusSqr) / Math.log(2.0));
 			}
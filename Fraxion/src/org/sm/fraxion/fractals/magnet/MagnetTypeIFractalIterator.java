@@ -1,7 +1,7 @@
 // -----------------------------------------------
 // Filename      : MagnetTypeIFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 28/10/2014
+// Last modified : 12/11/2016
 // Target        : Java VM (1.8)
 // -----------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.magnet;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MagnetTypeIFractalIterator</CODE> class provides an implementation of the Magnet type I fractals.
  * 
  * @author  Sven Maerivoet
- * @version 28/10/2014
+ * @version 12/11/2016
  */
 public class MagnetTypeIFractalIterator extends AMagnetFractalIterator
 {
@@ -88,4 +89,46 @@ public class MagnetTypeIFractalIterator extends AMagnetFractalIterator
 			(z.sqr().add(c.subtract(ComplexNumber.kOne)).divide(
 				z.multiply(ComplexNumber.kTwo).add(c.subtract(ComplexNumber.kTwo)))).sqr();
 	}
+
+	/**
+	 * Calculates the coefficients <I>c</I> - 1 and <I>c</I> - 2 of the Magnet type I function.
+	 *
+	 * @param cX            the real component of the complex parameter <I>c</I>
+	 * @param cY            the imaginary component of the complex parameter <I>c</I>
+	 * @param coefficients  the array that receives the coefficients
+	 */
+	@Override
+	protected void calculateCoefficients(double cX, double cY, double[] coefficients)
+	{
+		// c - 1
+		coefficients[0] = cX - 1.0;
+		coefficients[1] = cY;
+
+		// c - 2
+		coefficients[2] = cX - 2.0;
+		coefficients[3] = cY;
+	}
+
+	/**
+	 * Evaluates the Magnet type I function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX            the real component of the complex variable <I>z</I>
+	 * @param zY            the imaginary component of the complex variable <I>z</I>
+	 * @param coefficients  the c-dependent coefficients of the magnet function
+	 * @param result        the register that receives the function evaluated with the given parameters
+	 * @param scratch       a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double[] coefficients, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		// z^2 + (c - 1)
+		double numeratorX = ((zX * zX) - (zY * zY)) + coefficients[0];
+		double numeratorY = (2.0 * zX * zY) + coefficients[1];
+
+		// 2z + (c - 2)
+		double denominatorX = (2.0 * zX) + coefficients[2];
+		double denominatorY = (2.0 * zY) + coefficients[3];
+
+		result.set(numeratorX,numeratorY).divide(denominatorX,denominatorY).sqr();
+	}
 }
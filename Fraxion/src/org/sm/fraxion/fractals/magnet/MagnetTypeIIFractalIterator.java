@@ -1,7 +1,7 @@
 // ------------------------------------------------
 // Filename      : MagnetTypeIIFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 28/10/2014
+// Last modified : 12/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------------------
 
@@ -23,13 +23,14 @@
 
 package org.sm.fraxion.fractals.magnet;
 
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.math.complex.*;
 
 /**
  * The <CODE>MagnetTypeIIFractalIterator</CODE> class provides an implementation of the Magnet type II fractals.
  * 
  * @author  Sven Maerivoet
- * @version 28/10/2014
+ * @version 12/11/2016
  */
 public class MagnetTypeIIFractalIterator extends AMagnetFractalIterator
 {
@@ -91,4 +92,66 @@ public class MagnetTypeIIFractalIterator extends AMagnetFractalIterator
 				z.sqr().multiply(ComplexNumber.kThree).add(ComplexNumber.kThree.multiply(c.subtract(ComplexNumber.kTwo)).multiply(z)).
 				add((c.subtract(ComplexNumber.kOne)).multiply(c.subtract(ComplexNumber.kTwo))).add(ComplexNumber.kOne)).sqr();
 	}
+
+	/**
+	 * Calculates the coefficients 3(<I>c</I> - 1), (<I>c</I> - 1)(<I>c</I> - 2), 3(<I>c</I> - 2), and (<I>c</I> - 1)(<I>c</I> - 2) + 1 of the Magnet type II function.
+	 *
+	 * @param cX            the real component of the complex parameter <I>c</I>
+	 * @param cY            the imaginary component of the complex parameter <I>c</I>
+	 * @param coefficients  the array that receives the coefficients
+	 */
+	@Override
+	protected void calculateCoefficients(double cX, double cY, double[] coefficients)
+	{
+		double aX = cX - 1.0;
+		double aY = cY;
+		double bX = cX - 2.0;
+		double bY = cY;
+		double abX = (aX * bX) - (aY * bY);
+		double abY = (aX * bY) + (aY * bX);
+
+		// 3(c - 1)
+		coefficients[0] = 3.0 * aX;
+		coefficients[1] = 3.0 * aY;
+
+		// (c - 1)(c - 2)
+		coefficients[2] = abX;
+		coefficients[3] = abY;
+
+		// 3(c - 2)
+		coefficients[4] = 3.0 * bX;
+		coefficients[5] = 3.0 * bY;
+
+		// (c - 1)(c - 2) + 1
+		coefficients[6] = abX + 1.0;
+		coefficients[7] = abY;
+	}
+
+	/**
+	 * Evaluates the Magnet type II function for a specified complex point, without creating new objects.
+	 *
+	 * @param zX            the real component of the complex variable <I>z</I>
+	 * @param zY            the imaginary component of the complex variable <I>z</I>
+	 * @param coefficients  the c-dependent coefficients of the magnet function
+	 * @param result        the register that receives the function evaluated with the given parameters
+	 * @param scratch       a register for intermediate results
+	 */
+	@Override
+	protected void evaluateFractalFunction(double zX, double zY, double[] coefficients, MutableComplexNumber result, MutableComplexNumber scratch)
+	{
+		double zSqrX = (zX * zX) - (zY * zY);
+		double zSqrY = 2.0 * zX * zY;
+		double zCubeX = (zSqrX * zX) - (zSqrY * zY);
+		double zCubeY = (zSqrX * zY) + (zSqrY * zX);
+
+		// z^3 + 3(c - 1)z + (c - 1)(c - 2)
+		double numeratorX = zCubeX + ((coefficients[0] * zX) - (coefficients[1] * zY)) + coefficients[2];
+		double numeratorY = zCubeY + ((coefficients[0] * zY) + (coefficients[1] * zX)) + coefficients[3];
+
+		// 3z^2 + 3(c - 2)z + (c - 1)(c - 2) + 1
+		double denominatorX = (3.0 * zSqrX) + ((coefficients[4] * zX) - (coefficients[5] * zY)) + coefficients[6];
+		double denominatorY = (3.0 * zSqrY) + ((coefficients[4] * zY) + (coefficients[5] * zX)) + coefficients[7];
+
+		result.set(numeratorX,numeratorY).divide(denominatorX,denominatorY).sqr();
+	}
 }
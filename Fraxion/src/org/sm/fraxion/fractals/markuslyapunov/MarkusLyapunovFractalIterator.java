@@ -1,7 +1,7 @@
 // --------------------------------------------------
 // Filename      : MarkusLyapunovFractalIterator.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // --------------------------------------------------
 
@@ -35,7 +35,7 @@ import org.sm.smtools.util.*;
  * The <CODE>MarkusLyapunovFractalIterator</CODE> class provides a base class for Markus-Lyapunov fractals.
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 22/11/2016
  */
 public class MarkusLyapunovFractalIterator extends AFractalIterator
 {
@@ -43,6 +43,13 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 	private static final double kWarmUpFraction = 0.25;
 	private static final double kX0 = 0.5;
 	private static final double kLog2 = Math.log(2.0);
+
+	// the running product of the derivatives is only logged every so many iterations (or earlier, before it underflows)
+	private static final int kLogInterval = 16;
+	private static final double kMinRunningProduct = 1E-250;
+
+	// with an adaptive warm-up, the warm-up stops as soon as the orbit returns this close to a point it visited at the same phase of the sequence
+	private static final double kSettledTolerance = 1E-12;
 	private static final double kMinX = 0.0;
 	private static final double kMaxX = 4.0;
 	private static final double kMinY = 0.0;
@@ -50,8 +57,8 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 
 	// internal datastructures
 	private String fRootSequence;
-	private ArrayList<Integer> fRootSequenceIDs;
-	private int fRootSequenceLength;
+	private int[] fRootSequencePattern;
+	private boolean fAdaptiveWarmUpEnabled;
 
 	/****************
 	 * CONSTRUCTORS *
@@ -63,6 +70,7 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 	public MarkusLyapunovFractalIterator()
 	{
 		setRootSequence("AB");
+		setAdaptiveWarmUpEnabled(false);
 	}
 
 	/******************
@@ -134,18 +142,20 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 	public final void setRootSequence(String rootSequence)
 	{
 		fRootSequence = rootSequence.trim();
-		fRootSequenceIDs = new ArrayList<Integer>();
 
+		// convert the sequence into a pattern of 0's (for A) and 1's (for B)
+		int[] pattern = new int[fRootSequence.length()];
+		int patternLength = 0;
 		for (int i = 0; i < fRootSequence.length(); ++i) {
 			String character = fRootSequence.substring(i,i + 1);
 			if (character.equalsIgnoreCase("A")) {
-				fRootSequenceIDs.add(0);
+				pattern[patternLength++] = 0;
 			}
 			else if (character.equalsIgnoreCase("B")) {
-				fRootSequenceIDs.add(1);
+				pattern[patternLength++] = 1;
 			}
 		}
-		fRootSequenceLength = fRootSequenceIDs.size();
+		fRootSequencePattern = Arrays.copyOf(pattern,patternLength);
 	}
 
 	/**
@@ -158,6 +168,30 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 		return fRootSequence;
 	}
 
+	/**
+	 * Sets whether or not the warm-up of an orbit stops as soon as the orbit has settled on its attractor (instead of
+	 * always taking the full number of warm-up iterations).
+	 * <P>
+	 * An adaptive warm-up is considerably faster, but slightly changes the estimated Lyapunov exponents; near zero
+	 * exponents, their sign can flip.
+	 *
+	 * @param adaptiveWarmUpEnabled  a <CODE>boolean</CODE> indicating whether or not the warm-up should be adaptive
+	 */
+	public final void setAdaptiveWarmUpEnabled(boolean adaptiveWarmUpEnabled)
+	{
+		fAdaptiveWarmUpEnabled = adaptiveWarmUpEnabled;
+	}
+
+	/**
+	 * Returns whether or not the warm-up of an orbit stops as soon as the orbit has settled on its attractor.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the warm-up is adaptive
+	 */
+	public final boolean getAdaptiveWarmUpEnabled()
+	{
+		return fAdaptiveWarmUpEnabled;
+	}
+
 	/*********************
 	 * PROTECTED METHODS *
 	 *********************/
@@ -183,65 +217,55 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 	@Override
 	protected final IterationResult iterate(ComplexNumber z, ComplexNumber c, boolean saveOrbit)
 	{
-		double a = c.realComponent();
-		double b = c.imaginaryComponent();
+		double[] a = {c.realComponent()};
+		double[] b = {c.imaginaryComponent()};
 
 		// limit the valid parameter range in the complex plane
-		if ((a < kMinX) || (a > kMaxX) || (b < kMinY) || (b > kMaxY)) {
+		if ((a[0] < kMinX) || (a[0] > kMaxX) || (b[0] < kMinY) || (b[0] > kMaxY)) {
 			return null;
 		}
 
-		IterationResult iterationResult = new IterationResult();
-
-		if (saveOrbit) {
-			iterationResult.fComplexOrbit = new ComplexNumber[fMaxNrOfIterations];
-			iterationResult.fScreenOrbit = new ScreenLocation[fMaxNrOfIterations];
-			for (int iteration = 0; iteration < fMaxNrOfIterations; ++iteration) {
-				iterationResult.fComplexOrbit[iteration] = new ComplexNumber();
-				iterationResult.fScreenOrbit[iteration] = new ScreenLocation();
-			}
-		}
-
-		// use a fixed number of iterations
-		double x = kX0;
-		int nrOfWarmUpIterations = (int) Math.round((double) fMaxNrOfIterations / kWarmUpFraction);
-		for (int iteration = 0; iteration < (nrOfWarmUpIterations + fMaxNrOfIterations); ++iteration) {
-
-			// determine sequence
-			double r = a;
-			if (fRootSequenceIDs.get(iteration % fRootSequenceLength) == 1) {
-				r = b;
-			}
-
-			// iterate the logistic function
-			x = r * x * (1.0 - x);
-
-			// calculate the Lyapunov exponent after initialisation of the sequence
-			if (iteration >= nrOfWarmUpIterations) {
-				iterationResult.fLyapunovExponent += Math.log(Math.abs(r * (1 - (2.0 * x)))) / kLog2;
+		IterationResult[] results = new IterationResult[1];
+		estimateLyapunovExponents(a,b,1,results,saveOrbit);
+		return results[0];
+	}
 
-				if (saveOrbit) {
-					int iterationArrayPos = iteration - nrOfWarmUpIterations;
-					// make the Y-axis show the orbits
-					iterationResult.fComplexOrbit[iterationArrayPos] = new ComplexNumber(0.0,x);
-					iterationResult.fScreenOrbit[iterationArrayPos] = convertComplexNumberToScreenLocation(iterationResult.fComplexOrbit[iterationArrayPos]);
-				}
+	/**
+	 * Helper method for iterating a batch of independent orbits (without saving them).
+	 * <P>
+	 * As all points share the same root sequence, the orbits are iterated in lock-step.
+	 *
+	 * @param z        the complex variables <I>z</I>
+	 * @param c        the complex parameters <I>c</I>
+	 * @param length   the number of orbits in the batch
+	 * @param results  the array that receives the iteration results
+	 * @param offset   the position in the array of the first iteration result
+	 */
+	@Override
+	protected final void iterate(ComplexNumber[] z, ComplexNumber[] c, int length, IterationResult[] results, int offset)
+	{
+		// gather the points that lie in the valid parameter range in the complex plane
+		double[] a = new double[length];
+		double[] b = new double[length];
+		int[] positions = new int[length];
+		int nrOfPoints = 0;
+		for (int i = 0; i < length; ++i) {
+			results[offset + i] = null;
+			double cX = c[i].realComponent();
+			double cY = c[i].imaginaryComponent();
+			if ((cX >= kMinX) && (cX <= kMaxX) && (cY >= kMinY) && (cY <= kMaxY)) {
+				a[nrOfPoints] = cX;
+				b[nrOfPoints] = cY;
+				positions[nrOfPoints] = offset + i;
+				++nrOfPoints;
 			}
 		}
 
-		iterationResult.fLyapunovExponent /= (double) fMaxNrOfIterations;
-
-		// mark chaotic points
-		if (iterationResult.fLyapunovExponent > 0) {
-			iterationResult.fNrOfIterations = IterationResult.kInfinity;
-			iterationResult.fNormalisedIterationCount = IterationResult.kInfinity;
-		}
-		else {
-			iterationResult.fNrOfIterations = fMaxNrOfIterations;
-			iterationResult.fNormalisedIterationCount = fMaxNrOfIterations;
+		IterationResult[] pointResults = new IterationResult[nrOfPoints];
+		estimateLyapunovExponents(a,b,nrOfPoints,pointResults,false);
+		for (int i = 0; i < nrOfPoints; ++i) {
+			results[positions[i]] = pointResults[i];
 		}
-
-		return iterationResult;
 	}
 
 	/**
@@ -304,4 +328,143 @@ public class MarkusLyapunovFractalIterator extends AFractalIterator
 	{
 		dataOutputStream.writeUTF(fRootSequence);
 	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Estimates the Lyapunov exponents of a number of points in lock-step.
+	 * <P>
+	 * Each orbit is first warmed up, i.e., iterated until it has settled on its attractor. With an adaptive warm-up, the
+	 * warm-up of an orbit stops as soon as it returns close to a point it visited before (at the same phase of the root
+	 * sequence); otherwise, or if it never does so, it takes the full number of warm-up iterations. Afterwards, the derivatives along the orbits are multiplied in a running
+	 * product, which is only logged every few iterations.
+	 *
+	 * @param a          the A-parameters of the points
+	 * @param b          the B-parameters of the points
+	 * @param length     the number of points
+	 * @param results    the array that receives the iteration results
+	 * @param saveOrbit  a <CODE>boolean</CODE> indicating whether or not the orbit should be saved (only for a single point)
+	 */
+	private void estimateLyapunovExponents(double[] a, double[] b, int length, IterationResult[] results, boolean saveOrbit)
+	{
+		int[] pattern = fRootSequencePattern;
+		int patternLength = pattern.length;
+
+		double[] x = new double[length];
+		double[] settledX = new double[length];
+		boolean[] warmingUp = new boolean[length];
+		int[] settledCounter = new int[length];
+		int[] settledWindow = new int[length];
+		for (int i = 0; i < length; ++i) {
+			x[i] = kX0;
+			settledX[i] = Double.NaN;
+			warmingUp[i] = true;
+			settledWindow[i] = 1;
+		}
+
+		// the warm-up of an orbit only stops at the phase of the root sequence at which the full warm-up would end, so
+		// that all orbits continue in lock-step afterwards
+		int nrOfWarmUpIterations = (int) Math.round((double) fMaxNrOfIterations / kWarmUpFraction);
+		int warmUpPhase = nrOfWarmUpIterations % patternLength;
+		int nrOfWarmingUpOrbits = length;
+		long nrOfSavedIterations = 0;
+		int sequenceIndex = 0;
+		for (int iteration = 0; (iteration < nrOfWarmUpIterations) && (nrOfWarmingUpOrbits > 0); ++iteration) {
+			double[] r = (pattern[sequenceIndex] == 0) ? a : b;
+			for (int i = 0; i < length; ++i) {
+				if (warmingUp[i]) {
+					x[i] = r[i] * x[i] * (1.0 - x[i]);
+				}
+			}
+
+			++sequenceIndex;
+			if (sequenceIndex == patternLength) {
+				sequenceIndex = 0;
+			}
+
+			if (fAdaptiveWarmUpEnabled && (sequenceIndex == warmUpPhase)) {
+				// check whether or not the orbits have settled
+				for (int i = 0; i < length; ++i) {
+					if (warmingUp[i]) {
+						if (Math.abs(x[i] - settledX[i]) < kSettledTolerance) {
+							warmingUp[i] = false;
+							--nrOfWarmingUpOrbits;
+							nrOfSavedIterations += (nrOfWarmUpIterations - iteration - 1);
+						}
+						else {
+							// refresh the saved point and double the window
+							++settledCounter[i];
+							if (settledCounter[i] == settledWindow[i]) {
+								settledX[i] = x[i];
+								settledCounter[i] = 0;
+								settledWindow[i] *= 2;
+							}
+						}
+					}
+				}
+			}
+		}
+		registerSavedIterations(nrOfSavedIterations);
+
+		double[] runningProduct = new double[length];
+		double[] logSum = new double[length];
+		for (int i = 0; i < length; ++i) {
+			runningProduct[i] = 1.0;
+			results[i] = new IterationResult();
+		}
+
+		if (saveOrbit) {
+			results[0].fComplexOrbit = new ComplexNumber[fMaxNrOfIterations];
+			results[0].fScreenOrbit = new ScreenLocation[fMaxNrOfIterations];
+		}
+
+		for (int iteration = 0; iteration < fMaxNrOfIterations; ++iteration) {
+			double[] r = (pattern[sequenceIndex] == 0) ? a : b;
+			++sequenceIndex;
+			if (sequenceIndex == patternLength) {
+				sequenceIndex = 0;
+			}
+
+			for (int i = 0; i < length; ++i) {
+				// iterate the logistic function and accumulate its derivative
+				double xNext = r[i] * x[i] * (1.0 - x[i]);
+				x[i] = xNext;
+				runningProduct[i] *= Math.abs(r[i] * (1.0 - (2.0 * xNext)));
+				if (runningProduct[i] < kMinRunningProduct) {
+					logSum[i] += Math.log(runningProduct[i]);
+					runningProduct[i] = 1.0;
+				}
+			}
+
+			if ((iteration % kLogInterval) == (kLogInterval - 1)) {
+				for (int i = 0; i < length; ++i) {
+					logSum[i] += Math.log(runningProduct[i]);
+					runningProduct[i] = 1.0;
+				}
+			}
+
+			if (saveOrbit) {
+				// make the Y-axis show the orbits
+				results[0].fComplexOrbit[iteration] = new ComplexNumber(0.0,x[0]);
+				results[0].fScreenOrbit[iteration] = convertComplexNumberToScreenLocation(results[0].fComplexOrbit[iteration]);
+			}
+		}
+
+		for (int i = 0; i < length; ++i) {
+			IterationResult iterationResult = results[i];
+			iterationResult.fLyapunovExponent = (logSum[i] + Math.log(runningProduct[i])) / (kLog2 * (double) fMaxNrOfIterations);
+
+			// mark chaotic points
+			if (iterationResult.fLyapunovExponent > 0) {
+				iterationResult.fNrOfIterations = IterationResult.kInfinity;
+				iterationResult.fNormalisedIterationCount = IterationResult.kInfinity;
+			}
+			else {
+				iterationResult.fNrOfIterations = fMaxNrOfIterations;
+				iterationResult.fNormalisedIterationCount = fMaxNrOfIterations;
+			}
+		}
+	}
 }
@@ -1,7 +1,7 @@
 // ---------------------------------------
 // Filename      : ColoringParameters.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------------
 
@@ -36,7 +36,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this class cannot be subclassed!</B>
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 22/11/2016
  */
 public final class ColoringParameters
 {
@@ -77,6 +77,51 @@ public final class ColoringParameters
 	 */
 	public static enum EColorMapUsage {kFull, kLimitedContinuous, kLimitedDiscrete};
 
+	/**
+	 * The advanced colouring channel of the curvature.
+	 */
+	public static final int kCurvatureChannel = 1;
+
+	/**
+	 * The advanced colouring channel of the striping.
+	 */
+	public static final int kStripingChannel = 2;
+
+	/**
+	 * The advanced colouring channel of the minimum and average Gaussian integers distances.
+	 */
+	public static final int kGaussianIntegersChannel = 4;
+
+	/**
+	 * The advanced colouring channel of the exterior distance.
+	 */
+	public static final int kExteriorDistanceChannel = 8;
+
+	/**
+	 * The advanced colouring channel of the disk orbit trap.
+	 */
+	public static final int kOrbitTrapDiskChannel = 16;
+
+	/**
+	 * The advanced colouring channel of the cross stalks orbit trap.
+	 */
+	public static final int kOrbitTrapCrossStalksChannel = 32;
+
+	/**
+	 * The advanced colouring channel of the sine orbit trap.
+	 */
+	public static final int kOrbitTrapSineChannel = 64;
+
+	/**
+	 * The advanced colouring channel of the tangens orbit trap.
+	 */
+	public static final int kOrbitTrapTangensChannel = 128;
+
+	/**
+	 * All advanced colouring channels.
+	 */
+	public static final int kAllChannels = 255;
+
 	// public datastructures
 	public JGradientColorMap fInteriorGradientColorMap;
 	public JGradientColorMap fExteriorGradientColorMap;
@@ -115,6 +160,158 @@ public final class ColoringParameters
 	/******************
 	 * PUBLIC METHODS *
 	 ******************/
+
+	/**
+	 * Returns the advanced colouring channels that are required by a colouring method.
+	 *
+	 * @param coloringMethod  the colouring method
+	 * @return                a mask of the required advanced colouring channels (0 if none are required)
+	 */
+	public static int getRequiredChannels(EColoringMethod coloringMethod)
+	{
+		if (coloringMethod == EColoringMethod.kCurvature) {
+			return kCurvatureChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kStriping) {
+			return kStripingChannel;
+		}
+		else if ((coloringMethod == EColoringMethod.kMinimumGaussianIntegersDistance) ||
+							(coloringMethod == EColoringMethod.kAverageGaussianIntegersDistance)) {
+			return kGaussianIntegersChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kExteriorDistance) {
+			return kExteriorDistanceChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapDisk) {
+			return kOrbitTrapDiskChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapCrossStalks) {
+			return kOrbitTrapCrossStalksChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapSine) {
+			return kOrbitTrapSineChannel;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapTangens) {
+			return kOrbitTrapTangensChannel;
+		}
+		else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the advanced colouring channels that are required by the current interior and exterior colouring methods.
+	 *
+	 * @return a mask of the required advanced colouring channels (0 if none are required)
+	 */
+	public int getRequiredChannels()
+	{
+		return (getRequiredChannels(fInteriorColoringMethod) | getRequiredChannels(fExteriorColoringMethod));
+	}
+
+	/**
+	 * Returns the columns of an iteration buffer that are read by a colouring method (the number of iterations is always
+	 * stored).
+	 *
+	 * @param coloringMethod  the colouring method
+	 * @return                a mask of the required <CODE>IterationBuffer</CODE> columns (0 if none are required)
+	 */
+	public static int getRequiredColumns(EColoringMethod coloringMethod)
+	{
+		if (coloringMethod == EColoringMethod.kSmoothNICLevelSets) {
+			return IterationBuffer.kNormalisedIterationCountColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kSmoothEICLevelSets) {
+			return IterationBuffer.kExponentialIterationCountColumn;
+		}
+		else if ((coloringMethod == EColoringMethod.kSectorDecomposition) ||
+							(coloringMethod == EColoringMethod.kAngle)) {
+			return IterationBuffer.kAngleColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kRealComponent) {
+			return IterationBuffer.kRealComponentColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kImaginaryComponent) {
+			return IterationBuffer.kImaginaryComponentColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kModulus) {
+			return IterationBuffer.kModulusColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kAverageDistance) {
+			return IterationBuffer.kAverageDistanceColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kLyapunovExponent) {
+			return IterationBuffer.kLyapunovExponentColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kCurvature) {
+			return IterationBuffer.kCurvatureColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kStriping) {
+			return IterationBuffer.kStripingColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kMinimumGaussianIntegersDistance) {
+			return IterationBuffer.kMinimumGaussianIntegersDistanceColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kAverageGaussianIntegersDistance) {
+			return IterationBuffer.kAverageGaussianIntegersDistanceColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kExteriorDistance) {
+			return IterationBuffer.kExteriorDistanceColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapDisk) {
+			return IterationBuffer.kOrbitTrapDiskColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapCrossStalks) {
+			return IterationBuffer.kOrbitTrapCrossStalksColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapSine) {
+			return IterationBuffer.kOrbitTrapSineColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kOrbitTrapTangens) {
+			return IterationBuffer.kOrbitTrapTangensColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kDiscreteRoots) {
+			return IterationBuffer.kRootIndexColumn;
+		}
+		else if (coloringMethod == EColoringMethod.kSmoothRoots) {
+			return (IterationBuffer.kRootIndexColumn | IterationBuffer.kExponentialIterationCountColumn);
+		}
+		else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the columns of an iteration buffer that are read by the current interior and exterior colouring methods.
+	 *
+	 * @return a mask of the required <CODE>IterationBuffer</CODE> columns (0 if none are required)
+	 */
+	public int getRequiredColumns()
+	{
+		return (getRequiredColumns(fInteriorColoringMethod) | getRequiredColumns(fExteriorColoringMethod));
+	}
+
+	/**
+	 * Returns whether or not the current interior colouring method needs more than the number of iterations of the
+	 * interior points (so that points that are known to lie in the interior can't be skipped).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the orbits of interior points are required
+	 */
+	public boolean requiresInteriorOrbits()
+	{
+		return ((getRequiredColumns(fInteriorColoringMethod) & ~IterationBuffer.kNormalisedIterationCountColumn) != 0);
+	}
+
+	/**
+	 * Returns whether or not the current interior and exterior colouring methods only need the integral results of the
+	 * points, i.e., their number of iterations and their root (so that the inside of a uniform rectangle can be guessed).
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not only the integral results are required
+	 */
+	public boolean requiresOnlyIntegralResults()
+	{
+		return ((getRequiredColumns() & ~IterationBuffer.kRootIndexColumn) == 0);
+	}
 	
 	/**
 	 * Loads the fractal colouring information from a plain-text file.
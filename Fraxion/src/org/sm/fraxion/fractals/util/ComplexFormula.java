@@ -0,0 +1,805 @@
+// ------------------------------------
+// Filename      : ComplexFormula.java
+// Author        : Sven Maerivoet
+// Last modified : 16/11/2016
+// Target        : Java VM (1.8)
+// ------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import java.util.*;
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>ComplexFormula</CODE> class provides a user-specified complex formula that is compiled into a primitive
+ * kernel at runtime.
+ * <P>
+ * The expression is written in the variables <I>z</I>, <I>zPrevious</I>, <I>c</I>, and <I>power</I>, the imaginary
+ * unit <I>i</I>, real numbers, the operators <CODE>+ - * / ^</CODE> (with the usual precedences, and <CODE>^</CODE>
+ * being right-associative), parentheses, and the functions <CODE>conj</CODE>, <CODE>cabs</CODE>, <CODE>inv</CODE>,
+ * <CODE>sqr</CODE>, <CODE>cube</CODE>, <CODE>sqrt</CODE>, <CODE>ln</CODE>, <CODE>exp</CODE>, <CODE>sin</CODE>,
+ * <CODE>cos</CODE>, <CODE>tan</CODE>, <CODE>cot</CODE>, <CODE>sec</CODE>, and <CODE>sinh</CODE>. Names are
+ * case-insensitive; for example, <CODE>z^power + c</CODE> yields the Multibrot fractals.
+ * <P>
+ * The parsed expression is simplified by folding its constant subexpressions, after which it is compiled into a
+ * straight-line program of register instructions. Evaluating the formula then amounts to running through this program
+ * on preallocated <CODE>MutableComplexNumber</CODE> (or <CODE>DualComplexNumber</CODE>) registers, without creating
+ * any objects. Raising to <I>power</I> uses the specialised power of the fractal, and raising to a constant uses a
+ * specialised power that is prepared at compile time.
+ * <P>
+ * A compiled formula is immutable, so it can be shared among threads, provided that each thread uses its own registers.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 16/11/2016
+ */
+public final class ComplexFormula
+{
+	// the opcodes of the instructions
+	private static final int kConstant = 0;
+	private static final int kZ = 1;
+	private static final int kPreviousZ = 2;
+	private static final int kC = 3;
+	private static final int kPower = 4;
+	private static final int kAdd = 5;
+	private static final int kSubtract = 6;
+	private static final int kMultiply = 7;
+	private static final int kDivide = 8;
+	private static final int kRaiseToPower = 9;
+	private static final int kRaiseToConstant = 10;
+	private static final int kRaise = 11;
+	private static final int kNegate = 12;
+	private static final int kConjugate = 13;
+	private static final int kCabs = 14;
+	private static final int kInverse = 15;
+	private static final int kSqr = 16;
+	private static final int kCube = 17;
+	private static final int kSqrt = 18;
+	private static final int kLn = 19;
+	private static final int kExp = 20;
+	private static final int kSin = 21;
+	private static final int kCos = 22;
+	private static final int kTan = 23;
+	private static final int kCot = 24;
+	private static final int kSec = 25;
+	private static final int kSinh = 26;
+
+	// the names of the functions and their opcodes
+	private static final String[] kFunctionNames = {"conj","cabs","inv","sqr","cube","sqrt","ln","exp","sin","cos","tan","cot","sec","sinh"};
+	private static final int[] kFunctionOpcodes = {kConjugate,kCabs,kInverse,kSqr,kCube,kSqrt,kLn,kExp,kSin,kCos,kTan,kCot,kSec,kSinh};
+
+	// internal datastructures
+	private String fExpression;
+	private int fParsePosition;
+	private int[] fOpcodes;
+	private int[] fFirstOperands;
+	private int[] fSecondOperands;
+	private double[] fConstantReals;
+	private double[] fConstantImaginaries;
+	private SpecialisedPower[] fConstantPowers;
+	private int fNrOfInstructions;
+	private boolean fUsesPower;
+	private boolean fCommutesWithConjugation;
+	private boolean fHasFastMathApproximations;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>ComplexFormula</CODE> object by parsing and compiling the specified expression.
+	 *
+	 * @param expression              the expression of the formula
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	public ComplexFormula(String expression) throws FormulaParseException
+	{
+		fExpression = expression;
+		fParsePosition = 0;
+
+		Node root = parseSum();
+		skipWhitespace();
+		if (fParsePosition < fExpression.length()) {
+			throw (new FormulaParseException(fExpression,fParsePosition));
+		}
+
+		compile(root);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the expression of this formula.
+	 *
+	 * @return the expression of this formula
+	 */
+	public String getExpression()
+	{
+		return fExpression;
+	}
+
+	/**
+	 * Returns the number of instructions in the compiled program of this formula.
+	 *
+	 * @return the number of instructions in the compiled program of this formula
+	 */
+	public int getNrOfInstructions()
+	{
+		return fNrOfInstructions;
+	}
+
+	/**
+	 * Returns whether or not this formula commutes with complex conjugation for the specified power, i.e., whether or
+	 * not it contains no complex constants, no <CODE>cabs</CODE>, no branch cuts (square roots, logarithms, or
+	 * non-integer powers), and only integer values for <I>power</I>.
+	 *
+	 * @param power  the power that is substituted for <I>power</I>
+	 * @return       a <CODE>boolean</CODE> indicating whether or not this formula commutes with complex conjugation
+	 */
+	public boolean commutesWithConjugation(SpecialisedPower power)
+	{
+		return (fCommutesWithConjugation && (!fUsesPower || (power.getPowerType() == SpecialisedPower.EPowerType.kInteger)));
+	}
+
+	/**
+	 * Returns whether or not this formula contains functions that have fast-math approximations.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not this formula contains functions that have fast-math approximations
+	 * @see    MutableComplexNumber#kFastMathErrorBound
+	 */
+	public boolean hasFastMathApproximations()
+	{
+		return fHasFastMathApproximations;
+	}
+
+	/**
+	 * Creates a set of registers for evaluating this formula.
+	 *
+	 * @return a set of registers for evaluating this formula
+	 */
+	public MutableComplexNumber[] createRegisters()
+	{
+		MutableComplexNumber[] registers = new MutableComplexNumber[fNrOfInstructions];
+		for (int i = 0; i < fNrOfInstructions; ++i) {
+			registers[i] = new MutableComplexNumber();
+		}
+		return registers;
+	}
+
+	/**
+	 * Creates a set of registers for evaluating this formula together with its derivative.
+	 *
+	 * @return a set of registers for evaluating this formula together with its derivative
+	 */
+	public DualComplexNumber[] createDualRegisters()
+	{
+		DualComplexNumber[] registers = new DualComplexNumber[fNrOfInstructions];
+		for (int i = 0; i < fNrOfInstructions; ++i) {
+			registers[i] = new DualComplexNumber();
+		}
+		return registers;
+	}
+
+	/**
+	 * Evaluates this formula, without creating new objects.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I>
+	 * @param zPreviousX  the real component of the complex variable <I>zPrevious</I>
+	 * @param zPreviousY  the imaginary component of the complex variable <I>zPrevious</I>
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param power       the power that is substituted for <I>power</I>
+	 * @param fastMath    a <CODE>boolean</CODE> indicating whether or not the fast-math approximations should be used
+	 * @param registers   a set of registers created by {@link ComplexFormula#createRegisters()}
+	 * @param result      the register that receives the formula evaluated with the given parameters
+	 */
+	public void evaluate(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, SpecialisedPower power, boolean fastMath, MutableComplexNumber[] registers, MutableComplexNumber result)
+	{
+		for (int i = 0; i < fNrOfInstructions; ++i) {
+			MutableComplexNumber register = registers[i];
+			int opcode = fOpcodes[i];
+			if (opcode == kConstant) {
+				register.set(fConstantReals[i],fConstantImaginaries[i]);
+			}
+			else if (opcode == kZ) {
+				register.set(zX,zY);
+			}
+			else if (opcode == kPreviousZ) {
+				register.set(zPreviousX,zPreviousY);
+			}
+			else if (opcode == kC) {
+				register.set(cX,cY);
+			}
+			else if (opcode == kPower) {
+				register.set(power.getPower().realComponent(),power.getPower().imaginaryComponent());
+			}
+			else {
+				MutableComplexNumber secondOperand = (fSecondOperands[i] >= 0) ? registers[fSecondOperands[i]] : null;
+				execute(opcode,register.set(registers[fFirstOperands[i]]),secondOperand,power,fConstantPowers[i],fastMath);
+			}
+		}
+		result.set(registers[fNrOfInstructions - 1]);
+	}
+
+	/**
+	 * Evaluates this formula and its derivative with respect to <I>z</I>, without creating new objects.
+	 * <P>
+	 * The variables <I>zPrevious</I>, <I>c</I>, and <I>power</I> are treated as constants.
+	 *
+	 * @param zX          the real component of the complex variable <I>z</I>
+	 * @param zY          the imaginary component of the complex variable <I>z</I>
+	 * @param zPreviousX  the real component of the complex variable <I>zPrevious</I>
+	 * @param zPreviousY  the imaginary component of the complex variable <I>zPrevious</I>
+	 * @param cX          the real component of the complex parameter <I>c</I>
+	 * @param cY          the imaginary component of the complex parameter <I>c</I>
+	 * @param power       the power that is substituted for <I>power</I>
+	 * @param registers   a set of registers created by {@link ComplexFormula#createDualRegisters()}
+	 * @param result      the register that receives the formula and its derivative evaluated with the given parameters
+	 */
+	public void evaluate(double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, SpecialisedPower power, DualComplexNumber[] registers, DualComplexNumber result)
+	{
+		for (int i = 0; i < fNrOfInstructions; ++i) {
+			DualComplexNumber register = registers[i];
+			int opcode = fOpcodes[i];
+			if (opcode == kConstant) {
+				register.set(fConstantReals[i],fConstantImaginaries[i]);
+			}
+			else if (opcode == kZ) {
+				register.setVariable(zX,zY);
+			}
+			else if (opcode == kPreviousZ) {
+				register.set(zPreviousX,zPreviousY);
+			}
+			else if (opcode == kC) {
+				register.set(cX,cY);
+			}
+			else if (opcode == kPower) {
+				register.set(power.getPower().realComponent(),power.getPower().imaginaryComponent());
+			}
+			else {
+				register.set(registers[fFirstOperands[i]]);
+				DualComplexNumber secondOperand = (fSecondOperands[i] >= 0) ? registers[fSecondOperands[i]] : null;
+				if (opcode == kAdd) {
+					register.add(secondOperand);
+				}
+				else if (opcode == kSubtract) {
+					register.subtract(secondOperand);
+				}
+				else if (opcode == kMultiply) {
+					register.multiply(secondOperand);
+				}
+				else if (opcode == kDivide) {
+					register.divide(secondOperand);
+				}
+				else if (opcode == kRaiseToPower) {
+					register.pow(power);
+				}
+				else if (opcode == kRaiseToConstant) {
+					register.pow(fConstantPowers[i]);
+				}
+				else if (opcode == kRaise) {
+					register.pow(secondOperand);
+				}
+				else if (opcode == kNegate) {
+					register.negate();
+				}
+				else if (opcode == kConjugate) {
+					register.conjugate();
+				}
+				else if (opcode == kCabs) {
+					register.cabs();
+				}
+				else if (opcode == kInverse) {
+					register.inverse();
+				}
+				else if (opcode == kSqr) {
+					register.sqr();
+				}
+				else if (opcode == kCube) {
+					register.cube();
+				}
+				else if (opcode == kSqrt) {
+					register.sqrt();
+				}
+				else if (opcode == kLn) {
+					register.ln();
+				}
+				else if (opcode == kExp) {
+					register.exp();
+				}
+				else if (opcode == kSin) {
+					register.sin();
+				}
+				else if (opcode == kCos) {
+					register.cos();
+				}
+				else if (opcode == kTan) {
+					register.tan();
+				}
+				else if (opcode == kCot) {
+					register.cot();
+				}
+				else if (opcode == kSec) {
+					register.sec();
+				}
+				else if (opcode == kSinh) {
+					register.sinh();
+				}
+			}
+		}
+		result.set(registers[fNrOfInstructions - 1]);
+	}
+
+	/**
+	 * Returns the expression of this formula.
+	 *
+	 * @return the expression of this formula
+	 */
+	@Override
+	public String toString()
+	{
+		return fExpression;
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Applies an operation to a register.
+	 *
+	 * @param opcode         the opcode of the operation
+	 * @param register       the register that holds the first operand and that receives the result
+	 * @param secondOperand  the second operand (<CODE>null</CODE> for unary operations)
+	 * @param power          the power that is substituted for <I>power</I>
+	 * @param constantPower  the constant power (<CODE>null</CODE> if not applicable)
+	 * @param fastMath       a <CODE>boolean</CODE> indicating whether or not the fast-math approximations should be used
+	 */
+	private static void execute(int opcode, MutableComplexNumber register, MutableComplexNumber secondOperand, SpecialisedPower power, SpecialisedPower constantPower, boolean fastMath)
+	{
+		if (opcode == kAdd) {
+			register.add(secondOperand);
+		}
+		else if (opcode == kSubtract) {
+			register.subtract(secondOperand);
+		}
+		else if (opcode == kMultiply) {
+			register.multiply(secondOperand);
+		}
+		else if (opcode == kDivide) {
+			register.divide(secondOperand);
+		}
+		else if (opcode == kRaiseToPower) {
+			register.pow(power);
+		}
+		else if (opcode == kRaiseToConstant) {
+			register.pow(constantPower);
+		}
+		else if (opcode == kRaise) {
+			register.pow(secondOperand.realComponent(),secondOperand.imaginaryComponent(),fastMath);
+		}
+		else if (opcode == kNegate) {
+			register.negate();
+		}
+		else if (opcode == kConjugate) {
+			register.conjugate();
+		}
+		else if (opcode == kCabs) {
+			register.cabs();
+		}
+		else if (opcode == kInverse) {
+			register.inverse();
+		}
+		else if (opcode == kSqr) {
+			register.sqr();
+		}
+		else if (opcode == kCube) {
+			register.cube();
+		}
+		else if (opcode == kSqrt) {
+			register.sqrt();
+		}
+		else if (opcode == kLn) {
+			register.ln();
+		}
+		else if (opcode == kExp) {
+			register.exp(fastMath);
+		}
+		else if (opcode == kSin) {
+			register.sin(fastMath);
+		}
+		else if (opcode == kCos) {
+			register.cos(fastMath);
+		}
+		else if (opcode == kTan) {
+			register.tan(fastMath);
+		}
+		else if (opcode == kCot) {
+			register.cot(fastMath);
+		}
+		else if (opcode == kSec) {
+			register.sec();
+		}
+		else if (opcode == kSinh) {
+			register.sinh();
+		}
+	}
+
+	/**
+	 * Parses a sum or difference of terms.
+	 *
+	 * @return                        the parsed node
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	private Node parseSum() throws FormulaParseException
+	{
+		Node node = parseProduct();
+		while (true) {
+			skipWhitespace();
+			if (accept('+')) {
+				node = createNode(kAdd,node,parseProduct(),null);
+			}
+			else if (accept('-')) {
+				node = createNode(kSubtract,node,parseProduct(),null);
+			}
+			else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Parses a product or quotient of factors.
+	 *
+	 * @return                        the parsed node
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	private Node parseProduct() throws FormulaParseException
+	{
+		Node node = parseUnary();
+		while (true) {
+			skipWhitespace();
+			if (accept('*')) {
+				node = createNode(kMultiply,node,parseUnary(),null);
+			}
+			else if (accept('/')) {
+				node = createNode(kDivide,node,parseUnary(),null);
+			}
+			else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Parses a factor with an optional sign.
+	 *
+	 * @return                        the parsed node
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	private Node parseUnary() throws FormulaParseException
+	{
+		skipWhitespace();
+		if (accept('-')) {
+			return createNode(kNegate,parseUnary(),null,null);
+		}
+		else if (accept('+')) {
+			return parseUnary();
+		}
+		else {
+			return parseExponentiation();
+		}
+	}
+
+	/**
+	 * Parses a primary expression that is optionally raised to a (right-associative) power.
+	 *
+	 * @return                        the parsed node
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	private Node parseExponentiation() throws FormulaParseException
+	{
+		Node base = parsePrimary();
+		skipWhitespace();
+		if (!accept('^')) {
+			return base;
+		}
+
+		Node exponent = parseUnary();
+		if (exponent.fOpcode == kPower) {
+			return createNode(kRaiseToPower,base,null,null);
+		}
+		else if (exponent.fOpcode == kConstant) {
+			return createNode(kRaiseToConstant,base,null,new SpecialisedPower(new ComplexNumber(exponent.fReal,exponent.fImaginary)));
+		}
+		else {
+			return createNode(kRaise,base,exponent,null);
+		}
+	}
+
+	/**
+	 * Parses a number, a variable, a function application, or a parenthesised expression.
+	 *
+	 * @return                        the parsed node
+	 * @throws FormulaParseException  in case the expression can't be parsed
+	 */
+	private Node parsePrimary() throws FormulaParseException
+	{
+		skipWhitespace();
+		int start = fParsePosition;
+		if (fParsePosition >= fExpression.length()) {
+			throw (new FormulaParseException(fExpression,fParsePosition));
+		}
+
+		char ch = fExpression.charAt(fParsePosition);
+		if (accept('(')) {
+			Node node = parseSum();
+			skipWhitespace();
+			if (!accept(')')) {
+				throw (new FormulaParseException(fExpression,fParsePosition));
+			}
+			return node;
+		}
+		else if (Character.isDigit(ch) || (ch == '.')) {
+			while ((fParsePosition < fExpression.length()) && (Character.isDigit(fExpression.charAt(fParsePosition)) || (fExpression.charAt(fParsePosition) == '.'))) {
+				++fParsePosition;
+			}
+			if ((fParsePosition < fExpression.length()) && (Character.toLowerCase(fExpression.charAt(fParsePosition)) == 'e')) {
+				++fParsePosition;
+				if ((fParsePosition < fExpression.length()) && ((fExpression.charAt(fParsePosition) == '+') || (fExpression.charAt(fParsePosition) == '-'))) {
+					++fParsePosition;
+				}
+				while ((fParsePosition < fExpression.length()) && Character.isDigit(fExpression.charAt(fParsePosition))) {
+					++fParsePosition;
+				}
+			}
+			try {
+				return createConstant(Double.parseDouble(fExpression.substring(start,fParsePosition)),0.0);
+			}
+			catch (NumberFormatException exc) {
+				throw (new FormulaParseException(fExpression,start));
+			}
+		}
+		else if (Character.isLetter(ch)) {
+			while ((fParsePosition < fExpression.length()) && Character.isLetterOrDigit(fExpression.charAt(fParsePosition))) {
+				++fParsePosition;
+			}
+			String name = fExpression.substring(start,fParsePosition).toLowerCase();
+			if (name.equals("z")) {
+				return createNode(kZ,null,null,null);
+			}
+			else if (name.equals("zprevious")) {
+				return createNode(kPreviousZ,null,null,null);
+			}
+			else if (name.equals("c")) {
+				return createNode(kC,null,null,null);
+			}
+			else if (name.equals("power")) {
+				return createNode(kPower,null,null,null);
+			}
+			else if (name.equals("i")) {
+				return createConstant(0.0,1.0);
+			}
+
+			for (int function = 0; function < kFunctionNames.length; ++function) {
+				if (name.equals(kFunctionNames[function])) {
+					skipWhitespace();
+					if (!accept('(')) {
+						throw (new FormulaParseException(fExpression,fParsePosition));
+					}
+					Node argument = parseSum();
+					skipWhitespace();
+					if (!accept(')')) {
+						throw (new FormulaParseException(fExpression,fParsePosition));
+					}
+					return createNode(kFunctionOpcodes[function],argument,null,null);
+				}
+			}
+		}
+
+		throw (new FormulaParseException(fExpression,start));
+	}
+
+	/**
+	 * Skips whitespace in the expression.
+	 */
+	private void skipWhitespace()
+	{
+		while ((fParsePosition < fExpression.length()) && Character.isWhitespace(fExpression.charAt(fParsePosition))) {
+			++fParsePosition;
+		}
+	}
+
+	/**
+	 * Consumes the specified character if it is next in the expression.
+	 *
+	 * @param ch  the character to consume
+	 * @return    a <CODE>boolean</CODE> indicating whether or not the character was consumed
+	 */
+	private boolean accept(char ch)
+	{
+		if ((fParsePosition < fExpression.length()) && (fExpression.charAt(fParsePosition) == ch)) {
+			++fParsePosition;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a constant node.
+	 *
+	 * @param real       the real component of the constant
+	 * @param imaginary  the imaginary component of the constant
+	 * @return           the constant node
+	 */
+	private static Node createConstant(double real, double imaginary)
+	{
+		Node node = new Node(kConstant,null,null,null);
+		node.fReal = real;
+		node.fImaginary = imaginary;
+		return node;
+	}
+
+	/**
+	 * Creates an operation node, which is folded into a constant node when all its operands are constant.
+	 *
+	 * @param opcode         the opcode of the operation
+	 * @param firstOperand   the first operand (<CODE>null</CODE> for variables)
+	 * @param secondOperand  the second operand (<CODE>null</CODE> for unary operations)
+	 * @param constantPower  the constant power (<CODE>null</CODE> if not applicable)
+	 * @return               the (possibly folded) operation node
+	 */
+	private static Node createNode(int opcode, Node firstOperand, Node secondOperand, SpecialisedPower constantPower)
+	{
+		if ((firstOperand != null) && (firstOperand.fOpcode == kConstant) &&
+				((secondOperand == null) || (secondOperand.fOpcode == kConstant)) &&
+				(opcode != kRaiseToPower)) {
+			// fold with the same operations that are used at runtime
+			MutableComplexNumber register = (new MutableComplexNumber()).set(firstOperand.fReal,firstOperand.fImaginary);
+			MutableComplexNumber second = null;
+			if (secondOperand != null) {
+				second = (new MutableComplexNumber()).set(secondOperand.fReal,secondOperand.fImaginary);
+			}
+			execute(opcode,register,second,null,constantPower,false);
+			return createConstant(register.realComponent(),register.imaginaryComponent());
+		}
+
+		return (new Node(opcode,firstOperand,secondOperand,constantPower));
+	}
+
+	/**
+	 * Compiles the parsed expression into a straight-line program, in which each instruction writes its own register
+	 * and the last instruction yields the result.
+	 *
+	 * @param root  the root node of the parsed expression
+	 */
+	private void compile(Node root)
+	{
+		ArrayList<Node> instructions = new ArrayList<Node>();
+		HashMap<Node,Integer> registers = new HashMap<Node,Integer>();
+		int[] variableRegisters = {-1,-1,-1,-1,-1};
+		emit(root,instructions,registers,variableRegisters);
+
+		fNrOfInstructions = instructions.size();
+		fOpcodes = new int[fNrOfInstructions];
+		fFirstOperands = new int[fNrOfInstructions];
+		fSecondOperands = new int[fNrOfInstructions];
+		fConstantReals = new double[fNrOfInstructions];
+		fConstantImaginaries = new double[fNrOfInstructions];
+		fConstantPowers = new SpecialisedPower[fNrOfInstructions];
+		fUsesPower = false;
+		fCommutesWithConjugation = true;
+		fHasFastMathApproximations = false;
+
+		for (int i = 0; i < fNrOfInstructions; ++i) {
+			Node node = instructions.get(i);
+			int opcode = node.fOpcode;
+			fOpcodes[i] = opcode;
+			fFirstOperands[i] = (node.fFirstOperand != null) ? registers.get(node.fFirstOperand) : -1;
+			fSecondOperands[i] = (node.fSecondOperand != null) ? registers.get(node.fSecondOperand) : -1;
+			fConstantReals[i] = node.fReal;
+			fConstantImaginaries[i] = node.fImaginary;
+			fConstantPowers[i] = node.fConstantPower;
+
+			if ((opcode == kPower) || (opcode == kRaiseToPower)) {
+				fUsesPower = true;
+			}
+			if (((opcode == kConstant) && (node.fImaginary != 0.0)) ||
+					((opcode == kRaiseToConstant) && (node.fConstantPower.getPowerType() != SpecialisedPower.EPowerType.kInteger)) ||
+					(opcode == kRaise) || (opcode == kCabs) || (opcode == kSqrt) || (opcode == kLn)) {
+				fCommutesWithConjugation = false;
+			}
+			if ((opcode == kRaise) || (opcode == kExp) || (opcode == kSin) || (opcode == kCos) || (opcode == kTan) || (opcode == kCot)) {
+				fHasFastMathApproximations = true;
+			}
+		}
+	}
+
+	/**
+	 * Emits the instructions of a node after those of its operands (the variables are only loaded once).
+	 *
+	 * @param node               the node to emit
+	 * @param instructions       the list of emitted instructions
+	 * @param registers          the registers of the emitted nodes
+	 * @param variableRegisters  the registers of the loaded variables
+	 */
+	private static void emit(Node node, ArrayList<Node> instructions, HashMap<Node,Integer> registers, int[] variableRegisters)
+	{
+		if ((node.fOpcode >= kZ) && (node.fOpcode <= kPower)) {
+			if (variableRegisters[node.fOpcode] < 0) {
+				variableRegisters[node.fOpcode] = instructions.size();
+				instructions.add(node);
+			}
+			registers.put(node,variableRegisters[node.fOpcode]);
+			return;
+		}
+
+		if (node.fFirstOperand != null) {
+			emit(node.fFirstOperand,instructions,registers,variableRegisters);
+		}
+		if (node.fSecondOperand != null) {
+			emit(node.fSecondOperand,instructions,registers,variableRegisters);
+		}
+		registers.put(node,instructions.size());
+		instructions.add(node);
+	}
+
+	/********************
+	 * INTERNAL CLASSES *
+	 ********************/
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 16/11/2016
+	 */
+	private static final class Node
+	{
+		// internal datastructures
+		private int fOpcode;
+		private Node fFirstOperand;
+		private Node fSecondOperand;
+		private SpecialisedPower fConstantPower;
+		private double fReal;
+		private double fImaginary;
+
+		/****************
+		 * CONSTRUCTORS *
+		 ****************/
+
+		/**
+		 * Constructs a <CODE>Node</CODE> object of the parsed expression.
+		 *
+		 * @param opcode         the opcode of the node
+		 * @param firstOperand   the first operand (<CODE>null</CODE> for constants and variables)
+		 * @param secondOperand  the second operand (<CODE>null</CODE> for unary operations)
+		 * @param constantPower  the constant power (<CODE>null</CODE> if not applicable)
+		 */
+		public Node(int opcode, Node firstOperand, Node secondOperand, SpecialisedPower constantPower)
+		{
+			fOpcode = opcode;
+			fFirstOperand = firstOperand;
+			fSecondOperand = secondOperand;
+			fConstantPower = constantPower;
+		}
+	}
+}
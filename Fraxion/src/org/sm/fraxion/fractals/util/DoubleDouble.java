@@ -0,0 +1,273 @@
+// ---------------------------------
+// Filename      : DoubleDouble.java
+// Author        : Sven Maerivoet
+// Last modified : 29/10/2016
+// Target        : Java VM (1.8)
+// ---------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import java.math.*;
+
+/**
+ * The <CODE>DoubleDouble</CODE> class provides a real number in double-double precision (about 106 bits of mantissa).
+ * <P>
+ * The number is represented as the unevaluated sum of a high and a low <CODE>double</CODE>. In order to avoid the
+ * creation of new objects in tight loops, all arithmetic operations modify this number in place and return a reference
+ * to it, so they can be chained.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 29/10/2016
+ */
+public final class DoubleDouble
+{
+	// the splitting constant (2^27 + 1) used in Dekker's product
+	private static final double kSplitter = 134217729.0;
+
+	// internal datastructures
+	private double fHi;
+	private double fLo;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>DoubleDouble</CODE> object equal to 0.
+	 */
+	public DoubleDouble()
+	{
+		fHi = 0.0;
+		fLo = 0.0;
+	}
+
+	/**
+	 * Constructs a <CODE>DoubleDouble</CODE> object equal to a specified <CODE>double</CODE>.
+	 *
+	 * @param value  the value of the number
+	 */
+	public DoubleDouble(double value)
+	{
+		fHi = value;
+		fLo = 0.0;
+	}
+
+	/**
+	 * Constructs a <CODE>DoubleDouble</CODE> object as the closest approximation to a specified <CODE>BigDecimal</CODE>.
+	 *
+	 * @param value  the value of the number
+	 */
+	public DoubleDouble(BigDecimal value)
+	{
+		fHi = value.doubleValue();
+		fLo = value.subtract(new BigDecimal(fHi)).doubleValue();
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Sets this number equal to another number.
+	 *
+	 * @param value  the number to copy
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble set(DoubleDouble value)
+	{
+		fHi = value.fHi;
+		fLo = value.fLo;
+		return this;
+	}
+
+	/**
+	 * Sets this number equal to a <CODE>double</CODE>.
+	 *
+	 * @param value  the new value
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble set(double value)
+	{
+		fHi = value;
+		fLo = 0.0;
+		return this;
+	}
+
+	/**
+	 * Adds another number to this number.
+	 *
+	 * @param value  the number to add
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble add(DoubleDouble value)
+	{
+		return add(value.fHi,value.fLo);
+	}
+
+	/**
+	 * Adds a <CODE>double</CODE> to this number.
+	 *
+	 * @param value  the <CODE>double</CODE> to add
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble add(double value)
+	{
+		double s = fHi + value;
+		double v = s - fHi;
+		double e = (fHi - (s - v)) + (value - v) + fLo;
+		fHi = s + e;
+		fLo = e - (fHi - s);
+		return this;
+	}
+
+	/**
+	 * Subtracts another number from this number.
+	 *
+	 * @param value  the number to subtract
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble subtract(DoubleDouble value)
+	{
+		return add(-value.fHi,-value.fLo);
+	}
+
+	/**
+	 * Multiplies this number with another number (which is allowed to be this number itself).
+	 *
+	 * @param value  the number to multiply with
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble multiply(DoubleDouble value)
+	{
+		double valueHi = value.fHi;
+		double valueLo = value.fLo;
+		double p = fHi * valueHi;
+		double e = productError(fHi,valueHi,p) + ((fHi * valueLo) + (fLo * valueHi));
+		fHi = p + e;
+		fLo = e - (fHi - p);
+		return this;
+	}
+
+	/**
+	 * Multiplies this number with a <CODE>double</CODE>.
+	 *
+	 * @param value  the <CODE>double</CODE> to multiply with
+	 * @return       a reference to this number
+	 */
+	public DoubleDouble multiply(double value)
+	{
+		double p = fHi * value;
+		double e = productError(fHi,value,p) + (fLo * value);
+		fHi = p + e;
+		fLo = e - (fHi - p);
+		return this;
+	}
+
+	/**
+	 * Squares this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DoubleDouble sqr()
+	{
+		return multiply(this);
+	}
+
+	/**
+	 * Returns the closest <CODE>double</CODE> to this number.
+	 *
+	 * @return the closest <CODE>double</CODE> to this number
+	 */
+	public double doubleValue()
+	{
+		return (fHi + fLo);
+	}
+
+	/**
+	 * Returns the exact value of this number as a <CODE>BigDecimal</CODE>.
+	 *
+	 * @return the exact value of this number as a <CODE>BigDecimal</CODE>
+	 */
+	public BigDecimal toBigDecimal()
+	{
+		return (new BigDecimal(fHi)).add(new BigDecimal(fLo));
+	}
+
+	/**
+	 * Returns a <CODE>String</CODE> representation of this number.
+	 *
+	 * @return a <CODE>String</CODE> representation of this number
+	 */
+	@Override
+	public String toString()
+	{
+		return toBigDecimal().round(MathContext.DECIMAL128).toString();
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Adds a double-double number, given by its high and low parts, to this number.
+	 *
+	 * @param valueHi  the high part of the number to add
+	 * @param valueLo  the low part of the number to add
+	 * @return         a reference to this number
+	 */
+	private DoubleDouble add(double valueHi, double valueLo)
+	{
+		// add the high and low parts separately without losing their rounding errors
+		double s = fHi + valueHi;
+		double v = s - fHi;
+		double e = (fHi - (s - v)) + (valueHi - v);
+		double t = fLo + valueLo;
+		double w = t - fLo;
+		double f = (fLo - (t - w)) + (valueLo - w);
+
+		// renormalise
+		e += t;
+		double h = s + e;
+		e = (e - (h - s)) + f;
+		fHi = h + e;
+		fLo = e - (fHi - h);
+		return this;
+	}
+
+	/**
+	 * Returns the exact rounding error of the floating-point product of two <CODE>double</CODE>s.
+	 *
+	 * @param a        the first factor
+	 * @param b        the second factor
+	 * @param product  the rounded product of both factors
+	 * @return         the rounding error of the product
+	 */
+	private static double productError(double a, double b, double product)
+	{
+		double t = kSplitter * a;
+		double aHi = t - (t - a);
+		double aLo = a - aHi;
+		t = kSplitter * b;
+		double bHi = t - (t - b);
+		double bLo = b - bHi;
+		return ((((aHi * bHi) - product) + (aHi * bLo) + (aLo * bHi)) + (aLo * bLo));
+	}
+}
@@ -0,0 +1,844 @@
+// ----------------------------------------
+// Filename      : DualComplexNumber.java
+// Author        : Sven Maerivoet
+// Last modified : 03/11/2016
+// Target        : Java VM (1.8)
+// ----------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>DualComplexNumber</CODE> class provides a complex number that carries its derivative along (forward-mode
+ * automatic differentiation).
+ * <P>
+ * Each number consists of a value and a derivative with respect to a single complex variable <I>z</I>. A variable is
+ * introduced with {@link DualComplexNumber#setVariable(double,double)} (derivative 1), a constant with
+ * {@link DualComplexNumber#set(double,double)} (derivative 0). All operations apply the chain rule, so evaluating a
+ * function once yields both <I>f</I>(<I>z</I>) and <I>f'</I>(<I>z</I>). For the non-analytic operations (i.e.,
+ * conjugation and taking absolute values of the components), the derivative is the directional derivative along the
+ * real axis.
+ * <P>
+ * The values are calculated with exactly the same formulas as in the <CODE>MutableComplexNumber</CODE> class. As with
+ * the latter, all operations modify this number in place and return a reference to it, so they can be chained.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 03/11/2016
+ */
+public final class DualComplexNumber
+{
+	// internal datastructures
+	private double fRealComponent;
+	private double fImaginaryComponent;
+	private double fDerivativeRealComponent;
+	private double fDerivativeImaginaryComponent;
+
+	// the sine and cosine of the value, as calculated by calculateSineAndCosine()
+	private double fSineX;
+	private double fSineY;
+	private double fCosineX;
+	private double fCosineY;
+
+	// the positive integer power of a number, as calculated by calculateIntegerPower()
+	private double fIntegerPowerX;
+	private double fIntegerPowerY;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>DualComplexNumber</CODE> object equal to the constant 0 + 0i.
+	 */
+	public DualComplexNumber()
+	{
+		set(0.0,0.0,0.0,0.0);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Sets this number equal to the specified value and derivative.
+	 *
+	 * @param real                 the real component of the value
+	 * @param imaginary            the imaginary component of the value
+	 * @param derivativeReal       the real component of the derivative
+	 * @param derivativeImaginary  the imaginary component of the derivative
+	 * @return                     a reference to this number
+	 */
+	public DualComplexNumber set(double real, double imaginary, double derivativeReal, double derivativeImaginary)
+	{
+		fRealComponent = real;
+		fImaginaryComponent = imaginary;
+		fDerivativeRealComponent = derivativeReal;
+		fDerivativeImaginaryComponent = derivativeImaginary;
+		return this;
+	}
+
+	/**
+	 * Sets this number equal to a constant.
+	 *
+	 * @param real       the real component of the constant
+	 * @param imaginary  the imaginary component of the constant
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber set(double real, double imaginary)
+	{
+		return set(real,imaginary,0.0,0.0);
+	}
+
+	/**
+	 * Sets this number equal to the variable with respect to which is differentiated.
+	 *
+	 * @param real       the real component of the variable
+	 * @param imaginary  the imaginary component of the variable
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber setVariable(double real, double imaginary)
+	{
+		return set(real,imaginary,1.0,0.0);
+	}
+
+	/**
+	 * Sets this number equal to another number.
+	 *
+	 * @param c  the number to copy
+	 * @return   a reference to this number
+	 */
+	public DualComplexNumber set(DualComplexNumber c)
+	{
+		return set(c.fRealComponent,c.fImaginaryComponent,c.fDerivativeRealComponent,c.fDerivativeImaginaryComponent);
+	}
+
+	/**
+	 * Returns the real component of the value.
+	 *
+	 * @return the real component of the value
+	 */
+	public double realComponent()
+	{
+		return fRealComponent;
+	}
+
+	/**
+	 * Returns the imaginary component of the value.
+	 *
+	 * @return the imaginary component of the value
+	 */
+	public double imaginaryComponent()
+	{
+		return fImaginaryComponent;
+	}
+
+	/**
+	 * Returns the real component of the derivative.
+	 *
+	 * @return the real component of the derivative
+	 */
+	public double derivativeRealComponent()
+	{
+		return fDerivativeRealComponent;
+	}
+
+	/**
+	 * Returns the imaginary component of the derivative.
+	 *
+	 * @return the imaginary component of the derivative
+	 */
+	public double derivativeImaginaryComponent()
+	{
+		return fDerivativeImaginaryComponent;
+	}
+
+	/**
+	 * Returns the squared modulus of the value.
+	 *
+	 * @return the squared modulus of the value
+	 */
+	public double modulusSquared()
+	{
+		return ((fRealComponent * fRealComponent) + (fImaginaryComponent * fImaginaryComponent));
+	}
+
+	/**
+	 * Returns the modulus of the value.
+	 *
+	 * @return the modulus of the value
+	 */
+	public double modulus()
+	{
+		return Math.sqrt(modulusSquared());
+	}
+
+	/**
+	 * Returns the argument of the value.
+	 *
+	 * @return the argument of the value
+	 */
+	public double argument()
+	{
+		return Math.atan2(fImaginaryComponent,fRealComponent);
+	}
+
+	/**
+	 * Adds a constant to this number.
+	 *
+	 * @param real       the real component of the constant
+	 * @param imaginary  the imaginary component of the constant
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber add(double real, double imaginary)
+	{
+		fRealComponent += real;
+		fImaginaryComponent += imaginary;
+		return this;
+	}
+
+	/**
+	 * Adds another number to this number.
+	 *
+	 * @param c  the number to add
+	 * @return   a reference to this number
+	 */
+	public DualComplexNumber add(DualComplexNumber c)
+	{
+		fDerivativeRealComponent += c.fDerivativeRealComponent;
+		fDerivativeImaginaryComponent += c.fDerivativeImaginaryComponent;
+		return add(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Subtracts a constant from this number.
+	 *
+	 * @param real       the real component of the constant
+	 * @param imaginary  the imaginary component of the constant
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber subtract(double real, double imaginary)
+	{
+		fRealComponent -= real;
+		fImaginaryComponent -= imaginary;
+		return this;
+	}
+
+	/**
+	 * Subtracts another number from this number.
+	 *
+	 * @param c  the number to subtract
+	 * @return   a reference to this number
+	 */
+	public DualComplexNumber subtract(DualComplexNumber c)
+	{
+		fDerivativeRealComponent -= c.fDerivativeRealComponent;
+		fDerivativeImaginaryComponent -= c.fDerivativeImaginaryComponent;
+		return subtract(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Multiplies this number with a constant.
+	 *
+	 * @param real       the real component of the constant
+	 * @param imaginary  the imaginary component of the constant
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber multiply(double real, double imaginary)
+	{
+		// (f * a)' = f' * a
+		return set(
+			(fRealComponent * real) - (fImaginaryComponent * imaginary),
+			(fImaginaryComponent * real) + (fRealComponent * imaginary),
+			(fDerivativeRealComponent * real) - (fDerivativeImaginaryComponent * imaginary),
+			(fDerivativeImaginaryComponent * real) + (fDerivativeRealComponent * imaginary));
+	}
+
+	/**
+	 * Multiplies this number with another number.
+	 *
+	 * @param c  the number to multiply with
+	 * @return   a reference to this number
+	 */
+	public DualComplexNumber multiply(DualComplexNumber c)
+	{
+		// (f * g)' = f' * g + f * g'
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double dx = fDerivativeRealComponent;
+		double dy = fDerivativeImaginaryComponent;
+		double cX = c.fRealComponent;
+		double cY = c.fImaginaryComponent;
+		double cDX = c.fDerivativeRealComponent;
+		double cDY = c.fDerivativeImaginaryComponent;
+		return set(
+			(x * cX) - (y * cY),
+			(y * cX) + (x * cY),
+			((dx * cX) - (dy * cY)) + ((x * cDX) - (y * cDY)),
+			((dy * cX) + (dx * cY)) + ((y * cDX) + (x * cDY)));
+	}
+
+	/**
+	 * Divides this number by a constant; division by zero results in the constant 0 + 0i.
+	 *
+	 * @param real       the real component of the constant divisor
+	 * @param imaginary  the imaginary component of the constant divisor
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber divide(double real, double imaginary)
+	{
+		// (f / a)' = f' / a
+		double divisorModulusSqr = (real * real) + (imaginary * imaginary);
+		if (divisorModulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		return set(
+			((fRealComponent * real) + (fImaginaryComponent * imaginary)) / divisorModulusSqr,
+			((fImaginaryComponent * real) - (fRealComponent * imaginary)) / divisorModulusSqr,
+			((fDerivativeRealComponent * real) + (fDerivativeImaginaryComponent * imaginary)) / divisorModulusSqr,
+			((fDerivativeImaginaryComponent * real) - (fDerivativeRealComponent * imaginary)) / divisorModulusSqr);
+	}
+
+	/**
+	 * Divides this number by another number; division by zero results in the constant 0 + 0i.
+	 *
+	 * @param c  the divisor
+	 * @return   a reference to this number
+	 */
+	public DualComplexNumber divide(DualComplexNumber c)
+	{
+		double cX = c.fRealComponent;
+		double cY = c.fImaginaryComponent;
+		double cDX = c.fDerivativeRealComponent;
+		double cDY = c.fDerivativeImaginaryComponent;
+		double divisorModulusSqr = (cX * cX) + (cY * cY);
+		if (divisorModulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+
+		// (f / g)' = (f' - (f / g) * g') / g
+		double qX = ((fRealComponent * cX) + (fImaginaryComponent * cY)) / divisorModulusSqr;
+		double qY = ((fImaginaryComponent * cX) - (fRealComponent * cY)) / divisorModulusSqr;
+		double nX = fDerivativeRealComponent - ((qX * cDX) - (qY * cDY));
+		double nY = fDerivativeImaginaryComponent - ((qY * cDX) + (qX * cDY));
+		return set(
+			qX,
+			qY,
+			((nX * cX) + (nY * cY)) / divisorModulusSqr,
+			((nY * cX) - (nX * cY)) / divisorModulusSqr);
+	}
+
+	/**
+	 * Negates this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber negate()
+	{
+		return set(-fRealComponent,-fImaginaryComponent,-fDerivativeRealComponent,-fDerivativeImaginaryComponent);
+	}
+
+	/**
+	 * Conjugates this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber conjugate()
+	{
+		return set(fRealComponent,-fImaginaryComponent,fDerivativeRealComponent,-fDerivativeImaginaryComponent);
+	}
+
+	/**
+	 * Takes the absolute values of both components of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber cabs()
+	{
+		return set(
+			Math.abs(fRealComponent),
+			Math.abs(fImaginaryComponent),
+			Math.signum(fRealComponent) * fDerivativeRealComponent,
+			Math.signum(fImaginaryComponent) * fDerivativeImaginaryComponent);
+	}
+
+	/**
+	 * Inverts this number; the inverse of zero is the constant 0 + 0i.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber inverse()
+	{
+		if (modulusSquared() == 0.0) {
+			return set(0.0,0.0);
+		}
+		return reciprocal();
+	}
+
+	/**
+	 * Takes the reciprocal of this number (without checking for zero).
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber reciprocal()
+	{
+		// (1 / f)' = -f' * (1 / f)^2
+		double modulusSqr = modulusSquared();
+		double x = fRealComponent / modulusSqr;
+		double y = -fImaginaryComponent / modulusSqr;
+		return setValue(x,y).chain(-((x * x) - (y * y)),-(2.0 * x * y));
+	}
+
+	/**
+	 * Squares this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber sqr()
+	{
+		// (f^2)' = 2 * f * f'
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		return setValue((x * x) - (y * y),2.0 * x * y).chain(2.0 * x,2.0 * y);
+	}
+
+	/**
+	 * Cubes this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber cube()
+	{
+		// (f^3)' = 3 * f^2 * f'
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		return setValue((x * x * x) - (3.0 * x * y * y),(3.0 * x * x * y) - (y * y * y)).chain(3.0 * ((x * x) - (y * y)),6.0 * x * y);
+	}
+
+	/**
+	 * Takes the principal square root of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber sqrt()
+	{
+		// (sqrt(f))' = f' / (2 * sqrt(f))
+		double modulus = modulus();
+		double x = Math.sqrt((fRealComponent + modulus) / 2.0);
+		double y = Math.signum(fImaginaryComponent) * Math.sqrt((-fRealComponent + modulus) / 2.0);
+		return setValue(x,y).chainInverse(2.0 * x,2.0 * y);
+	}
+
+	/**
+	 * Raises this number to a real power; zero raised to any power results in the constant 0 + 0i.
+	 *
+	 * @param power  the real power
+	 * @return       a reference to this number
+	 */
+	public DualComplexNumber pow(double power)
+	{
+		double modulus = modulus();
+		if (modulus == 0.0) {
+			return set(0.0,0.0);
+		}
+
+		// (f^p)' = p * f^p / f * f'
+		double baseX = fRealComponent;
+		double baseY = fImaginaryComponent;
+		double newModulus = Math.pow(modulus,power);
+		double newArgument = power * argument();
+		double x = newModulus * Math.cos(newArgument);
+		double y = newModulus * Math.sin(newArgument);
+		return setValue(x,y).chainQuotient(power * x,power * y,baseX,baseY);
+	}
+
+	/**
+	 * Raises this number to a constant complex power; zero raised to any power results in the constant 0 + 0i.
+	 *
+	 * @param real       the real component of the power
+	 * @param imaginary  the imaginary component of the power
+	 * @return           a reference to this number
+	 */
+	public DualComplexNumber pow(double real, double imaginary)
+	{
+		if (modulus() == 0.0) {
+			return set(0.0,0.0);
+		}
+		return ln().multiply(real,imaginary).exp();
+	}
+
+	/**
+	 * Raises this number to a constant complex power; zero raised to any power results in the constant 0 + 0i.
+	 *
+	 * @param power  the complex power
+	 * @return       a reference to this number
+	 */
+	public DualComplexNumber pow(ComplexNumber power)
+	{
+		return pow(power.realComponent(),power.imaginaryComponent());
+	}
+
+	/**
+	 * Raises this number to a positive integer power by means of exponentiation by squaring; non-positive powers are
+	 * handled as real powers.
+	 *
+	 * @param power  the integer power
+	 * @return       a reference to this number
+	 */
+	public DualComplexNumber pow(int power)
+	{
+		if (power < 1) {
+			return pow((double) power);
+		}
+
+		// (f^n)' = n * f^(n - 1) * f'
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double derivativeFactorX = 1.0;
+		double derivativeFactorY = 0.0;
+		if (power > 1) {
+			calculateIntegerPower(x,y,power - 1);
+			derivativeFactorX = fIntegerPowerX;
+			derivativeFactorY = fIntegerPowerY;
+		}
+		calculateIntegerPower(x,y,power);
+		return setValue(fIntegerPowerX,fIntegerPowerY).chain(power * derivativeFactorX,power * derivativeFactorY);
+	}
+
+	/**
+	 * Raises this number to a specialised power, taking the cheapest route for the type of the power.
+	 *
+	 * @param power  the specialised power
+	 * @return       a reference to this number
+	 */
+	public DualComplexNumber pow(SpecialisedPower power)
+	{
+		if (power.getPowerType() == SpecialisedPower.EPowerType.kInteger) {
+			return pow(power.getIntegerPower());
+		}
+		else if (power.getPowerType() == SpecialisedPower.EPowerType.kReal) {
+			return pow(power.getRealPower());
+		}
+		else {
+			return pow(power.getPower());
+		}
+	}
+
+	/**
+	 * Raises this number to a complex power that is itself differentiable; zero raised to any power results in the
+	 * constant 0 + 0i.
+	 *
+	 * @param power  the complex power (which is allowed to be this number itself)
+	 * @return       a reference to this number
+	 */
+	public DualComplexNumber pow(DualComplexNumber power)
+	{
+		if (modulus() == 0.0) {
+			return set(0.0,0.0);
+		}
+
+		// copy the power before this number gets modified
+		double x = power.fRealComponent;
+		double y = power.fImaginaryComponent;
+		double dx = power.fDerivativeRealComponent;
+		double dy = power.fDerivativeImaginaryComponent;
+
+		// (f^g)' = exp(g * ln(f))'
+		ln();
+		double lnX = fRealComponent;
+		double lnY = fImaginaryComponent;
+		double lnDX = fDerivativeRealComponent;
+		double lnDY = fDerivativeImaginaryComponent;
+		return set(
+			(lnX * x) - (lnY * y),
+			(lnY * x) + (lnX * y),
+			((lnDX * x) - (lnDY * y)) + ((lnX * dx) - (lnY * dy)),
+			((lnDY * x) + (lnDX * y)) + ((lnY * dx) + (lnX * dy))).exp();
+	}
+
+	/**
+	 * Takes the principal natural logarithm of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber ln()
+	{
+		// (ln(f))' = f' / f
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		return setValue(Math.log(modulus()),argument()).chainInverse(x,y);
+	}
+
+	/**
+	 * Takes the exponential of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber exp()
+	{
+		// (exp(f))' = exp(f) * f'
+		double expX = Math.exp(fRealComponent);
+		double x = expX * Math.cos(fImaginaryComponent);
+		double y = expX * Math.sin(fImaginaryComponent);
+		return setValue(x,y).chain(x,y);
+	}
+
+	/**
+	 * Takes the cosine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber cos()
+	{
+		// (cos(f))' = -sin(f) * f'
+		calculateSineAndCosine();
+		return setValue(fCosineX,fCosineY).chain(-fSineX,-fSineY);
+	}
+
+	/**
+	 * Takes the sine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber sin()
+	{
+		// (sin(f))' = cos(f) * f'
+		calculateSineAndCosine();
+		return setValue(fSineX,fSineY).chain(fCosineX,fCosineY);
+	}
+
+	/**
+	 * Takes the tangent of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber tan()
+	{
+		// (tan(f))' = f' / cos(f)^2
+		calculateSineAndCosine();
+		double cosineModulusSqr = (fCosineX * fCosineX) + (fCosineY * fCosineY);
+		if (cosineModulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		return setValue(
+			((fSineX * fCosineX) + (fSineY * fCosineY)) / cosineModulusSqr,
+			((fSineY * fCosineX) - (fSineX * fCosineY)) / cosineModulusSqr).chainInverse((fCosineX * fCosineX) - (fCosineY * fCosineY),2.0 * fCosineX * fCosineY);
+	}
+
+	/**
+	 * Takes the cotangent of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber cot()
+	{
+		// (cot(f))' = -f' / sin(f)^2
+		calculateSineAndCosine();
+		double sineModulusSqr = (fSineX * fSineX) + (fSineY * fSineY);
+		if (sineModulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		return setValue(
+			((fCosineX * fSineX) + (fCosineY * fSineY)) / sineModulusSqr,
+			((fCosineY * fSineX) - (fCosineX * fSineY)) / sineModulusSqr).chainInverse(-((fSineX * fSineX) - (fSineY * fSineY)),-(2.0 * fSineX * fSineY));
+	}
+
+	/**
+	 * Takes the secant of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber sec()
+	{
+		// (sec(f))' = sec(f) * tan(f) * f' = sin(f) * f' / cos(f)^2
+		calculateSineAndCosine();
+		double cosineModulusSqr = (fCosineX * fCosineX) + (fCosineY * fCosineY);
+		return setValue(fCosineX / cosineModulusSqr,-fCosineY / cosineModulusSqr).chain(fSineX,fSineY).chainInverse((fCosineX * fCosineX) - (fCosineY * fCosineY),2.0 * fCosineX * fCosineY);
+	}
+
+	/**
+	 * Takes the hyperbolic sine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public DualComplexNumber sinh()
+	{
+		// (sinh(f))' = cosh(f) * f'
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double expX = Math.exp(x);
+		double expMinusX = Math.exp(-x);
+		double cosY = Math.cos(y);
+		double sinY = Math.sin(y);
+		double cosMinusY = Math.cos(-y);
+		double sinMinusY = Math.sin(-y);
+		double differenceX = (expX * cosY) - (expMinusX * cosMinusY);
+		double differenceY = (expX * sinY) - (expMinusX * sinMinusY);
+		double sumX = (expX * cosY) + (expMinusX * cosMinusY);
+		double sumY = (expX * sinY) + (expMinusX * sinMinusY);
+		return setValue((differenceX * 0.5) - (differenceY * 0.0),(differenceY * 0.5) + (differenceX * 0.0)).chain(sumX * 0.5,sumY * 0.5);
+	}
+
+	/**
+	 * Returns a <CODE>String</CODE> representation of this number.
+	 *
+	 * @return a <CODE>String</CODE> representation of this number
+	 */
+	@Override
+	public String toString()
+	{
+		return ((new ComplexNumber(fRealComponent,fImaginaryComponent)).toString() + " (derivative " + (new ComplexNumber(fDerivativeRealComponent,fDerivativeImaginaryComponent)).toString() + ")");
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Calculates the sine and cosine of the current value, using the same formulas as <CODE>MutableComplexNumber</CODE>.
+	 */
+	private void calculateSineAndCosine()
+	{
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double expMinusY = Math.exp(-y);
+		double expY = Math.exp(y);
+		double cosX = Math.cos(x);
+		double sinX = Math.sin(x);
+		double cosMinusX = Math.cos(-x);
+		double sinMinusX = Math.sin(-x);
+
+		// cos(z) = (exp(iz) + exp(-iz)) / 2
+		double sumX = (expMinusY * cosX) + (expY * cosMinusX);
+		double sumY = (expMinusY * sinX) + (expY * sinMinusX);
+		fCosineX = ((sumX * 2.0) + (sumY * 0.0)) / 4.0;
+		fCosineY = ((sumY * 2.0) - (sumX * 0.0)) / 4.0;
+
+		// sin(z) = (exp(iz) - exp(-iz)) / 2i
+		double differenceX = (expMinusY * cosX) - (expY * cosMinusX);
+		double differenceY = (expMinusY * sinX) - (expY * sinMinusX);
+		fSineX = ((differenceX * 0.0) + (differenceY * 2.0)) / 4.0;
+		fSineY = ((differenceY * 0.0) - (differenceX * 2.0)) / 4.0;
+	}
+
+	/**
+	 * Raises a number to a positive integer power by means of exponentiation by squaring, using the same formulas as
+	 * <CODE>MutableComplexNumber</CODE>.
+	 *
+	 * @param x      the real component of the number
+	 * @param y      the imaginary component of the number
+	 * @param power  the positive integer power
+	 */
+	private void calculateIntegerPower(double x, double y, int power)
+	{
+		double baseX = x;
+		double baseY = y;
+		boolean empty = true;
+		int exponent = power;
+		while (true) {
+			if ((exponent & 1) != 0) {
+				if (empty) {
+					fIntegerPowerX = baseX;
+					fIntegerPowerY = baseY;
+					empty = false;
+				}
+				else {
+					double newX = (fIntegerPowerX * baseX) - (fIntegerPowerY * baseY);
+					fIntegerPowerY = (fIntegerPowerY * baseX) + (fIntegerPowerX * baseY);
+					fIntegerPowerX = newX;
+				}
+			}
+			exponent >>= 1;
+			if (exponent == 0) {
+				break;
+			}
+			double newBaseX = (baseX * baseX) - (baseY * baseY);
+			baseY = 2.0 * baseX * baseY;
+			baseX = newBaseX;
+		}
+	}
+
+	/**
+	 * Sets the value of this number, leaving its derivative untouched.
+	 *
+	 * @param real       the real component of the value
+	 * @param imaginary  the imaginary component of the value
+	 * @return           a reference to this number
+	 */
+	private DualComplexNumber setValue(double real, double imaginary)
+	{
+		fRealComponent = real;
+		fImaginaryComponent = imaginary;
+		return this;
+	}
+
+	/**
+	 * Multiplies the derivative with the derivative of the outer function (chain rule).
+	 *
+	 * @param real       the real component of the derivative of the outer function
+	 * @param imaginary  the imaginary component of the derivative of the outer function
+	 * @return           a reference to this number
+	 */
+	private DualComplexNumber chain(double real, double imaginary)
+	{
+		double dx = fDerivativeRealComponent;
+		double dy = fDerivativeImaginaryComponent;
+		fDerivativeRealComponent = (dx * real) - (dy * imaginary);
+		fDerivativeImaginaryComponent = (dy * real) + (dx * imaginary);
+		return this;
+	}
+
+	/**
+	 * Divides the derivative by the specified number (chain rule); division by zero results in a zero derivative.
+	 *
+	 * @param real       the real component of the divisor
+	 * @param imaginary  the imaginary component of the divisor
+	 * @return           a reference to this number
+	 */
+	private DualComplexNumber chainInverse(double real, double imaginary)
+	{
+		double divisorModulusSqr = (real * real) + (imaginary * imaginary);
+		if (divisorModulusSqr == 0.0) {
+			fDerivativeRealComponent = 0.0;
+			fDerivativeImaginaryComponent = 0.0;
+			return this;
+		}
+		double dx = fDerivativeRealComponent;
+		double dy = fDerivativeImaginaryComponent;
+		fDerivativeRealComponent = ((dx * real) + (dy * imaginary)) / divisorModulusSqr;
+		fDerivativeImaginaryComponent = ((dy * real) - (dx * imaginary)) / divisorModulusSqr;
+		return this;
+	}
+
+	/**
+	 * Multiplies the derivative with a quotient of two numbers (chain rule).
+	 *
+	 * @param numeratorReal         the real component of the numerator
+	 * @param numeratorImaginary    the imaginary component of the numerator
+	 * @param denominatorReal       the real component of the denominator
+	 * @param denominatorImaginary  the imaginary component of the denominator
+	 * @return                      a reference to this number
+	 */
+	private DualComplexNumber chainQuotient(double numeratorReal, double numeratorImaginary, double denominatorReal, double denominatorImaginary)
+	{
+		return chain(numeratorReal,numeratorImaginary).chainInverse(denominatorReal,denominatorImaginary);
+	}
+}
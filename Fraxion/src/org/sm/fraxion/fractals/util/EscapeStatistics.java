@@ -0,0 +1,165 @@
+// -------------------------------------
+// Filename      : EscapeStatistics.java
+// Author        : Sven Maerivoet
+// Last modified : 21/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import java.util.*;
+
+/**
+ * The <CODE>EscapeStatistics</CODE> class provides the statistics of the escape counts in a rendered fractal.
+ * <P>
+ * A point escapes late if its number of iterations lies in the upper half of the maximum number of iterations. As the
+ * number of points that escape after <I>n</I> iterations decays roughly like 1/<I>n</I> near the boundary, about as many
+ * points would escape between the maximum and twice the maximum; the late escapes therefore estimate the number of
+ * boundary points that are still rendered as interior.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 21/11/2016
+ */
+public final class EscapeStatistics
+{
+	// the fraction of the maximum number of iterations above which a point escapes late
+	private static final double kLateEscapeFraction = 0.5;
+
+	// internal datastructures
+	private int fMaxNrOfIterations;
+	private int fNrOfPoints;
+	private int fNrOfInteriorPoints;
+	private int fNrOfLateEscapes;
+	private double[] fEscapeCounts;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs an <CODE>EscapeStatistics</CODE> object from a rendered fractal (its sub-samples are ignored).
+	 *
+	 * @param fractalResultBuffer  the (full-screen) result of the rendered fractal
+	 */
+	public EscapeStatistics(IterationBuffer fractalResultBuffer)
+	{
+		fMaxNrOfIterations = fractalResultBuffer.fMaxNrOfIterations;
+		fEscapeCounts = new double[fractalResultBuffer.getNrOfPoints()];
+
+		int nrOfEscapes = 0;
+		double lateEscapeThreshold = kLateEscapeFraction * fMaxNrOfIterations;
+		for (int index = 0; index < fractalResultBuffer.getNrOfPoints(); ++index) {
+			if (!fractalResultBuffer.isCalculated(index)) {
+				continue;
+			}
+
+			++fNrOfPoints;
+			if (fractalResultBuffer.liesInInterior(index)) {
+				++fNrOfInteriorPoints;
+			}
+			else {
+				double nrOfIterations = fractalResultBuffer.getNrOfIterations(index);
+				fEscapeCounts[nrOfEscapes] = nrOfIterations;
+				++nrOfEscapes;
+
+				// points that stop exactly at the maximum (e.g., with a fixed number of iterations) didn't escape late
+				if ((nrOfIterations > lateEscapeThreshold) && (nrOfIterations < fMaxNrOfIterations)) {
+					++fNrOfLateEscapes;
+				}
+			}
+		}
+
+		fEscapeCounts = Arrays.copyOf(fEscapeCounts,nrOfEscapes);
+		Arrays.sort(fEscapeCounts);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the maximum number of iterations with which the fractal was rendered.
+	 *
+	 * @return the maximum number of iterations with which the fractal was rendered (0 if unknown)
+	 */
+	public int getMaxNrOfIterations()
+	{
+		return fMaxNrOfIterations;
+	}
+
+	/**
+	 * Returns the number of rendered points.
+	 *
+	 * @return the number of rendered points
+	 */
+	public int getNrOfPoints()
+	{
+		return fNrOfPoints;
+	}
+
+	/**
+	 * Returns the number of points that lie in the interior.
+	 *
+	 * @return the number of points that lie in the interior
+	 */
+	public int getNrOfInteriorPoints()
+	{
+		return fNrOfInteriorPoints;
+	}
+
+	/**
+	 * Returns the number of points that escape late.
+	 *
+	 * @return the number of points that escape late
+	 */
+	public int getNrOfLateEscapes()
+	{
+		return fNrOfLateEscapes;
+	}
+
+	/**
+	 * Returns the estimated fraction of the rendered points that lie on the boundary but are rendered as interior.
+	 *
+	 * @return the estimated fraction of the rendered points that lie on an unresolved boundary
+	 */
+	public double getUnresolvedFraction()
+	{
+		if (fNrOfPoints == 0) {
+			return 0.0;
+		}
+		return Math.min((double) fNrOfLateEscapes,(double) fNrOfInteriorPoints) / (double) fNrOfPoints;
+	}
+
+	/**
+	 * Returns the escape count below which the specified fraction of the escaping points lies.
+	 *
+	 * @param fraction  the fraction of the escaping points (between 0 and 1)
+	 * @return          the escape count below which the specified fraction of the escaping points lies, or 0 if no point escapes
+	 */
+	public double getEscapeCountQuantile(double fraction)
+	{
+		if (fEscapeCounts.length == 0) {
+			return 0.0;
+		}
+		int index = (int) Math.ceil(fraction * fEscapeCounts.length) - 1;
+		return fEscapeCounts[Math.max(0,Math.min(index,fEscapeCounts.length - 1))];
+	}
+}
@@ -0,0 +1,81 @@
+// -------------------------------------------
+// Filename      : FormulaParseException.java
+// Author        : Sven Maerivoet
+// Last modified : 16/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+/**
+ * Indicates that an attempt to parse the expression of a formula has failed.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 16/11/2016
+ */
+public final class FormulaParseException extends Exception
+{
+	// internal datastructures
+	private String fExpression;
+	private int fPosition;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>FormulaParseException</CODE> object, based on the specified expression and the position at
+	 * which parsing failed.
+	 *
+	 * @param expression  the expression this exception corresponds to
+	 * @param position    the (zero-based) position in the expression at which parsing failed
+	 */
+	public FormulaParseException(String expression, int position)
+	{
+		super(expression + " (" + String.valueOf(position) + ")");
+		fExpression = expression;
+		fPosition = position;
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the expression this exception corresponds to.
+	 *
+	 * @return the expression this exception corresponds to
+	 */
+	public String getExpression()
+	{
+		return fExpression;
+	}
+
+	/**
+	 * Returns the (zero-based) position in the expression at which parsing failed.
+	 *
+	 * @return the (zero-based) position in the expression at which parsing failed
+	 */
+	public int getPosition()
+	{
+		return fPosition;
+	}
+}
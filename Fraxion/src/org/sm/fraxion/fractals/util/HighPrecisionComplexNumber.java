@@ -0,0 +1,275 @@
+// -----------------------------------------------
+// Filename      : HighPrecisionComplexNumber.java
+// Author        : Sven Maerivoet
+// Last modified : 29/10/2016
+// Target        : Java VM (1.8)
+// -----------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import java.math.*;
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>HighPrecisionComplexNumber</CODE> class provides an immutable complex number with arbitrary precision components.
+ * <P>
+ * It is used to carry locations in the complex plane (e.g., the bounds of a deep zoom) without losing precision.
+ * Additions and subtractions are exact; after scaling, the result should be rounded to a sensible resolution in order
+ * to keep the number of digits under control.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 29/10/2016
+ */
+public final class HighPrecisionComplexNumber
+{
+	// the number of extra digits to retain below the resolution when rounding
+	private static final int kNrOfGuardDigits = 6;
+
+	// internal datastructures
+	private BigDecimal fReal;
+	private BigDecimal fImaginary;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>HighPrecisionComplexNumber</CODE> object equal to 0 + 0i.
+	 */
+	public HighPrecisionComplexNumber()
+	{
+		this(BigDecimal.ZERO,BigDecimal.ZERO);
+	}
+
+	/**
+	 * Constructs a <CODE>HighPrecisionComplexNumber</CODE> object with the specified components.
+	 *
+	 * @param real       the real component
+	 * @param imaginary  the imaginary component
+	 */
+	public HighPrecisionComplexNumber(BigDecimal real, BigDecimal imaginary)
+	{
+		fReal = real;
+		fImaginary = imaginary;
+	}
+
+	/**
+	 * Constructs a <CODE>HighPrecisionComplexNumber</CODE> object with the specified components.
+	 *
+	 * @param real       the real component
+	 * @param imaginary  the imaginary component
+	 */
+	public HighPrecisionComplexNumber(double real, double imaginary)
+	{
+		this(BigDecimal.valueOf(real),BigDecimal.valueOf(imaginary));
+	}
+
+	/**
+	 * Constructs a <CODE>HighPrecisionComplexNumber</CODE> object equal to the specified complex number.
+	 *
+	 * @param c  the complex number to convert
+	 */
+	public HighPrecisionComplexNumber(ComplexNumber c)
+	{
+		this(c.realComponent(),c.imaginaryComponent());
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the real component.
+	 *
+	 * @return the real component
+	 */
+	public BigDecimal realComponent()
+	{
+		return fReal;
+	}
+
+	/**
+	 * Returns the imaginary component.
+	 *
+	 * @return the imaginary component
+	 */
+	public BigDecimal imaginaryComponent()
+	{
+		return fImaginary;
+	}
+
+	/**
+	 * Returns the closest double-precision complex number.
+	 *
+	 * @return the closest double-precision complex number
+	 */
+	public ComplexNumber toComplexNumber()
+	{
+		return (new ComplexNumber(fReal.doubleValue(),fImaginary.doubleValue()));
+	}
+
+	/**
+	 * Adds a complex number to this one.
+	 *
+	 * @param c  the complex number to add
+	 * @return   the exact sum of both complex numbers
+	 */
+	public HighPrecisionComplexNumber add(HighPrecisionComplexNumber c)
+	{
+		return (new HighPrecisionComplexNumber(fReal.add(c.fReal),fImaginary.add(c.fImaginary)));
+	}
+
+	/**
+	 * Adds a double-precision complex number (e.g., a small offset) to this one.
+	 *
+	 * @param c  the double-precision complex number to add
+	 * @return   the exact sum of both complex numbers
+	 */
+	public HighPrecisionComplexNumber add(ComplexNumber c)
+	{
+		return (new HighPrecisionComplexNumber(fReal.add(BigDecimal.valueOf(c.realComponent())),fImaginary.add(BigDecimal.valueOf(c.imaginaryComponent()))));
+	}
+
+	/**
+	 * Subtracts a complex number from this one.
+	 *
+	 * @param c  the complex number to subtract
+	 * @return   the exact difference of both complex numbers
+	 */
+	public HighPrecisionComplexNumber subtract(HighPrecisionComplexNumber c)
+	{
+		return (new HighPrecisionComplexNumber(fReal.subtract(c.fReal),fImaginary.subtract(c.fImaginary)));
+	}
+
+	/**
+	 * Multiplies this complex number with a real factor.
+	 *
+	 * @param factor  the real factor
+	 * @return        the exact product of this complex number and the real factor
+	 */
+	public HighPrecisionComplexNumber multiply(double factor)
+	{
+		BigDecimal bigFactor = BigDecimal.valueOf(factor);
+		return (new HighPrecisionComplexNumber(fReal.multiply(bigFactor),fImaginary.multiply(bigFactor)));
+	}
+
+	/**
+	 * Rounds both components to the specified resolution, keeping a few guard digits.
+	 *
+	 * @param resolution  the smallest absolute difference that should still be representable
+	 * @return            the rounded complex number
+	 */
+	public HighPrecisionComplexNumber round(double resolution)
+	{
+		if ((resolution <= 0.0) || Double.isNaN(resolution) || Double.isInfinite(resolution)) {
+			return this;
+		}
+
+		int scale = (int) Math.ceil(-Math.log10(resolution)) + kNrOfGuardDigits;
+		return (new HighPrecisionComplexNumber(
+			fReal.setScale(scale,RoundingMode.HALF_EVEN).stripTrailingZeros(),
+			fImaginary.setScale(scale,RoundingMode.HALF_EVEN).stripTrailingZeros()));
+	}
+
+	/**
+	 * Returns the midpoint between this complex number and another one.
+	 *
+	 * @param c  the other complex number
+	 * @return   the exact midpoint between both complex numbers
+	 */
+	public HighPrecisionComplexNumber midpoint(HighPrecisionComplexNumber c)
+	{
+		return add(c).multiply(0.5);
+	}
+
+	/**
+	 * Returns the required number of significant digits to distinguish points that lie the specified resolution apart.
+	 *
+	 * @param resolution  the smallest absolute difference that should still be representable
+	 * @return            the required number of significant digits
+	 */
+	public int getRequiredPrecision(double resolution)
+	{
+		double magnitude = Math.max(1.0,Math.max(Math.abs(fReal.doubleValue()),Math.abs(fImaginary.doubleValue())));
+		if ((resolution <= 0.0) || Double.isNaN(resolution) || Double.isInfinite(resolution)) {
+			return MathContext.DECIMAL128.getPrecision();
+		}
+		return ((int) Math.ceil(Math.log10(magnitude / resolution)) + kNrOfGuardDigits);
+	}
+
+	/**
+	 * Returns whether or not this complex number is equal to another one.
+	 *
+	 * @param object  the other complex number
+	 * @return        <CODE>true</CODE> if both complex numbers are numerically equal, <CODE>false</CODE> otherwise
+	 */
+	@Override
+	public boolean equals(Object object)
+	{
+		if (!(object instanceof HighPrecisionComplexNumber)) {
+			return false;
+		}
+		HighPrecisionComplexNumber c = (HighPrecisionComplexNumber) object;
+		return ((fReal.compareTo(c.fReal) == 0) && (fImaginary.compareTo(c.fImaginary) == 0));
+	}
+
+	/**
+	 * Returns a hash code for this complex number, consistent with {@link HighPrecisionComplexNumber#equals(Object)}.
+	 *
+	 * @return a hash code for this complex number
+	 */
+	@Override
+	public int hashCode()
+	{
+		return ((31 * fReal.stripTrailingZeros().hashCode()) + fImaginary.stripTrailingZeros().hashCode());
+	}
+
+	/**
+	 * Returns a <CODE>String</CODE> representation of this complex number.
+	 *
+	 * @return a <CODE>String</CODE> representation of this complex number
+	 */
+	@Override
+	public String toString()
+	{
+		if (fImaginary.signum() < 0) {
+			return (fReal.toString() + " - " + fImaginary.negate().toString() + "i");
+		}
+		else {
+			return (fReal.toString() + " + " + fImaginary.toString() + "i");
+		}
+	}
+
+	/**
+	 * Forces a partial order on two complex numbers, such that the real and imaginary components of the first one are
+	 * never larger than those of the second one.
+	 *
+	 * @param c1  the first complex number
+	 * @param c2  the second complex number
+	 * @return    an array containing the ordered complex numbers
+	 */
+	public static HighPrecisionComplexNumber[] forcePartialOrder(HighPrecisionComplexNumber c1, HighPrecisionComplexNumber c2)
+	{
+		return (new HighPrecisionComplexNumber[] {
+			new HighPrecisionComplexNumber(c1.fReal.min(c2.fReal),c1.fImaginary.min(c2.fImaginary)),
+			new HighPrecisionComplexNumber(c1.fReal.max(c2.fReal),c1.fImaginary.max(c2.fImaginary))});
+	}
+}
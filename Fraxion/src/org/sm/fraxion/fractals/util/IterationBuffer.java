@@ -1,13 +1,13 @@
 // ------------------------------------
 // Filename      : IterationBuffer.java
 // Author        : Sven Maerivoet
-// Last modified : 20/11/2014
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------
 
 /**
  * Copyright 2003-2015 Sven Maerivoet
- * 
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -23,16 +23,145 @@
 
 package org.sm.fraxion.fractals.util;
 
+import java.util.*;
+
 /**
  * The <CODE>IterationBuffer</CODE> class provides a container for the iteration buffer.
  * <P>
+ * The results of the points are not stored as separate <CODE>IterationResult</CODE> objects, but column-wise in one
+ * primitive array per field. The number of iterations is always stored; of the other fields, only the selected columns
+ * are stored (the fields of the other columns read as 0). The number of iterations and the root index are stored
+ * exactly (as integers); the other columns can optionally be stored with reduced (single) precision.
+ * <P>
  * <B>Note that this class cannot be subclassed!</B>
- * 
+ *
  * @author  Sven Maerivoet
- * @version 20/11/2014
+ * @version 22/11/2016
  */
 public final class IterationBuffer
 {
+	/**
+	 * The column of the normalised iteration count.
+	 */
+	public static final int kNormalisedIterationCountColumn = 1;
+
+	/**
+	 * The column of the exponential iteration count.
+	 */
+	public static final int kExponentialIterationCountColumn = 2;
+
+	/**
+	 * The column of the real component.
+	 */
+	public static final int kRealComponentColumn = 4;
+
+	/**
+	 * The column of the imaginary component.
+	 */
+	public static final int kImaginaryComponentColumn = 8;
+
+	/**
+	 * The column of the modulus.
+	 */
+	public static final int kModulusColumn = 16;
+
+	/**
+	 * The column of the average distance.
+	 */
+	public static final int kAverageDistanceColumn = 32;
+
+	/**
+	 * The column of the angle.
+	 */
+	public static final int kAngleColumn = 64;
+
+	/**
+	 * The column of the Lyapunov exponent.
+	 */
+	public static final int kLyapunovExponentColumn = 128;
+
+	/**
+	 * The column of the curvature.
+	 */
+	public static final int kCurvatureColumn = 256;
+
+	/**
+	 * The column of the striping.
+	 */
+	public static final int kStripingColumn = 512;
+
+	/**
+	 * The column of the minimum Gaussian integers distance.
+	 */
+	public static final int kMinimumGaussianIntegersDistanceColumn = 1024;
+
+	/**
+	 * The column of the average Gaussian integers distance.
+	 */
+	public static final int kAverageGaussianIntegersDistanceColumn = 2048;
+
+	/**
+	 * The column of the exterior distance.
+	 */
+	public static final int kExteriorDistanceColumn = 4096;
+
+	/**
+	 * The column of the disk orbit trap distance.
+	 */
+	public static final int kOrbitTrapDiskColumn = 8192;
+
+	/**
+	 * The column of the cross stalks orbit trap distance.
+	 */
+	public static final int kOrbitTrapCrossStalksColumn = 16384;
+
+	/**
+	 * The column of the sine orbit trap distance.
+	 */
+	public static final int kOrbitTrapSineColumn = 32768;
+
+	/**
+	 * The column of the tangens orbit trap distance.
+	 */
+	public static final int kOrbitTrapTangensColumn = 65536;
+
+	/**
+	 * The column of the root index.
+	 */
+	public static final int kRootIndexColumn = 131072;
+
+	/**
+	 * All columns.
+	 */
+	public static final int kAllColumns = 262143;
+
+	// the positions of the real-valued columns
+	private static final int kNormalisedIterationCountIndex = 0;
+	private static final int kExponentialIterationCountIndex = 1;
+	private static final int kRealComponentIndex = 2;
+	private static final int kImaginaryComponentIndex = 3;
+	private static final int kModulusIndex = 4;
+	private static final int kAverageDistanceIndex = 5;
+	private static final int kAngleIndex = 6;
+	private static final int kLyapunovExponentIndex = 7;
+	private static final int kCurvatureIndex = 8;
+	private static final int kStripingIndex = 9;
+	private static final int kMinimumGaussianIntegersDistanceIndex = 10;
+	private static final int kAverageGaussianIntegersDistanceIndex = 11;
+	private static final int kExteriorDistanceIndex = 12;
+	private static final int kOrbitTrapDiskIndex = 13;
+	private static final int kOrbitTrapCrossStalksIndex = 14;
+	private static final int kOrbitTrapSineIndex = 15;
+	private static final int kOrbitTrapTangensIndex = 16;
+	private static final int kNrOfRealColumns = 17;
+
+	// the stored numbers of iterations of points that are not yet calculated and of points that lie in the interior
+	private static final int kNotCalculated = -1;
+	private static final int kInterior = Integer.MAX_VALUE;
+
+	// the memory size (in bytes) of an orbit state (an object header, an int and nine doubles)
+	private static final long kOrbitStateMemorySize = 96L;
+
 	/**
 	 * The screen width of the iteration buffer.
 	 */
@@ -44,24 +173,404 @@ public final class IterationBuffer
 	public int fHeight;
 
 	/**
-	 * The iteration buffer as a linear array.
+	 * The sub-samples of each point (used for anti-aliasing), or <CODE>null</CODE> if no point is sub-sampled.
+	 * <P>
+	 * A point without sub-samples has a <CODE>null</CODE> entry.
+	 */
+	public IterationResult[][] fSubSamples;
+
+	/**
+	 * The advanced colouring channels that were calculated (all of them unless specified otherwise).
+	 */
+	public int fAdvancedColoringChannels;
+
+	/**
+	 * Whether or not points that are known to lie in the interior were skipped without iterating them (in which case
+	 * their interior results other than the number of iterations are zero).
+	 */
+	public boolean fKnownInteriorSkipped;
+
+	/**
+	 * Whether or not the inside of uniform rectangles was filled without iterating it (in which case the results other
+	 * than the number of iterations and the root are those of a border point).
 	 */
-	public IterationResult[] fBuffer;
+	public boolean fRectanglesFilled;
+
+	/**
+	 * The maximum number of iterations with which the buffer was calculated (0 if unknown).
+	 */
+	public int fMaxNrOfIterations;
+
+	// internal datastructures
+	private int fColumns;
+	private boolean fReducedPrecision;
+	private int[] fNrOfIterations;
+	private double[][] fDoubleColumns;
+	private float[][] fFloatColumns;
+	private short[] fRootIndices;
+	private OrbitState[] fOrbitStates;
 
 	/*****************
 	 * CONSTRUCTORS  *
 	 *****************/
 
 	/**
-	 * Constructs an <CODE>IterationBuffer</CODE> object that contains an iteration buffer.
+	 * Constructs an <CODE>IterationBuffer</CODE> object that contains an iteration buffer with all columns in full
+	 * precision.
 	 *
 	 * @param width  the screen width of the iteration buffer
 	 * @param height the screen height of the iteration buffer
 	 */
 	public IterationBuffer(int width, int height)
+	{
+		this(width,height,kAllColumns,false);
+	}
+
+	/**
+	 * Constructs an <CODE>IterationBuffer</CODE> object that contains an iteration buffer with the specified columns.
+	 *
+	 * @param width             the screen width of the iteration buffer
+	 * @param height            the screen height of the iteration buffer
+	 * @param columns           a mask of the columns to store (the number of iterations is always stored)
+	 * @param reducedPrecision  a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 */
+	public IterationBuffer(int width, int height, int columns, boolean reducedPrecision)
 	{
 		fWidth = width;
 		fHeight = height;
-		fBuffer = new IterationResult[width * height];
+		fAdvancedColoringChannels = ColoringParameters.kAllChannels;
+		fColumns = columns & kAllColumns;
+		fReducedPrecision = reducedPrecision;
+
+		int nrOfPoints = width * height;
+		fNrOfIterations = new int[nrOfPoints];
+		Arrays.fill(fNrOfIterations,kNotCalculated);
+
+		fDoubleColumns = new double[kNrOfRealColumns][];
+		fFloatColumns = new float[kNrOfRealColumns][];
+		for (int column = 0; column < kNrOfRealColumns; ++column) {
+			if ((fColumns & (1 << column)) != 0) {
+				if (fReducedPrecision) {
+					fFloatColumns[column] = new float[nrOfPoints];
+				}
+				else {
+					fDoubleColumns[column] = new double[nrOfPoints];
+				}
+			}
+		}
+
+		if ((fColumns & kRootIndexColumn) != 0) {
+			fRootIndices = new short[nrOfPoints];
+		}
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the memory size (in bytes) that a single point occupies in an iteration buffer.
+	 *
+	 * @param columns           a mask of the columns that are stored
+	 * @param reducedPrecision  a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 * @param keepsOrbitStates  a <CODE>boolean</CODE> indicating whether or not orbit states are kept (counted for every point, as all of them may lie in the interior)
+	 * @return                  the memory size (in bytes) of a single point
+	 */
+	public static long getMemorySizePerPoint(int columns, boolean reducedPrecision, boolean keepsOrbitStates)
+	{
+		// the number of iterations
+		long memorySize = 4L;
+
+		// the reference to the orbit state and the orbit state itself
+		if (keepsOrbitStates) {
+			memorySize += 4L + kOrbitStateMemorySize;
+		}
+
+		for (int column = 0; column < kNrOfRealColumns; ++column) {
+			if ((columns & (1 << column)) != 0) {
+				memorySize += (reducedPrecision ? 4L : 8L);
+			}
+		}
+
+		if ((columns & kRootIndexColumn) != 0) {
+			memorySize += 2L;
+		}
+
+		return memorySize;
+	}
+
+	/**
+	 * Returns the number of points in the iteration buffer.
+	 *
+	 * @return the number of points in the iteration buffer
+	 */
+	public int getNrOfPoints()
+	{
+		return fNrOfIterations.length;
+	}
+
+	/**
+	 * Returns the columns that are stored.
+	 *
+	 * @return a mask of the columns that are stored
+	 */
+	public int getColumns()
+	{
+		return fColumns;
+	}
+
+	/**
+	 * Discards the columns that are not in the specified mask (e.g., the columns of a loaded buffer that were not stored
+	 * when it was saved); the discarded columns read as 0 afterwards.
+	 *
+	 * @param columns  a mask of the columns to retain
+	 */
+	public void retainColumns(int columns)
+	{
+		fColumns &= columns;
+		for (int column = 0; column < kNrOfRealColumns; ++column) {
+			if ((fColumns & (1 << column)) == 0) {
+				fDoubleColumns[column] = null;
+				fFloatColumns[column] = null;
+			}
+		}
+		if ((fColumns & kRootIndexColumn) == 0) {
+			fRootIndices = null;
+		}
+	}
+
+	/**
+	 * Returns whether or not the real-valued columns are stored with single precision.
+	 *
+	 * @return a <CODE>boolean</CODE> indicating whether or not the real-valued columns are stored with single precision
+	 */
+	public boolean usesReducedPrecision()
+	{
+		return fReducedPrecision;
+	}
+
+	/**
+	 * Returns whether or not a point is calculated.
+	 *
+	 * @param index  the index of the point
+	 * @return       a <CODE>boolean</CODE> indicating whether or not the point is calculated
+	 */
+	public boolean isCalculated(int index)
+	{
+		return (fNrOfIterations[index] != kNotCalculated);
+	}
+
+	/**
+	 * Returns whether or not a calculated point lies in the fractal's interior.
+	 *
+	 * @param index  the index of the point
+	 * @return       a <CODE>boolean</CODE> indicating whether or not the point lies in the fractal's interior
+	 */
+	public boolean liesInInterior(int index)
+	{
+		return (fNrOfIterations[index] == kInterior);
+	}
+
+	/**
+	 * Returns the number of iterations of a calculated point.
+	 *
+	 * @param index  the index of the point
+	 * @return       the number of iterations of the point (<CODE>IterationResult.kInfinity</CODE> if it lies in the interior)
+	 */
+	public double getNrOfIterations(int index)
+	{
+		int nrOfIterations = fNrOfIterations[index];
+		return ((nrOfIterations == kInterior) ? IterationResult.kInfinity : (double) nrOfIterations);
+	}
+
+	/**
+	 * Returns the orbit state of a point.
+	 *
+	 * @param index  the index of the point
+	 * @return       the orbit state of the point, or <CODE>null</CODE> if it has none
+	 */
+	public OrbitState getOrbitState(int index)
+	{
+		return ((fOrbitStates != null) ? fOrbitStates[index] : null);
+	}
+
+	/**
+	 * Returns the result of a point as a new <CODE>IterationResult</CODE> object.
+	 *
+	 * @param index  the index of the point
+	 * @return       the result of the point, or <CODE>null</CODE> if it is not calculated
+	 */
+	public IterationResult get(int index)
+	{
+		return get(index,new IterationResult());
+	}
+
+	/**
+	 * Fills in the result of a point in an existing <CODE>IterationResult</CODE> object (which avoids creating an object
+	 * for each point that is read).
+	 *
+	 * @param index            the index of the point
+	 * @param iterationResult  the object to fill in
+	 * @return                 the filled in object, or <CODE>null</CODE> if the point is not calculated
+	 */
+	public IterationResult get(int index, IterationResult iterationResult)
+	{
+		if (!isCalculated(index)) {
+			return null;
+		}
+
+		iterationResult.fNrOfIterations = getNrOfIterations(index);
+		iterationResult.fNormalisedIterationCount = getColumn(kNormalisedIterationCountIndex,index);
+		iterationResult.fExponentialIterationCount = getColumn(kExponentialIterationCountIndex,index);
+		iterationResult.fRealComponent = getColumn(kRealComponentIndex,index);
+		iterationResult.fImaginaryComponent = getColumn(kImaginaryComponentIndex,index);
+		iterationResult.fModulus = getColumn(kModulusIndex,index);
+		iterationResult.fAverageDistance = getColumn(kAverageDistanceIndex,index);
+		iterationResult.fAngle = getColumn(kAngleIndex,index);
+		iterationResult.fLyapunovExponent = getColumn(kLyapunovExponentIndex,index);
+		iterationResult.fCurvature = getColumn(kCurvatureIndex,index);
+		iterationResult.fStriping = getColumn(kStripingIndex,index);
+		iterationResult.fMinimumGaussianIntegersDistance = getColumn(kMinimumGaussianIntegersDistanceIndex,index);
+		iterationResult.fAverageGaussianIntegersDistance = getColumn(kAverageGaussianIntegersDistanceIndex,index);
+		iterationResult.fExteriorDistance = getColumn(kExteriorDistanceIndex,index);
+		iterationResult.fOrbitTrapDiskDistance = getColumn(kOrbitTrapDiskIndex,index);
+		iterationResult.fOrbitTrapCrossStalksDistance = getColumn(kOrbitTrapCrossStalksIndex,index);
+		iterationResult.fOrbitTrapSineDistance = getColumn(kOrbitTrapSineIndex,index);
+		iterationResult.fOrbitTrapTangensDistance = getColumn(kOrbitTrapTangensIndex,index);
+		iterationResult.fRootIndex = ((fRootIndices != null) ? (double) fRootIndices[index] : 0.0);
+		iterationResult.fComplexOrbit = null;
+		iterationResult.fScreenOrbit = null;
+		iterationResult.fOrbitState = getOrbitState(index);
+
+		return iterationResult;
+	}
+
+	/**
+	 * Stores the result of a point (its saved orbit is not stored).
+	 *
+	 * @param index            the index of the point
+	 * @param iterationResult  the result of the point, or <CODE>null</CODE> to mark the point as not calculated
+	 */
+	public void set(int index, IterationResult iterationResult)
+	{
+		if (iterationResult == null) {
+			fNrOfIterations[index] = kNotCalculated;
+			setOrbitState(index,null);
+			return;
+		}
+
+		fNrOfIterations[index] = (iterationResult.liesInInterior() ? kInterior : (int) iterationResult.fNrOfIterations);
+		setColumn(kNormalisedIterationCountIndex,index,iterationResult.fNormalisedIterationCount);
+		setColumn(kExponentialIterationCountIndex,index,iterationResult.fExponentialIterationCount);
+		setColumn(kRealComponentIndex,index,iterationResult.fRealComponent);
+		setColumn(kImaginaryComponentIndex,index,iterationResult.fImaginaryComponent);
+		setColumn(kModulusIndex,index,iterationResult.fModulus);
+		setColumn(kAverageDistanceIndex,index,iterationResult.fAverageDistance);
+		setColumn(kAngleIndex,index,iterationResult.fAngle);
+		setColumn(kLyapunovExponentIndex,index,iterationResult.fLyapunovExponent);
+		setColumn(kCurvatureIndex,index,iterationResult.fCurvature);
+		setColumn(kStripingIndex,index,iterationResult.fStriping);
+		setColumn(kMinimumGaussianIntegersDistanceIndex,index,iterationResult.fMinimumGaussianIntegersDistance);
+		setColumn(kAverageGaussianIntegersDistanceIndex,index,iterationResult.fAverageGaussianIntegersDistance);
+		setColumn(kExteriorDistanceIndex,index,iterationResult.fExteriorDistance);
+		setColumn(kOrbitTrapDiskIndex,index,iterationResult.fOrbitTrapDiskDistance);
+		setColumn(kOrbitTrapCrossStalksIndex,index,iterationResult.fOrbitTrapCrossStalksDistance);
+		setColumn(kOrbitTrapSineIndex,index,iterationResult.fOrbitTrapSineDistance);
+		setColumn(kOrbitTrapTangensIndex,index,iterationResult.fOrbitTrapTangensDistance);
+		setRootIndex(index,iterationResult.fRootIndex);
+		setOrbitState(index,iterationResult.fOrbitState);
+	}
+
+	/**
+	 * Stores the root index of a calculated point (if the root index column is stored).
+	 *
+	 * @param index      the index of the point
+	 * @param rootIndex  the root index of the point
+	 */
+	public void setRootIndex(int index, double rootIndex)
+	{
+		if (fRootIndices != null) {
+			fRootIndices[index] = (short) rootIndex;
+		}
+	}
+
+	/**
+	 * Copies the result of a point of another iteration buffer (its sub-samples are not copied).
+	 * <P>
+	 * The columns that the other iteration buffer doesn't store are copied as 0.
+	 *
+	 * @param index        the index of the point in this iteration buffer
+	 * @param source       the iteration buffer to copy from (can be this iteration buffer)
+	 * @param sourceIndex  the index of the point in the iteration buffer to copy from
+	 */
+	public void copy(int index, IterationBuffer source, int sourceIndex)
+	{
+		fNrOfIterations[index] = source.fNrOfIterations[sourceIndex];
+		for (int column = 0; column < kNrOfRealColumns; ++column) {
+			if ((fColumns & (1 << column)) != 0) {
+				setColumn(column,index,source.getColumn(column,sourceIndex));
+			}
+		}
+		if (fRootIndices != null) {
+			fRootIndices[index] = ((source.fRootIndices != null) ? source.fRootIndices[sourceIndex] : 0);
+		}
+		setOrbitState(index,source.getOrbitState(sourceIndex));
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Returns the value of a point in a real-valued column.
+	 *
+	 * @param column  the position of the column
+	 * @param index   the index of the point
+	 * @return        the value of the point in the column (0 if the column is not stored)
+	 */
+	private double getColumn(int column, int index)
+	{
+		if (fDoubleColumns[column] != null) {
+			return fDoubleColumns[column][index];
+		}
+		else if (fFloatColumns[column] != null) {
+			return fFloatColumns[column][index];
+		}
+		else {
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Stores the value of a point in a real-valued column (if the column is stored).
+	 *
+	 * @param column  the position of the column
+	 * @param index   the index of the point
+	 * @param value   the value of the point
+	 */
+	private void setColumn(int column, int index, double value)
+	{
+		if (fDoubleColumns[column] != null) {
+			fDoubleColumns[column][index] = value;
+		}
+		else if (fFloatColumns[column] != null) {
+			fFloatColumns[column][index] = (float) value;
+		}
+	}
+
+	/**
+	 * Stores the orbit state of a point; the orbit states are only allocated once a point has one.
+	 *
+	 * @param index       the index of the point
+	 * @param orbitState  the orbit state of the point, or <CODE>null</CODE> if it has none
+	 */
+	private void setOrbitState(int index, OrbitState orbitState)
+	{
+		if ((orbitState != null) && (fOrbitStates == null)) {
+			fOrbitStates = new OrbitState[fNrOfIterations.length];
+		}
+		if (fOrbitStates != null) {
+			fOrbitStates[index] = orbitState;
+		}
 	}
 }
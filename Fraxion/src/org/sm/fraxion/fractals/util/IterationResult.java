@@ -1,7 +1,7 @@
 // ------------------------------------
 // Filename      : IterationResult.java
 // Author        : Sven Maerivoet
-// Last modified : 23/06/2015
+// Last modified : 19/11/2016
 // Target        : Java VM (1.8)
 // ------------------------------------
 
@@ -32,7 +32,7 @@ import org.sm.smtools.math.complex.*;
  * <B>Note that this class cannot be subclassed!</B>
  * 
  * @author  Sven Maerivoet
- * @version 23/06/2015
+ * @version 19/11/2016
  */
 public final class IterationResult
 {
@@ -74,6 +74,12 @@ public final class IterationResult
 	public ComplexNumber[] fComplexOrbit;
 	public ScreenLocation[] fScreenOrbit;
 
+	/**
+	 * The final state of the orbit if it reached the maximum number of iterations and can be continued from there
+	 * (or <CODE>null</CODE> otherwise).
+	 */
+	public OrbitState fOrbitState;
+
 	/*****************
 	 * CONSTRUCTORS  *
 	 *****************/
@@ -85,6 +91,34 @@ public final class IterationResult
 	{
 	}
 
+	/**
+	 * Constructs an <CODE>IterationResult</CODE> object that is a copy of another one (without its saved orbit and orbit state).
+	 *
+	 * @param iterationResult  the iteration result to copy
+	 */
+	public IterationResult(IterationResult iterationResult)
+	{
+		fNrOfIterations = iterationResult.fNrOfIterations;
+		fNormalisedIterationCount = iterationResult.fNormalisedIterationCount;
+		fExponentialIterationCount = iterationResult.fExponentialIterationCount;
+		fRealComponent = iterationResult.fRealComponent;
+		fImaginaryComponent = iterationResult.fImaginaryComponent;
+		fModulus = iterationResult.fModulus;
+		fAverageDistance = iterationResult.fAverageDistance;
+		fAngle = iterationResult.fAngle;
+		fLyapunovExponent = iterationResult.fLyapunovExponent;
+		fCurvature = iterationResult.fCurvature;
+		fStriping = iterationResult.fStriping;
+		fMinimumGaussianIntegersDistance = iterationResult.fMinimumGaussianIntegersDistance;
+		fAverageGaussianIntegersDistance = iterationResult.fAverageGaussianIntegersDistance;
+		fExteriorDistance = iterationResult.fExteriorDistance;
+		fOrbitTrapDiskDistance = iterationResult.fOrbitTrapDiskDistance;
+		fOrbitTrapCrossStalksDistance = iterationResult.fOrbitTrapCrossStalksDistance;
+		fOrbitTrapSineDistance = iterationResult.fOrbitTrapSineDistance;
+		fOrbitTrapTangensDistance = iterationResult.fOrbitTrapTangensDistance;
+		fRootIndex = iterationResult.fRootIndex;
+	}
+
 	/**
 	 * Returns whether or not the final point of this iteration sequence lies in the fractal's interior.
 	 * 
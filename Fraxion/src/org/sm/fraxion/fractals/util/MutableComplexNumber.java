@@ -0,0 +1,877 @@
+// -------------------------------------------
+// Filename      : MutableComplexNumber.java
+// Author        : Sven Maerivoet
+// Last modified : 15/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>MutableComplexNumber</CODE> class provides a complex number that is modified in place.
+ * <P>
+ * It serves as a reusable register for the primitive kernels of the fractal iterators: contrary to
+ * <CODE>ComplexNumber</CODE>, no new objects are created (and no modulus and argument are precalculated) for each
+ * operation. All arithmetic operations modify this number and return a reference to it, so they can be chained.
+ * Each operation follows the same formulas as its <CODE>ComplexNumber</CODE> counterpart, so that both yield the
+ * same results.
+ * <P>
+ * The exceptions are the transcendental functions that accept a <CODE>fastMath</CODE> flag: when it is set, they are
+ * evaluated with fused range-reduced polynomial approximations instead of the <CODE>Math</CODE> calls, with a relative
+ * error of each component below {@link MutableComplexNumber#kFastMathErrorBound}. Their exponential growth is
+ * saturated at <I>e</I><SUP>{@link MutableComplexNumber#kFastMathMaximumExponent}</SUP>, so that orbits that clearly
+ * escape never produce infinite or undefined components. When the flag is cleared, these functions yield exactly the
+ * same results as their counterparts without the flag.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 15/11/2016
+ */
+public final class MutableComplexNumber
+{
+	/**
+	 * The upper bound on the relative error of each component of the fast-math approximations of the sine, cosine,
+	 * tangent, cotangent, and exponential (away from their zeros, poles, and saturation).
+	 */
+	public static final double kFastMathErrorBound = 1.0E-14;
+
+	/**
+	 * The exponent at which the exponential growth of the fast-math approximations is saturated; the associated modulus
+	 * of about 6.2E27 lies far beyond any practical escape radius.
+	 */
+	public static final double kFastMathMaximumExponent = 64.0;
+
+	// the exponent below which the fast-math exponential underflows to zero
+	private static final double kFastMathMinimumExponent = -708.0;
+
+	// the largest angle that is reduced by the fast-math sine and cosine (larger angles are handed to Math.sin() and Math.cos())
+	private static final double kFastMathMaximumReducibleAngle = 1.0E6;
+
+	// the constants for the Cody-Waite argument reductions (the leading parts have trailing zero bits, so that their small multiples are exact)
+	private static final double kTwoOverPi = 6.36619772367581382433e-01;
+	private static final double kPiOverTwo1 = 1.57079632673412561417e+00;
+	private static final double kPiOverTwo2 = 6.07710050630396597660e-11;
+	private static final double kPiOverTwo3 = 2.02226624879595063154e-21;
+	private static final double kThirtyTwoOverPiOverTwo = 32.0 * kTwoOverPi;
+	private static final double kPiOverSixtyFour1 = kPiOverTwo1 / 32.0;
+	private static final double kPiOverSixtyFour2 = (kPiOverTwo2 + kPiOverTwo3) / 32.0;
+	private static final double kSixtyFourOverLn2 = 64.0 * 1.44269504088896338700e+00;
+	private static final double kLn2OverSixtyFour1 = 6.93147180369123816490e-01 / 64.0;
+	private static final double kLn2OverSixtyFour2 = 1.90821492927058770002e-10 / 64.0;
+
+	// the tables of sin(j pi / 64) and cos(j pi / 64) for -16 <= j <= 16, and of 2^(j / 64) for 0 <= j < 64
+	private static final int kSineTableOffset = 16;
+	private static final double[] kSineTable = new double[2 * kSineTableOffset + 1];
+	private static final double[] kCosineTable = new double[2 * kSineTableOffset + 1];
+	private static final double[] kExponentialTable = new double[64];
+	static {
+		for (int j = -kSineTableOffset; j <= kSineTableOffset; ++j) {
+			kSineTable[j + kSineTableOffset] = Math.sin(j * (Math.PI / 64.0));
+			kCosineTable[j + kSineTableOffset] = Math.cos(j * (Math.PI / 64.0));
+		}
+		for (int j = 0; j < kExponentialTable.length; ++j) {
+			kExponentialTable[j] = Math.pow(2.0,j / 64.0);
+		}
+	}
+
+	// internal datastructures
+	private double fRealComponent;
+	private double fImaginaryComponent;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>MutableComplexNumber</CODE> object equal to 0 + 0i.
+	 */
+	public MutableComplexNumber()
+	{
+		fRealComponent = 0.0;
+		fImaginaryComponent = 0.0;
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Sets this number equal to the specified components.
+	 *
+	 * @param real       the real component
+	 * @param imaginary  the imaginary component
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber set(double real, double imaginary)
+	{
+		fRealComponent = real;
+		fImaginaryComponent = imaginary;
+		return this;
+	}
+
+	/**
+	 * Sets this number equal to another number.
+	 *
+	 * @param c  the number to copy
+	 * @return   a reference to this number
+	 */
+	public MutableComplexNumber set(MutableComplexNumber c)
+	{
+		return set(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Returns the real component.
+	 *
+	 * @return the real component
+	 */
+	public double realComponent()
+	{
+		return fRealComponent;
+	}
+
+	/**
+	 * Returns the imaginary component.
+	 *
+	 * @return the imaginary component
+	 */
+	public double imaginaryComponent()
+	{
+		return fImaginaryComponent;
+	}
+
+	/**
+	 * Returns whether or not this number equals the specified components.
+	 *
+	 * @param real       the real component
+	 * @param imaginary  the imaginary component
+	 * @return           <CODE>true</CODE> if both components are equal, <CODE>false</CODE> otherwise
+	 */
+	public boolean equals(double real, double imaginary)
+	{
+		return ((fRealComponent == real) && (fImaginaryComponent == imaginary));
+	}
+
+	/**
+	 * Returns the squared modulus of this number.
+	 *
+	 * @return the squared modulus of this number
+	 */
+	public double modulusSquared()
+	{
+		return ((fRealComponent * fRealComponent) + (fImaginaryComponent * fImaginaryComponent));
+	}
+
+	/**
+	 * Returns the modulus of this number.
+	 *
+	 * @return the modulus of this number
+	 */
+	public double modulus()
+	{
+		return Math.sqrt(modulusSquared());
+	}
+
+	/**
+	 * Returns the argument of this number.
+	 *
+	 * @return the argument of this number
+	 */
+	public double argument()
+	{
+		return Math.atan2(fImaginaryComponent,fRealComponent);
+	}
+
+	/**
+	 * Converts this number into an immutable complex number.
+	 *
+	 * @return the immutable complex number
+	 */
+	public ComplexNumber toComplexNumber()
+	{
+		return (new ComplexNumber(fRealComponent,fImaginaryComponent));
+	}
+
+	/**
+	 * Adds a complex number to this number.
+	 *
+	 * @param real       the real component of the number to add
+	 * @param imaginary  the imaginary component of the number to add
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber add(double real, double imaginary)
+	{
+		fRealComponent += real;
+		fImaginaryComponent += imaginary;
+		return this;
+	}
+
+	/**
+	 * Adds another number to this number.
+	 *
+	 * @param c  the number to add
+	 * @return   a reference to this number
+	 */
+	public MutableComplexNumber add(MutableComplexNumber c)
+	{
+		return add(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Subtracts a complex number from this number.
+	 *
+	 * @param real       the real component of the number to subtract
+	 * @param imaginary  the imaginary component of the number to subtract
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber subtract(double real, double imaginary)
+	{
+		fRealComponent -= real;
+		fImaginaryComponent -= imaginary;
+		return this;
+	}
+
+	/**
+	 * Subtracts another number from this number.
+	 *
+	 * @param c  the number to subtract
+	 * @return   a reference to this number
+	 */
+	public MutableComplexNumber subtract(MutableComplexNumber c)
+	{
+		return subtract(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Multiplies this number with a complex number.
+	 *
+	 * @param real       the real component of the number to multiply with
+	 * @param imaginary  the imaginary component of the number to multiply with
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber multiply(double real, double imaginary)
+	{
+		return set((fRealComponent * real) - (fImaginaryComponent * imaginary),(fImaginaryComponent * real) + (fRealComponent * imaginary));
+	}
+
+	/**
+	 * Multiplies this number with another number.
+	 *
+	 * @param c  the number to multiply with
+	 * @return   a reference to this number
+	 */
+	public MutableComplexNumber multiply(MutableComplexNumber c)
+	{
+		return multiply(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Multiplies this number with a real factor.
+	 *
+	 * @param factor  the real factor
+	 * @return        a reference to this number
+	 */
+	public MutableComplexNumber multiply(double factor)
+	{
+		return set(fRealComponent * factor,fImaginaryComponent * factor);
+	}
+
+	/**
+	 * Divides this number by a complex number; division by zero results in 0 + 0i.
+	 *
+	 * @param real       the real component of the divisor
+	 * @param imaginary  the imaginary component of the divisor
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber divide(double real, double imaginary)
+	{
+		double divisorModulusSqr = (real * real) + (imaginary * imaginary);
+		if (divisorModulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		return set(((fRealComponent * real) + (fImaginaryComponent * imaginary)) / divisorModulusSqr,((fImaginaryComponent * real) - (fRealComponent * imaginary)) / divisorModulusSqr);
+	}
+
+	/**
+	 * Divides this number by another number; division by zero results in 0 + 0i.
+	 *
+	 * @param c  the divisor
+	 * @return   a reference to this number
+	 */
+	public MutableComplexNumber divide(MutableComplexNumber c)
+	{
+		return divide(c.fRealComponent,c.fImaginaryComponent);
+	}
+
+	/**
+	 * Negates this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber negate()
+	{
+		return set(-fRealComponent,-fImaginaryComponent);
+	}
+
+	/**
+	 * Conjugates this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber conjugate()
+	{
+		fImaginaryComponent = -fImaginaryComponent;
+		return this;
+	}
+
+	/**
+	 * Takes the absolute values of both components of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber cabs()
+	{
+		return set(Math.abs(fRealComponent),Math.abs(fImaginaryComponent));
+	}
+
+	/**
+	 * Inverts this number; the inverse of zero is 0 + 0i.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber inverse()
+	{
+		double modulusSqr = modulusSquared();
+		if (modulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		return set(fRealComponent / modulusSqr,-fImaginaryComponent / modulusSqr);
+	}
+
+	/**
+	 * Takes the reciprocal of this number (without checking for zero).
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber reciprocal()
+	{
+		double modulusSqr = modulusSquared();
+		return set(fRealComponent / modulusSqr,-fImaginaryComponent / modulusSqr);
+	}
+
+	/**
+	 * Squares this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber sqr()
+	{
+		return set((fRealComponent * fRealComponent) - (fImaginaryComponent * fImaginaryComponent),2.0 * fRealComponent * fImaginaryComponent);
+	}
+
+	/**
+	 * Cubes this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber cube()
+	{
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		return set((x * x * x) - (3.0 * x * y * y),(3.0 * x * x * y) - (y * y * y));
+	}
+
+	/**
+	 * Takes the principal square root of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber sqrt()
+	{
+		double modulus = modulus();
+		return set(Math.sqrt((fRealComponent + modulus) / 2.0),Math.signum(fImaginaryComponent) * Math.sqrt((-fRealComponent + modulus) / 2.0));
+	}
+
+	/**
+	 * Raises this number to a real power; zero raised to any power results in 0 + 0i.
+	 *
+	 * @param power  the real power
+	 * @return       a reference to this number
+	 */
+	public MutableComplexNumber pow(double power)
+	{
+		double modulus = modulus();
+		if (modulus == 0.0) {
+			return set(0.0,0.0);
+		}
+		double newModulus = Math.pow(modulus,power);
+		double newArgument = power * argument();
+		return set(newModulus * Math.cos(newArgument),newModulus * Math.sin(newArgument));
+	}
+
+	/**
+	 * Raises this number to a complex power; zero raised to any power results in 0 + 0i.
+	 *
+	 * @param real       the real component of the power
+	 * @param imaginary  the imaginary component of the power
+	 * @return           a reference to this number
+	 */
+	public MutableComplexNumber pow(double real, double imaginary)
+	{
+		if (modulus() == 0.0) {
+			return set(0.0,0.0);
+		}
+		return ln().multiply(real,imaginary).exp();
+	}
+
+	/**
+	 * Raises this number to a complex power; zero raised to any power results in 0 + 0i.
+	 *
+	 * @param power  the complex power
+	 * @return       a reference to this number
+	 */
+	public MutableComplexNumber pow(ComplexNumber power)
+	{
+		return pow(power.realComponent(),power.imaginaryComponent());
+	}
+
+	/**
+	 * Raises this number to a positive integer power by means of exponentiation by squaring; non-positive powers are
+	 * handled as real powers.
+	 *
+	 * @param power  the integer power
+	 * @return       a reference to this number
+	 */
+	public MutableComplexNumber pow(int power)
+	{
+		if (power < 1) {
+			return pow((double) power);
+		}
+
+		double baseX = fRealComponent;
+		double baseY = fImaginaryComponent;
+		double x = 0.0;
+		double y = 0.0;
+		boolean empty = true;
+		int exponent = power;
+		while (true) {
+			if ((exponent & 1) != 0) {
+				if (empty) {
+					x = baseX;
+					y = baseY;
+					empty = false;
+				}
+				else {
+					double newX = (x * baseX) - (y * baseY);
+					y = (y * baseX) + (x * baseY);
+					x = newX;
+				}
+			}
+			exponent >>= 1;
+			if (exponent == 0) {
+				break;
+			}
+			double newBaseX = (baseX * baseX) - (baseY * baseY);
+			baseY = 2.0 * baseX * baseY;
+			baseX = newBaseX;
+		}
+		return set(x,y);
+	}
+
+	/**
+	 * Raises this number to a specialised power, taking the cheapest route for the type of the power.
+	 *
+	 * @param power  the specialised power
+	 * @return       a reference to this number
+	 */
+	public MutableComplexNumber pow(SpecialisedPower power)
+	{
+		if (power.getPowerType() == SpecialisedPower.EPowerType.kInteger) {
+			return pow(power.getIntegerPower());
+		}
+		else if (power.getPowerType() == SpecialisedPower.EPowerType.kReal) {
+			return pow(power.getRealPower());
+		}
+		else {
+			return pow(power.getPower());
+		}
+	}
+
+	/**
+	 * Takes the principal natural logarithm of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber ln()
+	{
+		return set(Math.log(modulus()),argument());
+	}
+
+	/**
+	 * Takes the exponential of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber exp()
+	{
+		double expX = Math.exp(fRealComponent);
+		return set(expX * Math.cos(fImaginaryComponent),expX * Math.sin(fImaginaryComponent));
+	}
+
+	/**
+	 * Takes the cosine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber cos()
+	{
+		// cos(z) = (exp(iz) + exp(-iz)) / 2
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double expMinusY = Math.exp(-y);
+		double expY = Math.exp(y);
+		double sumX = (expMinusY * Math.cos(x)) + (expY * Math.cos(-x));
+		double sumY = (expMinusY * Math.sin(x)) + (expY * Math.sin(-x));
+		return set(sumX,sumY).divide(2.0,0.0);
+	}
+
+	/**
+	 * Takes the sine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber sin()
+	{
+		// sin(z) = (exp(iz) - exp(-iz)) / 2i
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double expMinusY = Math.exp(-y);
+		double expY = Math.exp(y);
+		double differenceX = (expMinusY * Math.cos(x)) - (expY * Math.cos(-x));
+		double differenceY = (expMinusY * Math.sin(x)) - (expY * Math.sin(-x));
+		return set(differenceX,differenceY).divide(0.0,2.0);
+	}
+
+	/**
+	 * Takes the tangent of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber tan()
+	{
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double cosX = cos().fRealComponent;
+		double cosY = fImaginaryComponent;
+		return set(x,y).sin().divide(cosX,cosY);
+	}
+
+	/**
+	 * Takes the cotangent of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber cot()
+	{
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double sinX = sin().fRealComponent;
+		double sinY = fImaginaryComponent;
+		return set(x,y).cos().divide(sinX,sinY);
+	}
+
+	/**
+	 * Takes the secant of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber sec()
+	{
+		return cos().reciprocal();
+	}
+
+	/**
+	 * Takes the hyperbolic sine of this number.
+	 *
+	 * @return a reference to this number
+	 */
+	public MutableComplexNumber sinh()
+	{
+		// sinh(z) = (exp(z) - exp(-z)) / 2
+		double x = fRealComponent;
+		double y = fImaginaryComponent;
+		double expX = Math.exp(x);
+		double expMinusX = Math.exp(-x);
+		double differenceX = (expX * Math.cos(y)) - (expMinusX * Math.cos(-y));
+		double differenceY = (expX * Math.sin(y)) - (expMinusX * Math.sin(-y));
+		return set(differenceX,differenceY).multiply(0.5,0.0);
+	}
+
+	/**
+	 * Takes the exponential of this number, optionally by means of the fast-math approximation.
+	 *
+	 * @param fastMath  a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return          a reference to this number
+	 * @see             MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber exp(boolean fastMath)
+	{
+		if (!fastMath) {
+			return exp();
+		}
+
+		return setPolar(fastExp(Math.min(fRealComponent,kFastMathMaximumExponent)),fImaginaryComponent);
+	}
+
+	/**
+	 * Raises this number to a complex power, optionally by means of the fast-math approximation of the exponential;
+	 * zero raised to any power results in 0 + 0i.
+	 *
+	 * @param real       the real component of the power
+	 * @param imaginary  the imaginary component of the power
+	 * @param fastMath   a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return           a reference to this number
+	 * @see              MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber pow(double real, double imaginary, boolean fastMath)
+	{
+		if (!fastMath) {
+			return pow(real,imaginary);
+		}
+
+		double modulusSqr = modulusSquared();
+		if (modulusSqr == 0.0) {
+			return set(0.0,0.0);
+		}
+		double lnModulus = (Double.isInfinite(modulusSqr) ? Math.log(Math.hypot(fRealComponent,fImaginaryComponent)) : 0.5 * Math.log(modulusSqr));
+		double argument = argument();
+		return set((lnModulus * real) - (argument * imaginary),(lnModulus * imaginary) + (argument * real)).exp(true);
+	}
+
+	/**
+	 * Takes the cosine of this number, optionally by means of the fast-math approximation.
+	 *
+	 * @param fastMath  a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return          a reference to this number
+	 * @see             MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber cos(boolean fastMath)
+	{
+		if (!fastMath) {
+			return cos();
+		}
+
+		// cos(x + iy) = cos(x)cosh(y) - i sin(x)sinh(y)
+		double x = fRealComponent;
+		setHyperbolic(fImaginaryComponent);
+		double coshY = fRealComponent;
+		double sinhY = fImaginaryComponent;
+		setPolar(1.0,x);
+		return set(fRealComponent * coshY,-fImaginaryComponent * sinhY);
+	}
+
+	/**
+	 * Takes the sine of this number, optionally by means of the fast-math approximation.
+	 *
+	 * @param fastMath  a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return          a reference to this number
+	 * @see             MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber sin(boolean fastMath)
+	{
+		if (!fastMath) {
+			return sin();
+		}
+
+		// sin(x + iy) = sin(x)cosh(y) + i cos(x)sinh(y)
+		double x = fRealComponent;
+		setHyperbolic(fImaginaryComponent);
+		double coshY = fRealComponent;
+		double sinhY = fImaginaryComponent;
+		setPolar(1.0,x);
+		return set(fImaginaryComponent * coshY,fRealComponent * sinhY);
+	}
+
+	/**
+	 * Takes the tangent of this number, optionally by means of the fast-math approximation.
+	 *
+	 * @param fastMath  a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return          a reference to this number
+	 * @see             MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber tan(boolean fastMath)
+	{
+		if (!fastMath) {
+			return tan();
+		}
+
+		// tan(x + iy) = (sin(x)cos(x) + i sinh(y)cosh(y)) / (cos(x)^2 + sinh(y)^2), which avoids cancellation near the poles
+		double x = fRealComponent;
+		setHyperbolic(fImaginaryComponent);
+		double coshY = fRealComponent;
+		double sinhY = fImaginaryComponent;
+		setPolar(1.0,x);
+		double cosX = fRealComponent;
+		double sinX = fImaginaryComponent;
+		double denominator = (cosX * cosX) + (sinhY * sinhY);
+		if (denominator == 0.0) {
+			return set(0.0,0.0);
+		}
+		return set((sinX * cosX) / denominator,(sinhY * coshY) / denominator);
+	}
+
+	/**
+	 * Takes the cotangent of this number, optionally by means of the fast-math approximation.
+	 *
+	 * @param fastMath  a <CODE>boolean</CODE> indicating whether or not the fast-math approximation should be used
+	 * @return          a reference to this number
+	 * @see             MutableComplexNumber#kFastMathErrorBound
+	 */
+	public MutableComplexNumber cot(boolean fastMath)
+	{
+		if (!fastMath) {
+			return cot();
+		}
+
+		// cot(x + iy) = (sin(x)cos(x) - i sinh(y)cosh(y)) / (sin(x)^2 + sinh(y)^2), which avoids cancellation near the poles
+		double x = fRealComponent;
+		setHyperbolic(fImaginaryComponent);
+		double coshY = fRealComponent;
+		double sinhY = fImaginaryComponent;
+		setPolar(1.0,x);
+		double cosX = fRealComponent;
+		double sinX = fImaginaryComponent;
+		double denominator = (sinX * sinX) + (sinhY * sinhY);
+		if (denominator == 0.0) {
+			return set(0.0,0.0);
+		}
+		return set((sinX * cosX) / denominator,-(sinhY * coshY) / denominator);
+	}
+
+	/**
+	 * Returns a <CODE>String</CODE> representation of this number.
+	 *
+	 * @return a <CODE>String</CODE> representation of this number
+	 */
+	@Override
+	public String toString()
+	{
+		return toComplexNumber().toString();
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Sets this number to the specified modulus and argument, by means of a fused approximation of the sine and cosine:
+	 * after a Cody-Waite reduction of the argument to [-pi/4,pi/4], the nearest multiple of pi/64 is looked up in a
+	 * table and the remainder is handled by short Taylor polynomials.
+	 *
+	 * @param modulus   the modulus
+	 * @param argument  the argument
+	 * @return          a reference to this number
+	 */
+	private MutableComplexNumber setPolar(double modulus, double argument)
+	{
+		if (!(Math.abs(argument) <= kFastMathMaximumReducibleAngle)) {
+			return set(modulus * Math.cos(argument),modulus * Math.sin(argument));
+		}
+
+		double quadrant = Math.rint(argument * kTwoOverPi);
+		double r = ((argument - (quadrant * kPiOverTwo1)) - (quadrant * kPiOverTwo2)) - (quadrant * kPiOverTwo3);
+		double j = Math.rint(r * kThirtyTwoOverPiOverTwo);
+		double s = (r - (j * kPiOverSixtyFour1)) - (j * kPiOverSixtyFour2);
+		double s2 = s * s;
+
+		// |s| <= pi/128, so that the truncation errors stay below 1E-18
+		double sinS = s * (1.0 - s2 * ((1.0 / 6.0) - s2 * ((1.0 / 120.0) - s2 * (1.0 / 5040.0))));
+		double cosS = 1.0 - s2 * (0.5 - s2 * ((1.0 / 24.0) - s2 * ((1.0 / 720.0) - s2 * (1.0 / 40320.0))));
+		int tableIndex = (int) j + kSineTableOffset;
+		double sinJ = kSineTable[tableIndex];
+		double cosJ = kCosineTable[tableIndex];
+		double sin = (sinJ * cosS) + (cosJ * sinS);
+		double cos = (cosJ * cosS) - (sinJ * sinS);
+
+		// rotate back over the quadrant
+		switch (((int) quadrant) & 3) {
+			case 0:
+				return set(modulus * cos,modulus * sin);
+			case 1:
+				return set(-modulus * sin,modulus * cos);
+			case 2:
+				return set(-modulus * cos,-modulus * sin);
+			default:
+				return set(modulus * sin,-modulus * cos);
+		}
+	}
+
+	/**
+	 * Sets this number to cosh(<I>y</I>) + i sinh(<I>y</I>), with both saturated at
+	 * |<I>y</I>| = {@link MutableComplexNumber#kFastMathMaximumExponent}.
+	 *
+	 * @param y  the real argument of the hyperbolic functions
+	 * @return   a reference to this number
+	 */
+	private MutableComplexNumber setHyperbolic(double y)
+	{
+		double absY = Math.min(Math.abs(y),kFastMathMaximumExponent);
+		double expY = fastExp(absY);
+		double inverseExpY = 1.0 / expY;
+		double cosh = 0.5 * (expY + inverseExpY);
+		double sinh;
+		if (absY < 0.25) {
+			// avoid the cancellation of the difference of the exponentials
+			double y2 = absY * absY;
+			sinh = absY * (1.0 + y2 * ((1.0 / 6.0) + y2 * ((1.0 / 120.0) + y2 * ((1.0 / 5040.0) + y2 * ((1.0 / 362880.0) + y2 * (1.0 / 39916800.0))))));
+		}
+		else {
+			sinh = 0.5 * (expY - inverseExpY);
+		}
+		return set(cosh,(y < 0.0) ? -sinh : sinh);
+	}
+
+	/**
+	 * Calculates the real exponential by means of a Cody-Waite reduction of the argument to a multiple of ln(2)/64,
+	 * of which the power of 2 is looked up in a table, and a short Taylor polynomial for the remainder; arguments below
+	 * -708 underflow to zero.
+	 *
+	 * @param x  the argument, which should not exceed {@link MutableComplexNumber#kFastMathMaximumExponent}
+	 * @return   the exponential of the argument
+	 */
+	private static double fastExp(double x)
+	{
+		if (x < kFastMathMinimumExponent) {
+			return 0.0;
+		}
+
+		double k = Math.rint(x * kSixtyFourOverLn2);
+		double r = (x - (k * kLn2OverSixtyFour1)) - (k * kLn2OverSixtyFour2);
+
+		// |r| <= ln(2)/128, so that the truncation error stays below 1E-16
+		double exp = 1.0 + r * (1.0 + r * (0.5 + r * ((1.0 / 6.0) + r * ((1.0 / 24.0) + r * (1.0 / 120.0)))));
+
+		// scale by 2^(k / 64)
+		int exponent = (int) k;
+		return (kExponentialTable[exponent & 63] * exp * Double.longBitsToDouble(((long) (exponent >> 6) + 1023L) << 52));
+	}
+}
@@ -0,0 +1,426 @@
+// ---------------------------------
+// Filename      : OrbitDensity.java
+// Author        : Sven Maerivoet
+// Last modified : 18/11/2016
+// Target        : Java VM (1.8)
+// ---------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import java.awt.image.*;
+import java.util.*;
+import org.sm.fraxion.fractals.*;
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>OrbitDensity</CODE> class provides an accumulator for the density of the orbits of a fractal (e.g., a Buddhabrot).
+ * <P>
+ * Starting points are sampled randomly across the default complex bounds of the fractal, and all the points of their
+ * orbits that fall within the current complex bounds are counted in a histogram on the screen. With the Buddhabrot only
+ * escaping orbits are counted, with the Anti-Buddhabrot only bounded orbits, and with the nebula mode the escaping orbits
+ * are counted in three colour channels, each with its own iteration limit (the maximum number of iterations for red,
+ * a tenth of it for green, and a hundredth of it for blue).
+ * <P>
+ * Each thread accumulates into its own histogram, which it acquires before and releases after a batch of samples, so that
+ * no synchronisation is needed while counting. The histograms are merged into the density when no samples are taken.
+ * <P>
+ * The samples are concentrated near the boundary of the fractal, where the long and interesting orbits originate: a coarse
+ * grid over the sampling region is iterated up front, and its cells with corners that disagree on escaping (together with
+ * their neighbours) receive most of the samples. Each count is weighted with the ratio of the uniform to the actual
+ * sampling density, so that the accumulated density remains an unbiased estimate of the uniformly sampled one.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 18/11/2016
+ */
+public final class OrbitDensity
+{
+	/**
+	 * The different modes for rendering orbit densities.
+	 */
+	public static enum EMode {kNone, kBuddhabrot, kAntiBuddhabrot, kNebula};
+
+	// the number of cells per dimension in the grid that locates the boundary of the fractal
+	private static final int kNrOfImportanceCells = 64;
+
+	// the fraction of the samples that is taken in the cells near the boundary of the fractal
+	private static final double kImportanceFraction = 0.8;
+
+	// the ratios of the maximum number of iterations to the iteration limits of the nebula's red, green, and blue channels
+	private static final int[] kNebulaIterationLimitDivisors = {1, 10, 100};
+
+	// internal datastructures
+	private EMode fMode;
+	private int fWidth;
+	private int fHeight;
+	private double fScreenScaleX;
+	private double fScreenScaleY;
+	private double fScreenOffsetX;
+	private double fScreenOffsetY;
+	private boolean fSampleStartingPoints;
+	private double fFixedX;
+	private double fFixedY;
+	private double fSamplingX;
+	private double fSamplingY;
+	private double fSamplingWidth;
+	private double fSamplingHeight;
+	private int[] fIterationLimits;
+	private boolean[] fBoundaryCells;
+	private int[] fBoundaryCellIndices;
+	private double fBoundaryCellWeight;
+	private double fOtherCellWeight;
+	private double[][] fDensity;
+	private long fNrOfSamples;
+	private ArrayList<float[][]> fHistograms;
+	private ArrayDeque<float[][]> fFreeHistograms;
+	private BufferedImage fImage;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs an <CODE>OrbitDensity</CODE> object for the current screen and complex bounds of the specified fractal.
+	 * <P>
+	 * For the main fractal, the complex parameters <I>c</I> are sampled (and the orbits start at the main fractal's orbit
+	 * starting point); for the dual fractal, the starting points <I>z</I> are sampled (and the complex parameter is the dual
+	 * parameter). Note that the boundary of the fractal is located immediately, which iterates a coarse grid of points.
+	 *
+	 * @param mode             the orbit density mode
+	 * @param fractalIterator  the fractal iterator with which the orbits are iterated
+	 */
+	public OrbitDensity(EMode mode, AFractalIterator fractalIterator)
+	{
+		fMode = mode;
+		fWidth = fractalIterator.getScreenWidth();
+		fHeight = fractalIterator.getScreenHeight();
+
+		// a point z in the complex plane lies at (z.x * scaleX + offsetX, z.y * scaleY + offsetY) on the screen
+		ComplexNumber p1 = fractalIterator.getP1();
+		ComplexNumber p2 = fractalIterator.getP2();
+		double complexWidth = p2.realComponent() - p1.realComponent();
+		double complexHeight = p2.imaginaryComponent() - p1.imaginaryComponent();
+		fScreenScaleX = (double) fWidth / complexWidth;
+		fScreenOffsetX = -p1.realComponent() * fScreenScaleX;
+		if (fractalIterator.getInvertYAxis()) {
+			fScreenScaleY = (double) fHeight / complexHeight;
+			fScreenOffsetY = -p1.imaginaryComponent() * fScreenScaleY;
+		}
+		else {
+			fScreenScaleY = -(double) fHeight / complexHeight;
+			fScreenOffsetY = (double) fHeight - (p1.imaginaryComponent() * fScreenScaleY);
+		}
+
+		fSampleStartingPoints = (fractalIterator.getFractalType() == AFractalIterator.EFractalType.kDualFractal);
+		ComplexNumber fixedPoint = fSampleStartingPoints ? fractalIterator.getDualParameter() : fractalIterator.getMainFractalOrbitStartingPoint();
+		fFixedX = fixedPoint.realComponent();
+		fFixedY = fixedPoint.imaginaryComponent();
+
+		ComplexNumber defaultP1 = fractalIterator.getDefaultP1();
+		ComplexNumber defaultP2 = fractalIterator.getDefaultP2();
+		fSamplingX = Math.min(defaultP1.realComponent(),defaultP2.realComponent());
+		fSamplingY = Math.min(defaultP1.imaginaryComponent(),defaultP2.imaginaryComponent());
+		fSamplingWidth = Math.abs(defaultP2.realComponent() - defaultP1.realComponent());
+		fSamplingHeight = Math.abs(defaultP2.imaginaryComponent() - defaultP1.imaginaryComponent());
+
+		int maxNrOfIterations = fractalIterator.getMaxNrOfIterations();
+		if (fMode == EMode.kNebula) {
+			fIterationLimits = new int[kNebulaIterationLimitDivisors.length];
+			for (int channel = 0; channel < fIterationLimits.length; ++channel) {
+				fIterationLimits[channel] = Math.max(1,maxNrOfIterations / kNebulaIterationLimitDivisors[channel]);
+			}
+		}
+		else {
+			fIterationLimits = new int[] {maxNrOfIterations};
+		}
+
+		fDensity = new double[fIterationLimits.length][fWidth * fHeight];
+		fHistograms = new ArrayList<float[][]>();
+		fFreeHistograms = new ArrayDeque<float[][]>();
+
+		locateBoundary(fractalIterator);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the orbit density mode.
+	 *
+	 * @return the orbit density mode
+	 */
+	public EMode getMode()
+	{
+		return fMode;
+	}
+
+	/**
+	 * Returns the total number of samples that were merged into the density.
+	 *
+	 * @return the total number of samples that were merged into the density
+	 */
+	public long getNrOfSamples()
+	{
+		return fNrOfSamples;
+	}
+
+	/**
+	 * Hands out a histogram that is not in use by any other thread.
+	 *
+	 * @return a histogram that is not in use by any other thread
+	 */
+	public synchronized float[][] acquireHistogram()
+	{
+		float[][] histogram = fFreeHistograms.pollFirst();
+		if (histogram == null) {
+			histogram = new float[fIterationLimits.length][fWidth * fHeight];
+			fHistograms.add(histogram);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Takes back a histogram that was handed out before.
+	 *
+	 * @param histogram  the histogram to take back
+	 */
+	public synchronized void releaseHistogram(float[][] histogram)
+	{
+		fFreeHistograms.addFirst(histogram);
+	}
+
+	/**
+	 * Takes a number of random samples and accumulates their orbits into the specified histogram.
+	 *
+	 * @param fractalIterator  the fractal iterator with which the orbits are iterated
+	 * @param random           the random number generator for the samples
+	 * @param nrOfSamples      the number of samples to take
+	 * @param histogram        the histogram that receives the counts (see {@link OrbitDensity#acquireHistogram()})
+	 */
+	public void accumulate(AFractalIterator fractalIterator, Random random, int nrOfSamples, float[][] histogram)
+	{
+		double[] orbit = new double[2 * fractalIterator.getMaxNrOfIterations()];
+		boolean onlyEscapingOrbits = (fMode != EMode.kAntiBuddhabrot);
+		double cellWidth = fSamplingWidth / (double) kNrOfImportanceCells;
+		double cellHeight = fSamplingHeight / (double) kNrOfImportanceCells;
+
+		for (int sample = 0; sample < nrOfSamples; ++sample) {
+			// choose a cell near the boundary or anywhere, and a point within that cell
+			int cellIndex = 0;
+			if ((fBoundaryCellIndices.length > 0) && (random.nextDouble() < kImportanceFraction)) {
+				cellIndex = fBoundaryCellIndices[random.nextInt(fBoundaryCellIndices.length)];
+			}
+			else {
+				cellIndex = random.nextInt(kNrOfImportanceCells * kNrOfImportanceCells);
+			}
+			double x = fSamplingX + (((double) (cellIndex % kNrOfImportanceCells) + random.nextDouble()) * cellWidth);
+			double y = fSamplingY + (((double) (cellIndex / kNrOfImportanceCells) + random.nextDouble()) * cellHeight);
+			float weight = (float) (fBoundaryCells[cellIndex] ? fBoundaryCellWeight : fOtherCellWeight);
+
+			int nrOfPoints = 0;
+			if (fSampleStartingPoints) {
+				nrOfPoints = fractalIterator.iterateOrbitDensityOrbit(x,y,fFixedX,fFixedY,onlyEscapingOrbits,orbit);
+			}
+			else {
+				nrOfPoints = fractalIterator.iterateOrbitDensityOrbit(fFixedX,fFixedY,x,y,onlyEscapingOrbits,orbit);
+			}
+			boolean escaped = (nrOfPoints > 0);
+			nrOfPoints = Math.abs(nrOfPoints);
+
+			if ((fMode == EMode.kBuddhabrot) && escaped) {
+				accumulateOrbit(orbit,nrOfPoints,histogram[0],weight);
+			}
+			else if ((fMode == EMode.kAntiBuddhabrot) && !escaped) {
+				accumulateOrbit(orbit,nrOfPoints,histogram[0],weight);
+			}
+			else if ((fMode == EMode.kNebula) && escaped) {
+				for (int channel = 0; channel < fIterationLimits.length; ++channel) {
+					if (nrOfPoints <= fIterationLimits[channel]) {
+						accumulateOrbit(orbit,nrOfPoints,histogram[channel],weight);
+					}
+				}
+			}
+		} // for sample
+	}
+
+	/**
+	 * Merges all histograms into the density and clears them.
+	 * <P>
+	 * Note that this method should only be called when no samples are being taken.
+	 *
+	 * @param nrOfSamples  the number of samples that were accumulated into the histograms since the previous merge
+	 */
+	public synchronized void merge(long nrOfSamples)
+	{
+		for (float[][] histogram : fHistograms) {
+			for (int channel = 0; channel < histogram.length; ++channel) {
+				double[] density = fDensity[channel];
+				float[] counts = histogram[channel];
+				for (int index = 0; index < counts.length; ++index) {
+					density[index] += counts[index];
+				}
+				Arrays.fill(counts,0.0f);
+			}
+		}
+		fNrOfSamples += nrOfSamples;
+		fImage = null;
+	}
+
+	/**
+	 * Returns an image of the current density.
+	 * <P>
+	 * Each channel is normalised to its maximum density and brightened with a square root. A single channel is shown in
+	 * shades of grey, the nebula's channels are shown in red, green, and blue.
+	 *
+	 * @return an image of the current density
+	 */
+	public synchronized BufferedImage getImage()
+	{
+		if (fImage != null) {
+			return fImage;
+		}
+
+		fImage = new BufferedImage(fWidth,fHeight,BufferedImage.TYPE_INT_RGB);
+		int[] imageBuffer = ((DataBufferInt) fImage.getRaster().getDataBuffer()).getData();
+
+		int[][] intensities = new int[fDensity.length][];
+		for (int channel = 0; channel < fDensity.length; ++channel) {
+			double[] density = fDensity[channel];
+			double maxDensity = 0.0;
+			for (int index = 0; index < density.length; ++index) {
+				maxDensity = Math.max(maxDensity,density[index]);
+			}
+
+			intensities[channel] = new int[density.length];
+			if (maxDensity > 0.0) {
+				for (int index = 0; index < density.length; ++index) {
+					intensities[channel][index] = (int) Math.round(255.0 * Math.sqrt(density[index] / maxDensity));
+				}
+			}
+		}
+
+		for (int index = 0; index < imageBuffer.length; ++index) {
+			if (intensities.length == 1) {
+				int intensity = intensities[0][index];
+				imageBuffer[index] = (intensity << 16) | (intensity << 8) | intensity;
+			}
+			else {
+				imageBuffer[index] = (intensities[0][index] << 16) | (intensities[1][index] << 8) | intensities[2][index];
+			}
+		}
+
+		return fImage;
+	}
+
+	/*******************
+	 * PRIVATE METHODS *
+	 *******************/
+
+	/**
+	 * Locates the cells of the sampling region that lie near the boundary of the fractal, and sets up the weights of
+	 * the samples.
+	 *
+	 * @param fractalIterator  the fractal iterator with which the orbits are iterated
+	 */
+	private void locateBoundary(AFractalIterator fractalIterator)
+	{
+		double[] orbit = new double[2 * fractalIterator.getMaxNrOfIterations()];
+		int nrOfCorners = kNrOfImportanceCells + 1;
+
+		// determine which corners of the cells escape
+		boolean[] escapes = new boolean[nrOfCorners * nrOfCorners];
+		for (int row = 0; row < nrOfCorners; ++row) {
+			for (int column = 0; column < nrOfCorners; ++column) {
+				double x = fSamplingX + (((double) column / (double) kNrOfImportanceCells) * fSamplingWidth);
+				double y = fSamplingY + (((double) row / (double) kNrOfImportanceCells) * fSamplingHeight);
+				if (fSampleStartingPoints) {
+					escapes[column + (row * nrOfCorners)] = (fractalIterator.iterateOrbitDensityOrbit(x,y,fFixedX,fFixedY,true,orbit) > 0);
+				}
+				else {
+					escapes[column + (row * nrOfCorners)] = (fractalIterator.iterateOrbitDensityOrbit(fFixedX,fFixedY,x,y,true,orbit) > 0);
+				}
+			}
+		}
+
+		// mark the cells of which the corners disagree, together with their neighbours (to catch thin filaments)
+		fBoundaryCells = new boolean[kNrOfImportanceCells * kNrOfImportanceCells];
+		for (int row = 0; row < kNrOfImportanceCells; ++row) {
+			for (int column = 0; column < kNrOfImportanceCells; ++column) {
+				int corner = column + (row * nrOfCorners);
+				boolean escape = escapes[corner];
+				if ((escapes[corner + 1] != escape) || (escapes[corner + nrOfCorners] != escape) || (escapes[corner + nrOfCorners + 1] != escape)) {
+					for (int neighbourRow = Math.max(0,row - 1); neighbourRow <= Math.min(kNrOfImportanceCells - 1,row + 1); ++neighbourRow) {
+						for (int neighbourColumn = Math.max(0,column - 1); neighbourColumn <= Math.min(kNrOfImportanceCells - 1,column + 1); ++neighbourColumn) {
+							fBoundaryCells[neighbourColumn + (neighbourRow * kNrOfImportanceCells)] = true;
+						}
+					}
+				}
+			}
+		}
+
+		int nrOfBoundaryCells = 0;
+		for (boolean boundaryCell : fBoundaryCells) {
+			if (boundaryCell) {
+				++nrOfBoundaryCells;
+			}
+		}
+		fBoundaryCellIndices = new int[nrOfBoundaryCells];
+		nrOfBoundaryCells = 0;
+		for (int cellIndex = 0; cellIndex < fBoundaryCells.length; ++cellIndex) {
+			if (fBoundaryCells[cellIndex]) {
+				fBoundaryCellIndices[nrOfBoundaryCells] = cellIndex;
+				++nrOfBoundaryCells;
+			}
+		}
+
+		// the weight of a sample is the ratio of the uniform sampling density to the mixed sampling density
+		if (fBoundaryCellIndices.length > 0) {
+			double nrOfCells = (double) fBoundaryCells.length;
+			fOtherCellWeight = 1.0 / (1.0 - kImportanceFraction);
+			fBoundaryCellWeight = 1.0 / ((1.0 - kImportanceFraction) + (kImportanceFraction * nrOfCells / (double) fBoundaryCellIndices.length));
+		}
+		else {
+			fOtherCellWeight = 1.0;
+			fBoundaryCellWeight = 1.0;
+		}
+	}
+
+	/**
+	 * Counts the points of an orbit that fall on the screen.
+	 *
+	 * @param orbit       the points of the orbit
+	 * @param nrOfPoints  the number of points in the orbit
+	 * @param counts      the histogram channel that receives the counts
+	 * @param weight      the weight of each count
+	 */
+	private void accumulateOrbit(double[] orbit, int nrOfPoints, float[] counts, float weight)
+	{
+		for (int point = 0; point < nrOfPoints; ++point) {
+			double x = (orbit[2 * point] * fScreenScaleX) + fScreenOffsetX;
+			double y = (orbit[(2 * point) + 1] * fScreenScaleY) + fScreenOffsetY;
+
+			// note that NaN coordinates fail both tests
+			if ((x >= 0.0) && (x < (double) fWidth) && (y >= 0.0) && (y < (double) fHeight)) {
+				counts[((int) x) + (((int) y) * fWidth)] += weight;
+			}
+		}
+	}
+}
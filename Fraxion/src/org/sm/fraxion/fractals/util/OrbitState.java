@@ -0,0 +1,121 @@
+// -------------------------------
+// Filename      : OrbitState.java
+// Author        : Sven Maerivoet
+// Last modified : 19/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+/**
+ * The <CODE>OrbitState</CODE> class provides a structure that holds the final state of an orbit that reached the
+ * maximum number of iterations.
+ * <P>
+ * With this state, the orbit can be continued when the maximum number of iterations is raised, yielding the same result
+ * as iterating it anew. Besides the last points of the orbit, it holds the running sums of the default results.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 19/11/2016
+ */
+public final class OrbitState
+{
+	/**
+	 * The number of iterations after which the orbit was stopped.
+	 */
+	public int fNrOfIterations;
+
+	/**
+	 * The real component of the complex variable <I>z</I>(<I>n</I>).
+	 */
+	public double fZX;
+
+	/**
+	 * The imaginary component of the complex variable <I>z</I>(<I>n</I>).
+	 */
+	public double fZY;
+
+	/**
+	 * The real component of the complex variable <I>z</I>(<I>n</I> - 1).
+	 */
+	public double fZPreviousX;
+
+	/**
+	 * The imaginary component of the complex variable <I>z</I>(<I>n</I> - 1).
+	 */
+	public double fZPreviousY;
+
+	/**
+	 * The real component of the complex parameter <I>c</I> (which can change along the orbit, e.g., for spiders).
+	 */
+	public double fCX;
+
+	/**
+	 * The imaginary component of the complex parameter <I>c</I> (which can change along the orbit, e.g., for spiders).
+	 */
+	public double fCY;
+
+	/**
+	 * The running exponential iteration count.
+	 */
+	public double fExponentialIterationCount;
+
+	/**
+	 * The running average distance.
+	 */
+	public double fAverageDistance;
+
+	/**
+	 * The running sum of the Lyapunov exponent (i.e., before it is divided by the number of iterations).
+	 */
+	public double fLyapunovExponentSum;
+
+	/*****************
+	 * CONSTRUCTORS  *
+	 *****************/
+
+	/**
+	 * Constructs an <CODE>OrbitState</CODE> object.
+	 *
+	 * @param nrOfIterations             the number of iterations after which the orbit was stopped
+	 * @param zX                         the real component of the complex variable <I>z</I>(<I>n</I>)
+	 * @param zY                         the imaginary component of the complex variable <I>z</I>(<I>n</I>)
+	 * @param zPreviousX                 the real component of the complex variable <I>z</I>(<I>n</I> - 1)
+	 * @param zPreviousY                 the imaginary component of the complex variable <I>z</I>(<I>n</I> - 1)
+	 * @param cX                         the real component of the complex parameter <I>c</I>
+	 * @param cY                         the imaginary component of the complex parameter <I>c</I>
+	 * @param exponentialIterationCount  the running exponential iteration count
+	 * @param averageDistance            the running average distance
+	 * @param lyapunovExponentSum        the running sum of the Lyapunov exponent
+	 */
+	public OrbitState(int nrOfIterations, double zX, double zY, double zPreviousX, double zPreviousY, double cX, double cY, double exponentialIterationCount, double averageDistance, double lyapunovExponentSum)
+	{
+		fNrOfIterations = nrOfIterations;
+		fZX = zX;
+		fZY = zY;
+		fZPreviousX = zPreviousX;
+		fZPreviousY = zPreviousY;
+		fCX = cX;
+		fCY = cY;
+		fExponentialIterationCount = exponentialIterationCount;
+		fAverageDistance = averageDistance;
+		fLyapunovExponentSum = lyapunovExponentSum;
+	}
+}
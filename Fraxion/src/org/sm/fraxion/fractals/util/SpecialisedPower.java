@@ -0,0 +1,137 @@
+// -------------------------------------------
+// Filename      : SpecialisedPower.java
+// Author        : Sven Maerivoet
+// Last modified : 03/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.fractals.util;
+
+import org.sm.smtools.math.complex.*;
+
+/**
+ * The <CODE>SpecialisedPower</CODE> class provides an immutable complex power that is classified once, so that raising
+ * a number to it can take the cheapest route.
+ * <P>
+ * Small positive integer powers are evaluated by exponentiation by squaring in real arithmetic, other real powers by
+ * means of the polar form, and only genuinely complex powers by means of the general exp/log route. See
+ * {@link MutableComplexNumber#pow(SpecialisedPower)} and {@link DualComplexNumber#pow(SpecialisedPower)}.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 03/11/2016
+ */
+public final class SpecialisedPower
+{
+	/**
+	 * The different routes for raising a number to a power.
+	 */
+	public static enum EPowerType {kInteger, kReal, kComplex};
+
+	/**
+	 * The largest integer power that is evaluated by exponentiation by squaring.
+	 */
+	public static final int kMaxIntegerPower = 64;
+
+	// internal datastructures
+	private ComplexNumber fPower;
+	private EPowerType fPowerType;
+	private int fIntegerPower;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>SpecialisedPower</CODE> object and classifies the specified power.
+	 *
+	 * @param power  the complex power
+	 */
+	public SpecialisedPower(ComplexNumber power)
+	{
+		fPower = power;
+		double real = power.realComponent();
+		if (power.imaginaryComponent() != 0.0) {
+			fPowerType = EPowerType.kComplex;
+		}
+		else if ((real >= 1.0) && (real <= kMaxIntegerPower) && (real == Math.rint(real))) {
+			fPowerType = EPowerType.kInteger;
+			fIntegerPower = (int) real;
+		}
+		else {
+			fPowerType = EPowerType.kReal;
+		}
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the complex power.
+	 *
+	 * @return the complex power
+	 */
+	public ComplexNumber getPower()
+	{
+		return fPower;
+	}
+
+	/**
+	 * Returns the route that is taken for raising a number to this power.
+	 *
+	 * @return the route that is taken for raising a number to this power
+	 */
+	public EPowerType getPowerType()
+	{
+		return fPowerType;
+	}
+
+	/**
+	 * Returns the integer power (only meaningful if the power type is <CODE>kInteger</CODE>).
+	 *
+	 * @return the integer power
+	 */
+	public int getIntegerPower()
+	{
+		return fIntegerPower;
+	}
+
+	/**
+	 * Returns the real power (i.e., the real component of the power).
+	 *
+	 * @return the real power
+	 */
+	public double getRealPower()
+	{
+		return fPower.realComponent();
+	}
+
+	/**
+	 * Returns a <CODE>String</CODE> representation of this power.
+	 *
+	 * @return a <CODE>String</CODE> representation of this power
+	 */
+	@Override
+	public String toString()
+	{
+		return fPower.toString();
+	}
+}
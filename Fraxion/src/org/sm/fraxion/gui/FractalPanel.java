@@ -1,7 +1,7 @@
 // ---------------------------------
 // Filename      : FractalPanel.java
 // Author        : Sven Maerivoet
-// Last modified : 01/11/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // ---------------------------------
 
@@ -29,6 +29,7 @@ import java.awt.geom.*;
 import java.awt.image.*;
 import java.awt.print.*;
 import java.io.*;
+import java.math.*;
 import java.text.*;
 import java.util.*;
 import javax.imageio.*;
@@ -61,7 +62,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this class cannot be subclassed!</B>
  * 
  * @author  Sven Maerivoet
- * @version 01/11/2016
+ * @version 22/11/2016
  */
 public final class FractalPanel extends JPanel implements Printable
 {
@@ -145,6 +146,7 @@ public final class FractalPanel extends JPanel implements Printable
 	private ScreenLocation fSelectionExtent;
 	private ZoomStack fZoomStack;
 	private boolean fAutoSelectMaxNrOfIterations;
+	private boolean fAdaptMaxNrOfIterations;
 	private boolean fZoomThumbnailSelectionMode;
 	private int fSelectedZoomLevel;
 
@@ -736,8 +738,8 @@ public final class FractalPanel extends JPanel implements Printable
 
 			// only zoom when the extent is large enough
 			if ((zoomWidth > minimumZoomSize) && (zoomHeight > minimumZoomSize)) {
-				ComplexNumber p1 = fIteratorController.getFractalIterator().convertScreenLocationToComplexNumber(fSelectionAnchor);
-				ComplexNumber p2 = fIteratorController.getFractalIterator().convertScreenLocationToComplexNumber(fSelectionExtent);
+				HighPrecisionComplexNumber p1 = fIteratorController.getFractalIterator().convertScreenLocationToHighPrecisionComplexNumber(fSelectionAnchor);
+				HighPrecisionComplexNumber p2 = fIteratorController.getFractalIterator().convertScreenLocationToHighPrecisionComplexNumber(fSelectionExtent);
 				zoomIn(p1,p2);
 			}
 			else {
@@ -773,6 +775,18 @@ public final class FractalPanel extends JPanel implements Printable
 		zoomToStack();
 	}
 
+	/**
+	 * Zooms in on a specific region, retaining the full precision of its corners.
+	 * 
+	 * @param p1  the lower-left corner in the complex plane
+	 * @param p2  the upper-right corner in the complex plane
+	 */
+	public void zoomIn(HighPrecisionComplexNumber p1, HighPrecisionComplexNumber p2)
+	{
+		fZoomStack.push(p1,p2);
+		zoomToStack();
+	}
+
 	/**
 	 * Zooms to the previous location on the zoom stack if it's not empty.
 	 */
@@ -843,20 +857,17 @@ public final class FractalPanel extends JPanel implements Printable
 	 */
 	public void zoomToStack(int ... canvasSize)
 	{
-		ComplexNumber p1 = new ComplexNumber(fZoomStack.getTopP1());
-		ComplexNumber p2 = new ComplexNumber(fZoomStack.getTopP2());
-
-		ComplexNumber.forcePartialOrder(p1,p2);
+		HighPrecisionComplexNumber[] corners = HighPrecisionComplexNumber.forcePartialOrder(fZoomStack.getTopP1(),fZoomStack.getTopP2());
+		HighPrecisionComplexNumber p1 = corners[0];
+		HighPrecisionComplexNumber p2 = corners[1];
 
 		AFractalIterator fractalIterator = fIteratorController.getFractalIterator();
 
 		if (fIteratorController.getColoringParameters().fLockAspectRatio) {
-			double re1 = p1.realComponent();
-			double im1 = p1.imaginaryComponent();
-			double re2 = p2.realComponent();
-			double im2 = p2.imaginaryComponent();
-			double fractalWidth = re2 - re1;
-			double fractalHeight = im2 - im1;
+			// all calculations retain the full precision of the corners
+			HighPrecisionComplexNumber centre = p1.midpoint(p2);
+			BigDecimal fractalWidth = p2.realComponent().subtract(p1.realComponent());
+			BigDecimal fractalHeight = p2.imaginaryComponent().subtract(p1.imaginaryComponent());
 
 			// adjust the aspect-ratio to fit inside that of the screen
 			int width = fractalIterator.getScreenWidth();
@@ -864,28 +875,35 @@ public final class FractalPanel extends JPanel implements Printable
 			double screenAspectRatio = (double) width / (double) height;
 			if (screenAspectRatio > 1.0) {
 				// screen width > screen height => enlarge fractal width
-				fractalWidth = fractalHeight * screenAspectRatio;
+				fractalWidth = fractalHeight.multiply(BigDecimal.valueOf(screenAspectRatio));
 			}
 			else {
 				// screen height > screen width => enlarge fractal height
-				fractalHeight = fractalWidth / screenAspectRatio;
+				fractalHeight = fractalWidth.multiply(BigDecimal.valueOf((double) height / (double) width));
 			}
 
-			// recentre
-			re1 = ((re1 + re2) / 2.0) - (fractalWidth / 2.0);
-			re2 = re1 + fractalWidth;
-			im1 = ((im1 + im2) / 2.0) - (fractalHeight / 2.0);
-			im2 = im1 + fractalHeight;
-
-			p1 = new ComplexNumber(re1,im1);
-			p2 = new ComplexNumber(re2,im2);
+			// recentre (and limit the number of digits to what is needed to distinguish the pixels)
+			HighPrecisionComplexNumber halfSize = (new HighPrecisionComplexNumber(fractalWidth,fractalHeight)).multiply(0.5);
+			double pixelSize = Math.min(fractalWidth.doubleValue() / width,fractalHeight.doubleValue() / height);
+			p1 = centre.subtract(halfSize).round(pixelSize);
+			p2 = centre.add(halfSize).round(pixelSize);
 		} // fLockAspectRatio
 
 		// notify the iterator of the new location in the complex plane and recalculate
 		fractalIterator.setComplexBounds(p1,p2);
 
 		if (fAutoSelectMaxNrOfIterations && !fractalIterator.getUseFixedNrOfIterations()) {
-			int maxNrOfIterations = fractalIterator.autoDetermineMaxNrOfIterations();
+			int maxNrOfIterations = 0;
+			if (fAdaptMaxNrOfIterations) {
+				// start from the escape statistics of the previous image
+				IterationBuffer fractalResultBuffer = fIteratorController.getFractalResultBuffer();
+				if ((fractalResultBuffer != null) && (fractalResultBuffer.fMaxNrOfIterations > 0)) {
+					maxNrOfIterations = fractalIterator.autoDetermineMaxNrOfIterations(fractalResultBuffer,false);
+				}
+			}
+			if (maxNrOfIterations == 0) {
+				maxNrOfIterations = fractalIterator.autoDetermineMaxNrOfIterations();
+			}
 			calibrateColorRange(maxNrOfIterations);
 			fractalIterator.setMaxNrOfIterations(maxNrOfIterations);
 		}
@@ -942,35 +960,35 @@ public final class FractalPanel extends JPanel implements Printable
 		if (inversePanning) {
 			panFactor *= -1.0;
 		}
-		ComplexNumber p1 = fZoomStack.getTopP1();
-		ComplexNumber p2 = fZoomStack.getTopP2();
-		double p1X = p1.realComponent();
-		double p1Y = p1.imaginaryComponent();
-		double p2X = p2.realComponent();
-		double p2Y = p2.imaginaryComponent();
-		double horizontalDisplacement = Math.abs(p2X - p1X) * panFactor;
-		double verticalDisplacement = Math.abs(p2Y - p1Y) * panFactor;
+		HighPrecisionComplexNumber p1 = fZoomStack.getTopP1();
+		HighPrecisionComplexNumber p2 = fZoomStack.getTopP2();
+		BigDecimal p1X = p1.realComponent();
+		BigDecimal p1Y = p1.imaginaryComponent();
+		BigDecimal p2X = p2.realComponent();
+		BigDecimal p2Y = p2.imaginaryComponent();
+		BigDecimal horizontalDisplacement = p2X.subtract(p1X).abs().multiply(BigDecimal.valueOf(panFactor));
+		BigDecimal verticalDisplacement = p2Y.subtract(p1Y).abs().multiply(BigDecimal.valueOf(panFactor));
 
 		if (panDirection == EPanDirection.kLeft) {
-			p1X -= horizontalDisplacement;
-			p2X -= horizontalDisplacement;
+			p1X = p1X.subtract(horizontalDisplacement);
+			p2X = p2X.subtract(horizontalDisplacement);
 		}
 		else if (panDirection == EPanDirection.kRight) {
-			p1X += horizontalDisplacement;
-			p2X += horizontalDisplacement;
+			p1X = p1X.add(horizontalDisplacement);
+			p2X = p2X.add(horizontalDisplacement);
 		}
 		else if (panDirection == EPanDirection.kUp) {
 			// invert direction because of a negative Y-axis on screen
-			p1Y += verticalDisplacement;
-			p2Y += verticalDisplacement;
+			p1Y = p1Y.add(verticalDisplacement);
+			p2Y = p2Y.add(verticalDisplacement);
 		}
 		else if (panDirection == EPanDirection.kDown) {
 			// invert direction because of a negative Y-axis on screen
-			p1Y -= verticalDisplacement;
-			p2Y -= verticalDisplacement;
+			p1Y = p1Y.subtract(verticalDisplacement);
+			p2Y = p2Y.subtract(verticalDisplacement);
 		}
 
-		fZoomStack.modifyTop(new ComplexNumber(p1X,p1Y),new ComplexNumber(p2X,p2Y));
+		fZoomStack.modifyTop(new HighPrecisionComplexNumber(p1X,p1Y),new HighPrecisionComplexNumber(p2X,p2Y));
 		zoomToStack();
 	}
 
@@ -1005,6 +1023,33 @@ public final class FractalPanel extends JPanel implements Printable
 	 */
 	public void recolor()
 	{
+		// recalculate if the current colouring methods need advanced colouring channels that were not calculated
+		int requiredChannels = fIteratorController.getColoringParameters().getRequiredChannels();
+		IterationBuffer fractalResultBuffer = fIteratorController.getFractalResultBuffer();
+		if (fIteratorController.getFractalIterator().getCalculateAdvancedColoring() && (fractalResultBuffer != null) &&
+				((requiredChannels & ~fractalResultBuffer.fAdvancedColoringChannels) != 0) && !fIteratorController.isBusy()) {
+			fIteratorController.recalc();
+			return;
+		}
+
+		// recalculate if the current interior colouring method needs the orbits of points that were skipped
+		if ((fractalResultBuffer != null) && fractalResultBuffer.fKnownInteriorSkipped && fIteratorController.getColoringParameters().requiresInteriorOrbits() && !fIteratorController.isBusy()) {
+			fIteratorController.recalc();
+			return;
+		}
+
+		// recalculate if the current colouring methods need more than the integral results of rectangles that were filled
+		if ((fractalResultBuffer != null) && fractalResultBuffer.fRectanglesFilled && !fIteratorController.getColoringParameters().requiresOnlyIntegralResults() && !fIteratorController.isBusy()) {
+			fIteratorController.recalc();
+			return;
+		}
+
+		// recalculate if the current colouring methods need columns that were not stored
+		if ((fractalResultBuffer != null) && ((fIteratorController.getRequiredColumns() & ~fractalResultBuffer.getColumns()) != 0) && !fIteratorController.isBusy()) {
+			fIteratorController.recalc();
+			return;
+		}
+
 		fRevalidating = false;
 		prepareFractalColoringInformation(fIteratorController.getFractalResultBuffer(),fMainFractalIterationRangeInformation);
 		finaliseFractalImage();
@@ -1013,11 +1058,18 @@ public final class FractalPanel extends JPanel implements Printable
 	/**
 	 * Copies the fractal result buffer to the fractal image buffer,
 	 * taking into account the current settings of the colour map, drawing, and post-processing techniques.
+	 * If an orbit density was rendered instead, then its image is used.
 	 * It then calls <CODE>repaint()</CODE>.
 	 */
 	public void finaliseFractalImage()
 	{
-		fFractalImageBuffer = colorFractal(fIteratorController.getFractalResultBuffer(),fMainFractalIterationRangeInformation);
+		BufferedImage orbitDensityImage = fIteratorController.getOrbitDensityImage();
+		if (orbitDensityImage != null) {
+			fFractalImageBuffer = orbitDensityImage;
+		}
+		else {
+			fFractalImageBuffer = colorFractal(fIteratorController.getFractalResultBuffer(),fMainFractalIterationRangeInformation);
+		}
 
 		// get a fast rescaled version of the main fractal
 		fZoomStack.addThumbnail(fFractalImageBuffer.getScaledInstance(kThumbnailStoredWidth,kThumbnailStoredHeight,Image.SCALE_SMOOTH));
@@ -1270,6 +1322,17 @@ public final class FractalPanel extends JPanel implements Printable
 		fAutoSelectMaxNrOfIterations = autoSelectMaxNrOfIterations;
 	}
 
+	/**
+	 * Sets whether or not the auto selected maximum number of iterations should be adapted to the escape statistics of
+	 * the previous image (instead of only depending on the zoom level).
+	 *
+	 * @param adaptMaxNrOfIterations  a <CODE>boolean</CODE> indicating whether or not the auto selected maximum number of iterations should be adapted to the image
+	 */
+	public void setAdaptMaxNrOfIterations(boolean adaptMaxNrOfIterations)
+	{
+		fAdaptMaxNrOfIterations = adaptMaxNrOfIterations;
+	}
+
 	/**
 	 * Prepares the colouring based on the specified fractal result buffer and current colour map settings.
 	 * Drawing uses a triple-pass algorithm:<BR>
@@ -1302,208 +1365,209 @@ public final class FractalPanel extends JPanel implements Printable
 		fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints = 0;
 
 		// first pass: determine minimum and maximum iteration counts (for interior and exterior colouring)
-		for (int index = 0; index < fractalResultBuffer.fBuffer.length; ++index) {
-			if (fractalResultBuffer.fBuffer[index] != null) {
+		IterationResult iterationResult = new IterationResult();
+		for (int index = 0; index < fractalResultBuffer.getNrOfPoints(); ++index) {
+			if (fractalResultBuffer.get(index,iterationResult) != null) {
 
-				if (fractalResultBuffer.fBuffer[index].liesInInterior()) {
+				if (iterationResult.liesInInterior()) {
 					// determine extrema for interior colouring
 					if (coloringParameters.fInteriorColoringMethod != ColoringParameters.EColoringMethod.kFixedColor) {
 						if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fExponentialIterationCount);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fExponentialIterationCount);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fExponentialIterationCount;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fExponentialIterationCount);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fExponentialIterationCount);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fExponentialIterationCount;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition) {
 							fractalIterationRangeInformation.fInteriorMinNrOfIterations = 1.0;
 							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = coloringParameters.fColorMapInteriorSectorDecompositionRange;
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].getSector(coloringParameters.fColorMapInteriorSectorDecompositionRange);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.getSector(coloringParameters.fColorMapInteriorSectorDecompositionRange);
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fRealComponent);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fRealComponent);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fRealComponent;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fRealComponent);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fRealComponent);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fRealComponent;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fImaginaryComponent);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fImaginaryComponent);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fImaginaryComponent;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fImaginaryComponent);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fImaginaryComponent);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fImaginaryComponent;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fModulus);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fModulus);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fModulus;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fModulus);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fModulus);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fModulus;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAverageDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fAverageDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fAverageDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAverageDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAngle);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAngle);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAngle;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fAngle);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fAngle);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAngle;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fLyapunovExponent);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fLyapunovExponent);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fLyapunovExponent;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fLyapunovExponent);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fLyapunovExponent);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fLyapunovExponent;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fCurvature);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fCurvature);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fCurvature;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fCurvature);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fCurvature);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fCurvature;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fStriping);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fStriping);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fStriping;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fStriping);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fStriping);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fStriping;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fMinimumGaussianIntegersDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fMinimumGaussianIntegersDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fMinimumGaussianIntegersDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fAverageGaussianIntegersDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fAverageGaussianIntegersDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAverageGaussianIntegersDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fExteriorDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fExteriorDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fExteriorDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fExteriorDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fExteriorDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fExteriorDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fOrbitTrapDiskDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fOrbitTrapDiskDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapDiskDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fOrbitTrapCrossStalksDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fOrbitTrapCrossStalksDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapCrossStalksDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fOrbitTrapSineDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fOrbitTrapSineDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapSineDistance;
 						}
 						else if (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens) {
-							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance);
-							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance);
-							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance;
+							fractalIterationRangeInformation.fInteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fInteriorMinNrOfIterations,iterationResult.fOrbitTrapTangensDistance);
+							fractalIterationRangeInformation.fInteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fInteriorMaxNrOfIterations,iterationResult.fOrbitTrapTangensDistance);
+							interiorRankColoringHistogram[fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapTangensDistance;
 						}
 					} // if (fInteriorColoringMethod != EColoringMethod.kFixedColor)
-				} // if (fractalResultBuffer.fBuffer[index].liesInInterior())
+				} // if (iterationResult.liesInInterior())
 				else {
 					// determine extrema for exterior colouring
-					fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations,fractalResultBuffer.fBuffer[index].fNrOfIterations);
+					fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations,iterationResult.fNrOfIterations);
 
 					if (coloringParameters.fExteriorColoringMethod != ColoringParameters.EColoringMethod.kFixedColor) {
 						if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteLevelSets) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fNrOfIterations);
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fNrOfIterations);
 							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations;
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fNrOfIterations;
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fNrOfIterations;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothNICLevelSets) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fNormalisedIterationCount);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fNormalisedIterationCount);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fNormalisedIterationCount;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fNormalisedIterationCount);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fNormalisedIterationCount);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fNormalisedIterationCount;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fExponentialIterationCount);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fExponentialIterationCount);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fExponentialIterationCount;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fExponentialIterationCount);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fExponentialIterationCount);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fExponentialIterationCount;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition) {
 							fractalIterationRangeInformation.fExteriorMinNrOfIterations = 1.0;
 							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = coloringParameters.fColorMapExteriorSectorDecompositionRange;
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = (double) fractalResultBuffer.fBuffer[index].getSector(coloringParameters.fColorMapExteriorSectorDecompositionRange);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = (double) iterationResult.getSector(coloringParameters.fColorMapExteriorSectorDecompositionRange);
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fRealComponent);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fRealComponent);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fRealComponent;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fRealComponent);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fRealComponent);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fRealComponent;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fImaginaryComponent);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fImaginaryComponent);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fImaginaryComponent;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fImaginaryComponent);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fImaginaryComponent);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fImaginaryComponent;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fModulus);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fModulus);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fModulus;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fModulus);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fModulus);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fModulus;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAverageDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fAverageDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fAverageDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAverageDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAngle);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAngle);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAngle;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fAngle);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fAngle);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAngle;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fLyapunovExponent);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fLyapunovExponent);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fLyapunovExponent;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fLyapunovExponent);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fLyapunovExponent);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fLyapunovExponent;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fCurvature);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fCurvature);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fCurvature;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fCurvature);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fCurvature);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fCurvature;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fStriping);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fStriping);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fStriping;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fStriping);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fStriping);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fStriping;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fMinimumGaussianIntegersDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fMinimumGaussianIntegersDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fMinimumGaussianIntegersDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fMinimumGaussianIntegersDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fAverageGaussianIntegersDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fAverageGaussianIntegersDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fAverageGaussianIntegersDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fAverageGaussianIntegersDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fExteriorDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fExteriorDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fExteriorDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fExteriorDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fExteriorDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fExteriorDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapDiskDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fOrbitTrapDiskDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fOrbitTrapDiskDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapDiskDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapCrossStalksDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fOrbitTrapCrossStalksDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fOrbitTrapCrossStalksDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapCrossStalksDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapSineDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fOrbitTrapSineDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fOrbitTrapSineDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapSineDistance;
 						}
 						else if (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fOrbitTrapTangensDistance;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fOrbitTrapTangensDistance);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fOrbitTrapTangensDistance);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fOrbitTrapTangensDistance;
 						}
 						else if ((coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteRoots) ||
 										 (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothRoots)) {
-							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,fractalResultBuffer.fBuffer[index].fRootIndex);
-							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,fractalResultBuffer.fBuffer[index].fRootIndex);
-							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = fractalResultBuffer.fBuffer[index].fRootIndex;
+							fractalIterationRangeInformation.fExteriorMinNrOfIterations = Math.min(fractalIterationRangeInformation.fExteriorMinNrOfIterations,iterationResult.fRootIndex);
+							fractalIterationRangeInformation.fExteriorMaxNrOfIterations = Math.max(fractalIterationRangeInformation.fExteriorMaxNrOfIterations,iterationResult.fRootIndex);
+							exteriorRankColoringHistogram[fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints++] = iterationResult.fRootIndex;
 						}
 					} // if (fExteriorColoringMethod != EColoringMethod.kFixedColor)
-				} // if (!fractalResultBuffer.fBuffer[index].liesInInterior())
-			} // if (fractalResultBuffer.fBuffer[index] != null)
+				} // if (!iterationResult.liesInInterior())
+			} // if (fractalResultBuffer.get(index,iterationResult) != null)
 		} // for index
 
 		// second pass: construct histogram for ranked colours (containing values between 0 and 1)
@@ -1535,8 +1599,7 @@ public final class FractalPanel extends JPanel implements Printable
 	private BufferedImage colorFractal(IterationBuffer fractalResultBuffer, FractalIterationRangeInformation fractalIterationRangeInformation)
 	{
 		// prevent problems when in colour-cycling mode
-//		if ((fractalResultBuffer == null) || ((fractalResultBuffer != null) && (fractalResultBuffer.fBuffer == null))) {
-		if ((fractalResultBuffer == null) || (fractalResultBuffer.fBuffer == null)) {
+		if (fractalResultBuffer == null) {
 			return null;
 		}
 
@@ -1556,6 +1619,7 @@ public final class FractalPanel extends JPanel implements Printable
 		}
 
 		boolean useFixedNrOfIterations = fIteratorController.getFractalIterator().getUseFixedNrOfIterations();
+		IterationResult iterationResult = new IterationResult();
 
 		// third pass: draw all colour-mapped iteration counts to the rendering buffer
 		for (int index = 0; index < (fractalResultBuffer.fWidth * fractalResultBuffer.fHeight); ++index) {
@@ -1563,304 +1627,356 @@ public final class FractalPanel extends JPanel implements Printable
 			// set the default colour to black
 			Color color = Color.BLACK;
 
-			IterationResult iterationResult = fractalResultBuffer.fBuffer[index];
-			if (iterationResult != null) {
+			IterationResult[] subSamples = null;
+			if (fractalResultBuffer.fSubSamples != null) {
+				subSamples = fractalResultBuffer.fSubSamples[index];
+			}
 
-				// early check for fixed colouring
-				if (iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kFixedColor)) {
-					color = coloringParameters.fInteriorColor;
+			if (subSamples != null) {
+				// anti-aliasing: average the colours of all sub-samples
+				int red = 0;
+				int green = 0;
+				int blue = 0;
+				for (IterationResult subSample : subSamples) {
+					Color subSampleColor = colorIterationResult(subSample,fractalIterationRangeInformation,coloringParameters,maxObservedExponentialIterationCount,useFixedNrOfIterations);
+					red += subSampleColor.getRed();
+					green += subSampleColor.getGreen();
+					blue += subSampleColor.getBlue();
 				}
-				else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kFixedColor)) {
-					color = coloringParameters.fExteriorColor;
+				color = new Color(
+					(int) Math.round((double) red / (double) subSamples.length),
+					(int) Math.round((double) green / (double) subSamples.length),
+					(int) Math.round((double) blue / (double) subSamples.length));
+			}
+			else {
+				color = colorIterationResult(fractalResultBuffer.get(index,iterationResult),fractalIterationRangeInformation,coloringParameters,maxObservedExponentialIterationCount,useFixedNrOfIterations);
+			}
+
+			// draw a pixel
+			imageBuffer[index] = color.getRGB();
+		} // for index
+
+		imageRaster.setPixels(0,0,0,0,imageBuffer);
+
+		if (coloringParameters.fUsePostProcessingFilters) {
+			for (int filterIndex = 0; filterIndex < coloringParameters.fPostProcessingFilterChain.size(); ++filterIndex) {
+				AFilter filter = coloringParameters.fPostProcessingFilterChain.getFilter(filterIndex); 
+				fractalImageBuffer = filter.filter(fractalImageBuffer);
+			}
+		}
+
+		return fractalImageBuffer;
+	}
+
+	/**
+	 * Converts a single fractal iteration result to a colour, using the current colour map, drawing and smoothing techniques.
+	 *
+	 * @param iterationResult                       the fractal iteration result to colour (black is returned for <CODE>null</CODE>)
+	 * @param fractalIterationRangeInformation      the precalculated iteration range information
+	 * @param coloringParameters                    the colouring parameters to use
+	 * @param maxObservedExponentialIterationCount  the maximum observed exponential iteration count (for convergent fractals)
+	 * @param useFixedNrOfIterations                a <CODE>boolean</CODE> indicating whether or not a fixed number of iterations is used
+	 * @return                                      the colour of the iteration result
+	 */
+	private Color colorIterationResult(IterationResult iterationResult, FractalIterationRangeInformation fractalIterationRangeInformation, ColoringParameters coloringParameters, double maxObservedExponentialIterationCount, boolean useFixedNrOfIterations)
+	{
+		// set the default colour to black
+		Color color = Color.BLACK;
+
+		if (iterationResult != null) {
+
+			// early check for fixed colouring
+			if (iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kFixedColor)) {
+				color = coloringParameters.fInteriorColor;
+			}
+			else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kFixedColor)) {
+				color = coloringParameters.fExteriorColor;
+			}
+			else {
+				// determine values based on selected colouring method
+				double nrOfIterations = 0.0;
+				double minNrOfIterations = fractalIterationRangeInformation.fExteriorMinNrOfIterations;
+				double maxNrOfIterations = fractalIterationRangeInformation.fExteriorMaxNrOfIterations;
+				if (iterationResult.liesInInterior()) {
+					minNrOfIterations = fractalIterationRangeInformation.fInteriorMinNrOfIterations;
+					maxNrOfIterations = fractalIterationRangeInformation.fInteriorMaxNrOfIterations;
 				}
-				else {
-					// determine values based on selected colouring method
-					double nrOfIterations = 0.0;
-					double minNrOfIterations = fractalIterationRangeInformation.fExteriorMinNrOfIterations;
-					double maxNrOfIterations = fractalIterationRangeInformation.fExteriorMaxNrOfIterations;
-					if (iterationResult.liesInInterior()) {
-						minNrOfIterations = fractalIterationRangeInformation.fInteriorMinNrOfIterations;
-						maxNrOfIterations = fractalIterationRangeInformation.fInteriorMaxNrOfIterations;
-					}
 
-					if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteLevelSets)) {
-						nrOfIterations = iterationResult.fNrOfIterations;
-					}
-					else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothNICLevelSets)) {
-						nrOfIterations = iterationResult.fNormalisedIterationCount;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets))) {
-						nrOfIterations = iterationResult.fExponentialIterationCount;
-					}
-					else if (iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition)) {
-						nrOfIterations = iterationResult.getSector(coloringParameters.fColorMapInteriorSectorDecompositionRange);
-					}
-					else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition)) {
-						nrOfIterations = iterationResult.getSector(coloringParameters.fColorMapExteriorSectorDecompositionRange);
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent))) {
-						nrOfIterations = iterationResult.fRealComponent;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent))) {
-						nrOfIterations = iterationResult.fImaginaryComponent;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus))) {
-						nrOfIterations = iterationResult.fModulus;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance))) {
-						nrOfIterations = iterationResult.fAverageDistance;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle))) {
-						nrOfIterations = iterationResult.fAngle;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent))) {
-						nrOfIterations = iterationResult.fLyapunovExponent;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature))) {
-						nrOfIterations = iterationResult.fCurvature;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping))) {
-						nrOfIterations = iterationResult.fStriping;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance))) {
-						nrOfIterations = iterationResult.fMinimumGaussianIntegersDistance;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance))) {
-						nrOfIterations = iterationResult.fAverageGaussianIntegersDistance;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance))) {
-						nrOfIterations = iterationResult.fExteriorDistance;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk))) {
-						nrOfIterations = iterationResult.fOrbitTrapDiskDistance;
-					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks))) {
-						nrOfIterations = iterationResult.fOrbitTrapCrossStalksDistance;
+				if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteLevelSets)) {
+					nrOfIterations = iterationResult.fNrOfIterations;
+				}
+				else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothNICLevelSets)) {
+					nrOfIterations = iterationResult.fNormalisedIterationCount;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothEICLevelSets))) {
+					nrOfIterations = iterationResult.fExponentialIterationCount;
+				}
+				else if (iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition)) {
+					nrOfIterations = iterationResult.getSector(coloringParameters.fColorMapInteriorSectorDecompositionRange);
+				}
+				else if (!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSectorDecomposition)) {
+					nrOfIterations = iterationResult.getSector(coloringParameters.fColorMapExteriorSectorDecompositionRange);
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kRealComponent))) {
+					nrOfIterations = iterationResult.fRealComponent;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kImaginaryComponent))) {
+					nrOfIterations = iterationResult.fImaginaryComponent;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kModulus))) {
+					nrOfIterations = iterationResult.fModulus;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageDistance))) {
+					nrOfIterations = iterationResult.fAverageDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAngle))) {
+					nrOfIterations = iterationResult.fAngle;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kLyapunovExponent))) {
+					nrOfIterations = iterationResult.fLyapunovExponent;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kCurvature))) {
+					nrOfIterations = iterationResult.fCurvature;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kStriping))) {
+					nrOfIterations = iterationResult.fStriping;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kMinimumGaussianIntegersDistance))) {
+					nrOfIterations = iterationResult.fMinimumGaussianIntegersDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kAverageGaussianIntegersDistance))) {
+					nrOfIterations = iterationResult.fAverageGaussianIntegersDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kExteriorDistance))) {
+					nrOfIterations = iterationResult.fExteriorDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapDisk))) {
+					nrOfIterations = iterationResult.fOrbitTrapDiskDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapCrossStalks))) {
+					nrOfIterations = iterationResult.fOrbitTrapCrossStalksDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine))) {
+					nrOfIterations = iterationResult.fOrbitTrapSineDistance;
+				}
+				else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens)) ||
+								(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens))) {
+					nrOfIterations = iterationResult.fOrbitTrapTangensDistance;
+				}
+				else if (!iterationResult.liesInInterior() && ((coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteRoots) ||
+																												(coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothRoots))) {
+					nrOfIterations = iterationResult.fRootIndex;
+				}
+
+				// bound the shown iterations (irrespective of the minimum and maximum observed)
+				if (iterationResult.liesInInterior() ||
+						(!iterationResult.liesInInterior() &&
+						 (iterationResult.fNrOfIterations <= fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations) &&
+						  (!useFixedNrOfIterations &&
+						   (iterationResult.fNrOfIterations >= coloringParameters.fLowIterationRange) &&
+						   (iterationResult.fNrOfIterations <= coloringParameters.fHighIterationRange))) ||
+						  useFixedNrOfIterations) {
+					// apply colour map scaling (transform the argument and function by using the multipliers)
+					double colorMapDiscreteColorRange = (double) coloringParameters.fColorMapDiscreteColorRange;
+					if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kLinear) {
+						coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange;
+						colorMapDiscreteColorRange = coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange;
+						nrOfIterations = coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations;
 					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapSine))) {
-						nrOfIterations = iterationResult.fOrbitTrapSineDistance;
+					else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kLogarithmic) {
+						coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
+						colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
+						nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
+						minNrOfIterations = Math.log(minNrOfIterations);
+						maxNrOfIterations = Math.log(maxNrOfIterations);
 					}
-					else if ((iterationResult.liesInInterior() && (coloringParameters.fInteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens)) ||
-									(!iterationResult.liesInInterior() && (coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kOrbitTrapTangens))) {
-						nrOfIterations = iterationResult.fOrbitTrapTangensDistance;
+					else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kExponential) {
+						coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
+						colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
+						nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
+						minNrOfIterations = Math.exp(minNrOfIterations);
+						maxNrOfIterations = Math.exp(maxNrOfIterations);
 					}
-					else if (!iterationResult.liesInInterior() && ((coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kDiscreteRoots) ||
-																													(coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothRoots))) {
-						nrOfIterations = iterationResult.fRootIndex;
+					else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kSqrt) {
+						coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
+						colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
+						nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
+						minNrOfIterations = Math.sqrt(minNrOfIterations);
+						maxNrOfIterations = Math.sqrt(maxNrOfIterations);
 					}
 
-					// bound the shown iterations (irrespective of the minimum and maximum observed)
-					if (iterationResult.liesInInterior() ||
-							(!iterationResult.liesInInterior() &&
-							 (iterationResult.fNrOfIterations <= fractalIterationRangeInformation.fExteriorMaxNrOfIntegralIterations) &&
-							  (!useFixedNrOfIterations &&
-							   (iterationResult.fNrOfIterations >= coloringParameters.fLowIterationRange) &&
-							   (iterationResult.fNrOfIterations <= coloringParameters.fHighIterationRange))) ||
-							  useFixedNrOfIterations) {
-						// apply colour map scaling (transform the argument and function by using the multipliers)
-						double colorMapDiscreteColorRange = (double) coloringParameters.fColorMapDiscreteColorRange;
-						if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kLinear) {
-							coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange;
-							colorMapDiscreteColorRange = coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange;
-							nrOfIterations = coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations;
-						}
-						else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kLogarithmic) {
-							coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
-							colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
-							nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.log(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
-							minNrOfIterations = Math.log(minNrOfIterations);
-							maxNrOfIterations = Math.log(maxNrOfIterations);
-						}
-						else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kExponential) {
-							coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
-							colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
-							nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.exp(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
-							minNrOfIterations = Math.exp(minNrOfIterations);
-							maxNrOfIterations = Math.exp(maxNrOfIterations);
-						}
-						else if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kSqrt) {
-							coloringParameters.fColorMapContinuousColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * coloringParameters.fColorMapContinuousColorRange);
-							colorMapDiscreteColorRange = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * colorMapDiscreteColorRange);
-							nrOfIterations = coloringParameters.fColorMapScalingFunctionMultiplier * Math.sqrt(coloringParameters.fColorMapScalingArgumentMultiplier * nrOfIterations);
-							minNrOfIterations = Math.sqrt(minNrOfIterations);
-							maxNrOfIterations = Math.sqrt(maxNrOfIterations);
-						}
-
-						// determine default colorIndex
-						double colorIndex = 0.0;
-
-						if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kRankOrder) {
-							if (iterationResult.liesInInterior()) {
-								// interior colouring
-								if (fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints > 0) {
-									int lookupIndex = Arrays.binarySearch(fractalIterationRangeInformation.fInteriorRankColoringHistogramLookupTable,nrOfIterations);
-									if (lookupIndex >= 0) {
-										// manual code optimisation: calculate the rank directly
-										colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints - 1.0);
-									}
-								}
-							}
-							else if (fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints > 0) {
-								// exterior colouring
-								int lookupIndex = Arrays.binarySearch(fractalIterationRangeInformation.fExteriorRankColoringHistogramLookupTable,nrOfIterations);
-								if (lookupIndex >= 0) {
-									// manual code optimisation: calculate the rank directly
-									colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints - 1.0);
-								}
-							}
+					// determine default colorIndex
+					double colorIndex = 0.0;
 
-							// restrict high iteration counts if necessary
-							if (coloringParameters.fRankOrderRestrictHighIterationCountColors) {
-								colorIndex = 1.0 + (1.0 / (Math.log(1.0 - colorIndex) - 1.0));
-							}
-						} // if (fColorMapScaling == EColorMapScaling.kRankOrder)
-						else {
-							// no rank order colour map scaling
-							colorIndex = MathTools.clip((nrOfIterations - minNrOfIterations) / (maxNrOfIterations - minNrOfIterations),0.0,1.0);
-							if (((Double) colorIndex).isNaN()) {
-								colorIndex = 0.0;
-							}
-						} // if (fColorMapScaling != EColorMapScaling.kRankOrder)
-
-						// apply colour map cycling
-						if (coloringParameters.fColorMapColorOffset != 0.0) {
-							colorIndex = MathTools.frac(colorIndex + coloringParameters.fColorMapColorOffset);
-						}
-
-						// apply colour map wrapping
+					if (coloringParameters.fColorMapScaling == ColoringParameters.EColorMapScaling.kRankOrder) {
 						if (iterationResult.liesInInterior()) {
 							// interior colouring
-							if (coloringParameters.fInteriorColorMapWrappedAround) {
-								if (colorIndex < 0.5) {
-									colorIndex *= 2.0;
+							if (fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints > 0) {
+								int lookupIndex = Arrays.binarySearch(fractalIterationRangeInformation.fInteriorRankColoringHistogramLookupTable,nrOfIterations);
+								if (lookupIndex >= 0) {
+									// manual code optimisation: calculate the rank directly
+									colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints - 1.0);
 								}
 								else {
-									colorIndex = 2.0 * (1.0 - colorIndex);
+									// values outside the histogram (e.g., anti-aliasing sub-samples) take the rank of their insertion point
+									lookupIndex = Math.min(-(lookupIndex + 1),fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints - 1);
+									colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fInteriorRankColoringHistogramNrOfPoints - 1.0);
 								}
 							}
 						}
-						else {
+						else if (fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints > 0) {
 							// exterior colouring
-							if (coloringParameters.fExteriorColorMapWrappedAround) {
-								if (colorIndex < 0.5) {
-									colorIndex *= 2.0;
-								}
-								else {
-									colorIndex = 2.0 * (1.0 - colorIndex);
-								}
+							int lookupIndex = Arrays.binarySearch(fractalIterationRangeInformation.fExteriorRankColoringHistogramLookupTable,nrOfIterations);
+							if (lookupIndex >= 0) {
+								// manual code optimisation: calculate the rank directly
+								colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints - 1.0);
+							}
+							else {
+								// values outside the histogram (e.g., anti-aliasing sub-samples) take the rank of their insertion point
+								lookupIndex = Math.min(-(lookupIndex + 1),fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints - 1);
+								colorIndex = (double) lookupIndex / ((double) fractalIterationRangeInformation.fExteriorRankColoringHistogramNrOfPoints - 1.0);
 							}
 						}
 
-						// apply colour map inversion
-						if (iterationResult.liesInInterior()) {
-							// interior colouring
-							if (coloringParameters.fInteriorColorMapInverted) {
-								colorIndex = 1.0 - colorIndex;
-							}
+						// restrict high iteration counts if necessary
+						if (coloringParameters.fRankOrderRestrictHighIterationCountColors) {
+							colorIndex = 1.0 + (1.0 / (Math.log(1.0 - colorIndex) - 1.0));
 						}
-						else {
-							// exterior colouring
-							if (coloringParameters.fExteriorColorMapInverted) {
-								colorIndex = 1.0 - colorIndex;
-							}
+					} // if (fColorMapScaling == EColorMapScaling.kRankOrder)
+					else {
+						// no rank order colour map scaling
+						colorIndex = MathTools.clip((nrOfIterations - minNrOfIterations) / (maxNrOfIterations - minNrOfIterations),0.0,1.0);
+						if (((Double) colorIndex).isNaN()) {
+							colorIndex = 0.0;
 						}
+					} // if (fColorMapScaling != EColorMapScaling.kRankOrder)
 
-						if (coloringParameters.fColorMapRepeatMode) {
-							colorIndex = MathTools.frac(colorIndex * coloringParameters.fColorMapColorRepetition);
-						}
+					// apply colour map cycling
+					if (coloringParameters.fColorMapColorOffset != 0.0) {
+						colorIndex = MathTools.frac(colorIndex + coloringParameters.fColorMapColorOffset);
+					}
 
-						if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kFull) {
-							// keep colorIndex as-is
-						}
-						else if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kLimitedContinuous) {
-							// restrict all colours to the selected ones
-							double nrOfColors = (double) coloringParameters.fColorMapContinuousColorRange;
-							if (colorIndex < 1.0) {
-								if (nrOfColors > 1.0) {
-									colorIndex = Math.floor(colorIndex / (1.0 / nrOfColors)) * (1.0 / (nrOfColors - 1.0));
-								}
-								else {
-									colorIndex = 0.0;
-								}
+					// apply colour map wrapping
+					if (iterationResult.liesInInterior()) {
+						// interior colouring
+						if (coloringParameters.fInteriorColorMapWrappedAround) {
+							if (colorIndex < 0.5) {
+								colorIndex *= 2.0;
+							}
+							else {
+								colorIndex = 2.0 * (1.0 - colorIndex);
 							}
 						}
-						else if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kLimitedDiscrete) {
-							// limit all colours by repeating them
-							if (colorMapDiscreteColorRange > (maxNrOfIterations - minNrOfIterations)) {
-								colorMapDiscreteColorRange = maxNrOfIterations - minNrOfIterations;
+					}
+					else {
+						// exterior colouring
+						if (coloringParameters.fExteriorColorMapWrappedAround) {
+							if (colorIndex < 0.5) {
+								colorIndex *= 2.0;
 							}
-							colorIndex = MathTools.clip(((nrOfIterations - minNrOfIterations) % colorMapDiscreteColorRange) / (colorMapDiscreteColorRange - 1.0),0.0,1.0);							
-							if (((Double) colorIndex).isNaN()) {
-								colorIndex = 0.0;
+							else {
+								colorIndex = 2.0 * (1.0 - colorIndex);
 							}
 						}
+					}
 
-						// convert colour map index to a colour using the specified colour map
-						JGradientColorMap gcm = coloringParameters.fExteriorGradientColorMap;
-
-						// tiger stripes are not available for interior colouring
-						boolean useTigerStripes = (!iterationResult.liesInInterior() && coloringParameters.fUseTigerStripes && (MathTools.isOdd((int) iterationResult.fNrOfIterations)));
-						if (iterationResult.liesInInterior()) {
-							gcm = coloringParameters.fInteriorGradientColorMap;
+					// apply colour map inversion
+					if (iterationResult.liesInInterior()) {
+						// interior colouring
+						if (coloringParameters.fInteriorColorMapInverted) {
+							colorIndex = 1.0 - colorIndex;
 						}
-						else if (useTigerStripes) {
-							gcm = coloringParameters.fTigerGradientColorMap;
+					}
+					else {
+						// exterior colouring
+						if (coloringParameters.fExteriorColorMapInverted) {
+							colorIndex = 1.0 - colorIndex;
 						}
+					}
 
-						if (useTigerStripes && coloringParameters.fTigerUseFixedColor) {
-							color = coloringParameters.fTigerStripeFixedColor;
+					if (coloringParameters.fColorMapRepeatMode) {
+						colorIndex = MathTools.frac(colorIndex * coloringParameters.fColorMapColorRepetition);
+					}
+
+					if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kFull) {
+						// keep colorIndex as-is
+					}
+					else if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kLimitedContinuous) {
+						// restrict all colours to the selected ones
+						double nrOfColors = (double) coloringParameters.fColorMapContinuousColorRange;
+						if (colorIndex < 1.0) {
+							if (nrOfColors > 1.0) {
+								colorIndex = Math.floor(colorIndex / (1.0 / nrOfColors)) * (1.0 / (nrOfColors - 1.0));
+							}
+							else {
+								colorIndex = 0.0;
+							}
 						}
-						else {
-							color = gcm.interpolate(colorIndex);
+					}
+					else if (coloringParameters.fColorMapUsage == ColoringParameters.EColorMapUsage.kLimitedDiscrete) {
+						// limit all colours by repeating them
+						if (colorMapDiscreteColorRange > (maxNrOfIterations - minNrOfIterations)) {
+							colorMapDiscreteColorRange = maxNrOfIterations - minNrOfIterations;
 						}
-
-						// artificially brighten smooth root colours
-						if ((fIteratorController.getFractalIterator() instanceof AConvergentFractalIterator) &&
-								!iterationResult.liesInInterior() &&
-								(coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothRoots)) {
-							// linearly scale all RGB components
-							double fraction = (double) iterationResult.fExponentialIterationCount / maxObservedExponentialIterationCount;
-							int red = (int) Math.floor(MathTools.clip((double) color.getRed() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
-							int green = (int) Math.floor(MathTools.clip((double) color.getGreen() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
-							int blue = (int) Math.floor(MathTools.clip((double) color.getBlue() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
-							int alpha = color.getAlpha();
-
-							color = new Color(red,green,blue,alpha);
+						colorIndex = MathTools.clip(((nrOfIterations - minNrOfIterations) % colorMapDiscreteColorRange) / (colorMapDiscreteColorRange - 1.0),0.0,1.0);							
+						if (((Double) colorIndex).isNaN()) {
+							colorIndex = 0.0;
 						}
+					}
 
-					} // bound the shown iterations
-				} // non-fixed interior or exterior colouring method
-			} // if (iterationResult != null)
+					// convert colour map index to a colour using the specified colour map
+					JGradientColorMap gcm = coloringParameters.fExteriorGradientColorMap;
 
-			// draw a pixel
-			imageBuffer[index] = color.getRGB();
-		} // for index
+					// tiger stripes are not available for interior colouring
+					boolean useTigerStripes = (!iterationResult.liesInInterior() && coloringParameters.fUseTigerStripes && (MathTools.isOdd((int) iterationResult.fNrOfIterations)));
+					if (iterationResult.liesInInterior()) {
+						gcm = coloringParameters.fInteriorGradientColorMap;
+					}
+					else if (useTigerStripes) {
+						gcm = coloringParameters.fTigerGradientColorMap;
+					}
 
-		imageRaster.setPixels(0,0,0,0,imageBuffer);
+					if (useTigerStripes && coloringParameters.fTigerUseFixedColor) {
+						color = coloringParameters.fTigerStripeFixedColor;
+					}
+					else {
+						color = gcm.interpolate(colorIndex);
+					}
 
-		if (coloringParameters.fUsePostProcessingFilters) {
-			for (int filterIndex = 0; filterIndex < coloringParameters.fPostProcessingFilterChain.size(); ++filterIndex) {
-				AFilter filter = coloringParameters.fPostProcessingFilterChain.getFilter(filterIndex); 
-				fractalImageBuffer = filter.filter(fractalImageBuffer);
-			}
-		}
+					// artificially brighten smooth root colours
+					if ((fIteratorController.getFractalIterator() instanceof AConvergentFractalIterator) &&
+							!iterationResult.liesInInterior() &&
+							(coloringParameters.fExteriorColoringMethod == ColoringParameters.EColoringMethod.kSmoothRoots)) {
+						// linearly scale all RGB components
+						double fraction = (double) iterationResult.fExponentialIterationCount / maxObservedExponentialIterationCount;
+						int red = (int) Math.floor(MathTools.clip((double) color.getRed() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
+						int green = (int) Math.floor(MathTools.clip((double) color.getGreen() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
+						int blue = (int) Math.floor(MathTools.clip((double) color.getBlue() * fraction * coloringParameters.fBrightnessFactor,0.0,255.0));
+						int alpha = color.getAlpha();
+
+						color = new Color(red,green,blue,alpha);
+					}
 
-		return fractalImageBuffer;
+				} // bound the shown iterations
+			} // non-fixed interior or exterior colouring method
+		} // if (iterationResult != null)
+
+		return color;
 	}
 
 	/**
@@ -1916,8 +2032,8 @@ public final class FractalPanel extends JPanel implements Printable
 			fInsetHeight = kMinInsetHeight;
 		}
 
-		ComplexNumber p1 = new ComplexNumber(fractalIterator.getP1());
-		ComplexNumber p2 = new ComplexNumber(fractalIterator.getP2());
+		HighPrecisionComplexNumber p1 = fractalIterator.getHighPrecisionP1();
+		HighPrecisionComplexNumber p2 = fractalIterator.getHighPrecisionP2();
 		ComplexNumber previousDeformedParameter = fractalIterator.getMainFractalOrbitStartingPoint();
 		ComplexNumber deformedParameter = ComplexNumber.kZero;
 
@@ -2224,10 +2340,10 @@ public final class FractalPanel extends JPanel implements Printable
 						for (int y = 0; y < fInsetHeight; ++y) {
 							int index = x + (y * fInsetWidth);
 							if (fShowDeformedMainFractal) {
-								insetFractalResultBuffer.fBuffer[index] = fractalIterator.iterateMainFractal(new ScreenLocation(x,y),false,fInsetWidth,fInsetHeight);
+								insetFractalResultBuffer.set(index,fractalIterator.iterateMainFractal(new ScreenLocation(x,y),false,fInsetWidth,fInsetHeight));
 							}
 							else {
-								insetFractalResultBuffer.fBuffer[index] = fractalIterator.iterateDualFractal(new ScreenLocation(x,y),dualParameter,false,fInsetWidth,fInsetHeight);
+								insetFractalResultBuffer.set(index,fractalIterator.iterateDualFractal(new ScreenLocation(x,y),dualParameter,false,fInsetWidth,fInsetHeight));
 							}
 						}
 					}
@@ -2260,7 +2376,7 @@ public final class FractalPanel extends JPanel implements Printable
 						for (int x = 0; x < fInsetWidth; ++x) {
 							for (int y = 0; y < fInsetHeight; ++y) {
 								int index = x + (y * fInsetWidth);
-								insetFractalResultBuffer.fBuffer[index] = fractalIterator.iterateMainFractal(new ScreenLocation(x,y),false,fInsetWidth,fInsetHeight);
+								insetFractalResultBuffer.set(index,fractalIterator.iterateMainFractal(new ScreenLocation(x,y),false,fInsetWidth,fInsetHeight));
 							}
 						}
 						// restore main fractal zooming parameters
@@ -2372,8 +2488,8 @@ public final class FractalPanel extends JPanel implements Printable
 			int kLabelBoxOffset = 2;
 			int yOffset = textHeight + (2 * kLabelBoxOffset) + kTextInsetSize;
 
-			double realWidth = Math.abs(p2.realComponent() - p1.realComponent());
-			double realHeight = Math.abs(p2.imaginaryComponent() - p1.imaginaryComponent());
+			double realWidth = p2.realComponent().subtract(p1.realComponent()).abs().doubleValue();
+			double realHeight = p2.imaginaryComponent().subtract(p1.imaginaryComponent()).abs().doubleValue();
 
 			// draw secondary grid lines
 			fRenderBufferGraphics.setColor(Color.DARK_GRAY);
@@ -2395,11 +2511,11 @@ public final class FractalPanel extends JPanel implements Printable
 			JLabelBox.drawLabel(fRenderBufferGraphics,labelBoxTextColor,labelBoxBackgroundColor,labelBoxBorderColor,labelBoxTransparency,
 					kTextInsetSize,(screenHeight / 2) + kTextInsetSize,kLabelBoxOffset,String.valueOf(p1.realComponent()));
 
-			double p1Y = p1.imaginaryComponent();
-			double p2Y = p2.imaginaryComponent();
+			BigDecimal p1Y = p1.imaginaryComponent();
+			BigDecimal p2Y = p2.imaginaryComponent();
 			double yFactor = 1.0;
 			if (fractalIterator.getInvertYAxis()) {
-				double dummy = p1Y;
+				BigDecimal dummy = p1Y;
 				p1Y = p2Y;
 				p2Y = dummy;
 				yFactor = -1.0;
@@ -2420,7 +2536,7 @@ public final class FractalPanel extends JPanel implements Printable
 				fRenderBufferGraphics.setColor(primaryGridLineColor);
 				fRenderBufferGraphics.drawLine(xLeft,0,xLeft,screenHeight - 1);
 				double factor = (double) xLeft / (double) screenWidth;
-				double position = p1.realComponent() + (factor * realWidth);
+				BigDecimal position = p1.realComponent().add(BigDecimal.valueOf(factor * realWidth));
 				JLabelBox.drawLabel(fRenderBufferGraphics,labelBoxTextColor,labelBoxBackgroundColor,labelBoxBorderColor,labelBoxTransparency,
 					xLeft + kTextInsetSize,(screenHeight / 2) + kTextInsetSize,kLabelBoxOffset,String.valueOf(position));
 
@@ -2428,7 +2544,7 @@ public final class FractalPanel extends JPanel implements Printable
 				fRenderBufferGraphics.setColor(primaryGridLineColor);
 				fRenderBufferGraphics.drawLine(xRight,0,xRight,screenHeight - 1);
 				factor = (double) xRight / (double) screenWidth;
-				position = p1.realComponent() + (factor * realWidth);
+				position = p1.realComponent().add(BigDecimal.valueOf(factor * realWidth));
 				JLabelBox.drawLabel(fRenderBufferGraphics,labelBoxTextColor,labelBoxBackgroundColor,labelBoxBorderColor,labelBoxTransparency,
 					xRight + kTextInsetSize,(screenHeight / 2) + kTextInsetSize,kLabelBoxOffset,String.valueOf(position));
 
@@ -2438,7 +2554,7 @@ public final class FractalPanel extends JPanel implements Printable
 				fRenderBufferGraphics.drawLine(0,yBottom,screenWidth - 1,yBottom);
 				if (i < ((kMaxNrOfGridSpacesPerDimension / 2) - 2)) {
 					factor = (double) yBottom / (double) screenHeight;
-					position = p2Y - (yFactor * factor * realHeight);
+					position = p2Y.subtract(BigDecimal.valueOf(yFactor * factor * realHeight));
 					JLabelBox.drawLabel(fRenderBufferGraphics,labelBoxTextColor,labelBoxBackgroundColor,labelBoxBorderColor,labelBoxTransparency,
 						(screenWidth / 2) + kTextInsetSize,yBottom - yOffset,kLabelBoxOffset,String.valueOf(position));
 				}
@@ -2448,7 +2564,7 @@ public final class FractalPanel extends JPanel implements Printable
 				fRenderBufferGraphics.drawLine(0,yTop,screenWidth - 1,yTop);
 				if (i < ((kMaxNrOfGridSpacesPerDimension / 2) - 2)) {
 					factor = (double) yTop / (double) screenHeight;
-					position = p2Y - (yFactor * factor * realHeight);
+					position = p2Y.subtract(BigDecimal.valueOf(yFactor * factor * realHeight));
 					JLabelBox.drawLabel(fRenderBufferGraphics,labelBoxTextColor,labelBoxBackgroundColor,labelBoxBorderColor,labelBoxTransparency,
 						(screenWidth / 2) + kTextInsetSize,yTop - yOffset,kLabelBoxOffset,String.valueOf(position));
 				}
@@ -2829,8 +2945,10 @@ public final class FractalPanel extends JPanel implements Printable
 
 		if (fShowZoomInformation && !fZoomThumbnailSelectionMode) {
 			String fractalDesc = I18NL10N.translate("text.Fractal.Fractal",fractalIterator.getFamilyName());
-			String lowerLeftDesc = I18NL10N.translate("text.Fractal.LowerLeft") + ": " + fractalIterator.getP1();
-			String upperRightDesc = I18NL10N.translate("text.Fractal.UpperRight") + ": " + fractalIterator.getP2();
+			// show the corners with their full precision when zoomed in beyond double precision
+			boolean highPrecision = (fractalIterator.getPrecisionTier() != AFractalIterator.EPrecisionTier.kDouble);
+			String lowerLeftDesc = I18NL10N.translate("text.Fractal.LowerLeft") + ": " + (highPrecision ? fractalIterator.getHighPrecisionP1() : fractalIterator.getP1());
+			String upperRightDesc = I18NL10N.translate("text.Fractal.UpperRight") + ": " + (highPrecision ? fractalIterator.getHighPrecisionP2() : fractalIterator.getP2());
 			FontMetrics fontMetrics = fRenderBufferGraphics.getFontMetrics();
 			int textWidth = (int) Math.max(fontMetrics.stringWidth(lowerLeftDesc),fontMetrics.stringWidth(upperRightDesc));
 			textWidth = (int) Math.max(textWidth,fontMetrics.stringWidth(fractalDesc));
@@ -2881,8 +2999,8 @@ public final class FractalPanel extends JPanel implements Printable
 					zoomLevelDesc += " (" + zoomLevelOrderDesc + ")";
 				}
 
-				// based on a double's precision
-				if (zoomLevel > 10000000000000L) {
+				// based on a double's precision, unless the fractal can be iterated in higher precision
+				if (highPrecision && !fractalIterator.supportsHighPrecision()) {
 					zoomUnstable = true;
 				}
 			}
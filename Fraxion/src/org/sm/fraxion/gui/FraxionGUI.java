@@ -1,7 +1,7 @@
 // -------------------------------
 // Filename      : FraxionGUI.java
 // Author        : Sven Maerivoet
-// Last modified : 01/11/2016
+// Last modified : 22/11/2016
 // Target        : Java VM (1.8)
 // -------------------------------
 
@@ -61,7 +61,7 @@ import org.sm.smtools.util.*;
  * <B>Note that this class cannot be subclassed!</B>
  *
  * @author  Sven Maerivoet
- * @version 01/11/2016
+ * @version 22/11/2016
  */
 public final class FraxionGUI extends JStandardGUIApplication implements ActionListener, MouseListener, MouseMotionListener
 {
@@ -192,6 +192,7 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 	private static final String kActionCommandMenuItemFractalFamilyAtTheCShore = "menuItem.Fractal.Family.AtTheCShore";
 	private static final String kActionCommandMenuItemFractalFamilyLogarithmicJulia = "menuItem.Fractal.Family.LogarithmicJulia";
 	private static final String kActionCommandMenuItemFractalFamilyHyperbolicSineJulia = "menuItem.Fractal.Family.HyperbolicSineJulia";
+	private static final String kActionCommandMenuItemFractalFamilyCustomFormula = "menuItem.Fractal.Family.CustomFormula";
 
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonPower = "menuItem.Fractal.Family.NewtonRaphsonPower";
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonPowerPolynomial = "menuItem.Fractal.Family.NewtonRaphsonPowerPolynomial";
@@ -234,6 +235,8 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 	private static final String kActionCommandMenuItemFractalFamilyTrigonometricPowerMultiCosineSetPower = "menuItem.Fractal.Family.TrigonometricPowerMultiCosine.SetPower";
 	private static final String kActionCommandMenuItemFractalFamilyTrigonometricPowerMultiTangentSetPower = "menuItem.Fractal.Family.TrigonometricPowerMultiTangent.SetPower";
 	private static final String kActionCommandMenuItemFractalFamilyTrigonometricPowerMultiCotangentSetPower = "menuItem.Fractal.Family.TrigonometricPowerMultiCotangent.SetPower";
+	private static final String kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula = "menuItem.Fractal.Family.CustomFormula.SetFormula";
+	private static final String kActionCommandMenuItemFractalFamilyCustomFormulaSetPower = "menuItem.Fractal.Family.CustomFormula.SetPower";
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonSetConvergenceParameters = "menuItem.Fractal.Family.NewtonRaphson.SetConvergenceParameters";
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonAutomaticRootDetectionEnabled = "menuItem.Fractal.Family.NewtonRaphson.AutomaticRootDetectionEnabled";
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonPowerSetPower = "menuItem.Fractal.Family.NewtonRaphsonPower.SetPower";
@@ -244,10 +247,23 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 	private static final String kActionCommandMenuItemFractalFamilyNewtonRaphsonTrigonometricPowerMultiSineOffsetSetPower = "menuItem.Fractal.Family.NewtonRaphsonTrigonometricPowerMultiSineOffset.SetPower";
 	private static final String kActionCommandMenuItemFractalFamilyMagnetSetConvergenceParameters = "menuItem.Fractal.Family.Magnet.SetConvergenceParameters";
 	private static final String kActionCommandMenuItemFractalFamilyMarkusLyapunovSetRootSequence = "menuItem.Fractal.Family.MarkusLyapunov.SetRootSequence";
+	private static final String kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp = "menuItem.Fractal.Family.MarkusLyapunov.UseAdaptiveWarmUp";
 
 	private static final String kActionCommandMenuItemFractalSetMaxNrOfIterations = "menuItem.Fractal.SetMaxNrOfIterations";
 	private static final String kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations = "menuItem.Fractal.AutoSelectMaxNrOfIterations";
+	private static final String kActionCommandMenuItemFractalAdaptMaxNrOfIterations = "menuItem.Fractal.AdaptMaxNrOfIterations";
+	private static final String kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved = "menuItem.Fractal.RaiseMaxNrOfIterationsWhileUnresolved";
 	private static final String kActionCommandMenuItemFractalSetEscapeRadius = "menuItem.Fractal.SetEscapeRadius";
+	private static final String kActionCommandMenuItemFractalUsePeriodicityChecking = "menuItem.Fractal.UsePeriodicityChecking";
+	private static final String kActionCommandMenuItemFractalSetPeriodicityParameters = "menuItem.Fractal.SetPeriodicityParameters";
+	private static final String kActionCommandMenuItemFractalUseRectangleSubdivision = "menuItem.Fractal.UseRectangleSubdivision";
+	private static final String kActionCommandMenuItemFractalUseSymmetry = "menuItem.Fractal.UseSymmetry";
+	private static final String kActionCommandMenuItemFractalUseFastMath = "menuItem.Fractal.UseFastMath";
+	private static final String kActionCommandMenuItemFractalUsePerturbation = "menuItem.Fractal.UsePerturbation";
+	private static final String kActionCommandMenuItemFractalRenderEscapeTimes = "menuItem.Fractal.RenderEscapeTimes";
+	private static final String kActionCommandMenuItemFractalRenderBuddhabrot = "menuItem.Fractal.RenderBuddhabrot";
+	private static final String kActionCommandMenuItemFractalRenderAntiBuddhabrot = "menuItem.Fractal.RenderAntiBuddhabrot";
+	private static final String kActionCommandMenuItemFractalRenderNebulabrot = "menuItem.Fractal.RenderNebulabrot";
 	private static final String kActionCommandMenuItemFractalCopyCoordinates = "menuItem.Fractal.CopyCoordinatesToClipboard";
 	private static final String kActionCommandMenuItemFractalRefreshScreen = "menuItem.Fractal.RefreshScreen";
 
@@ -446,6 +462,10 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 	private static final String kActionCommandMenuItemMultithreadingRecalculate = "menuItem.MultiThreading.Recalculate";
 	private static final String kActionCommandMenuItemMultithreadingSetNrOfCPUCoresToUse = "menuItem.MultiThreading.SetNrOfCPUCoresToUse";
 	private static final String kActionCommandMenuItemMultithreadingSetNrOfBlocksToUse = "menuItem.MultiThreading.SetNrOfBlocksToUse";
+	private static final String kActionCommandMenuItemMultithreadingUseProgressiveRendering = "menuItem.MultiThreading.UseProgressiveRendering";
+	private static final String kActionCommandMenuItemMultithreadingUseAntiAliasing = "menuItem.MultiThreading.UseAntiAliasing";
+	private static final String kActionCommandMenuItemMultithreadingUseReducedPrecision = "menuItem.MultiThreading.UseReducedPrecision";
+	private static final String kActionCommandMenuItemMultithreadingKeepOrbitStates = "menuItem.MultiThreading.KeepOrbitStates";
 	private static final String kActionCommandMenuItemMultithreadingProgressIndicatorBar = "menuItem.MultiThreading.ProgressIndicatorBar";
 	private static final String kActionCommandMenuItemMultithreadingProgressIndicatorCircles = "menuItem.MultiThreading.ProgressIndicatorCircles";
 	private static final String kActionCommandMenuItemMultithreadingProgressIndicatorFixedSector = "menuItem.MultiThreading.ProgressIndicatorFixedSector";
@@ -840,6 +860,9 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 						else if (familyName.equalsIgnoreCase((new HyperbolicSineJuliaFractalIterator()).getFamilyName())) {
 							fIteratorController.setFractalIteratorFamily(new HyperbolicSineJuliaFractalIterator());
 						}
+						else if (familyName.equalsIgnoreCase((new CustomFormulaFractalIterator()).getFamilyName())) {
+							fIteratorController.setFractalIteratorFamily(new CustomFormulaFractalIterator());
+						}
 						else if (familyName.equalsIgnoreCase((new NewtonRaphsonPowerFractalIterator()).getFamilyName())) {
 							fIteratorController.setFractalIteratorFamily(new NewtonRaphsonPowerFractalIterator());
 						}
@@ -918,7 +941,7 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 						// adjust the zoom stack
 						fFractalPanel.getZoomStack().clear();
 						fFractalPanel.getZoomStack().push(fractalIterator.getDefaultP1(),fractalIterator.getDefaultP2());
-						fFractalPanel.getZoomStack().push(fractalIterator.getP1(),fractalIterator.getP2());
+						fFractalPanel.getZoomStack().push(fractalIterator.getHighPrecisionP1(),fractalIterator.getHighPrecisionP2());
 
 						adjustMenusToFractal();
 
@@ -1201,7 +1224,8 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				fractalIterator.getScreenHeight(),
 				currentWindowWidth,
 				currentWindowHeight,
-				fStoredScreenSizes);
+				fStoredScreenSizes,
+				IterationBuffer.getMemorySizePerPoint(fIteratorController.getRequiredColumns(),fIteratorController.getReducedPrecisionEnabled(),fIteratorController.getOrbitStateKeepingEnabled()));
 			if (!screenBoundsChooser.isCancelled()) {
 				if (!screenBoundsChooser.isProjectedMemoryUsageAvailable()) {
 					JWarningDialog.warn(this,I18NL10N.translate("error.NotEnoughMemoryAvailable"));
@@ -1217,8 +1241,8 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 			}
 		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemNavigationSpecifyComplexBounds)) {
-			ComplexNumber p1 = fFractalPanel.getZoomStack().getTopP1();
-			ComplexNumber p2 = fFractalPanel.getZoomStack().getTopP2();
+			ComplexNumber p1 = fFractalPanel.getZoomStack().getTopP1().toComplexNumber();
+			ComplexNumber p2 = fFractalPanel.getZoomStack().getTopP2().toComplexNumber();
 			ComplexNumber centerOrigin = new ComplexNumber(
 				(p1.realComponent() + p2.realComponent()) / 2.0,
 				(p1.imaginaryComponent() + p2.imaginaryComponent()) / 2.0);
@@ -1479,6 +1503,7 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyAtTheCShore) ||
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyLogarithmicJulia) ||
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyHyperbolicSineJulia) ||
+						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyCustomFormula) ||
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyNewtonRaphsonPower) ||
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyNewtonRaphsonPowerPolynomial) ||
 						command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyNewtonRaphsonFixedPolynomial1) ||
@@ -1654,6 +1679,9 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 					case kActionCommandMenuItemFractalFamilyHyperbolicSineJulia:
 						fIteratorController.setFractalIteratorFamily(new HyperbolicSineJuliaFractalIterator());
 						break;
+					case kActionCommandMenuItemFractalFamilyCustomFormula:
+						fIteratorController.setFractalIteratorFamily(new CustomFormulaFractalIterator());
+						break;
 					case kActionCommandMenuItemFractalFamilyNewtonRaphsonPower:
 						fIteratorController.setFractalIteratorFamily(new NewtonRaphsonPowerFractalIterator());
 						break;
@@ -2081,6 +2109,32 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				}
 			}
 		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula)) {
+			if (fractalIterator instanceof CustomFormulaFractalIterator) {
+				CustomFormulaChooser customFormulaChooser = new CustomFormulaChooser(this,((CustomFormulaFractalIterator) fractalIterator).getFormula());
+				if (!customFormulaChooser.isCancelled()) {
+					String formula = customFormulaChooser.getSelectedFormula();
+					try {
+						((CustomFormulaFractalIterator) (fractalIterator)).setFormula(formula);
+						adjustMenusToFractal();
+						fIteratorController.recalc();
+					}
+					catch (FormulaParseException exc) {
+						JWarningDialog.warn(this,I18NL10N.translate("error.Fractal.InvalidFormula",exc.getExpression(),String.valueOf(exc.getPosition() + 1)));
+					}
+				}
+			}
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyCustomFormulaSetPower)) {
+			if (fractalIterator instanceof CustomFormulaFractalIterator) {
+				PowerChooser powerChooser = new PowerChooser(this,((CustomFormulaFractalIterator) fractalIterator).getPower());
+				if (!powerChooser.isCancelled()) {
+					ComplexNumber power = powerChooser.getSelectedPower();
+					((CustomFormulaFractalIterator) (fractalIterator)).setPower(power);
+					fIteratorController.recalc();
+				}
+			}
+		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyMarkusLyapunovSetRootSequence)) {
 			if (fractalIterator instanceof MarkusLyapunovFractalIterator) {
 				RootSequenceChooser rootSequenceChooser = new RootSequenceChooser(this,((MarkusLyapunovFractalIterator) fractalIterator).getRootSequence());
@@ -2091,26 +2145,50 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				}
 			}
 		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp)) {
+			if (fractalIterator instanceof MarkusLyapunovFractalIterator) {
+				((MarkusLyapunovFractalIterator) (fractalIterator)).setAdaptiveWarmUpEnabled(fMenuItems.get(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp).isSelected());
+				fIteratorController.recalc();
+			}
+		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalSetMaxNrOfIterations)) {
 			MaxNrOfIterationsChooser maxNrOfIterationsChooser = new MaxNrOfIterationsChooser(this,fractalIterator.getMaxNrOfIterations());
 			if (!maxNrOfIterationsChooser.isCancelled()) {
 				int maxNrOfIterations = maxNrOfIterationsChooser.getSelectedMaxNrOfIterations();
 				fFractalPanel.calibrateColorRange(maxNrOfIterations);
 				fractalIterator.setMaxNrOfIterations(maxNrOfIterations);
-				fIteratorController.recalc();
+				fIteratorController.recalcResumingIterations();
 			}
 		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations)) {
 			boolean autoSelectMaxNrOfIterations = fMenuItems.get(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations).isSelected();
 			fMenuItems.get(kActionCommandMenuItemFractalSetMaxNrOfIterations).setEnabled(!autoSelectMaxNrOfIterations);
+			fMenuItems.get(kActionCommandMenuItemFractalAdaptMaxNrOfIterations).setEnabled(autoSelectMaxNrOfIterations);
 			fFractalPanel.setAutoSelectMaxNrOfIterations(autoSelectMaxNrOfIterations);
 			if (autoSelectMaxNrOfIterations) {
 				int maxNrOfIterations = fractalIterator.autoDetermineMaxNrOfIterations();
 				fFractalPanel.calibrateColorRange(maxNrOfIterations);
 				fractalIterator.setMaxNrOfIterations(maxNrOfIterations);
-				fIteratorController.recalc();
+				fIteratorController.recalcResumingIterations();
 			}
 		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalAdaptMaxNrOfIterations)) {
+			boolean adaptMaxNrOfIterations = fMenuItems.get(kActionCommandMenuItemFractalAdaptMaxNrOfIterations).isSelected();
+			fFractalPanel.setAdaptMaxNrOfIterations(adaptMaxNrOfIterations);
+			IterationBuffer fractalResultBuffer = fIteratorController.getFractalResultBuffer();
+			if (adaptMaxNrOfIterations && (fractalResultBuffer != null) && (fractalResultBuffer.fMaxNrOfIterations == fractalIterator.getMaxNrOfIterations())) {
+				int maxNrOfIterations = fractalIterator.autoDetermineMaxNrOfIterations(fractalResultBuffer,false);
+				if (maxNrOfIterations != fractalIterator.getMaxNrOfIterations()) {
+					fFractalPanel.calibrateColorRange(maxNrOfIterations);
+					fractalIterator.setMaxNrOfIterations(maxNrOfIterations);
+					fIteratorController.recalcResumingIterations();
+				}
+			}
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved)) {
+			fIteratorController.setRaiseMaxNrOfIterationsWhileUnresolved(fMenuItems.get(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved).isSelected());
+			fIteratorController.raiseMaxNrOfIterationsIfUnresolved();
+		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalSetEscapeRadius)) {
 			EscapeRadiusChooser escapeRadiusChooser = new EscapeRadiusChooser(this,fractalIterator.getEscapeRadius());
 			if (!escapeRadiusChooser.isCancelled()) {
@@ -2118,6 +2196,53 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				fIteratorController.recalc();
 			}
 		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalUsePeriodicityChecking)) {
+			fractalIterator.setPeriodicityCheckingEnabled(fMenuItems.get(kActionCommandMenuItemFractalUsePeriodicityChecking).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalSetPeriodicityParameters)) {
+			PeriodicityParametersChooser periodicityParametersChooser = new PeriodicityParametersChooser(this,fractalIterator.getPeriodicityTolerance(),fractalIterator.getPeriodicityCheckInterval());
+			if (!periodicityParametersChooser.isCancelled()) {
+				fractalIterator.setPeriodicityTolerance(periodicityParametersChooser.getSelectedPeriodicityTolerance());
+				fractalIterator.setPeriodicityCheckInterval(periodicityParametersChooser.getSelectedPeriodicityCheckInterval());
+				fIteratorController.recalc();
+			}
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalUseRectangleSubdivision)) {
+			fractalIterator.setRectangleSubdivisionEnabled(fMenuItems.get(kActionCommandMenuItemFractalUseRectangleSubdivision).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalUseSymmetry)) {
+			fractalIterator.setSymmetryEnabled(fMenuItems.get(kActionCommandMenuItemFractalUseSymmetry).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalUseFastMath)) {
+			fractalIterator.setFastMathEnabled(fMenuItems.get(kActionCommandMenuItemFractalUseFastMath).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalUsePerturbation)) {
+			if (fractalIterator instanceof FastMandelbrotJuliaFractalIterator) {
+				((FastMandelbrotJuliaFractalIterator) fractalIterator).setUsePerturbation(fMenuItems.get(kActionCommandMenuItemFractalUsePerturbation).isSelected());
+				fIteratorController.recalc();
+			}
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderEscapeTimes) ||
+						command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderBuddhabrot) ||
+						command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderAntiBuddhabrot) ||
+						command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderNebulabrot)) {
+			OrbitDensity.EMode orbitDensityMode = OrbitDensity.EMode.kNone;
+			if (command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderBuddhabrot)) {
+				orbitDensityMode = OrbitDensity.EMode.kBuddhabrot;
+			}
+			else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderAntiBuddhabrot)) {
+				orbitDensityMode = OrbitDensity.EMode.kAntiBuddhabrot;
+			}
+			else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalRenderNebulabrot)) {
+				orbitDensityMode = OrbitDensity.EMode.kNebula;
+			}
+			fIteratorController.setOrbitDensityMode(orbitDensityMode);
+			fIteratorController.recalc();
+		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemFractalCopyCoordinates)) {
 			Point p = fFractalPanel.getMousePosition();
 			if (p != null) {		
@@ -3220,6 +3345,20 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				fIteratorController.setNrOfBlocksToUse(nrOfBlocksToUseChooser.getSelectedNrOfBlocksToUse());
 			}
 		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemMultithreadingUseProgressiveRendering)) {
+			fIteratorController.setProgressiveRenderingEnabled(fMenuItems.get(kActionCommandMenuItemMultithreadingUseProgressiveRendering).isSelected());
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemMultithreadingUseAntiAliasing)) {
+			fIteratorController.setAntiAliasingEnabled(fMenuItems.get(kActionCommandMenuItemMultithreadingUseAntiAliasing).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemMultithreadingUseReducedPrecision)) {
+			fIteratorController.setReducedPrecisionEnabled(fMenuItems.get(kActionCommandMenuItemMultithreadingUseReducedPrecision).isSelected());
+			fIteratorController.recalc();
+		}
+		else if (command.equalsIgnoreCase(kActionCommandMenuItemMultithreadingKeepOrbitStates)) {
+			fIteratorController.setOrbitStateKeepingEnabled(fMenuItems.get(kActionCommandMenuItemMultithreadingKeepOrbitStates).isSelected());
+		}
 		else if (command.equalsIgnoreCase(kActionCommandMenuItemMultithreadingProgressIndicatorBar)) {
 			fProgressUpdateGlassPane.setVisualisationType(JProgressUpdateGlassPane.EVisualisationType.kBar);
 		}
@@ -4504,6 +4643,28 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 						buttonGroup.add(radioButtonMenuItem);
 						fMenuItems.put(kActionCommandMenuItemFractalFamilyHyperbolicSineJulia,radioButtonMenuItem);
 					subSubMenu.add(radioButtonMenuItem);
+
+					subSubMenu.addSeparator();
+
+						radioButtonMenuItem = constructRadioButtonMenuItem(kActionCommandMenuItemFractalFamilyCustomFormula,false);
+						radioButtonMenuItem.setSelected(false);
+						radioButtonMenuItem.setActionCommand(kActionCommandMenuItemFractalFamilyCustomFormula);
+						radioButtonMenuItem.addActionListener(this);
+						buttonGroup.add(radioButtonMenuItem);
+						fMenuItems.put(kActionCommandMenuItemFractalFamilyCustomFormula,radioButtonMenuItem);
+					subSubMenu.add(radioButtonMenuItem);
+						menuItem = constructMenuItem(kMenuItemIndentation + kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula,false);
+						menuItem.setActionCommand(kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula);
+						menuItem.addActionListener(this);
+						menuItem.setEnabled(false);
+						fMenuItems.put(kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula,menuItem);
+					subSubMenu.add(menuItem);
+						menuItem = constructMenuItem(kMenuItemIndentation + kActionCommandMenuItemFractalFamilyCustomFormulaSetPower,false);
+						menuItem.setActionCommand(kActionCommandMenuItemFractalFamilyCustomFormulaSetPower);
+						menuItem.addActionListener(this);
+						fFractalFamilyMenuItems.add(kActionCommandMenuItemFractalFamilyCustomFormula);
+						fMenuItems.put(kActionCommandMenuItemFractalFamilyCustomFormulaSetPower,menuItem);
+					subSubMenu.add(menuItem);
 				subMenu.add(subSubMenu);
 
 					subSubMenu = new JMenu(I18NL10N.translate("menuItem.Fractal.Family.NewtonRaphson"));
@@ -4707,6 +4868,15 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 						buttonGroup.add(radioButtonMenuItem);
 						fMenuItems.put(kActionCommandMenuItemFractalFamilyMarkusLyapunovZirconZity,radioButtonMenuItem);
 					subSubMenu.add(radioButtonMenuItem);
+
+					subSubMenu.addSeparator();
+
+						checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp,false);
+						checkBoxMenuItem.setSelected(false);
+						checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp);
+						checkBoxMenuItem.addActionListener(this);
+						fMenuItems.put(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp,checkBoxMenuItem);
+					subSubMenu.add(checkBoxMenuItem);
 				subMenu.add(subSubMenu);
 
 			menu.add(subMenu);
@@ -4723,12 +4893,92 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations);
 				checkBoxMenuItem.addActionListener(this);
 				fMenuItems.put(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kMenuItemIndentation + kActionCommandMenuItemFractalAdaptMaxNrOfIterations,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalAdaptMaxNrOfIterations);
+				checkBoxMenuItem.addActionListener(this);
+				checkBoxMenuItem.setEnabled(false);
+				fMenuItems.put(kActionCommandMenuItemFractalAdaptMaxNrOfIterations,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kMenuItemIndentation + kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved,checkBoxMenuItem);
 			menu.add(checkBoxMenuItem);
 				menuItem = constructMenuItem(kActionCommandMenuItemFractalSetEscapeRadius,false);
 				menuItem.setActionCommand(kActionCommandMenuItemFractalSetEscapeRadius);
 				menuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_E,ActionEvent.CTRL_MASK));
 				menuItem.addActionListener(this);
 			menu.add(menuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalUsePeriodicityChecking,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalUsePeriodicityChecking);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalUsePeriodicityChecking,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				menuItem = constructMenuItem(kActionCommandMenuItemFractalSetPeriodicityParameters,false);
+				menuItem.setActionCommand(kActionCommandMenuItemFractalSetPeriodicityParameters);
+				menuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalSetPeriodicityParameters,menuItem);
+			menu.add(menuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalUseRectangleSubdivision,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalUseRectangleSubdivision);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalUseRectangleSubdivision,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalUseSymmetry,false);
+				checkBoxMenuItem.setSelected(true);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalUseSymmetry);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalUseSymmetry,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalUseFastMath,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalUseFastMath);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalUseFastMath,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemFractalUsePerturbation,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemFractalUsePerturbation);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemFractalUsePerturbation,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+
+			menu.addSeparator();
+
+				buttonGroup = new ButtonGroup();
+				radioButtonMenuItem = constructRadioButtonMenuItem(kActionCommandMenuItemFractalRenderEscapeTimes,false);
+				radioButtonMenuItem.setSelected(true);
+				radioButtonMenuItem.setActionCommand(kActionCommandMenuItemFractalRenderEscapeTimes);
+				radioButtonMenuItem.addActionListener(this);
+				buttonGroup.add(radioButtonMenuItem);
+				fMenuItems.put(kActionCommandMenuItemFractalRenderEscapeTimes,radioButtonMenuItem);
+			menu.add(radioButtonMenuItem);
+				radioButtonMenuItem = constructRadioButtonMenuItem(kActionCommandMenuItemFractalRenderBuddhabrot,false);
+				radioButtonMenuItem.setSelected(false);
+				radioButtonMenuItem.setActionCommand(kActionCommandMenuItemFractalRenderBuddhabrot);
+				radioButtonMenuItem.addActionListener(this);
+				buttonGroup.add(radioButtonMenuItem);
+				fMenuItems.put(kActionCommandMenuItemFractalRenderBuddhabrot,radioButtonMenuItem);
+			menu.add(radioButtonMenuItem);
+				radioButtonMenuItem = constructRadioButtonMenuItem(kActionCommandMenuItemFractalRenderAntiBuddhabrot,false);
+				radioButtonMenuItem.setSelected(false);
+				radioButtonMenuItem.setActionCommand(kActionCommandMenuItemFractalRenderAntiBuddhabrot);
+				radioButtonMenuItem.addActionListener(this);
+				buttonGroup.add(radioButtonMenuItem);
+				fMenuItems.put(kActionCommandMenuItemFractalRenderAntiBuddhabrot,radioButtonMenuItem);
+			menu.add(radioButtonMenuItem);
+				radioButtonMenuItem = constructRadioButtonMenuItem(kActionCommandMenuItemFractalRenderNebulabrot,false);
+				radioButtonMenuItem.setSelected(false);
+				radioButtonMenuItem.setActionCommand(kActionCommandMenuItemFractalRenderNebulabrot);
+				radioButtonMenuItem.addActionListener(this);
+				buttonGroup.add(radioButtonMenuItem);
+				fMenuItems.put(kActionCommandMenuItemFractalRenderNebulabrot,radioButtonMenuItem);
+			menu.add(radioButtonMenuItem);
 
 			menu.addSeparator();
 
@@ -6157,6 +6407,30 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				menuItem.setActionCommand(kActionCommandMenuItemMultithreadingSetNrOfBlocksToUse);
 				menuItem.addActionListener(this);
 			menu.add(menuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemMultithreadingUseProgressiveRendering,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemMultithreadingUseProgressiveRendering);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemMultithreadingUseProgressiveRendering,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemMultithreadingUseAntiAliasing,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemMultithreadingUseAntiAliasing);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemMultithreadingUseAntiAliasing,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemMultithreadingUseReducedPrecision,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemMultithreadingUseReducedPrecision);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemMultithreadingUseReducedPrecision,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
+				checkBoxMenuItem = constructCheckBoxMenuItem(kActionCommandMenuItemMultithreadingKeepOrbitStates,false);
+				checkBoxMenuItem.setSelected(false);
+				checkBoxMenuItem.setActionCommand(kActionCommandMenuItemMultithreadingKeepOrbitStates);
+				checkBoxMenuItem.addActionListener(this);
+				fMenuItems.put(kActionCommandMenuItemMultithreadingKeepOrbitStates,checkBoxMenuItem);
+			menu.add(checkBoxMenuItem);
 
 			menu.addSeparator();
 
@@ -6778,6 +7052,9 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 		else if (familyName.equalsIgnoreCase((new HyperbolicSineJuliaFractalIterator()).getFamilyName())) {
 			familyMenuItem = kActionCommandMenuItemFractalFamilyHyperbolicSineJulia;
 		}
+		else if (familyName.equalsIgnoreCase((new CustomFormulaFractalIterator()).getFamilyName())) {
+			familyMenuItem = kActionCommandMenuItemFractalFamilyCustomFormula;
+		}
 		else if (familyName.equalsIgnoreCase((new NewtonRaphsonPowerFractalIterator()).getFamilyName())) {
 			familyMenuItem = kActionCommandMenuItemFractalFamilyNewtonRaphsonPower;
 		}
@@ -6838,6 +7115,7 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 			fMenuItems.get(fractalFamily + ".SetPower").setEnabled(fractalFamily.equalsIgnoreCase(familyMenuItem));
 		}
 		fMenuItems.get(kActionCommandMenuItemFractalFamilyRandelbrotSetNoiseLevel).setEnabled(familyMenuItem.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyRandelbrot));
+		fMenuItems.get(kActionCommandMenuItemFractalFamilyCustomFormulaSetFormula).setEnabled(familyMenuItem.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyCustomFormula));
 		fMenuItems.get(kActionCommandMenuItemFractalFamilyMarkusLyapunovSetRootSequence).setEnabled(familyMenuItem.equalsIgnoreCase(kActionCommandMenuItemFractalFamilyMarkusLyapunov));
 
 		boolean isAConvergentFractalIterator = fractalIterator instanceof AConvergentFractalIterator;
@@ -6845,6 +7123,9 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 		boolean isMarkusLyapunovFractalIterator = fractalIterator instanceof MarkusLyapunovFractalIterator;
 		boolean calculateAdvancedColoring = fIteratorController.getFractalIterator().getCalculateAdvancedColoring();
 
+		fMenuItems.get(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp).setEnabled(isMarkusLyapunovFractalIterator);
+		fMenuItems.get(kActionCommandMenuItemFractalFamilyMarkusLyapunovUseAdaptiveWarmUp).setSelected(isMarkusLyapunovFractalIterator && ((MarkusLyapunovFractalIterator) fractalIterator).getAdaptiveWarmUpEnabled());
+
 		fMenuItems.get(kActionCommandMenuItemColorMapInteriorUseExponentiallySmoothedLevelSets).setEnabled(!isMarkusLyapunovFractalIterator);
 		fMenuItems.get(kActionCommandMenuItemColorMapInteriorUseSectorDecomposition).setEnabled(!isMarkusLyapunovFractalIterator);
 		fMenuItems.get(kActionCommandMenuItemColorMapInteriorSetDecompositionSectorRange).setEnabled(!isMarkusLyapunovFractalIterator);
@@ -6922,11 +7203,47 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 			fMenuItems.get(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations).setSelected(false);
 			fFractalPanel.setAutoSelectMaxNrOfIterations(false);
 			fMenuItems.get(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations).setEnabled(false);
+			fMenuItems.get(kActionCommandMenuItemFractalAdaptMaxNrOfIterations).setEnabled(false);
+			fMenuItems.get(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved).setEnabled(false);
 			fMenuItems.get(kActionCommandMenuItemFractalSetMaxNrOfIterations).setEnabled(true);
 		}
 		else {
 			fMenuItems.get(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations).setEnabled(true);
-		}
+			fMenuItems.get(kActionCommandMenuItemFractalAdaptMaxNrOfIterations).setEnabled(fMenuItems.get(kActionCommandMenuItemFractalAutoSelectMaxNrOfIterations).isSelected());
+			fMenuItems.get(kActionCommandMenuItemFractalRaiseMaxNrOfIterationsWhileUnresolved).setEnabled(true);
+		}
+
+		// periodicity checking is only available for the escape-time fractals
+		boolean supportsPeriodicityChecking = (fractalIterator instanceof ADivergentFractalIterator) || (fractalIterator instanceof FastMandelbrotJuliaFractalIterator);
+		fMenuItems.get(kActionCommandMenuItemFractalUsePeriodicityChecking).setEnabled(supportsPeriodicityChecking);
+		fMenuItems.get(kActionCommandMenuItemFractalUsePeriodicityChecking).setSelected(supportsPeriodicityChecking && fractalIterator.getPeriodicityCheckingEnabled());
+		fMenuItems.get(kActionCommandMenuItemFractalSetPeriodicityParameters).setEnabled(supportsPeriodicityChecking);
+
+		// rectangle subdivision is not available for fractals of which the inside of a rectangle can't be guessed from its border
+		boolean supportsRectangleSubdivision = fractalIterator.supportsRectangleSubdivision();
+		fMenuItems.get(kActionCommandMenuItemFractalUseRectangleSubdivision).setEnabled(supportsRectangleSubdivision);
+		fMenuItems.get(kActionCommandMenuItemFractalUseRectangleSubdivision).setSelected(supportsRectangleSubdivision && fractalIterator.getRectangleSubdivisionEnabled());
+
+		// symmetries can only be exploited for fractals that declare them
+		boolean hasSymmetry = fractalIterator.hasConjugateSymmetry() || fractalIterator.hasPointSymmetry();
+		fMenuItems.get(kActionCommandMenuItemFractalUseSymmetry).setEnabled(hasSymmetry);
+		fMenuItems.get(kActionCommandMenuItemFractalUseSymmetry).setSelected(hasSymmetry && fractalIterator.getSymmetryEnabled());
+
+		// fast math is only available for fractals with approximations of their transcendental functions
+		boolean supportsFastMath = fractalIterator.supportsFastMath();
+		fMenuItems.get(kActionCommandMenuItemFractalUseFastMath).setEnabled(supportsFastMath);
+		fMenuItems.get(kActionCommandMenuItemFractalUseFastMath).setSelected(supportsFastMath && fractalIterator.getFastMathEnabled());
+
+		// perturbation is only available for the default Mandelbrot / Julia fractal
+		boolean isFastMandelbrotJuliaFractalIterator = (fractalIterator instanceof FastMandelbrotJuliaFractalIterator);
+		fMenuItems.get(kActionCommandMenuItemFractalUsePerturbation).setEnabled(isFastMandelbrotJuliaFractalIterator);
+		fMenuItems.get(kActionCommandMenuItemFractalUsePerturbation).setSelected(isFastMandelbrotJuliaFractalIterator && ((FastMandelbrotJuliaFractalIterator) fractalIterator).getUsePerturbation());
+
+		// orbit densities are only available for fractals of which the orbits can be accumulated (the escape times are rendered otherwise)
+		boolean supportsOrbitDensity = fractalIterator.supportsOrbitDensity();
+		fMenuItems.get(kActionCommandMenuItemFractalRenderBuddhabrot).setEnabled(supportsOrbitDensity);
+		fMenuItems.get(kActionCommandMenuItemFractalRenderAntiBuddhabrot).setEnabled(supportsOrbitDensity);
+		fMenuItems.get(kActionCommandMenuItemFractalRenderNebulabrot).setEnabled(supportsOrbitDensity);
 
 		// setup the remaining menu items related to the colouring parameters
 		ColoringParameters coloringParameters = fIteratorController.getColoringParameters();
@@ -7564,6 +7881,9 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				else if (familyName.equalsIgnoreCase((new HyperbolicSineJuliaFractalIterator()).getFamilyName())) {
 					fIteratorController.setFractalIteratorFamily(new HyperbolicSineJuliaFractalIterator());
 				}
+				else if (familyName.equalsIgnoreCase((new CustomFormulaFractalIterator()).getFamilyName())) {
+					fIteratorController.setFractalIteratorFamily(new CustomFormulaFractalIterator());
+				}
 				else if (familyName.equalsIgnoreCase((new NewtonRaphsonPowerFractalIterator()).getFamilyName())) {
 					fIteratorController.setFractalIteratorFamily(new NewtonRaphsonPowerFractalIterator());
 				}
@@ -7654,12 +7974,24 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				IterationBuffer fractalResultBuffer = new IterationBuffer(width,height);
 				fProgressUpdateGlassPane.setTotalNrOfProgressUpdates(width * height);
 
-				for (int index = 0; index < fractalResultBuffer.fBuffer.length; ++index) {
-					fractalResultBuffer.fBuffer[index] = new IterationResult();
-					fractalResultBuffer.fBuffer[index].streamLoad(dataInputStream);
+				IterationResult iterationResult = new IterationResult();
+				for (int index = 0; index < fractalResultBuffer.getNrOfPoints(); ++index) {
+					iterationResult.streamLoad(dataInputStream);
+					fractalResultBuffer.set(index,iterationResult);
 					publish(1);
 				} // for index
 
+				// only the columns and advanced colouring channels that were calculated are available
+				try {
+					fractalResultBuffer.retainColumns(dataInputStream.readInt());
+					fractalResultBuffer.fAdvancedColoringChannels = dataInputStream.readInt();
+					fractalResultBuffer.fKnownInteriorSkipped = dataInputStream.readBoolean();
+					fractalResultBuffer.fRectanglesFilled = dataInputStream.readBoolean();
+				}
+				catch (EOFException exc) {
+					// older files don't specify them, in which case all of them were calculated
+				}
+
 				// cleanup
 				dataInputStream.close();
 				zipInputStream.close();
@@ -7674,7 +8006,7 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				zoomStack.clear();
 				zoomStack.push(fractalIterator.getDefaultP1(),fractalIterator.getDefaultP2());
 				zoomStack.addThumbnail(null);
-				zoomStack.push(fractalIterator.getP1(),fractalIterator.getP2());
+				zoomStack.push(fractalIterator.getHighPrecisionP1(),fractalIterator.getHighPrecisionP2());
 
 				adjustMenusToFractal();
 
@@ -7800,16 +8132,23 @@ public final class FraxionGUI extends JStandardGUIApplication implements ActionL
 				int height = fIteratorController.getFractalIterator().getScreenHeight();
 				IterationBuffer fractalResultBuffer = fIteratorController.getFractalResultBuffer();
 				fProgressUpdateGlassPane.setTotalNrOfProgressUpdates(width * height);
-				for (int index = 0; index < fractalResultBuffer.fBuffer.length; ++index) {
-					if (fractalResultBuffer.fBuffer[index] == null) {
+				IterationResult iterationResult = new IterationResult();
+				for (int index = 0; index < fractalResultBuffer.getNrOfPoints(); ++index) {
+					if (fractalResultBuffer.get(index,iterationResult) == null) {
 						(new IterationResult()).streamSave(dataOutputStream);
 					}
 					else{
-						fractalResultBuffer.fBuffer[index].streamSave(dataOutputStream);
+						iterationResult.streamSave(dataOutputStream);
 					}
 					publish(1);
 				} // for index
 
+				// save the columns and advanced colouring channels that were calculated (the other ones are saved as 0)
+				dataOutputStream.writeInt(fractalResultBuffer.getColumns());
+				dataOutputStream.writeInt(fractalResultBuffer.fAdvancedColoringChannels);
+				dataOutputStream.writeBoolean(fractalResultBuffer.fKnownInteriorSkipped);
+				dataOutputStream.writeBoolean(fractalResultBuffer.fRectanglesFilled);
+
 				// cleanup
 				dataOutputStream.close();
 				zipOutputStream.close();
@@ -0,0 +1,123 @@
+// -----------------------------------------
+// Filename      : CustomFormulaChooser.java
+// Author        : Sven Maerivoet
+// Last modified : 16/11/2016
+// Target        : Java VM (1.8)
+// -----------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.gui.dialogs;
+
+import javax.swing.*;
+import org.sm.smtools.application.util.*;
+import org.sm.smtools.swing.dialogs.*;
+
+/**
+ * The <CODE>CustomFormulaChooser</CODE> class provides a dialog for entering the formula of a custom formula fractal.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 16/11/2016
+ */
+public final class CustomFormulaChooser extends JDefaultDialog
+{
+	// specifications of the formula input field
+	private static final int kInputFieldWidth = 40;
+
+	// internal datastructures
+	private JTextField fFormulaInputField;
+	private String fFormula;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>CustomFormulaChooser</CODE> object.
+	 *
+	 * @param owner    the owning frame
+	 * @param formula  the initial formula
+	 */
+	public CustomFormulaChooser(JFrame owner, String formula)
+	{
+		super(owner,
+			JDefaultDialog.EModality.kModal,
+			JDefaultDialog.ESize.kFixedSize,
+			JDefaultDialog.EType.kOkCancel,
+			new Object[] {formula},
+			JDefaultDialog.EActivation.kImmediately);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the selected formula.
+	 *
+	 * @return the selected formula
+	 */
+	public String getSelectedFormula()
+	{
+		return fFormula;
+	}
+
+	/*********************
+	 * PROTECTED METHODS *
+	 *********************/
+
+	/**
+	 * Performs custom initialisation.
+	 */
+	@Override
+	protected void initialiseClass(Object[] parameters)
+	{
+		fFormula = (String) parameters[0];
+	}
+
+	/**
+	 * Returns the dialog box's title.
+	 */
+	@Override
+	protected java.lang.String setupWindowTitle()
+	{
+		return I18NL10N.translate("text.Fractal.CustomFormulaTitle");
+	}
+
+	/**
+	 */
+	@Override
+	protected void okSelected()
+	{
+		fFormula = fFormulaInputField.getText().trim();
+	}
+
+	/**
+	 * Creates the dialog box content area.
+	 */
+	@Override
+	protected void setupMainPanel(JPanel mainPanel)
+	{
+		mainPanel.setLayout(new BoxLayout(mainPanel,BoxLayout.X_AXIS));
+
+		mainPanel.add(new JLabel(I18NL10N.translate("text.Fractal.CustomFormulaLabel") + ": "));
+			fFormulaInputField = new JTextField(fFormula,kInputFieldWidth);
+		mainPanel.add(fFormulaInputField);
+	}
+}
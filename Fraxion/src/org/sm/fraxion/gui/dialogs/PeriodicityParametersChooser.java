@@ -0,0 +1,195 @@
+// -------------------------------------------------
+// Filename      : PeriodicityParametersChooser.java
+// Author        : Sven Maerivoet
+// Last modified : 22/11/2016
+// Target        : Java VM (1.8)
+// -------------------------------------------------
+
+/**
+ * Copyright 2003-2016 Sven Maerivoet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sm.fraxion.gui.dialogs;
+
+import javax.swing.*;
+import org.sm.smtools.application.util.*;
+import org.sm.smtools.swing.dialogs.*;
+import org.sm.smtools.swing.util.*;
+
+/**
+ * The <CODE>PeriodicityParametersChooser</CODE> class provides a dialog for selecting the parameters of periodicity checking.
+ * <P>
+ * <B>Note that this class cannot be subclassed!</B>
+ *
+ * @author  Sven Maerivoet
+ * @version 22/11/2016
+ */
+public final class PeriodicityParametersChooser extends JDefaultDialog
+{
+	// internal datastructures
+	private JNumberInputField fPeriodicityToleranceInputField;
+	private JNumberInputField fPeriodicityCheckIntervalInputField;
+	private double fPeriodicityTolerance;
+	private int fPeriodicityCheckInterval;
+
+	/****************
+	 * CONSTRUCTORS *
+	 ****************/
+
+	/**
+	 * Constructs a <CODE>PeriodicityParametersChooser</CODE> object.
+	 *
+	 * @param owner                     the owning frame
+	 * @param periodicityTolerance      the initial periodicity tolerance
+	 * @param periodicityCheckInterval  the initial periodicity check interval
+	 */
+	public PeriodicityParametersChooser(JFrame owner, double periodicityTolerance, int periodicityCheckInterval)
+	{
+		super(owner,
+			JDefaultDialog.EModality.kModal,
+			JDefaultDialog.ESize.kFixedSize,
+			JDefaultDialog.EType.kOkCancel,
+			new Object[] {periodicityTolerance, periodicityCheckInterval},
+			JDefaultDialog.EActivation.kImmediately);
+	}
+
+	/******************
+	 * PUBLIC METHODS *
+	 ******************/
+
+	/**
+	 * Returns the selected periodicity tolerance.
+	 *
+	 * @return the selected periodicity tolerance
+	 */
+	public double getSelectedPeriodicityTolerance()
+	{
+		return fPeriodicityToleranceInputField.getDoubleValue();
+	}
+
+	/**
+	 * Returns the selected periodicity check interval.
+	 *
+	 * @return the selected periodicity check interval
+	 */
+	public int getSelectedPeriodicityCheckInterval()
+	{
+		return fPeriodicityCheckIntervalInputField.getIntegerValue();
+	}
+
+	/*********************
+	 * PROTECTED METHODS *
+	 *********************/
+
+	/**
+	 * Performs custom initialisation.
+	 */
+	@Override
+	protected void initialiseClass(Object[] parameters)
+	{
+		fPeriodicityTolerance = (Double) parameters[0];
+		fPeriodicityCheckInterval = (Integer) parameters[1];
+	}
+
+	/**
+	 * Returns the dialog box's title.
+	 */
+	@Override
+	protected java.lang.String setupWindowTitle()
+	{
+		return I18NL10N.translate("text.Fractal.PeriodicityParametersTitle");
+	}
+
+	/**
+	 * Creates the dialog box content area.
+	 */
+	@Override
+	protected void setupMainPanel(JPanel mainPanel)
+	{
+		final int kInputFieldWidth = 10;
+		final boolean kAutoCorrect = false;
+
+		JLabel label = null;
+		String toolTipText = "";
+
+		mainPanel.setLayout(new BoxLayout(mainPanel,BoxLayout.Y_AXIS));
+
+			JPanel parameter1Panel = new JPanel();
+			parameter1Panel.setLayout(new BoxLayout(parameter1Panel,BoxLayout.X_AXIS));
+				label = new JLabel(I18NL10N.translate("text.Fractal.PeriodicityParametersChooserTolerance") + " ");
+					toolTipText = "> 0";
+				label.setToolTipText(toolTipText);
+			parameter1Panel.add(label);
+				fPeriodicityToleranceInputField = new JNumberInputField(fPeriodicityTolerance,kInputFieldWidth,kAutoCorrect,I18NL10N.translate("error.EnterPositiveNumber"));
+				fPeriodicityToleranceInputField.setNumberFilter(new PositiveNumberFilter());
+				fPeriodicityToleranceInputField.setToolTipText(toolTipText);
+			parameter1Panel.add(fPeriodicityToleranceInputField);
+		mainPanel.add(parameter1Panel);
+
+		mainPanel.add(Box.createVerticalStrut(10));
+
+			JPanel parameter2Panel = new JPanel();
+			parameter2Panel.setLayout(new BoxLayout(parameter2Panel,BoxLayout.X_AXIS));
+				label = new JLabel(I18NL10N.translate("text.Fractal.PeriodicityParametersChooserCheckInterval") + " ");
+					toolTipText = "> 0";
+				label.setToolTipText(toolTipText);
+			parameter2Panel.add(label);
+				fPeriodicityCheckIntervalInputField = new JNumberInputField(fPeriodicityCheckInterval,kInputFieldWidth,kAutoCorrect,I18NL10N.translate("error.EnterPositiveNumber"));
+				fPeriodicityCheckIntervalInputField.setNumberFilter(new PositiveNumberFilter());
+				fPeriodicityCheckIntervalInputField.setToolTipText(toolTipText);
+			parameter2Panel.add(fPeriodicityCheckIntervalInputField);
+		mainPanel.add(parameter2Panel);
+	}
+
+	/**
+	 */
+	@Override
+	protected void updateGUI()
+	{
+		fPeriodicityTolerance = getSelectedPeriodicityTolerance();
+		fPeriodicityCheckInterval = getSelectedPeriodicityCheckInterval();
+	}
+
+	/*****************
+	 * INNER CLASSES *
+	 *****************/
+
+	/**
+	 * @author  Sven Maerivoet
+	 * @version 22/11/2016
+	 */
+	private class PositiveNumberFilter extends ANumberFilter
+	{
+		/******************
+		 * PUBLIC METHODS *
+		 ******************/
+
+		/**
+		 * @param d  -
+		 */
+		public boolean validateDouble(double d)
+		{
+			return (d > 0.0);
+		}
+
+		/**
+		 * @param i  -
+		 */
+		public boolean validateInteger(int i)
+		{
+			return (i > 0);
+		}
+	}
+}
@@ -1,7 +1,7 @@
 // ----------------------------------------
 // Filename      : ScreenBoundsChooser.java
 // Author        : Sven Maerivoet
-// Last modified : 11/02/2015
+// Last modified : 21/11/2016
 // Target        : Java VM (1.8)
 // ----------------------------------------
 
@@ -27,7 +27,6 @@ import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import javax.swing.*;
-import org.sm.fraxion.fractals.util.*;
 import org.sm.fraxion.gui.util.*;
 import org.sm.smtools.application.util.*;
 import org.sm.smtools.math.*;
@@ -40,7 +39,7 @@ import org.sm.smtools.swing.util.*;
  * <B>Note that this class cannot be subclassed!</B>
  *
  * @author  Sven Maerivoet
- * @version 11/02/2015
+ * @version 21/11/2016
  */
 public final class ScreenBoundsChooser extends JDefaultDialog implements ActionListener
 {
@@ -179,6 +178,7 @@ public final class ScreenBoundsChooser extends JDefaultDialog implements ActionL
 	private int fScreenHeight;
 	private int fCurrentWindowWidth;
 	private int fCurrentWindowHeight;
+	private long fMemorySizePerPoint;
 	private JLabel fScreenSizeListLabel;
 	private JComboBox<String> fScreenSizeComboBox;
 	private JLabel fScreenSizeWidthLabel;
@@ -222,14 +222,15 @@ public final class ScreenBoundsChooser extends JDefaultDialog implements ActionL
 	 * @param currentWindowWidth   the main width
 	 * @param currentWindowHeight  the main height
 	 * @param storedScreenSizes    the list with stored screen sizes
+	 * @param memorySizePerPoint   the memory size (in bytes) that a single point occupies in the iteration buffer
 	 */
-	public ScreenBoundsChooser(JFrame owner, int screenWidth, int screenHeight, int currentWindowWidth, int currentWindowHeight, ArrayList<StoredScreenSize> storedScreenSizes)
+	public ScreenBoundsChooser(JFrame owner, int screenWidth, int screenHeight, int currentWindowWidth, int currentWindowHeight, ArrayList<StoredScreenSize> storedScreenSizes, long memorySizePerPoint)
 	{
 		super(owner,
 			JDefaultDialog.EModality.kModal,
 			JDefaultDialog.ESize.kFixedSize,
 			JDefaultDialog.EType.kOkCancel,
-			new Object[] {owner,screenWidth,screenHeight,currentWindowWidth,currentWindowHeight,storedScreenSizes},
+			new Object[] {owner,screenWidth,screenHeight,currentWindowWidth,currentWindowHeight,storedScreenSizes,memorySizePerPoint},
 			JDefaultDialog.EActivation.kImmediately);
 	}
 
@@ -457,6 +458,7 @@ public final class ScreenBoundsChooser extends JDefaultDialog implements ActionL
 		fCurrentWindowWidth = (Integer) parameters[3];
 		fCurrentWindowHeight = (Integer) parameters[4];
 		fStoredScreenSizes = (ArrayList<StoredScreenSize>) parameters[5];
+		fMemorySizePerPoint = (Long) parameters[6];
 	}
 
 	/**
@@ -724,13 +726,9 @@ public final class ScreenBoundsChooser extends JDefaultDialog implements ActionL
 	 */
 	private long calcProjectedMemoryUsage()
 	{
-		// calculate array size in memory
+		// calculate the size of the (column-wise) iteration buffer in memory
 		final long kArrElems = (long) fScreenWidth * (long) fScreenHeight;
-		final long kObjShell = 8L;
-		final long kArrObjShell = kObjShell + 4L;
-		final long kArrElemRef = 4L;
-		final long kTotalArrObj = kArrObjShell + (kArrElems * kArrElemRef);
-		final long kArrMemUsage = kTotalArrObj + (kArrElems * IterationResult.kMemorySize);
+		final long kArrMemUsage = kArrElems * fMemorySizePerPoint;
 
 		// calculate image buffer size in memory
 		final long kImgMemPerPixel = 25L;
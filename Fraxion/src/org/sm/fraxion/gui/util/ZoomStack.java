@@ -1,7 +1,7 @@
 // ------------------------------
 // Filename      : ZoomStack.java
 // Author        : Sven Maerivoet
-// Last modified : 17/05/2016
+// Last modified : 29/10/2016
 // Target        : Java VM (1.8)
 // ------------------------------
 
@@ -24,7 +24,9 @@
 package org.sm.fraxion.gui.util;
 
 import java.awt.*;
+import java.math.*;
 import java.util.*;
+import org.sm.fraxion.fractals.util.*;
 import org.sm.smtools.exceptions.*;
 import org.sm.smtools.math.complex.*;
 import org.sm.smtools.util.*;
@@ -32,10 +34,12 @@ import org.sm.smtools.util.*;
 /**
  * The <CODE>ZoomStack</CODE> class provides a container accessing, loading and saving the zoom stack.
  * <P>
+ * All corners are stored with their full precision, so that deep zooms can be restored exactly.
+ * <P>
  * <B>Note that this class cannot be subclassed!</B>
  * 
  * @author  Sven Maerivoet
- * @version 17/05/2016
+ * @version 29/10/2016
  */
 public final class ZoomStack implements Cloneable
 {
@@ -43,8 +47,8 @@ public final class ZoomStack implements Cloneable
 	private static final String kFieldSeparator = ",";
 
 	// datastructures
-	private ArrayDeque<ComplexNumber> fP1Stack;
-	private ArrayDeque<ComplexNumber> fP2Stack;
+	private ArrayDeque<HighPrecisionComplexNumber> fP1Stack;
+	private ArrayDeque<HighPrecisionComplexNumber> fP2Stack;
 	private boolean fIsDirty;
 	private ArrayList<Image> fThumbnails;
 
@@ -69,8 +73,8 @@ public final class ZoomStack implements Cloneable
 	 */
 	public void clear()
 	{
-		fP1Stack = new ArrayDeque<ComplexNumber>();
-		fP2Stack = new ArrayDeque<ComplexNumber>();
+		fP1Stack = new ArrayDeque<HighPrecisionComplexNumber>();
+		fP2Stack = new ArrayDeque<HighPrecisionComplexNumber>();
 		fIsDirty = false;
 		fThumbnails = new ArrayList<Image>();
 	}
@@ -105,7 +109,7 @@ public final class ZoomStack implements Cloneable
 	 *
 	 * @return P1 (lower-left corner in the complex plane) at the top of the zoom stack
 	 */
-	public ComplexNumber getTopP1()
+	public HighPrecisionComplexNumber getTopP1()
 	{
 		return fP1Stack.peekFirst();
 	}
@@ -115,7 +119,7 @@ public final class ZoomStack implements Cloneable
 	 *
 	 * @return P2 (upper-right corner in the complex plane) at the top of the zoom stack
 	 */
-	public ComplexNumber getTopP2()
+	public HighPrecisionComplexNumber getTopP2()
 	{
 		return fP2Stack.peekFirst();
 	}
@@ -126,9 +130,9 @@ public final class ZoomStack implements Cloneable
 	 * @param zoomLevel  the specified zoom level
 	 * @return           P1 (lower-left corner in the complex plane) from a specified zoom level
 	 */
-	public ComplexNumber getP1(int zoomLevel)
+	public HighPrecisionComplexNumber getP1(int zoomLevel)
 	{
-		ComplexNumber[] p1Stack = fP1Stack.toArray(new ComplexNumber[0]);
+		HighPrecisionComplexNumber[] p1Stack = fP1Stack.toArray(new HighPrecisionComplexNumber[0]);
 		return p1Stack[getZoomLevel() - zoomLevel];
 	}
 
@@ -138,9 +142,9 @@ public final class ZoomStack implements Cloneable
 	 * @param zoomLevel  the specified zoom level
 	 * @return           P2 (upper-right corner in the complex plane) from a specified zoom level
 	 */
-	public ComplexNumber getP2(int zoomLevel)
+	public HighPrecisionComplexNumber getP2(int zoomLevel)
 	{
-		ComplexNumber[] p2Stack = fP2Stack.toArray(new ComplexNumber[0]);
+		HighPrecisionComplexNumber[] p2Stack = fP2Stack.toArray(new HighPrecisionComplexNumber[0]);
 		return p2Stack[getZoomLevel() - zoomLevel];
 	}
 
@@ -170,7 +174,7 @@ public final class ZoomStack implements Cloneable
 	 * @param p1  the new lower-left corner in the complex plane
 	 * @param p2  the new upper-right corner in the complex plane
 	 */
-	public void modifyTop(ComplexNumber p1, ComplexNumber p2)
+	public void modifyTop(HighPrecisionComplexNumber p1, HighPrecisionComplexNumber p2)
 	{
 		pop();
 		push(p1,p2);
@@ -197,8 +201,19 @@ public final class ZoomStack implements Cloneable
 	 */
 	public void push(ComplexNumber p1, ComplexNumber p2)
 	{
-		fP1Stack.push((ComplexNumber) p1.clone());
-		fP2Stack.push((ComplexNumber) p2.clone());
+		push(new HighPrecisionComplexNumber(p1),new HighPrecisionComplexNumber(p2));
+	}
+
+	/**
+	 * Pushes an item on the zoom stack, retaining the full precision of its corners.
+	 * 
+	 * @param p1  the lower-left corner in the complex plane of the specified zoom level
+	 * @param p2  the upper-right corner in the complex plane of the specified zoom level
+	 */
+	public void push(HighPrecisionComplexNumber p1, HighPrecisionComplexNumber p2)
+	{
+		fP1Stack.push(p1);
+		fP2Stack.push(p2);
 		fIsDirty = true;
 	}
 
@@ -251,15 +266,15 @@ public final class ZoomStack implements Cloneable
 			}
 
 			String p1XDesc = zoomComponentsDesc[0];
-			double p1X = Double.parseDouble(p1XDesc);
+			BigDecimal p1X = new BigDecimal(p1XDesc.trim());
 			String p1YDesc = zoomComponentsDesc[1];
-			double p1Y = Double.parseDouble(p1YDesc);
+			BigDecimal p1Y = new BigDecimal(p1YDesc.trim());
 			String p2XDesc = zoomComponentsDesc[2];
-			double p2X = Double.parseDouble(p2XDesc);
+			BigDecimal p2X = new BigDecimal(p2XDesc.trim());
 			String p2YDesc = zoomComponentsDesc[3];
-			double p2Y = Double.parseDouble(p2YDesc);
+			BigDecimal p2Y = new BigDecimal(p2YDesc.trim());
 
-			push(new ComplexNumber(p1X,p1Y),new ComplexNumber(p2X,p2Y));
+			push(new HighPrecisionComplexNumber(p1X,p1Y),new HighPrecisionComplexNumber(p2X,p2Y));
 			addThumbnail(null);
 		}
 
@@ -277,20 +292,20 @@ public final class ZoomStack implements Cloneable
 	{
 		TextFileWriter tfw = new TextFileWriter(filename);
 
-		Iterator<ComplexNumber> i1 = fP1Stack.descendingIterator();
-		Iterator<ComplexNumber> i2 = fP2Stack.descendingIterator();
+		Iterator<HighPrecisionComplexNumber> i1 = fP1Stack.descendingIterator();
+		Iterator<HighPrecisionComplexNumber> i2 = fP2Stack.descendingIterator();
 
 		while (i1.hasNext() && i2.hasNext()) {
-			ComplexNumber p1 = i1.next();
-			ComplexNumber p2 = i2.next();
+			HighPrecisionComplexNumber p1 = i1.next();
+			HighPrecisionComplexNumber p2 = i2.next();
 
-			tfw.writeDouble(p1.realComponent());
+			tfw.writeString(p1.realComponent().toString());
 			tfw.writeString(kFieldSeparator);
-			tfw.writeDouble(p1.imaginaryComponent());
+			tfw.writeString(p1.imaginaryComponent().toString());
 			tfw.writeString(kFieldSeparator);
-			tfw.writeDouble(p2.realComponent());
+			tfw.writeString(p2.realComponent().toString());
 			tfw.writeString(kFieldSeparator);
-			tfw.writeDouble(p2.imaginaryComponent());
+			tfw.writeString(p2.imaginaryComponent().toString());
 			tfw.writeLn();
 		}
 	}
@@ -305,11 +320,11 @@ public final class ZoomStack implements Cloneable
 	{
 		ZoomStack zoomStack = new ZoomStack();
 
-		Iterator<ComplexNumber> i1 = fP1Stack.descendingIterator();
-		Iterator<ComplexNumber> i2 = fP2Stack.descendingIterator();
+		Iterator<HighPrecisionComplexNumber> i1 = fP1Stack.descendingIterator();
+		Iterator<HighPrecisionComplexNumber> i2 = fP2Stack.descendingIterator();
 
 		while (i1.hasNext() && i2.hasNext()) {
-			zoomStack.push((ComplexNumber) i1.next().clone(),(ComplexNumber) i2.next().clone());
+			zoomStack.push(i1.next(),i2.next());
 		}
 
 		return zoomStack;